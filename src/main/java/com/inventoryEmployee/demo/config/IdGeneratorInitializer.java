@@ -0,0 +1,65 @@
+package com.inventoryEmployee.demo.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+
+// Makes sure every pooled id generator row starts above the ids already in its table
+// (tables created before the switch from IDENTITY keep their existing rows).
+// Runs once the EntityManagerFactory is up and before the web server accepts requests.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdGeneratorInitializer {
+
+    private static final String GENERATOR_TABLE = "id_generators";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void seedGenerators() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + GENERATOR_TABLE +
+                " (sequence_name VARCHAR(255) NOT NULL PRIMARY KEY, next_val BIGINT)");
+
+        for (EntityType<?> entityType : entityManagerFactory.getMetamodel().getEntities()) {
+            Class<?> entityClass = entityType.getJavaType();
+            TableGenerator generator = findTableGenerator(entityClass);
+            Table table = entityClass.getAnnotation(Table.class);
+
+            if (generator == null || table == null || !GENERATOR_TABLE.equals(generator.table())) {
+                continue;
+            }
+
+            try {
+                // Never moves a generator backwards - other nodes may already hold blocks
+                jdbcTemplate.update("INSERT INTO " + GENERATOR_TABLE + " (sequence_name, next_val) " +
+                        "SELECT ?, COALESCE(MAX(id), 0) + 1 FROM " + table.name() + " " +
+                        "ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val))",
+                        generator.pkColumnValue());
+            } catch (Exception e) {
+                log.warn("Could not seed id generator {}: {}", generator.pkColumnValue(), e.getMessage());
+            }
+        }
+    }
+
+    private TableGenerator findTableGenerator(Class<?> entityClass) {
+        for (Class<?> type = entityClass; type != null; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                TableGenerator generator = field.getAnnotation(TableGenerator.class);
+                if (generator != null) {
+                    return generator;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,56 @@
+package com.inventoryEmployee.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PersistenceConfig {
+
+    @Value("${inventory.persistence.jdbc-batch-size:100}")
+    private int jdbcBatchSize;
+
+    // Insert/update batching. Only works for entities whose ids don't come from
+    // IDENTITY columns, hence the pooled table generators on the high-volume entities.
+    @Bean
+    public HibernatePropertiesCustomizer batchingHibernatePropertiesCustomizer() {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, jdbcBatchSize);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+            // pooled-lo: the stored next_val is the first id of the next block,
+            // so the generator table can be seeded straight from MAX(id) + 1
+            properties.putIfAbsent(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
+            // Filter searches are criteria queries with bound values: one plan per filter combination
+            properties.putIfAbsent(AvailableSettings.CRITERIA_PLAN_CACHE_ENABLED, true);
+        };
+    }
+
+    // rewriteBatchedStatements: without it the MySQL driver sends a JDBC batch as one INSERT per row.
+    // cachePrepStmts: reuse the parsed statement for each query shape instead of re-preparing it.
+    @Bean
+    public static BeanPostProcessor batchedStatementsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    addIfAbsent(dataSource, "rewriteBatchedStatements", "true");
+                    addIfAbsent(dataSource, "cachePrepStmts", "true");
+                    addIfAbsent(dataSource, "prepStmtCacheSize", "250");
+                    addIfAbsent(dataSource, "prepStmtCacheSqlLimit", "2048");
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static void addIfAbsent(HikariDataSource dataSource, String property, String value) {
+        if (!dataSource.getDataSourceProperties().containsKey(property)) {
+            dataSource.addDataSourceProperty(property, value);
+        }
+    }
+}
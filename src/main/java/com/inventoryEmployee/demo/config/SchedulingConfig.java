@@ -0,0 +1,25 @@
+package com.inventoryEmployee.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+// Background jobs (reservation sweeper, outbox relay, ...)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    // Spring's default scheduler has one thread, so a slow run of one task (a large sweep,
+    // a relay backlog) would hold up every other task behind it. Fixed-delay tasks never
+    // overlap themselves, so with at least one thread per @Scheduled method none waits on another.
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${inventory.scheduling.pool-size:16}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduling-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(false);
+        return scheduler;
+    }
+}
@@ -0,0 +1,208 @@
+package com.inventoryEmployee.demo.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+// Applies versioned SQL scripts from db/migration (V<version>__<description>.sql) in
+// version order and records each one in schema_migrations. Hibernate still creates the
+// tables; the scripts add what the entity mappings can't express well, e.g. composite
+// and covering indexes.
+//
+// A named MySQL lock keeps nodes starting together from applying the same script twice.
+// Editing a script that has already been applied fails startup (checksum mismatch).
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaMigrationRunner {
+
+    private static final String HISTORY_TABLE = "schema_migrations";
+    private static final String LOCK_NAME = "inventory_schema_migration";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    // Duplicate key name / duplicate column: the statement already ran before a failure
+    private static final Set<Integer> ALREADY_APPLIED_ERRORS = Set.of(1060, 1061);
+
+    private static final String HISTORY_DDL = "CREATE TABLE IF NOT EXISTS " + HISTORY_TABLE +
+            " (version INT NOT NULL PRIMARY KEY, description VARCHAR(255) NOT NULL," +
+            " checksum BIGINT NOT NULL, execution_ms BIGINT NOT NULL, installed_at DATETIME(6) NOT NULL)";
+
+    // Not used directly: injecting it makes Hibernate create the tables before migrate() runs
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${inventory.migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${inventory.migration.locations:classpath*:db/migration/*.sql}")
+    private String locations;
+
+    @Value("${inventory.migration.lock-timeout-seconds:60}")
+    private int lockTimeoutSeconds;
+
+    @PostConstruct
+    public void migrate() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        List<Migration> migrations = loadMigrations();
+        if (migrations.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.execute(HISTORY_DDL);
+        // One connection throughout: the named lock belongs to the session that took it
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            acquireLock(connection);
+            try {
+                Map<Integer, Long> applied = loadApplied(connection);
+                for (Migration migration : migrations) {
+                    Long checksum = applied.get(migration.version());
+                    if (checksum == null) {
+                        apply(connection, migration);
+                    } else if (checksum != migration.checksum()) {
+                        throw new IllegalStateException("Migration V" + migration.version() +
+                                " (" + migration.description() + ") was changed after it was applied");
+                    }
+                }
+            } finally {
+                releaseLock(connection);
+            }
+            return null;
+        });
+    }
+
+    private List<Migration> loadMigrations() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(locations);
+        List<Migration> migrations = new ArrayList<>();
+        Set<Integer> versions = new HashSet<>();
+
+        for (Resource resource : resources) {
+            Matcher matcher = SCRIPT_NAME.matcher(Objects.requireNonNull(resource.getFilename()));
+            if (!matcher.matches()) {
+                log.warn("Ignoring migration script with unexpected name: {}", resource.getFilename());
+                continue;
+            }
+
+            int version = Integer.parseInt(matcher.group(1));
+            if (!versions.add(version)) {
+                throw new IllegalStateException("Duplicate migration version V" + version);
+            }
+
+            String sql;
+            try (InputStream in = resource.getInputStream()) {
+                sql = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(sql.getBytes(StandardCharsets.UTF_8));
+
+            migrations.add(new Migration(version, matcher.group(2).replace('_', ' '), sql, crc.getValue()));
+        }
+
+        migrations.sort(Comparator.comparingInt(Migration::version));
+        return migrations;
+    }
+
+    private Map<Integer, Long> loadApplied(Connection connection) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT version, checksum FROM " + HISTORY_TABLE)) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getLong(2));
+            }
+        }
+        return applied;
+    }
+
+    // MySQL DDL commits implicitly, so a script is not atomic; statements that already
+    // took effect on an earlier, interrupted run are skipped instead of failing
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        long start = System.currentTimeMillis();
+
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : splitStatements(migration.sql())) {
+                try {
+                    statement.execute(sql);
+                } catch (SQLException e) {
+                    if (!ALREADY_APPLIED_ERRORS.contains(e.getErrorCode())) {
+                        throw e;
+                    }
+                    log.info("V{}: already applied, skipping: {}", migration.version(), e.getMessage());
+                }
+            }
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + HISTORY_TABLE +
+                " (version, description, checksum, execution_ms, installed_at) VALUES (?, ?, ?, ?, ?)")) {
+            insert.setInt(1, migration.version());
+            insert.setString(2, migration.description());
+            insert.setLong(3, migration.checksum());
+            insert.setLong(4, elapsed);
+            insert.setTimestamp(5, new Timestamp(System.currentTimeMillis()));
+            insert.executeUpdate();
+        }
+
+        log.info("Applied migration V{} ({}) in {} ms", migration.version(), migration.description(), elapsed);
+    }
+
+    // Scripts are plain DDL: one statement per ';', '--' line comments, no procedures
+    private static List<String> splitStatements(String script) {
+        StringBuilder stripped = new StringBuilder();
+        for (String line : script.split("\\R")) {
+            String trimmed = line.trim();
+            if (!trimmed.startsWith("--")) {
+                stripped.append(line).append('\n');
+            }
+        }
+
+        List<String> statements = new ArrayList<>();
+        for (String sql : stripped.toString().split(";")) {
+            if (!sql.isBlank()) {
+                statements.add(sql.trim());
+            }
+        }
+        return statements;
+    }
+
+    private void acquireLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.setInt(2, lockTimeoutSeconds);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new IllegalStateException("Timed out waiting for the schema migration lock");
+                }
+            }
+        }
+    }
+
+    private void releaseLock(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, LOCK_NAME);
+            statement.execute();
+        } catch (SQLException e) {
+            log.warn("Could not release the schema migration lock: {}", e.getMessage());
+        }
+    }
+
+    private record Migration(int version, String description, String sql, long checksum) {
+    }
+}
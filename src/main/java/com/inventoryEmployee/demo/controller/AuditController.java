@@ -1,7 +1,11 @@
 package com.inventoryEmployee.demo.controller;
 
 import com.inventoryEmployee.demo.dto.response.AuditLogResponse;
+import com.inventoryEmployee.demo.dto.response.CursorPageResponse;
+import com.inventoryEmployee.demo.dto.response.AuditReconstructionResponse;
 import com.inventoryEmployee.demo.entity.AuditLog;
+import com.inventoryEmployee.demo.service.AuditJournal;
+import com.inventoryEmployee.demo.service.AuditLogWriter;
 import com.inventoryEmployee.demo.service.AuditService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -50,6 +54,17 @@ public class AuditController {
         return ResponseEntity.ok(logs.map(this::mapToResponse));
     }
 
+    // Get recent audit logs by cursor
+    @GetMapping("/recent/cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<CursorPageResponse<AuditLogResponse>> getRecentAuditLogsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPageResponse<AuditLog> logs = auditService.getRecentAuditLogs(cursor, size, includeTotal);
+        return ResponseEntity.ok(logs.map(this::mapToResponse));
+    }
+
     // Search with filters
     @GetMapping("/filter")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
@@ -65,6 +80,31 @@ public class AuditController {
         return ResponseEntity.ok(logs.map(this::mapToResponse));
     }
 
+    // Entity state at a given audit version, rebuilt from the stored diffs
+    @GetMapping("/entity/{entityName}/{entityId}/reconstruct")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<AuditReconstructionResponse> reconstructEntity(
+            @PathVariable String entityName,
+            @PathVariable Long entityId,
+            @RequestParam(required = false) Integer version) {
+        return ResponseEntity.ok(auditService.reconstructEntity(entityName, entityId, version));
+    }
+
+    // Audit writer queue depth and counters
+    @GetMapping("/pipeline-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AuditLogWriter.AuditPipelineStats> getPipelineStats() {
+        return ResponseEntity.ok(auditService.getPipelineStats());
+    }
+
+    // Audit journal segments and index size
+    @GetMapping("/journal-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AuditJournal.JournalStats> getJournalStats() {
+        AuditJournal.JournalStats stats = auditService.getJournalStats();
+        return stats != null ? ResponseEntity.ok(stats) : ResponseEntity.noContent().build();
+    }
+
     private AuditLogResponse mapToResponse(AuditLog log) {
         return AuditLogResponse.builder()
                 .id(log.getId())
@@ -83,7 +123,8 @@ public class AuditController {
                 .timestamp(log.getTimestamp())
 
                 // FIXED: Combine old/new values into the single 'changes' DTO field
-                .changes(formatChanges(log.getOldValue(), log.getNewValue()))
+                .changes(formatChanges(auditService.decodePayload(log.getOldValue()),
+                        auditService.decodePayload(log.getNewValue())))
 
                 .build();
     }
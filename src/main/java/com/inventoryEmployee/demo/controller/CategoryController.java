@@ -3,6 +3,7 @@ package com.inventoryEmployee.demo.controller;
 import com.inventoryEmployee.demo.dto.request.CategoryRequest;
 import com.inventoryEmployee.demo.entity.Category;
 import com.inventoryEmployee.demo.repository.CategoryRepository;
+import com.inventoryEmployee.demo.service.CategoryService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -21,20 +22,13 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryService categoryService;
 
     // Create category
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     public ResponseEntity<Category> createCategory(@Valid @RequestBody CategoryRequest request) {
-
-        // Check if category name already exists
-        if (categoryRepository.existsByNameAndDeletedFalse(request.getName())) {
-            throw new IllegalArgumentException("Category with name '" + request.getName() + "' already exists");
-        }
-
-        Category category = mapToEntity(request);
-
-        Category created = categoryRepository.save(category);
+        Category created = categoryService.createCategory(request);
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
@@ -42,9 +36,7 @@ public class CategoryController {
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
     public ResponseEntity<Category> getCategoryById(@PathVariable Long id) {
-        Category category = categoryRepository.findById(id)
-                .filter(cat->!cat.getDeleted())
-                .orElseThrow(() -> new RuntimeException("Category not found"));
+        Category category = categoryService.getCategoryById(id);
         return ResponseEntity.ok(category);
     }
 
@@ -81,33 +73,7 @@ public class CategoryController {
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     public ResponseEntity<Category> updateCategory(@PathVariable Long id,
                                                    @Valid @RequestBody CategoryRequest request) {
-        Category existing = categoryRepository.findById(id)
-                .filter(cat->!cat.getDeleted())
-                .orElseThrow(() -> new RuntimeException("Category not found"));
-
-        // Check if new name conflicts with another category
-        if (!existing.getName().equals(request.getName()) &&
-                categoryRepository.existsByNameAndDeletedFalse(request.getName())) {
-            throw new IllegalArgumentException("Category with name '" + request.getName() + "' already exists");
-        }
-
-        existing.setName(request.getName());
-        existing.setDescription(request.getDescription());
-        existing.setCode(request.getCode());
-        existing.setImageUrl(request.getImageUrl());
-
-        //
-        // Update parent category if provided
-        if (request.getParentCategoryId() != null) {
-            Category parent = categoryRepository.findById(request.getParentCategoryId())
-                    .orElseThrow(() -> new RuntimeException("Parent category not found"));
-            existing.setParentCategory(parent);
-        } else {
-            existing.setParentCategory(null);
-        }
-        //
-
-        Category updated = categoryRepository.save(existing);
+        Category updated = categoryService.updateCategory(id, request);
         return ResponseEntity.ok(updated);
     }
 
@@ -115,11 +81,7 @@ public class CategoryController {
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteCategory(@PathVariable Long id) {
-        Category category = categoryRepository.findById(id)
-                .filter(cat->!cat.getDeleted())
-                .orElseThrow(() -> new RuntimeException("Category not found"));
-        category.setDeleted(true);
-        categoryRepository.save(category);
+        categoryService.deleteCategory(id);
         return ResponseEntity.noContent().build();
     }
     //
@@ -141,22 +103,4 @@ public class CategoryController {
         return ResponseEntity.ok(result);
     }
      //
-
-    private Category mapToEntity(CategoryRequest request){
-        Category category = Category.builder()
-                .name(request.getName())
-                .description(request.getDescription())
-                .code(request.getCode())
-                .imageUrl(request.getImageUrl())
-                .build();
-
-        if(request.getParentCategoryId() != null){
-            Category parent = categoryRepository.findById(request.getParentCategoryId())
-                    .orElseThrow(()->new RuntimeException("Parent Category Not Found: "+ request.getParentCategoryId()));
-
-            category.setParentCategory(parent);
-        }
-
-        return category;
-    }
 }
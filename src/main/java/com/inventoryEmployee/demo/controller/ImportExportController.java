@@ -1,22 +1,20 @@
 package com.inventoryEmployee.demo.controller;
 
-import com.inventoryEmployee.demo.entity.Employee;
-import com.inventoryEmployee.demo.entity.Product;
-import com.inventoryEmployee.demo.service.EmployeeService;
+import com.inventoryEmployee.demo.dto.response.ImportReportResponse;
+import com.inventoryEmployee.demo.enums.ExportFormat;
 import com.inventoryEmployee.demo.service.ImportExportService;
-import com.inventoryEmployee.demo.service.ProductService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayInputStream;
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/import-export")
@@ -25,46 +23,69 @@ import java.util.List;
 public class ImportExportController {
 
     private final ImportExportService importExportService;
-    private final ProductService productService;
-    private final EmployeeService employeeService;
 
-    // Import products from CSV
+    // Import products from CSV or XLSX (by file extension; first sheet, header row first)
     @PostMapping("/import/products")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    public ResponseEntity<List<Product>> importProducts(@RequestParam("file") MultipartFile file) {
-        List<Product> products = importExportService.importProductsFromCSV(file);
-        return ResponseEntity.ok(products);
+    public ResponseEntity<ImportReportResponse> importProducts(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(importExportService.importProducts(file));
     }
 
-    // Export products to CSV
+    // Export products, streamed straight to the response (format=XLSX for a workbook, gzip=true for a .csv.gz)
     @GetMapping("/export/products")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    public ResponseEntity<InputStreamResource> exportProducts() {
-        List<Product> products = productService.getAllProducts(PageRequest.of(0, 10000)).getContent();
-        ByteArrayInputStream data = importExportService.exportProductsToCSV(products);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Content-Disposition", "attachment; filename=products.csv");
-
-        return ResponseEntity.ok()
-                .headers(headers)
-                .contentType(MediaType.parseMediaType("text/csv"))
-                .body(new InputStreamResource(data));
+    public void exportProducts(@RequestParam(defaultValue = "CSV") ExportFormat format,
+                               @RequestParam(defaultValue = "false") boolean gzip,
+                               HttpServletResponse response) throws IOException {
+        writeExport(response, "products", format, gzip, out -> importExportService.exportProducts(out, format));
     }
 
-    // Export employees to CSV
+    // Export employees, streamed straight to the response
     @GetMapping("/export/employees")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<InputStreamResource> exportEmployees() {
-        List<Employee> employees = employeeService.getAllEmployees();
-        ByteArrayInputStream data = importExportService.exportEmployeesToCSV(employees);
+    public void exportEmployees(@RequestParam(defaultValue = "CSV") ExportFormat format,
+                                @RequestParam(defaultValue = "false") boolean gzip,
+                                HttpServletResponse response) throws IOException {
+        writeExport(response, "employees", format, gzip, out -> importExportService.exportEmployees(out, format));
+    }
+
+    // Export stock levels of active inventory, streamed straight to the response
+    @GetMapping("/export/inventory")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public void exportInventory(@RequestParam(defaultValue = "CSV") ExportFormat format,
+                                @RequestParam(defaultValue = "false") boolean gzip,
+                                HttpServletResponse response) throws IOException {
+        writeExport(response, "inventory", format, gzip, out -> importExportService.exportInventory(out, format));
+    }
+
+    // Export the stock transaction ledger, streamed straight to the response
+    @GetMapping("/export/transactions")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public void exportStockTransactions(@RequestParam(defaultValue = "CSV") ExportFormat format,
+                                        @RequestParam(defaultValue = "false") boolean gzip,
+                                        HttpServletResponse response) throws IOException {
+        writeExport(response, "stock-transactions", format, gzip,
+                out -> importExportService.exportStockTransactions(out, format));
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Content-Disposition", "attachment; filename=employees.csv");
+    // Written on the request thread, so there is no async timeout on long exports;
+    // the servlet buffer and the writer's buffer are the only memory held. XLSX is a zip
+    // already, so gzip only applies to CSV.
+    private void writeExport(HttpServletResponse response, String name, ExportFormat format, boolean gzip,
+                             Consumer<OutputStream> export) throws IOException {
+        gzip = gzip && format == ExportFormat.CSV;
+        String filename = name + "." + format.getExtension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename);
 
-        return ResponseEntity.ok()
-                .headers(headers)
-                .contentType(MediaType.parseMediaType("text/csv"))
-                .body(new InputStreamResource(data));
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+            export.accept(compressed);
+            compressed.finish();
+        } else {
+            export.accept(out);
+        }
+        out.flush();
     }
 }
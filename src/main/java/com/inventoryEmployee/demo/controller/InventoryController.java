@@ -1,7 +1,9 @@
 package com.inventoryEmployee.demo.controller;
 
+import com.inventoryEmployee.demo.dto.request.BulkStockMovementRequest;
 import com.inventoryEmployee.demo.dto.request.InventoryRequest;
 import com.inventoryEmployee.demo.dto.request.StockAdjustmentRequest;
+import com.inventoryEmployee.demo.dto.response.BulkStockMovementResponse;
 import com.inventoryEmployee.demo.dto.response.InventoryResponse;
 import com.inventoryEmployee.demo.entity.Employee;
 import com.inventoryEmployee.demo.entity.Inventory;
@@ -13,6 +15,7 @@ import com.inventoryEmployee.demo.repository.ProductRepository;
 import com.inventoryEmployee.demo.repository.UserRepository;
 import com.inventoryEmployee.demo.service.EmployeeService;
 import com.inventoryEmployee.demo.service.InventoryService;
+import com.inventoryEmployee.demo.service.StockLevelEntry;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -22,6 +25,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -153,11 +157,30 @@ public class InventoryController {
         return ResponseEntity.ok(mapToResponse(inventory));
     }
 
+    // Apply many stock movements in one request (IN, OUT and ADJUSTMENT lines)
+    @PostMapping("/bulk-movements")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<BulkStockMovementResponse> bulkMovements(
+            @Valid @RequestBody BulkStockMovementRequest request,
+            Authentication authentication) {
+
+        // Resolved once for the whole batch instead of once per line
+        Employee employee = getEmployeeFromAuth(authentication);
+
+        BulkStockMovementResponse response = inventoryService.applyBulkMovements(
+                request.getMovements(),
+                request.getAtomic() == null || request.getAtomic(),
+                employee
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
     // Get low stock items
     @GetMapping("/low-stock")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     public ResponseEntity<List<InventoryResponse>> getLowStockItems() {
-        List<Inventory> inventory = inventoryService.getLowStockItems();
+        List<StockLevelEntry> inventory = inventoryService.getLowStockItems();
 
         List<InventoryResponse> responseList = inventory.stream()
                 .map(this::mapToResponse)
@@ -170,7 +193,7 @@ public class InventoryController {
     @GetMapping("/out-of-stock")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     public ResponseEntity<List<InventoryResponse>> getOutOfStockItems() {
-        List<Inventory> inventory = inventoryService.getOutOfStockItems();
+        List<StockLevelEntry> inventory = inventoryService.getOutOfStockItems();
 
         List<InventoryResponse> responseList = inventory.stream()
                 .map(this::mapToResponse)
@@ -183,7 +206,7 @@ public class InventoryController {
     @GetMapping("/overstocked")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     public ResponseEntity<List<InventoryResponse>> getOverstockedItems() {
-        List<Inventory> inventory = inventoryService.getOverstockedItems();
+        List<StockLevelEntry> inventory = inventoryService.getOverstockedItems();
 
         List<InventoryResponse> responseList = inventory.stream()
                 .map(this::mapToResponse)
@@ -200,6 +223,20 @@ public class InventoryController {
         return ResponseEntity.ok(value);
     }
 
+    // Inventory value per category id
+    @GetMapping("/value-by-category")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<Map<Long, BigDecimal>> getInventoryValueByCategory() {
+        return ResponseEntity.ok(inventoryService.getInventoryValueByCategory());
+    }
+
+    // Inventory value per supplier id
+    @GetMapping("/value-by-supplier")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<Map<Long, BigDecimal>> getInventoryValueBySupplier() {
+        return ResponseEntity.ok(inventoryService.getInventoryValueBySupplier());
+    }
+
     // Count low stock items
     @GetMapping("/count/low-stock")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
@@ -216,6 +253,14 @@ public class InventoryController {
         return ResponseEntity.ok(count);
     }
 
+    // Count overstocked items
+    @GetMapping("/count/overstocked")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<Long> countOverstockedItems() {
+        Long count = inventoryService.countOverstockedItems();
+        return ResponseEntity.ok(count);
+    }
+
     // Search inventory with filters
     @GetMapping("/filter")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
@@ -248,6 +293,7 @@ public class InventoryController {
 
         inventory.setLowStockAlertEnabled(request.getLowStockAlertEnabled());
         inventory.setIsActive(request.getIsActive());
+        inventory.setWriteCombiningEnabled(request.getWriteCombiningEnabled());
 
         if (request.getProductId() != null) {
             Product product = productRepository.findById(request.getProductId())
@@ -267,6 +313,8 @@ public class InventoryController {
                 .productSku(inventory.getProduct().getSku())
 
                 .quantityAvailable(inventory.getQuantityAvailable())
+                .quantityReserved(inventory.getQuantityReserved())
+                .availableToPromise(Math.max(0, inventory.getQuantityAvailable() - inventory.getQuantityReserved()))
                 .minStockLevel(inventory.getMinStockLevel())
                 .maxStockLevel(inventory.getMaxStockLevel())
                 .reorderPoint(inventory.getReorderPoint())
@@ -278,6 +326,7 @@ public class InventoryController {
 
                 .lowStockAlertEnabled(inventory.getLowStockAlertEnabled())
                 .isActive(inventory.getIsActive())
+                .writeCombiningEnabled(inventory.getWriteCombiningEnabled())
 
                 .lastRestockDate(inventory.getLastRestockDate())
                 .lastSaleDate(inventory.getLastSaleDate())
@@ -291,4 +340,39 @@ public class InventoryController {
                 .updatedAt(inventory.getUpdatedAt())
                 .build();
     }
+
+    private InventoryResponse mapToResponse(StockLevelEntry entry) {
+        return InventoryResponse.builder()
+                .id(entry.inventoryId())
+                .productId(entry.productId())
+                .productName(entry.productName())
+                .productSku(entry.productSku())
+
+                .quantityAvailable(entry.quantityAvailable())
+                .quantityReserved(entry.quantityReserved())
+                .availableToPromise(Math.max(0, entry.quantityAvailable() - entry.quantityReserved()))
+                .minStockLevel(entry.minStockLevel())
+                .maxStockLevel(entry.maxStockLevel())
+                .reorderPoint(entry.reorderPoint())
+                .reorderQuantity(entry.reorderQuantity())
+
+                .location(entry.location())
+                .binNumber(entry.binNumber())
+                .rackNumber(entry.rackNumber())
+
+                .lowStockAlertEnabled(entry.lowStockAlertEnabled())
+                .isActive(entry.isActive())
+                .writeCombiningEnabled(entry.writeCombiningEnabled())
+
+                .lastRestockDate(entry.lastRestockDate())
+                .lastSaleDate(entry.lastSaleDate())
+
+                .isLowStock(entry.isLowStock())
+                .isOutOfStock(entry.quantityAvailable() <= 0)
+                .isOverstocked(entry.isOverstocked())
+
+                .createdAt(entry.createdAt())
+                .updatedAt(entry.updatedAt())
+                .build();
+    }
 }
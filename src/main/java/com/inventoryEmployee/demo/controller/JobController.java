@@ -0,0 +1,116 @@
+package com.inventoryEmployee.demo.controller;
+
+import com.inventoryEmployee.demo.dto.response.JobResponse;
+import com.inventoryEmployee.demo.entity.BackgroundJob;
+import com.inventoryEmployee.demo.enums.JobStatus;
+import com.inventoryEmployee.demo.enums.JobType;
+import com.inventoryEmployee.demo.service.BackgroundJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class JobController {
+
+    private final BackgroundJobService jobService;
+
+    // Queue a product CSV import; poll the returned job for progress
+    @PostMapping("/imports/products")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<JobResponse> importProducts(@RequestParam("file") MultipartFile file) {
+        BackgroundJob job = jobService.submitProductImport(file);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(mapToResponse(job));
+    }
+
+    // Queue a product CSV export
+    @PostMapping("/exports/products")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<JobResponse> exportProducts(@RequestParam(defaultValue = "false") boolean gzip) {
+        BackgroundJob job = jobService.submitExport(JobType.PRODUCT_EXPORT, gzip);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(mapToResponse(job));
+    }
+
+    // Queue an employee CSV export
+    @PostMapping("/exports/employees")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<JobResponse> exportEmployees(@RequestParam(defaultValue = "false") boolean gzip) {
+        BackgroundJob job = jobService.submitExport(JobType.EMPLOYEE_EXPORT, gzip);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(mapToResponse(job));
+    }
+
+    // Get the caller's jobs, newest first
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    public ResponseEntity<Page<JobResponse>> getJobs(Pageable pageable) {
+        return ResponseEntity.ok(jobService.getJobs(pageable).map(this::mapToResponse));
+    }
+
+    // Get job status and progress
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    public ResponseEntity<JobResponse> getJob(@PathVariable Long id) {
+        return ResponseEntity.ok(mapToResponse(jobService.getJob(id)));
+    }
+
+    // Download the result of a completed job
+    @GetMapping("/{id}/result")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    public ResponseEntity<Resource> getResult(@PathVariable Long id) {
+        BackgroundJob job = jobService.getJob(id);
+        Resource result = new FileSystemResource(jobService.getResult(id));
+
+        boolean gzip = job.getResultFileName().endsWith(".gz");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + job.getResultFileName())
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : "text/csv; charset=UTF-8"))
+                .body(result);
+    }
+
+    // Cancel a queued or running job
+    @PostMapping("/{id}/cancel")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    public ResponseEntity<JobResponse> cancel(@PathVariable Long id) {
+        return ResponseEntity.ok(mapToResponse(jobService.cancel(id)));
+    }
+
+    private JobResponse mapToResponse(BackgroundJob job) {
+        Double percent = null;
+        if (job.getTotalItems() != null && job.getTotalItems() > 0) {
+            percent = Math.min(100.0, 100.0 * job.getProcessedItems() / job.getTotalItems());
+        } else if (job.getStatus() == JobStatus.COMPLETED) {
+            percent = 100.0;
+        }
+
+        return JobResponse.builder()
+                .id(job.getId())
+                .jobType(job.getJobType())
+                .status(job.getStatus())
+                .submittedBy(job.getSubmittedBy())
+                .processedItems(job.getProcessedItems())
+                .succeededItems(job.getSucceededItems())
+                .failedItems(job.getFailedItems())
+                .totalItems(job.getTotalItems())
+                .percentComplete(percent)
+                .attempts(job.getAttempts())
+                .cancelRequested(job.getCancelRequested())
+                .errorMessage(job.getErrorMessage())
+                .resultFileName(job.getResultFileName())
+                .resultUrl(job.getStatus() == JobStatus.COMPLETED ? "/api/jobs/" + job.getId() + "/result" : null)
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
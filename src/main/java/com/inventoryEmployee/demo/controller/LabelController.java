@@ -0,0 +1,38 @@
+package com.inventoryEmployee.demo.controller;
+
+import com.inventoryEmployee.demo.dto.request.LabelRequest;
+import com.inventoryEmployee.demo.enums.LabelFormat;
+import com.inventoryEmployee.demo.service.LabelService;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+@RestController
+@RequestMapping("/api/labels")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class LabelController {
+
+    private final LabelService labelService;
+
+    // Shelf labels for the given products (or a whole category / the whole catalog),
+    // streamed straight to the response as a PDF of label sheets or a ZIP of PNGs
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public void generateLabels(@Valid @RequestBody LabelRequest request,
+                               HttpServletResponse response) throws IOException {
+        LabelFormat format = request.getFormat() != null ? request.getFormat() : LabelFormat.PDF;
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=labels." + format.getExtension());
+
+        OutputStream out = response.getOutputStream();
+        labelService.writeLabels(request, out);
+        out.flush();
+    }
+}
@@ -1,5 +1,6 @@
 package com.inventoryEmployee.demo.controller;
 
+import com.inventoryEmployee.demo.dto.response.CursorPageResponse;
 import com.inventoryEmployee.demo.dto.response.NotificationResponse;
 import com.inventoryEmployee.demo.entity.Notification;
 import com.inventoryEmployee.demo.entity.User;
@@ -44,6 +45,21 @@ public class NotificationController {
         return ResponseEntity.ok(notifications.map(this::mapToResponse));
     }
 
+    // Get user notifications by cursor
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    public ResponseEntity<CursorPageResponse<NotificationResponse>> getUserNotificationsByCursor(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        Long userId = getCurrentUserId(authentication);
+        CursorPageResponse<Notification> notifications = notificationService
+                .getUserNotifications(userId, cursor, size, includeTotal);
+        return ResponseEntity.ok(notifications.map(this::mapToResponse));
+    }
+
     // Get unread notifications
     @GetMapping("/unread")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
@@ -5,18 +5,21 @@ import com.inventoryEmployee.demo.entity.Employee;
 import com.inventoryEmployee.demo.entity.Order;
 import com.inventoryEmployee.demo.entity.User;
 import com.inventoryEmployee.demo.enums.OrderStatus;
+import com.inventoryEmployee.demo.enums.OrderType;
 import com.inventoryEmployee.demo.repository.UserRepository;
 import com.inventoryEmployee.demo.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -106,6 +109,22 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    // Search orders with filters
+    @GetMapping("/filter")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<Page<Order>> filterOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) OrderType orderType,
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) Long supplierId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            Pageable pageable) {
+        Page<Order> orders = orderService.searchOrdersWithFilters(status, orderType, employeeId,
+                supplierId, startDate, endDate, pageable);
+        return ResponseEntity.ok(orders);
+    }
+
     // Get pending orders
     @GetMapping("/pending")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
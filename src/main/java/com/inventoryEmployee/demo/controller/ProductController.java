@@ -1,7 +1,10 @@
 package com.inventoryEmployee.demo.controller;
 
 import com.inventoryEmployee.demo.dto.request.ProductRequest;
+import com.inventoryEmployee.demo.dto.response.ProductFacetsResponse;
+import com.inventoryEmployee.demo.dto.response.ProductPageResponse;
 import com.inventoryEmployee.demo.dto.response.ProductResponse;
+import com.inventoryEmployee.demo.dto.response.ProductScanResponse;
 import com.inventoryEmployee.demo.entity.Category;
 import com.inventoryEmployee.demo.entity.Inventory;
 import com.inventoryEmployee.demo.entity.Product;
@@ -9,6 +12,8 @@ import com.inventoryEmployee.demo.entity.Supplier;
 import com.inventoryEmployee.demo.enums.ProductStatus;
 import com.inventoryEmployee.demo.repository.CategoryRepository;
 import com.inventoryEmployee.demo.repository.SupplierRepository;
+import com.inventoryEmployee.demo.service.ProductFacetIndex;
+import com.inventoryEmployee.demo.service.ProductScanRow;
 import com.inventoryEmployee.demo.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -78,6 +83,21 @@ public class ProductController {
         return ResponseEntity.ok(mapToResponse(product));
     }
 
+    // Compact lookup for handheld scanners: barcode or SKU
+    @GetMapping("/scan/{code}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    public ResponseEntity<ProductScanResponse> scanProduct(@PathVariable String code) {
+        ProductScanRow row = productService.scanProduct(code);
+        return ResponseEntity.ok(ProductScanResponse.builder()
+                .id(row.productId())
+                .sku(row.sku())
+                .barcode(row.barcode())
+                .price(row.price())
+                .quantityAvailable(row.quantityAvailable())
+                .status(row.status())
+                .build());
+    }
+
     // Get all products with pagination
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
@@ -171,7 +191,7 @@ public class ProductController {
         return ResponseEntity.ok(responseList);
     }
 
-    // Advanced search with filters
+    // Advanced search with filters; facets=true adds the facet counts of the same filters
     @GetMapping("/filter")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
     public ResponseEntity<Page<ProductResponse>> filterProducts(
@@ -181,7 +201,18 @@ public class ProductController {
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
             @RequestParam(required = false) String searchTerm,
+            @RequestParam(defaultValue = "false") boolean facets,
             Pageable pageable) {
+        if (facets) {
+            ProductService.FacetedProducts result = productService.searchProductsWithFacets(
+                    categoryId, supplierId, status, minPrice, maxPrice, searchTerm, pageable);
+            Page<Product> products = result.page();
+
+            return ResponseEntity.ok(new ProductPageResponse(
+                    products.getContent().stream().map(this::mapToResponse).collect(Collectors.toList()),
+                    products.getPageable(), products.getTotalElements(), mapToFacetsResponse(result.facets())));
+        }
+
         Page<Product> products = productService.searchProductsWithFilters(
                 categoryId, supplierId, status, minPrice, maxPrice, searchTerm, pageable);
 
@@ -190,6 +221,38 @@ public class ProductController {
         return ResponseEntity.ok(responsePage);
     }
 
+    // Facet counts alone, for the same filters as /filter
+    @GetMapping("/facets")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    public ResponseEntity<ProductFacetsResponse> getProductFacets(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long supplierId,
+            @RequestParam(required = false) ProductStatus status,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String searchTerm) {
+        ProductFacetIndex.Facets facets = productService.getProductFacets(
+                categoryId, supplierId, status, minPrice, maxPrice, searchTerm);
+
+        return ResponseEntity.ok(mapToFacetsResponse(facets));
+    }
+
+    private ProductFacetsResponse mapToFacetsResponse(ProductFacetIndex.Facets facets) {
+        return ProductFacetsResponse.builder()
+                .total(facets.total())
+                .categories(facets.categories())
+                .suppliers(facets.suppliers())
+                .statuses(facets.statuses())
+                .priceBands(facets.priceBands().stream()
+                        .map(band -> ProductFacetsResponse.PriceBand.builder()
+                                .from(band.from())
+                                .to(band.to())
+                                .count(band.count())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
     private Product mapToEntity(ProductRequest request){
         Product product = new Product();
 
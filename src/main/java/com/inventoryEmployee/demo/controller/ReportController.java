@@ -0,0 +1,73 @@
+package com.inventoryEmployee.demo.controller;
+
+import com.inventoryEmployee.demo.service.PdfReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// PDF reports. The request thread is released while the report renders (async request);
+// the finished file is then streamed from disk. A request that times out leaves the render
+// running, and retrying joins it.
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ReportController {
+
+    private final PdfReportService reportService;
+
+    @Value("${inventory.reports.request-timeout-ms:120000}")
+    private long requestTimeoutMs;
+
+    // Stock value per product, grouped by category
+    @GetMapping("/inventory-valuation")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public DeferredResult<ResponseEntity<Resource>> inventoryValuation() {
+        return pdf(reportService.inventoryValuation(), "inventory-valuation.pdf");
+    }
+
+    // Low-stock items by supplier with quantities to order
+    @GetMapping("/reorder-sheet")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public DeferredResult<ResponseEntity<Resource>> reorderSheet() {
+        return pdf(reportService.reorderSheet(), "reorder-sheet.pdf");
+    }
+
+    @GetMapping("/invoices/{orderId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    public DeferredResult<ResponseEntity<Resource>> invoice(@PathVariable Long orderId) {
+        return pdf(reportService.invoice(orderId), "invoice-" + orderId + ".pdf");
+    }
+
+    private DeferredResult<ResponseEntity<Resource>> pdf(CompletableFuture<Path> render, String filename) {
+        DeferredResult<ResponseEntity<Resource>> result = new DeferredResult<>(requestTimeoutMs,
+                () -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "5")
+                        .build());
+
+        render.whenComplete((file, error) -> {
+            if (error != null) {
+                result.setErrorResult(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+                return;
+            }
+            result.setResult(ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                    .contentType(MediaType.APPLICATION_PDF)
+                    .body(new FileSystemResource(file)));
+        });
+        return result;
+    }
+}
@@ -0,0 +1,118 @@
+package com.inventoryEmployee.demo.controller;
+
+import com.inventoryEmployee.demo.dto.request.StockReservationRequest;
+import com.inventoryEmployee.demo.dto.response.StockReservationResponse;
+import com.inventoryEmployee.demo.entity.Employee;
+import com.inventoryEmployee.demo.entity.StockReservation;
+import com.inventoryEmployee.demo.entity.User;
+import com.inventoryEmployee.demo.enums.StockMovementReason;
+import com.inventoryEmployee.demo.repository.UserRepository;
+import com.inventoryEmployee.demo.service.StockReservationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/reservations")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ReservationController {
+
+    private final StockReservationService reservationService;
+    private final UserRepository userRepository;
+
+    private Employee getEmployeeFromAuth(Authentication authentication) {
+        String username = authentication.getName();
+
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found: " + username));
+
+        if (user.getEmployee() == null) {
+            throw new RuntimeException("User " + username + " is not linked to an employee profile.");
+        }
+
+        return user.getEmployee();
+    }
+
+    // Reserve stock
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    public ResponseEntity<StockReservationResponse> reserve(@Valid @RequestBody StockReservationRequest request) {
+        StockReservation reservation = reservationService.reserve(
+                request.getProductId(),
+                request.getQuantity(),
+                request.getReferenceNumber(),
+                request.getTtlMinutes()
+        );
+        return ResponseEntity.status(HttpStatus.CREATED).body(mapToResponse(reservation));
+    }
+
+    // Commit reservation (turns it into an OUT movement)
+    @PostMapping("/{id}/commit")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    public ResponseEntity<StockReservationResponse> commit(
+            @PathVariable Long id,
+            @RequestParam(required = false) StockMovementReason reason,
+            Authentication authentication) {
+
+        Employee employee = getEmployeeFromAuth(authentication);
+        StockReservation reservation = reservationService.commit(id, reason, employee);
+        return ResponseEntity.ok(mapToResponse(reservation));
+    }
+
+    // Release reservation
+    @PostMapping("/{id}/release")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    public ResponseEntity<StockReservationResponse> release(@PathVariable Long id) {
+        StockReservation reservation = reservationService.release(id);
+        return ResponseEntity.ok(mapToResponse(reservation));
+    }
+
+    // Get reservation by ID
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    public ResponseEntity<StockReservationResponse> getReservation(@PathVariable Long id) {
+        return ResponseEntity.ok(mapToResponse(reservationService.getReservationById(id)));
+    }
+
+    // Get reservations of an order / cart
+    @GetMapping("/reference/{referenceNumber}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    public ResponseEntity<List<StockReservationResponse>> getByReference(@PathVariable String referenceNumber) {
+        List<StockReservationResponse> responses = reservationService.getReservationsByReference(referenceNumber)
+                .stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(responses);
+    }
+
+    // Available-to-promise (on hand minus reserved)
+    @GetMapping("/available/{productId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    public ResponseEntity<Map<String, Object>> getAvailableToPromise(@PathVariable Long productId) {
+        Integer available = reservationService.getAvailableToPromise(productId);
+        return ResponseEntity.ok(Map.of("productId", productId, "availableToPromise", available));
+    }
+
+    private StockReservationResponse mapToResponse(StockReservation reservation) {
+        return StockReservationResponse.builder()
+                .id(reservation.getId())
+                .productId(reservation.getProduct().getId())
+                .quantity(reservation.getQuantity())
+                .status(reservation.getStatus())
+                .referenceNumber(reservation.getReferenceNumber())
+                .expiresAt(reservation.getExpiresAt())
+                .createdAt(reservation.getCreatedAt())
+                .closedAt(reservation.getClosedAt())
+                .createdBy(reservation.getCreatedBy())
+                .build();
+    }
+}
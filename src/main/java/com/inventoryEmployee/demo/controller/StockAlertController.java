@@ -1,5 +1,6 @@
 package com.inventoryEmployee.demo.controller;
 
+import com.inventoryEmployee.demo.dto.response.CursorPageResponse;
 import com.inventoryEmployee.demo.dto.response.StockAlertResponse;
 import com.inventoryEmployee.demo.entity.StockAlert;
 import com.inventoryEmployee.demo.enums.AlertType;
@@ -38,6 +39,17 @@ public class StockAlertController {
         return ResponseEntity.ok(alerts.map(this::mapToResponse));
     }
 
+    // Get recent unresolved alerts by cursor
+    @GetMapping("/recent/cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<CursorPageResponse<StockAlertResponse>> getRecentUnresolvedAlertsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPageResponse<StockAlert> alerts = stockAlertService.getRecentUnresolvedAlerts(cursor, size, includeTotal);
+        return ResponseEntity.ok(alerts.map(this::mapToResponse));
+    }
+
     // Resolve alert
     @PutMapping("/{alertId}/resolve")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
@@ -1,5 +1,6 @@
 package com.inventoryEmployee.demo.controller;
 
+import com.inventoryEmployee.demo.dto.response.CursorPageResponse;
 import com.inventoryEmployee.demo.dto.response.StockTransactionResponse;
 import com.inventoryEmployee.demo.entity.StockTransaction;
 import com.inventoryEmployee.demo.enums.TransactionType;
@@ -54,6 +55,18 @@ public class StockTransactionController {
         return ResponseEntity.ok(transactions.map(this::mapToResponse));
     }
 
+    // Get recent transactions by cursor (no OFFSET scan, no COUNT per page)
+    @GetMapping("/recent/cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<CursorPageResponse<StockTransactionResponse>> getRecentTransactionsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPageResponse<StockTransaction> transactions = stockTransactionService
+                .getRecentTransactions(cursor, size, includeTotal);
+        return ResponseEntity.ok(transactions.map(this::mapToResponse));
+    }
+
     // Get transactions by date range
     @GetMapping("/date-range")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
@@ -0,0 +1,58 @@
+package com.inventoryEmployee.demo.controller;
+
+import com.inventoryEmployee.demo.dto.response.SuggestionResponse;
+import com.inventoryEmployee.demo.enums.SuggestType;
+import com.inventoryEmployee.demo.service.SuggestService;
+import com.inventoryEmployee.demo.util.RadixTrie;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// Typeahead for pickers: the best matches for what has been typed so far, most used first.
+// Access follows the listing endpoints of each entity.
+@RestController
+@RequestMapping("/api/suggest")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class SuggestController {
+
+    private final SuggestService suggestService;
+
+    @GetMapping("/products")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    public ResponseEntity<List<SuggestionResponse>> suggestProducts(@RequestParam String q,
+                                                                    @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(suggest(SuggestType.PRODUCT, q, limit));
+    }
+
+    @GetMapping("/employees")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<List<SuggestionResponse>> suggestEmployees(@RequestParam String q,
+                                                                     @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(suggest(SuggestType.EMPLOYEE, q, limit));
+    }
+
+    @GetMapping("/suppliers")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<List<SuggestionResponse>> suggestSuppliers(@RequestParam String q,
+                                                                     @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(suggest(SuggestType.SUPPLIER, q, limit));
+    }
+
+    private List<SuggestionResponse> suggest(SuggestType type, String q, int limit) {
+        return suggestService.suggest(type, q, limit).stream()
+                .map(SuggestController::mapToResponse)
+                .toList();
+    }
+
+    private static SuggestionResponse mapToResponse(RadixTrie.Entry entry) {
+        return SuggestionResponse.builder()
+                .id(entry.id())
+                .label(entry.label())
+                .detail(entry.detail())
+                .build();
+    }
+}
@@ -3,7 +3,9 @@ package com.inventoryEmployee.demo.controller;
 import com.inventoryEmployee.demo.dto.request.SupplierRequest;
 import com.inventoryEmployee.demo.entity.Supplier;
 import com.inventoryEmployee.demo.enums.SupplierStatus;
+import com.inventoryEmployee.demo.repository.FilterSpecifications;
 import com.inventoryEmployee.demo.repository.SupplierRepository;
+import com.inventoryEmployee.demo.service.SupplierService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -20,14 +22,13 @@ import org.springframework.web.bind.annotation.*;
 public class SupplierController {
 
     private final SupplierRepository supplierRepository;
+    private final SupplierService supplierService;
 
     // Create supplier
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     public ResponseEntity<Supplier> createSupplier(@Valid @RequestBody SupplierRequest request) {
-        Supplier supplier = maptoEntity(request);
-
-        Supplier created = supplierRepository.save(supplier);
+        Supplier created = supplierService.createSupplier(request);
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
@@ -35,8 +36,7 @@ public class SupplierController {
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     public ResponseEntity<Supplier> getSupplierById(@PathVariable Long id) {
-        Supplier supplier = supplierRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Supplier not found"));
+        Supplier supplier = supplierService.getSupplierById(id);
         return ResponseEntity.ok(supplier);
     }
 
@@ -48,32 +48,25 @@ public class SupplierController {
         return ResponseEntity.ok(suppliers);
     }
 
+    // Search suppliers with filters
+    @GetMapping("/filter")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<Page<Supplier>> filterSuppliers(
+            @RequestParam(required = false) SupplierStatus status,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String searchTerm,
+            Pageable pageable) {
+        Page<Supplier> suppliers = supplierRepository.findAll(
+                FilterSpecifications.suppliers(status, city, searchTerm), pageable);
+        return ResponseEntity.ok(suppliers);
+    }
+
     // Update supplier
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     public ResponseEntity<Supplier> updateSupplier(@PathVariable Long id,
                                                    @Valid @RequestBody SupplierRequest request) {
-
-        Supplier existing = supplierRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Supplier not found"));
-
-        existing.setName(request.getName());
-        existing.setContactPerson(request.getContactPerson());
-        existing.setEmail(request.getEmail());
-        existing.setPhone(request.getPhone());
-        existing.setAddress(request.getAddress());
-        existing.setCity(request.getCity());
-        existing.setState(request.getState());
-        existing.setCountry(request.getCountry());
-        existing.setZipCode(request.getZipCode());
-        existing.setTaxId(request.getTaxId());
-        existing.setStatus(request.getStatus());
-
-        if (request.getStatus() != null) {
-            existing.setStatus(request.getStatus());
-        }
-
-        Supplier updated = supplierRepository.save(existing);
+        Supplier updated = supplierService.updateSupplier(id, request);
         return ResponseEntity.ok(updated);
     }
 
@@ -81,36 +74,7 @@ public class SupplierController {
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteSupplier(@PathVariable Long id) {
-        Supplier supplier = supplierRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Supplier not found"));
-        supplier.setDeleted(true);
-        supplierRepository.save(supplier);
+        supplierService.deleteSupplier(id);
         return ResponseEntity.noContent().build();
     }
-
-    private Supplier maptoEntity(SupplierRequest request){
-        Supplier supplier = new Supplier();
-
-        supplier.setName(request.getName());
-        supplier.setContactPerson(request.getContactPerson());
-        supplier.setEmail(request.getEmail());
-        supplier.setPhone(request.getPhone());
-        supplier.setAlternatePhone(request.getAlternatePhone());
-        supplier.setAddress(request.getAddress());
-        supplier.setCity(request.getCity());
-        supplier.setState(request.getState());
-        supplier.setCountry(request.getCountry());
-        supplier.setZipCode(request.getZipCode());
-        supplier.setTaxId(request.getTaxId());
-        supplier.setNotes(request.getNotes());
-        supplier.setStatus(request.getStatus());
-
-        if(request.getStatus() != null){
-            supplier.setStatus(request.getStatus());
-        }else{
-            supplier.setStatus(SupplierStatus.ACTIVE);
-        }
-
-        return supplier;
-    }
 }
@@ -0,0 +1,25 @@
+package com.inventoryEmployee.demo.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStockMovementRequest {
+
+    // Lines are validated one by one so a bad line is reported instead of failing the request
+    @NotEmpty(message = "At least one movement is required")
+    @Size(max = 5000, message = "A bulk request cannot exceed 5000 movements")
+    private List<StockAdjustmentRequest> movements;
+
+    // true (default): all-or-nothing, false: apply valid lines and report the rest
+    private Boolean atomic;
+}
@@ -37,4 +37,5 @@ public class InventoryRequest {
 
     private Boolean lowStockAlertEnabled;
     private Boolean isActive;
+    private Boolean writeCombiningEnabled;
 }
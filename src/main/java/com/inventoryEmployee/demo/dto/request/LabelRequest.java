@@ -0,0 +1,25 @@
+package com.inventoryEmployee.demo.dto.request;
+
+import com.inventoryEmployee.demo.enums.LabelFormat;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LabelRequest {
+
+    // Products to label; when empty, every live product (of categoryId, if given)
+    @Size(max = 100000, message = "A label request cannot exceed 100000 products")
+    private List<Long> productIds;
+
+    private Long categoryId;
+
+    private LabelFormat format; // PDF by default
+}
@@ -1,6 +1,7 @@
 package com.inventoryEmployee.demo.dto.request;
 
 import com.inventoryEmployee.demo.enums.StockMovementReason;
+import com.inventoryEmployee.demo.enums.TransactionType;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -28,4 +29,7 @@ public class StockAdjustmentRequest {
 
     // For adjust stock only
     private Integer newQuantity;
+
+    // For bulk movements only (IN, OUT or ADJUSTMENT)
+    private TransactionType type;
 }
@@ -0,0 +1,32 @@
+package com.inventoryEmployee.demo.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationRequest {
+
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+
+    @Size(max = 50, message = "Reference number must not exceed 50 characters")
+    private String referenceNumber; // Order number / cart id
+
+    // Optional, defaults to inventory.reservations.default-ttl-minutes
+    @Min(value = 1, message = "TTL must be at least 1 minute")
+    @Max(value = 10080, message = "TTL must not exceed 7 days")
+    private Long ttlMinutes;
+}
@@ -0,0 +1,27 @@
+package com.inventoryEmployee.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditReconstructionResponse {
+
+    private String entityName;
+    private Long entityId;
+
+    private Integer version;     // Number of audit entries replayed
+    private Long auditLogId;     // Last entry replayed
+    private LocalDateTime timestamp;
+
+    private Boolean deleted;
+
+    private Map<String, Object> state; // Field name -> value at that version
+}
@@ -0,0 +1,38 @@
+package com.inventoryEmployee.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStockMovementResponse {
+
+    private Integer totalLines;
+    private Integer appliedLines;
+    private Integer failedLines;
+
+    // false when an atomic request was rolled back because of a failed line
+    private Boolean committed;
+
+    private List<LineResult> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineResult {
+
+        private Integer lineNumber;
+        private Long productId;
+        private Boolean success;
+        private Integer previousQuantity;
+        private Integer newQuantity;
+        private String error;
+    }
+}
@@ -0,0 +1,35 @@
+package com.inventoryEmployee.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportResponse {
+
+    private Integer totalRows;
+    private Integer importedRows;
+    private Integer failedRows;
+
+    // Only the first max-reported-errors failures are listed; failedRows counts them all
+    private Boolean errorsTruncated;
+
+    private List<RowError> errors;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        private Long lineNumber;
+        private String sku;
+        private String error;
+    }
+}
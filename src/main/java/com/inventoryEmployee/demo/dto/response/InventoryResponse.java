@@ -19,6 +19,8 @@ public class InventoryResponse {
     private String productSku;
 
     private Integer quantityAvailable;
+    private Integer quantityReserved;
+    private Integer availableToPromise;
     private Integer minStockLevel;
     private Integer maxStockLevel;
     private Integer reorderPoint;
@@ -30,6 +32,7 @@ public class InventoryResponse {
 
     private Boolean lowStockAlertEnabled;
     private Boolean isActive;
+    private Boolean writeCombiningEnabled;
 
     private LocalDateTime lastRestockDate;
     private LocalDateTime lastSaleDate;
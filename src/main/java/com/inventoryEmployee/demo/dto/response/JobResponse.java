@@ -0,0 +1,39 @@
+package com.inventoryEmployee.demo.dto.response;
+
+import com.inventoryEmployee.demo.enums.JobStatus;
+import com.inventoryEmployee.demo.enums.JobType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobResponse {
+
+    private Long id;
+    private JobType jobType;
+    private JobStatus status;
+    private String submittedBy;
+
+    private Long processedItems;
+    private Long succeededItems;
+    private Long failedItems;
+    private Long totalItems;
+    private Double percentComplete; // Null while the total is unknown
+
+    private Integer attempts;
+    private Boolean cancelRequested;
+    private String errorMessage;
+
+    private String resultFileName;
+    private String resultUrl; // Set once the job has completed
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
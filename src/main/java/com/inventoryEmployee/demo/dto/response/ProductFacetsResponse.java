@@ -0,0 +1,38 @@
+package com.inventoryEmployee.demo.dto.response;
+
+import com.inventoryEmployee.demo.enums.ProductStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetsResponse {
+
+    // Products matching every filter
+    private Long total;
+
+    // Counts per value; each facet ignores its own filter, so other values show what picking them gives
+    private Map<Long, Long> categories;
+    private Map<Long, Long> suppliers;
+    private Map<ProductStatus, Long> statuses;
+    private List<PriceBand> priceBands;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceBand {
+
+        private BigDecimal from;
+        private BigDecimal to; // Exclusive; null for the last band
+        private Long count;
+    }
+}
@@ -0,0 +1,25 @@
+package com.inventoryEmployee.demo.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+// A page of /api/products/filter, serialized like any other page, plus the facet counts
+// when the caller asked for them (facets=true)
+public class ProductPageResponse extends PageImpl<ProductResponse> {
+
+    private final ProductFacetsResponse facets;
+
+    public ProductPageResponse(List<ProductResponse> content, Pageable pageable, long total,
+                               ProductFacetsResponse facets) {
+        super(content, pageable, total);
+        this.facets = facets;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public ProductFacetsResponse getFacets() {
+        return facets;
+    }
+}
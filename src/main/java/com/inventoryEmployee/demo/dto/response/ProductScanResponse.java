@@ -0,0 +1,24 @@
+package com.inventoryEmployee.demo.dto.response;
+
+import com.inventoryEmployee.demo.enums.ProductStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// What a handheld scanner needs about a product; the full record is at /api/products/{id}
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductScanResponse {
+
+    private Long id;
+    private String sku;
+    private String barcode;
+    private BigDecimal price;
+    private Integer quantityAvailable;
+    private ProductStatus status;
+}
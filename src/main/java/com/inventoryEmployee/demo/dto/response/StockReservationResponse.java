@@ -0,0 +1,32 @@
+package com.inventoryEmployee.demo.dto.response;
+
+import com.inventoryEmployee.demo.enums.ReservationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationResponse {
+
+    private Long id;
+
+    private Long productId;
+
+    private Integer quantity;
+
+    private ReservationStatus status;
+
+    private String referenceNumber;
+
+    private LocalDateTime expiresAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime closedAt;
+
+    private String createdBy;
+}
@@ -0,0 +1,18 @@
+package com.inventoryEmployee.demo.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One typeahead hit: the text to show and a secondary line (SKU, position or city)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionResponse {
+
+    private Long id;
+    private String label;
+    private String detail;
+}
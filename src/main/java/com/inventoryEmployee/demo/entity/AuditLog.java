@@ -8,7 +8,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "audit_logs", indexes = {
         @Index(name = "idx_entity_name", columnList = "entityName"),
-        @Index(name = "idx_timestamp", columnList = "timestamp")
+        @Index(name = "idx_timestamp", columnList = "timestamp"),
+        @Index(name = "idx_audit_entity_history", columnList = "entityName, entityId, timestamp")
 })
 @Data
 @NoArgsConstructor
@@ -17,7 +18,9 @@ import java.time.LocalDateTime;
 public class AuditLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "audit_logs_id")
+    @TableGenerator(name = "audit_logs_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "audit_logs", allocationSize = 100)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -30,10 +33,10 @@ public class AuditLog {
     private String action; // CREATE, UPDATE, DELETE, LOGIN, LOGOUT
 
     @Column(columnDefinition = "TEXT")
-    private String oldValue; // JSON of old state
+    private String oldValue; // JSON of the changed fields' old values (may be compressed, see AuditPayloadCodec)
 
     @Column(columnDefinition = "TEXT")
-    private String newValue; // JSON of new state
+    private String newValue; // JSON of the changed fields' new values
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
@@ -0,0 +1,90 @@
+package com.inventoryEmployee.demo.entity;
+
+import com.inventoryEmployee.demo.enums.JobStatus;
+import com.inventoryEmployee.demo.enums.JobType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "background_jobs", indexes = {
+        @Index(name = "idx_job_type_status", columnList = "jobType, status, id"),
+        @Index(name = "idx_job_submitted_by", columnList = "submittedBy, createdAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BackgroundJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private JobType jobType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobStatus status;
+
+    @Column(nullable = false, length = 100)
+    private String submittedBy;
+
+    @Column(length = 45)
+    private String ipAddress;
+
+    @Column(length = 500)
+    private String inputPath; // Staged upload, if the job reads one
+
+    @Column(length = 500)
+    private String resultPath;
+
+    @Column(length = 255)
+    private String resultFileName; // Offered to the client on download
+
+    @Column(nullable = false)
+    private Boolean gzip;
+
+    // Handler-defined resume position (rows read for imports, last exported id for exports)
+    @Column(nullable = false)
+    private Long checkpoint;
+
+    // Bytes of the result file that belong to the checkpoint; anything past it is rewritten on resume
+    @Column(nullable = false)
+    private Long resultSize;
+
+    @Column(nullable = false)
+    private Long processedItems;
+
+    @Column(nullable = false)
+    private Long succeededItems;
+
+    @Column(nullable = false)
+    private Long failedItems;
+
+    private Long totalItems; // Null while unknown
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(length = 36)
+    private String claimToken; // Changes on every claim; stale owners can't write checkpoints
+
+    private LocalDateTime heartbeatAt;
+
+    @Column(nullable = false)
+    private Boolean cancelRequested;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+}
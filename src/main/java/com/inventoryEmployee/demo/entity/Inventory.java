@@ -15,7 +15,9 @@ import java.time.LocalDateTime;
 public class Inventory extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "inventory_id")
+    @TableGenerator(name = "inventory_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "inventory", allocationSize = 50)
     private Long id;
 
     @OneToOne
@@ -29,6 +31,11 @@ public class Inventory extends BaseEntity {
     @Column(nullable = false)
     private Integer quantityAvailable = 0;
 
+    @Min(value = 0, message = "Reserved quantity cannot be negative")
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer quantityReserved = 0; // Held by active reservations
+
     @Min(value = 0)
     @Column(nullable = false)
     private Integer minStockLevel = 10; // Reorder threshold
@@ -61,4 +68,9 @@ public class Inventory extends BaseEntity {
 
     @Column(nullable = false)
     private Boolean isActive = true;
+
+    // Route movements through the per-product single writer (hot SKUs)
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean writeCombiningEnabled = false;
 }
@@ -0,0 +1,29 @@
+package com.inventoryEmployee.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_consumer_offsets")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxConsumerOffset {
+
+    @Id
+    @Column(length = 50)
+    private String consumerName;
+
+    @Column(nullable = false)
+    private Long lastEventId; // Highest outbox event id handled
+
+    // Ids at or below lastEventId not seen yet, as "id:firstSeenMillis,..." - their
+    // transactions may still commit (see OutboxRelay)
+    @Column(columnDefinition = "TEXT")
+    private String pendingGaps;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,39 @@
+package com.inventoryEmployee.demo.entity;
+
+import com.inventoryEmployee.demo.enums.OutboxEventType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_created", columnList = "createdAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    // IDENTITY on purpose: consumers read in id order, so ids must follow insert order
+    // (pooled blocks handed to different nodes would not)
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private OutboxEventType eventType;
+
+    @Column(nullable = false, length = 50)
+    private String aggregateType; // e.g. "Inventory", "StockAlert"
+
+    private Long aggregateId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload; // JSON
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
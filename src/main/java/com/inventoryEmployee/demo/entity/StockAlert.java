@@ -7,7 +7,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "stock_alerts")
+@Table(name = "stock_alerts", indexes = {
+        @Index(name = "idx_alert_resolved_created", columnList = "isResolved, createdAt, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,7 +17,9 @@ import java.time.LocalDateTime;
 public class StockAlert {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "stock_alerts_id")
+    @TableGenerator(name = "stock_alerts_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "stock_alerts", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
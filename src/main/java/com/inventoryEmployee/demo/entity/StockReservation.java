@@ -0,0 +1,54 @@
+package com.inventoryEmployee.demo.entity;
+
+import com.inventoryEmployee.demo.enums.ReservationStatus;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "stock_reservations", indexes = {
+        @Index(name = "idx_reservation_status_expiry", columnList = "status, expiresAt"),
+        @Index(name = "idx_reservation_reference", columnList = "referenceNumber")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "stock_reservations_id")
+    @TableGenerator(name = "stock_reservations_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "stock_reservations", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    private Product product;
+
+    @Min(value = 1)
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private ReservationStatus status = ReservationStatus.ACTIVE;
+
+    @Column(length = 50)
+    private String referenceNumber; // Order number / cart id
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    private LocalDateTime closedAt; // When committed, released or expired
+
+    @Column(length = 50)
+    private String createdBy; // Username
+}
@@ -9,7 +9,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "stock_transactions")
+@Table(name = "stock_transactions", indexes = {
+        @Index(name = "idx_stock_tx_date_id", columnList = "transactionDate, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,7 +19,9 @@ import java.time.LocalDateTime;
 public class StockTransaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "stock_transactions_id")
+    @TableGenerator(name = "stock_transactions_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "stock_transactions", allocationSize = 100)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
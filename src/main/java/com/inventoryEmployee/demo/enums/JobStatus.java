@@ -0,0 +1,9 @@
+package com.inventoryEmployee.demo.enums;
+
+public enum JobStatus {
+    QUEUED,     // Waiting for a free slot
+    RUNNING,    // Claimed by a node (re-claimed if its heartbeat stops)
+    COMPLETED,  // Result ready for download
+    FAILED,     // Gave up, see errorMessage
+    CANCELLED   // Stopped on request; work done before that is kept
+}
@@ -0,0 +1,18 @@
+package com.inventoryEmployee.demo.enums;
+
+public enum JobType {
+    PRODUCT_IMPORT(1),   // CSV file -> products + inventory rows; result is the error report
+    PRODUCT_EXPORT(2),   // Live products -> CSV
+    EMPLOYEE_EXPORT(2);  // Live employees -> CSV
+
+    // Jobs of this type run at once per node unless inventory.jobs.max-concurrent.<type> says otherwise
+    private final int defaultConcurrency;
+
+    JobType(int defaultConcurrency) {
+        this.defaultConcurrency = defaultConcurrency;
+    }
+
+    public int getDefaultConcurrency() {
+        return defaultConcurrency;
+    }
+}
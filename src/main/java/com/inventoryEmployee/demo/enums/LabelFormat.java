@@ -0,0 +1,22 @@
+package com.inventoryEmployee.demo.enums;
+
+public enum LabelFormat {
+    PDF("application/pdf", "pdf"), // Sheets of 24 labels per A4 page
+    ZIP("application/zip", "zip"); // One PNG per product
+
+    private final String contentType;
+    private final String extension;
+
+    LabelFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
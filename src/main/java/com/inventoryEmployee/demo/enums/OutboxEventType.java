@@ -0,0 +1,6 @@
+package com.inventoryEmployee.demo.enums;
+
+public enum OutboxEventType {
+    STOCK_MOVEMENT,      // One or more inventory rows changed
+    STOCK_ALERT_CREATED  // A stock alert was raised
+}
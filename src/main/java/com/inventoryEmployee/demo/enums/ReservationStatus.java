@@ -0,0 +1,8 @@
+package com.inventoryEmployee.demo.enums;
+
+public enum ReservationStatus {
+    ACTIVE,     // Holding stock
+    COMMITTED,  // Converted into an OUT movement
+    RELEASED,   // Given back by the caller
+    EXPIRED     // Reclaimed by the sweeper
+}
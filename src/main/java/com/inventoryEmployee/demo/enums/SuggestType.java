@@ -0,0 +1,7 @@
+package com.inventoryEmployee.demo.enums;
+
+public enum SuggestType {
+    PRODUCT,
+    EMPLOYEE,
+    SUPPLIER
+}
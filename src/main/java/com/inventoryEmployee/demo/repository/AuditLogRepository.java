@@ -4,6 +4,7 @@ import com.inventoryEmployee.demo.entity.AuditLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,11 +13,19 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>,
+        JpaSpecificationExecutor<AuditLog> {
 
     // Find by entity name and ID
     Page<AuditLog> findByEntityNameAndEntityId(String entityName, Long entityId, Pageable pageable);
 
+    // Audit entries of one entity, oldest first (for replaying diffs)
+    @Query("SELECT a FROM AuditLog a WHERE a.entityName = :entityName AND a.entityId = :entityId " +
+            "ORDER BY a.timestamp ASC, a.id ASC")
+    List<AuditLog> findHistory(@Param("entityName") String entityName,
+                               @Param("entityId") Long entityId,
+                               Pageable pageable);
+
     // Find by user ID
     List<AuditLog> findByUserId(Long userId);
     Page<AuditLog> findByUserId(Long userId, Pageable pageable);
@@ -25,6 +34,16 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     @Query("SELECT a FROM AuditLog a ORDER BY a.timestamp DESC")
     Page<AuditLog> findRecentAuditLogs(Pageable pageable);
 
+    // Keyset pages of the audit trail, newest first
+    @Query("SELECT a FROM AuditLog a ORDER BY a.timestamp DESC, a.id DESC")
+    List<AuditLog> findRecentAuditLogsFirst(Pageable limit);
+
+    @Query("SELECT a FROM AuditLog a WHERE a.timestamp < :timestamp " +
+            "OR (a.timestamp = :timestamp AND a.id < :id) " +
+            "ORDER BY a.timestamp DESC, a.id DESC")
+    List<AuditLog> findRecentAuditLogsBefore(@Param("timestamp") LocalDateTime timestamp,
+                                             @Param("id") Long id, Pageable limit);
+
 
     // Get user activity summary
     @Query("SELECT a.username, a.action, COUNT(a) FROM AuditLog a " +
@@ -32,19 +51,4 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
             "GROUP BY a.username, a.action")
     List<Object[]> getUserActivitySummary(@Param("startDate") LocalDateTime startDate,
                                           @Param("endDate") LocalDateTime endDate);
-
-    // Advanced search with filters
-    @Query("SELECT a FROM AuditLog a WHERE " +
-            "(:entityName IS NULL OR a.entityName = :entityName) AND " +
-            "(:action IS NULL OR a.action = :action) AND " +
-            "(:userId IS NULL OR a.user.id = :userId) AND " +
-            "(:startDate IS NULL OR a.timestamp >= :startDate) AND " +
-            "(:endDate IS NULL OR a.timestamp <= :endDate) " +
-            "ORDER BY a.timestamp DESC")
-    Page<AuditLog> findByFilters(@Param("entityName") String entityName,
-                                 @Param("action") String action,
-                                 @Param("userId") Long userId,
-                                 @Param("startDate") LocalDateTime startDate,
-                                 @Param("endDate") LocalDateTime endDate,
-                                 Pageable pageable);
 }
@@ -0,0 +1,83 @@
+package com.inventoryEmployee.demo.repository;
+
+import com.inventoryEmployee.demo.entity.BackgroundJob;
+import com.inventoryEmployee.demo.enums.JobStatus;
+import com.inventoryEmployee.demo.enums.JobType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BackgroundJobRepository extends JpaRepository<BackgroundJob, Long> {
+
+    // Oldest queued jobs of a type, plus running ones whose node stopped sending heartbeats.
+    // SKIP LOCKED (-2) lets every node poll at once without two of them claiming the same job.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM BackgroundJob j WHERE j.jobType = :jobType AND (j.status = :queued " +
+            "OR (j.status = :running AND j.heartbeatAt < :staleBefore)) ORDER BY j.id")
+    List<BackgroundJob> findClaimable(@Param("jobType") JobType jobType,
+                                      @Param("queued") JobStatus queued,
+                                      @Param("running") JobStatus running,
+                                      @Param("staleBefore") LocalDateTime staleBefore,
+                                      Pageable limit);
+
+    // Only the current owner (claim token) can move a job forward
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.checkpoint = :checkpoint, j.resultSize = :resultSize, " +
+            "j.processedItems = :processedItems, j.succeededItems = :succeededItems, " +
+            "j.failedItems = :failedItems, j.heartbeatAt = :now " +
+            "WHERE j.id = :id AND j.claimToken = :claimToken AND j.status = :running")
+    int saveCheckpoint(@Param("id") Long id,
+                       @Param("claimToken") String claimToken,
+                       @Param("running") JobStatus running,
+                       @Param("checkpoint") Long checkpoint,
+                       @Param("resultSize") Long resultSize,
+                       @Param("processedItems") Long processedItems,
+                       @Param("succeededItems") Long succeededItems,
+                       @Param("failedItems") Long failedItems,
+                       @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.totalItems = :totalItems " +
+            "WHERE j.id = :id AND j.claimToken = :claimToken")
+    int saveTotalItems(@Param("id") Long id,
+                       @Param("claimToken") String claimToken,
+                       @Param("totalItems") Long totalItems);
+
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = :status, j.errorMessage = :errorMessage, " +
+            "j.finishedAt = :now, j.heartbeatAt = :now WHERE j.id = :id AND j.claimToken = :claimToken")
+    int finish(@Param("id") Long id,
+               @Param("claimToken") String claimToken,
+               @Param("status") JobStatus status,
+               @Param("errorMessage") String errorMessage,
+               @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.heartbeatAt = :now " +
+            "WHERE j.claimToken IN :claimTokens AND j.status = :running")
+    int heartbeat(@Param("claimTokens") Collection<String> claimTokens,
+                  @Param("running") JobStatus running,
+                  @Param("now") LocalDateTime now);
+
+    @Query("SELECT j.cancelRequested FROM BackgroundJob j WHERE j.id = :id")
+    Boolean isCancelRequested(@Param("id") Long id);
+
+    Page<BackgroundJob> findBySubmittedByOrderByIdDesc(String submittedBy, Pageable pageable);
+
+    Page<BackgroundJob> findAllByOrderByIdDesc(Pageable pageable);
+
+    // Finished jobs past retention, for cleanup
+    List<BackgroundJob> findByStatusInAndFinishedAtBefore(Collection<JobStatus> statuses,
+                                                          LocalDateTime finishedBefore,
+                                                          Pageable limit);
+}
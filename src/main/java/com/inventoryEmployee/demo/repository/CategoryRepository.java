@@ -1,12 +1,15 @@
 package com.inventoryEmployee.demo.repository;
 
 import com.inventoryEmployee.demo.entity.Category;
+import com.inventoryEmployee.demo.service.SearchNameRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,4 +39,12 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
             "LEFT JOIN c.products p WHERE p.deleted = false " +
             "GROUP BY c")
     List<Object[]> findCategoriesWithProductCount();
+
+    // Names for product global search (deleted categories too: products keep pointing at them)
+    @Query("SELECT new com.inventoryEmployee.demo.service.SearchNameRow(c.id, c.name) FROM Category c")
+    List<SearchNameRow> findSearchNames();
+
+    @Query("SELECT new com.inventoryEmployee.demo.service.SearchNameRow(c.id, c.name) FROM Category c " +
+            "WHERE c.id IN :ids")
+    List<SearchNameRow> findSearchNames(@Param("ids") Collection<Long> ids);
 }
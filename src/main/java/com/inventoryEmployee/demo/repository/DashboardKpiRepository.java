@@ -0,0 +1,82 @@
+package com.inventoryEmployee.demo.repository;
+
+import com.inventoryEmployee.demo.enums.EmployeeStatus;
+import com.inventoryEmployee.demo.enums.OrderStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Dashboard counters folded into a handful of grouped queries (one round trip per table
+// group instead of one per metric). Each method returns its counts as a long[].
+@Repository
+public class DashboardKpiRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // {products, categories, departments, unresolved alerts}
+    public long[] countCatalog() {
+        Object[] row = (Object[]) entityManager.createNativeQuery(
+                "SELECT (SELECT COUNT(*) FROM products), (SELECT COUNT(*) FROM categories), " +
+                        "(SELECT COUNT(*) FROM departments), " +
+                        "(SELECT COUNT(*) FROM stock_alerts WHERE is_resolved = false)")
+                .getSingleResult();
+        return toLongs(row);
+    }
+
+    // {all orders, pending, delivered} - status counts exclude soft-deleted orders
+    public long[] countOrders() {
+        Object[] row = (Object[]) entityManager.createQuery(
+                "SELECT COUNT(o), " +
+                        "SUM(CASE WHEN o.status = :pending AND o.deleted = false THEN 1 ELSE 0 END), " +
+                        "SUM(CASE WHEN o.status = :delivered AND o.deleted = false THEN 1 ELSE 0 END) " +
+                        "FROM Order o")
+                .setParameter("pending", OrderStatus.PENDING)
+                .setParameter("delivered", OrderStatus.DELIVERED)
+                .getSingleResult();
+        return toLongs(row);
+    }
+
+    // {active employees, hired between the dates}
+    public long[] countEmployees(LocalDate hiredFrom, LocalDate hiredTo) {
+        Object[] row = (Object[]) entityManager.createQuery(
+                "SELECT SUM(CASE WHEN e.status = :active AND e.deleted = false THEN 1 ELSE 0 END), " +
+                        "SUM(CASE WHEN e.hireDate BETWEEN :hiredFrom AND :hiredTo THEN 1 ELSE 0 END) " +
+                        "FROM Employee e")
+                .setParameter("active", EmployeeStatus.ACTIVE)
+                .setParameter("hiredFrom", hiredFrom)
+                .setParameter("hiredTo", hiredTo)
+                .getSingleResult();
+        return toLongs(row);
+    }
+
+    // {since dayStart, since weekStart, since monthStart}, one range scan over the ledger
+    public long[] countTransactions(LocalDateTime dayStart, LocalDateTime weekStart,
+                                    LocalDateTime monthStart, LocalDateTime until) {
+        LocalDateTime from = weekStart.isBefore(monthStart) ? weekStart : monthStart;
+        Object[] row = (Object[]) entityManager.createQuery(
+                "SELECT SUM(CASE WHEN t.transactionDate >= :dayStart THEN 1 ELSE 0 END), " +
+                        "SUM(CASE WHEN t.transactionDate >= :weekStart THEN 1 ELSE 0 END), " +
+                        "SUM(CASE WHEN t.transactionDate >= :monthStart THEN 1 ELSE 0 END) " +
+                        "FROM StockTransaction t WHERE t.transactionDate BETWEEN :from AND :until")
+                .setParameter("dayStart", dayStart)
+                .setParameter("weekStart", weekStart)
+                .setParameter("monthStart", monthStart)
+                .setParameter("from", from)
+                .setParameter("until", until)
+                .getSingleResult();
+        return toLongs(row);
+    }
+
+    // SUM over no rows is NULL
+    private static long[] toLongs(Object[] row) {
+        long[] values = new long[row.length];
+        for (int i = 0; i < row.length; i++) {
+            values[i] = row[i] != null ? ((Number) row[i]).longValue() : 0L;
+        }
+        return values;
+    }
+}
@@ -1,20 +1,29 @@
 package com.inventoryEmployee.demo.repository;
 import com.inventoryEmployee.demo.entity.Employee;
 import com.inventoryEmployee.demo.enums.EmployeeStatus;
+import com.inventoryEmployee.demo.service.EmployeeExportRow;
+import com.inventoryEmployee.demo.service.SuggestionRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>,
+        JpaSpecificationExecutor<Employee> {
 
     // Find by email (for login/unique check)
     Optional<Employee> findByEmail(String email);
@@ -27,6 +36,8 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
     Page<Employee> findByDeletedFalse(Pageable pageable);
 
+    long countByDeletedFalse();
+
     // Find by status and not deleted
     List<Employee> findByStatusAndDeletedFalse(EmployeeStatus status);
 
@@ -53,16 +64,26 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     @Query("SELECT COUNT(e) FROM Employee e WHERE e.hireDate BETWEEN :startDate AND :endDate")
     Long countEmployeesHiredThisMonth(@Param("startDate") LocalDate start, @Param("endDate") LocalDate end);
 
-    // Custom search with multiple filters
-    @Query("SELECT e FROM Employee e WHERE " +
-            "(:departmentId IS NULL OR e.department.id = :departmentId) AND " +
-            "(:status IS NULL OR e.status = :status) AND " +
-            "(:searchTerm IS NULL OR LOWER(e.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-            "OR LOWER(e.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
-            "e.deleted = false")
-    Page<Employee> findByFilters(@Param("departmentId") Long departmentId,
-                                 @Param("status") EmployeeStatus status,
-                                 @Param("searchTerm") String searchTerm,
-                                 Pageable pageable);
-
-}
\ No newline at end of file
+    // Every live employee for the CSV export, streamed (MySQL needs fetch size MIN_VALUE to stream)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.inventoryEmployee.demo.service.EmployeeExportRow(e.id, e.firstName, e.lastName, " +
+            "e.email, e.phone, e.position, d.name, e.salary, e.hireDate) " +
+            "FROM Employee e LEFT JOIN e.department d WHERE e.deleted = false ORDER BY e.id")
+    Stream<EmployeeExportRow> streamForExport();
+
+    // Next chunk of the export after a given id (resumable background export)
+    @Query("SELECT new com.inventoryEmployee.demo.service.EmployeeExportRow(e.id, e.firstName, e.lastName, " +
+            "e.email, e.phone, e.position, d.name, e.salary, e.hireDate) " +
+            "FROM Employee e LEFT JOIN e.department d WHERE e.deleted = false AND e.id > :afterId ORDER BY e.id")
+    List<EmployeeExportRow> findForExportAfter(@Param("afterId") Long afterId, Pageable limit);
+
+    // Every live employee for the typeahead build
+    @Query("SELECT new com.inventoryEmployee.demo.service.SuggestionRow(e.id, " +
+            "CONCAT(e.firstName, ' ', e.lastName), e.position, e.deleted) FROM Employee e WHERE e.deleted = false")
+    List<SuggestionRow> findAllForSuggest();
+
+    // Deleted ones included (incremental typeahead refresh)
+    @Query("SELECT new com.inventoryEmployee.demo.service.SuggestionRow(e.id, " +
+            "CONCAT(e.firstName, ' ', e.lastName), e.position, e.deleted) FROM Employee e WHERE e.id IN :ids")
+    List<SuggestionRow> findForSuggest(@Param("ids") Collection<Long> ids);
+}
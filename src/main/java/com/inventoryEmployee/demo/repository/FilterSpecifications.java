@@ -0,0 +1,120 @@
+package com.inventoryEmployee.demo.repository;
+
+import com.inventoryEmployee.demo.entity.*;
+import com.inventoryEmployee.demo.enums.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Filter specifications behind the search endpoints, plus the default orderings.
+// Time-ordered listings sort by (timestamp DESC, id DESC) so MySQL can walk the
+// timestamp index backwards (InnoDB secondary indexes end with the primary key)
+// instead of filesorting.
+public final class FilterSpecifications {
+
+    public static final Sort AUDIT_LOG_ORDER = Sort.by(Sort.Order.desc("timestamp"), Sort.Order.desc("id"));
+    public static final Sort ORDER_ORDER = Sort.by(Sort.Order.desc("orderDate"), Sort.Order.desc("id"));
+    public static final Sort STOCK_ALERT_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    public static final Sort STOCK_TRANSACTION_ORDER =
+            Sort.by(Sort.Order.desc("transactionDate"), Sort.Order.desc("id"));
+
+    private FilterSpecifications() {
+    }
+
+    // The caller's sort if it asked for one, otherwise the listing's default
+    public static Pageable sortedOrDefault(Pageable pageable, Sort defaultSort) {
+        if (pageable.isUnpaged() || pageable.getSort().isSorted()) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), defaultSort);
+    }
+
+    public static Specification<Product> products(Long categoryId, Long supplierId, ProductStatus status,
+                                                  BigDecimal minPrice, BigDecimal maxPrice, String searchTerm) {
+        return SpecificationBuilder.<Product>where()
+                .equal("category.id", categoryId)
+                .equal("supplier.id", supplierId)
+                .equal("status", status)
+                .atLeast("price", minPrice)
+                .atMost("price", maxPrice)
+                .containsIgnoreCase(searchTerm, "name", "sku")
+                .isFalse("deleted")
+                .build();
+    }
+
+    public static Specification<Inventory> inventory(String location, String searchTerm) {
+        return SpecificationBuilder.<Inventory>where()
+                .equal("location", location)
+                .containsIgnoreCase(searchTerm, "product.name", "product.sku")
+                .isTrue("isActive")
+                .isFalse("product.deleted")
+                .build();
+    }
+
+    public static Specification<StockTransaction> stockTransactions(Long productId, Long employeeId,
+                                                                    TransactionType type,
+                                                                    LocalDateTime startDate,
+                                                                    LocalDateTime endDate) {
+        return SpecificationBuilder.<StockTransaction>where()
+                .equal("product.id", productId)
+                .equal("employee.id", employeeId)
+                .equal("type", type)
+                .atLeast("transactionDate", startDate)
+                .atMost("transactionDate", endDate)
+                .build();
+    }
+
+    public static Specification<Order> orders(OrderStatus status, OrderType orderType, Long employeeId,
+                                              Long supplierId, LocalDateTime startDate, LocalDateTime endDate) {
+        return SpecificationBuilder.<Order>where()
+                .equal("status", status)
+                .equal("orderType", orderType)
+                .equal("employee.id", employeeId)
+                .equal("supplier.id", supplierId)
+                .atLeast("orderDate", startDate)
+                .atMost("orderDate", endDate)
+                .isFalse("deleted")
+                .build();
+    }
+
+    public static Specification<AuditLog> auditLogs(String entityName, String action, Long userId,
+                                                    LocalDateTime startDate, LocalDateTime endDate) {
+        return SpecificationBuilder.<AuditLog>where()
+                .equal("entityName", entityName)
+                .equal("action", action)
+                .equal("user.id", userId)
+                .atLeast("timestamp", startDate)
+                .atMost("timestamp", endDate)
+                .build();
+    }
+
+    public static Specification<Employee> employees(Long departmentId, EmployeeStatus status, String searchTerm) {
+        return SpecificationBuilder.<Employee>where()
+                .equal("department.id", departmentId)
+                .equal("status", status)
+                .containsIgnoreCase(searchTerm, "firstName", "lastName")
+                .isFalse("deleted")
+                .build();
+    }
+
+    public static Specification<Supplier> suppliers(SupplierStatus status, String city, String searchTerm) {
+        return SpecificationBuilder.<Supplier>where()
+                .equal("status", status)
+                .equalIgnoreCase("city", city)
+                .containsIgnoreCase(searchTerm, "name")
+                .isFalse("deleted")
+                .build();
+    }
+
+    public static Specification<StockAlert> stockAlerts(AlertType alertType, Boolean isResolved, Long productId) {
+        return SpecificationBuilder.<StockAlert>where()
+                .equal("alertType", alertType)
+                .equal("isResolved", isResolved)
+                .equal("product.id", productId)
+                .build();
+    }
+}
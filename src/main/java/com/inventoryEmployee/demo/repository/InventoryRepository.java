@@ -1,18 +1,32 @@
 package com.inventoryEmployee.demo.repository;
 
 import com.inventoryEmployee.demo.entity.Inventory;
+import com.inventoryEmployee.demo.service.InventoryReportRow;
+import com.inventoryEmployee.demo.service.StockLevelEntry;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface InventoryRepository extends JpaRepository<Inventory, Long> {
+public interface InventoryRepository extends JpaRepository<Inventory, Long>,
+        JpaSpecificationExecutor<Inventory> {
 
     // Find by product ID
     Optional<Inventory> findByProductId(Long productId);
@@ -20,6 +34,117 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
 
     Page<Inventory> findByIsActiveTrue(Pageable pageable);
 
+    // Current quantity straight from the database (bypasses the persistence context)
+    @Query("SELECT i.quantityAvailable FROM Inventory i WHERE i.product.id = :productId")
+    Optional<Integer> findQuantityByProductId(@Param("productId") Long productId);
+
+    // Atomic stock increment - one guarded UPDATE instead of read-modify-write.
+    // Bumps the version so stale entity copies cannot overwrite the new quantity.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Inventory i SET i.quantityAvailable = i.quantityAvailable + :quantity, " +
+            "i.lastRestockDate = :now, i.version = i.version + 1 " +
+            "WHERE i.product.id = :productId")
+    int incrementStock(@Param("productId") Long productId,
+                       @Param("quantity") int quantity,
+                       @Param("now") LocalDateTime now);
+
+    // Available-to-promise: on-hand stock not held by reservations
+    @Query("SELECT i.quantityAvailable - i.quantityReserved FROM Inventory i WHERE i.product.id = :productId")
+    Optional<Integer> findAvailableToPromiseByProductId(@Param("productId") Long productId);
+
+    // Atomic stock decrement - only succeeds when enough unreserved stock is available
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Inventory i SET i.quantityAvailable = i.quantityAvailable - :quantity, " +
+            "i.lastSaleDate = :now, i.version = i.version + 1 " +
+            "WHERE i.product.id = :productId AND i.quantityAvailable - i.quantityReserved >= :quantity")
+    int decrementStock(@Param("productId") Long productId,
+                       @Param("quantity") int quantity,
+                       @Param("now") LocalDateTime now);
+
+    // Compare-and-set stock level - only succeeds if nobody moved the stock since it was read
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Inventory i SET i.quantityAvailable = :newQuantity, i.version = i.version + 1 " +
+            "WHERE i.product.id = :productId AND i.quantityAvailable = :expectedQuantity")
+    int compareAndSetStock(@Param("productId") Long productId,
+                           @Param("expectedQuantity") int expectedQuantity,
+                           @Param("newQuantity") int newQuantity);
+
+    // Hold stock for a reservation - only succeeds when enough unreserved stock is available
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Inventory i SET i.quantityReserved = i.quantityReserved + :quantity, " +
+            "i.version = i.version + 1 " +
+            "WHERE i.product.id = :productId AND i.quantityAvailable - i.quantityReserved >= :quantity")
+    int reserveStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    // Give reserved stock back
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Inventory i SET i.quantityReserved = i.quantityReserved - :quantity, " +
+            "i.version = i.version + 1 " +
+            "WHERE i.product.id = :productId AND i.quantityReserved >= :quantity")
+    int releaseReservedStock(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    // Turn reserved stock into an OUT movement
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Inventory i SET i.quantityAvailable = i.quantityAvailable - :quantity, " +
+            "i.quantityReserved = i.quantityReserved - :quantity, " +
+            "i.lastSaleDate = :now, i.version = i.version + 1 " +
+            "WHERE i.product.id = :productId AND i.quantityReserved >= :quantity " +
+            "AND i.quantityAvailable >= :quantity")
+    int commitReservedStock(@Param("productId") Long productId,
+                            @Param("quantity") int quantity,
+                            @Param("now") LocalDateTime now);
+
+    // Fetch and lock the inventory rows of many products in product-id order (bulk movements)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i JOIN FETCH i.product p " +
+            "WHERE p.id IN :productIds ORDER BY p.id")
+    List<Inventory> findByProductIdsForUpdate(@Param("productIds") Collection<Long> productIds);
+
+    // Inventory rows of many products with their product (alert evaluation)
+    @Query("SELECT i FROM Inventory i JOIN FETCH i.product p WHERE p.id IN :productIds")
+    List<Inventory> findByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    // Lock stock rows in product-id order and return (productId, quantityAvailable, quantityReserved, id)
+    @Query(value = "SELECT product_id, quantity_available, quantity_reserved, id FROM inventory " +
+            "WHERE product_id IN (:productIds) ORDER BY product_id FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockQuantitiesByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    // Write the result of several combined movements in one UPDATE (null dates are left unchanged)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Inventory i SET i.quantityAvailable = :newQuantity, i.version = i.version + 1, " +
+            "i.lastRestockDate = COALESCE(:restockedAt, i.lastRestockDate), " +
+            "i.lastSaleDate = COALESCE(:soldAt, i.lastSaleDate) " +
+            "WHERE i.product.id = :productId")
+    int applyCombinedStock(@Param("productId") Long productId,
+                           @Param("newQuantity") int newQuantity,
+                           @Param("restockedAt") LocalDateTime restockedAt,
+                           @Param("soldAt") LocalDateTime soldAt);
+
+    // Products whose movements go through the single-writer stock engine
+    @Query("SELECT i.product.id FROM Inventory i WHERE i.writeCombiningEnabled = true")
+    List<Long> findWriteCombinedProductIds();
+
+    // Every inventory row as a stock-level entry, streamed (MySQL needs fetch size MIN_VALUE to stream)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.inventoryEmployee.demo.service.StockLevelEntry(i.id, p.id, p.name, p.sku, " +
+            "p.price, c.id, s.id, " +
+            "i.quantityAvailable, i.quantityReserved, i.minStockLevel, i.maxStockLevel, " +
+            "i.reorderPoint, i.reorderQuantity, i.location, i.binNumber, i.rackNumber, " +
+            "i.lowStockAlertEnabled, i.writeCombiningEnabled, i.lastRestockDate, i.lastSaleDate, " +
+            "i.isActive, p.deleted, i.createdAt, i.updatedAt) FROM Inventory i JOIN i.product p " +
+            "LEFT JOIN p.category c LEFT JOIN p.supplier s")
+    Stream<StockLevelEntry> streamStockLevels();
+
+    // Stock-level entries of some products (incremental index refresh)
+    @Query("SELECT new com.inventoryEmployee.demo.service.StockLevelEntry(i.id, p.id, p.name, p.sku, " +
+            "p.price, c.id, s.id, " +
+            "i.quantityAvailable, i.quantityReserved, i.minStockLevel, i.maxStockLevel, " +
+            "i.reorderPoint, i.reorderQuantity, i.location, i.binNumber, i.rackNumber, " +
+            "i.lowStockAlertEnabled, i.writeCombiningEnabled, i.lastRestockDate, i.lastSaleDate, " +
+            "i.isActive, p.deleted, i.createdAt, i.updatedAt) FROM Inventory i JOIN i.product p " +
+            "LEFT JOIN p.category c LEFT JOIN p.supplier s WHERE p.id IN :productIds")
+    List<StockLevelEntry> findStockLevelsByProductIds(@Param("productIds") Collection<Long> productIds);
+
     // Find low stock items (quantity below minimum)
     @Query("SELECT i FROM Inventory i WHERE i.quantityAvailable <= i.minStockLevel " +
             "AND i.isActive = true AND i.product.deleted = false")
@@ -40,6 +165,21 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
             "JOIN i.product p WHERE i.isActive = true AND p.deleted = false")
     Double calculateTotalInventoryValue();
 
+    // Full recomputes used to reconcile the incrementally maintained aggregates
+    @Query("SELECT COALESCE(SUM(i.quantityAvailable * p.price), 0) FROM Inventory i " +
+            "JOIN i.product p WHERE i.isActive = true AND p.deleted = false")
+    BigDecimal sumInventoryValue();
+
+    @Query("SELECT p.category.id, SUM(i.quantityAvailable * p.price) FROM Inventory i " +
+            "JOIN i.product p WHERE i.isActive = true AND p.deleted = false AND p.category IS NOT NULL " +
+            "GROUP BY p.category.id")
+    List<Object[]> sumInventoryValueByCategory();
+
+    @Query("SELECT p.supplier.id, SUM(i.quantityAvailable * p.price) FROM Inventory i " +
+            "JOIN i.product p WHERE i.isActive = true AND p.deleted = false AND p.supplier IS NOT NULL " +
+            "GROUP BY p.supplier.id")
+    List<Object[]> sumInventoryValueBySupplier();
+
     // Count low stock items
     @Query("SELECT COUNT(i) FROM Inventory i WHERE i.quantityAvailable <= i.minStockLevel " +
             "AND i.isActive = true AND i.product.deleted = false")
@@ -50,19 +190,45 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
             "AND i.isActive = true AND i.product.deleted = false")
     Long countOutOfStockItems();
 
+    // Count overstocked items
+    @Query("SELECT COUNT(i) FROM Inventory i WHERE i.quantityAvailable > i.maxStockLevel " +
+            "AND i.isActive = true AND i.product.deleted = false")
+    Long countOverstockedItems();
+
     // Find by location and low stock
     @Query("SELECT i FROM Inventory i WHERE i.location = :location " +
             "AND i.quantityAvailable <= i.minStockLevel " +
             "AND i.isActive = true AND i.product.deleted = false")
     List<Inventory> findLowStockByLocation(@Param("location") String location);
 
-    // Search inventory with filters
-    @Query("SELECT i FROM Inventory i JOIN i.product p WHERE " +
-            "(:location IS NULL OR i.location = :location) AND " +
-            "(:searchTerm IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-            "OR LOWER(p.sku) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
-            "i.isActive = true AND p.deleted = false")
-    Page<Inventory> findByFilters(@Param("location") String location,
-                                  @Param("searchTerm") String searchTerm,
-                                  Pageable pageable);
-}
\ No newline at end of file
+    // Active inventory of live products by category, for the valuation report (streamed)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.inventoryEmployee.demo.service.InventoryReportRow(c.name, s.name, p.sku, p.name, " +
+            "p.price, i.quantityAvailable, i.minStockLevel, i.maxStockLevel, i.reorderQuantity) " +
+            "FROM Inventory i JOIN i.product p LEFT JOIN p.category c LEFT JOIN p.supplier s " +
+            "WHERE i.isActive = true AND p.deleted = false ORDER BY c.name, p.name, p.id")
+    Stream<InventoryReportRow> streamForValuationReport();
+
+    // Low-stock inventory by supplier, for the reorder sheet (streamed)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.inventoryEmployee.demo.service.InventoryReportRow(c.name, s.name, p.sku, p.name, " +
+            "p.price, i.quantityAvailable, i.minStockLevel, i.maxStockLevel, i.reorderQuantity) " +
+            "FROM Inventory i JOIN i.product p LEFT JOIN p.category c LEFT JOIN p.supplier s " +
+            "WHERE i.isActive = true AND p.deleted = false AND i.quantityAvailable <= i.minStockLevel " +
+            "ORDER BY s.name, p.sku")
+    Stream<InventoryReportRow> streamForReorderReport();
+
+    // Changes whenever anything the inventory reports print changes, from index lookups only:
+    // every stock movement writes an outbox event (IDENTITY ids, so its MAX(id) moves with each
+    // one), threshold / product / category / supplier edits and soft deletes move updated_at,
+    // and inserts move both updated_at and MAX(id)
+    @Query(value = "SELECT CONCAT(" +
+            "COALESCE((SELECT MAX(e.id) FROM outbox_events e), 0), ':', " +
+            "COALESCE((SELECT MAX(i.updated_at) FROM inventory i), ''), ':', " +
+            "COALESCE((SELECT MAX(i.id) FROM inventory i), 0), ':', " +
+            "COALESCE((SELECT MAX(p.updated_at) FROM products p), ''), ':', " +
+            "COALESCE((SELECT MAX(p.id) FROM products p), 0), ':', " +
+            "COALESCE((SELECT MAX(c.updated_at) FROM categories c), ''), ':', " +
+            "COALESCE((SELECT MAX(s.updated_at) FROM suppliers s), ''))", nativeQuery = true)
+    String findReportVersion();
+}
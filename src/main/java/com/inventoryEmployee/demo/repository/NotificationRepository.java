@@ -29,6 +29,20 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
             "ORDER BY n.createdAt DESC")
     Page<Notification> findRecentNotificationsByUser(@Param("userId") Long userId, Pageable pageable);
 
+    // Keyset pages of a user's notifications, newest first (index on user_id, createdAt, id)
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findRecentNotificationsByUserFirst(@Param("userId") Long userId, Pageable limit);
+
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId " +
+            "AND (n.createdAt < :timestamp OR (n.createdAt = :timestamp AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findRecentNotificationsByUserBefore(@Param("userId") Long userId,
+                                                           @Param("timestamp") LocalDateTime timestamp,
+                                                           @Param("id") Long id, Pageable limit);
+
+    Long countByUserId(Long userId);
+
     // Mark notification as read
     @Modifying
     @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readTime " +
@@ -1,9 +1,16 @@
 package com.inventoryEmployee.demo.repository;
 
 import com.inventoryEmployee.demo.entity.OrderItem;
+import com.inventoryEmployee.demo.service.InvoiceLine;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
@@ -20,4 +27,11 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 //    // Get total quantity ordered for a product
 //    @Query("SELECT SUM(oi.quantity) FROM OrderItem oi WHERE oi.product.id = :productId")
 //    Integer getTotalQuantityOrdered(@Param("productId") Long productId);
+
+    // Lines of one order for its invoice, streamed (MySQL needs fetch size MIN_VALUE to stream)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.inventoryEmployee.demo.service.InvoiceLine(p.sku, p.name, oi.quantity, oi.unitPrice, " +
+            "oi.discountAmount, oi.finalAmount) FROM OrderItem oi JOIN oi.product p " +
+            "WHERE oi.order.id = :orderId ORDER BY oi.id")
+    Stream<InvoiceLine> streamInvoiceLines(@Param("orderId") Long orderId);
 }
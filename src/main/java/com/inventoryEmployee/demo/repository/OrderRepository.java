@@ -2,10 +2,11 @@ package com.inventoryEmployee.demo.repository;
 
 import com.inventoryEmployee.demo.entity.Order;
 import com.inventoryEmployee.demo.enums.OrderStatus;
-import com.inventoryEmployee.demo.enums.OrderType;
+import com.inventoryEmployee.demo.service.PopularityRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,7 +17,8 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>,
+        JpaSpecificationExecutor<Order> {
 
     // Find by order number
     Optional<Order> findByOrderNumber(String orderNumber);
@@ -38,21 +40,14 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o WHERE o.status = 'PENDING' AND o.deleted = false")
     List<Order> findPendingOrders();
 
-    // Search orders with filters
-    @Query("SELECT o FROM Order o WHERE " +
-            "(:status IS NULL OR o.status = :status) AND " +
-            "(:orderType IS NULL OR o.orderType = :orderType) AND " +
-            "(:employeeId IS NULL OR o.employee.id = :employeeId) AND " +
-            "(:supplierId IS NULL OR o.supplier.id = :supplierId) AND " +
-            "(:startDate IS NULL OR o.orderDate >= :startDate) AND " +
-            "(:endDate IS NULL OR o.orderDate <= :endDate) AND " +
-            "o.deleted = false " +
-            "ORDER BY o.orderDate DESC")
-    Page<Order> findByFilters(@Param("status") OrderStatus status,
-                              @Param("orderType") OrderType orderType,
-                              @Param("employeeId") Long employeeId,
-                              @Param("supplierId") Long supplierId,
-                              @Param("startDate") LocalDateTime startDate,
-                              @Param("endDate") LocalDateTime endDate,
-                              Pageable pageable);
+    // Changes whenever the order or any of its items is saved (null if there is no such order)
+    @Query(value = "SELECT CONCAT(o.id, ':', COALESCE(o.updated_at, ''), ':', " +
+            "(SELECT CONCAT(COUNT(*), ':', COALESCE(MAX(oi.updated_at), '')) FROM order_items oi " +
+            "WHERE oi.order_id = o.id)) FROM orders o WHERE o.id = :id AND o.deleted = false", nativeQuery = true)
+    String findReportVersion(@Param("id") Long id);
+
+    // Orders per supplier since a date, for typeahead ranking
+    @Query("SELECT new com.inventoryEmployee.demo.service.PopularityRow(o.supplier.id, COUNT(o)) FROM Order o " +
+            "WHERE o.supplier IS NOT NULL AND o.orderDate >= :since AND o.deleted = false GROUP BY o.supplier.id")
+    List<PopularityRow> countOrdersBySupplier(@Param("since") LocalDateTime since);
 }
@@ -0,0 +1,23 @@
+package com.inventoryEmployee.demo.repository;
+
+import com.inventoryEmployee.demo.entity.OutboxConsumerOffset;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OutboxConsumerOffsetRepository extends JpaRepository<OutboxConsumerOffset, String> {
+
+    // Claim a consumer for this node; SKIP LOCKED (-2) returns nothing if another node has it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM OutboxConsumerOffset o WHERE o.consumerName = :consumerName")
+    Optional<OutboxConsumerOffset> claim(@Param("consumerName") String consumerName);
+}
@@ -0,0 +1,30 @@
+package com.inventoryEmployee.demo.repository;
+
+import com.inventoryEmployee.demo.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Next events for a consumer, in insert order (primary key range scan)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id > :afterId ORDER BY e.id")
+    List<OutboxEvent> findBatch(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Events that were missing when a consumer's offset moved past their ids
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id IN :ids ORDER BY e.id")
+    List<OutboxEvent> findByIds(@Param("ids") Collection<Long> ids);
+
+    // Drop events every consumer has handled
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id <= :upToId AND e.createdAt < :olderThan")
+    int deleteConsumed(@Param("upToId") Long upToId, @Param("olderThan") LocalDateTime olderThan);
+}
@@ -0,0 +1,36 @@
+package com.inventoryEmployee.demo.repository;
+
+import com.inventoryEmployee.demo.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public class ProductBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Persist products, and the inventory row each one carries (cascaded), in the caller's
+    // transaction. Both use pooled table generators, and with ordered inserts Hibernate
+    // sends one JDBC batch of products followed by one of inventory rows per flush.
+    // Each flushed chunk is detached (cascading to its inventory rows) so the persistence
+    // context, and the dirty check of every later flush, stays one chunk in size.
+    public void insertAll(List<Product> products) {
+        int chunkStart = 0;
+        for (int i = 0; i < products.size(); i++) {
+            entityManager.persist(products.get(i));
+            if ((i + 1) % BATCH_SIZE == 0 || i == products.size() - 1) {
+                entityManager.flush();
+                for (Product flushed : products.subList(chunkStart, i + 1)) {
+                    entityManager.detach(flushed);
+                }
+                chunkStart = i + 1;
+            }
+        }
+    }
+}
@@ -1,21 +1,32 @@
 package com.inventoryEmployee.demo.repository;
 
 import com.inventoryEmployee.demo.entity.Product;
-import com.inventoryEmployee.demo.enums.ProductStatus;
+import com.inventoryEmployee.demo.service.LabelRow;
+import com.inventoryEmployee.demo.service.ProductFacetRow;
+import com.inventoryEmployee.demo.service.ProductExportRow;
+import com.inventoryEmployee.demo.service.ProductScanRow;
+import com.inventoryEmployee.demo.service.ProductSearchRow;
+import com.inventoryEmployee.demo.service.SuggestionRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>,
+        JpaSpecificationExecutor<Product> {
 
     // Find by SKU
     Optional<Product> findBySku(String sku);
@@ -31,6 +42,8 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     Page<Product> findByDeletedFalse(Pageable pageable);
 
+    long countByDeletedFalse();
+
     // Search by name or SKU
     @Query("SELECT p FROM Product p WHERE " +
             "(LOWER(p.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
@@ -54,24 +67,6 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     // Check if barcode exists
     boolean existsByBarcodeAndDeletedFalse(String barcode);
 
-    // Advanced search with filters
-    @Query("SELECT p FROM Product p WHERE " +
-            "(:categoryId IS NULL OR p.category.id = :categoryId) AND " +
-            "(:supplierId IS NULL OR p.supplier.id = :supplierId) AND " +
-            "(:status IS NULL OR p.status = :status) AND " +
-            "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
-            "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
-            "(:searchTerm IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-            "OR LOWER(p.sku) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
-            "p.deleted = false")
-    Page<Product> findByFilters(@Param("categoryId") Long categoryId,
-                                @Param("supplierId") Long supplierId,
-                                @Param("status") ProductStatus status,
-                                @Param("minPrice") BigDecimal minPrice,
-                                @Param("maxPrice") BigDecimal maxPrice,
-                                @Param("searchTerm") String searchTerm,
-                                Pageable pageable);
-
     // GLOBAL SEARCH: Looks for text in Product Name, SKU, Description, Category Name, and Supplier Name
     @Query("SELECT p FROM Product p " +
             "LEFT JOIN p.category c " +
@@ -85,4 +80,110 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
             "   LOWER(s.name) LIKE LOWER(CONCAT('%', :keyword, '%'))" +
             ")")
     Page<Product> searchGlobal(@Param("keyword") String keyword, Pageable pageable);
+
+    // Every live product for the CSV export, streamed (MySQL needs fetch size MIN_VALUE to stream)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.inventoryEmployee.demo.service.ProductExportRow(p.id, p.name, p.sku, p.description, " +
+            "p.price, c.name, s.name) FROM Product p LEFT JOIN p.category c LEFT JOIN p.supplier s " +
+            "WHERE p.deleted = false ORDER BY p.id")
+    Stream<ProductExportRow> streamForExport();
+
+    // Next chunk of the export after a given id (resumable background export)
+    @Query("SELECT new com.inventoryEmployee.demo.service.ProductExportRow(p.id, p.name, p.sku, p.description, " +
+            "p.price, c.name, s.name) FROM Product p LEFT JOIN p.category c LEFT JOIN p.supplier s " +
+            "WHERE p.deleted = false AND p.id > :afterId ORDER BY p.id")
+    List<ProductExportRow> findForExportAfter(@Param("afterId") Long afterId, Pageable limit);
+
+    // Every SKU / barcode ever used, deleted products included (the unique indexes cover them too):
+    // [0] = sku, [1] = barcode. Streamed to seed the import Bloom filter.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT p.sku, p.barcode FROM Product p")
+    Stream<Object[]> streamSkusAndBarcodes();
+
+    // Which of these SKUs are taken, deleted products included
+    @Query("SELECT p.sku FROM Product p WHERE p.sku IN :skus")
+    List<String> findExistingSkus(@Param("skus") Collection<String> skus);
+
+    // Which of these barcodes are taken, deleted products included
+    @Query("SELECT p.barcode FROM Product p WHERE p.barcode IN :barcodes")
+    List<String> findExistingBarcodes(@Param("barcodes") Collection<String> barcodes);
+
+    // Shelf label data in shelf order (location, rack, bin), streamed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.inventoryEmployee.demo.service.LabelRow(p.id, p.sku, p.name, p.barcode, " +
+            "i.location, i.rackNumber, i.binNumber) FROM Product p LEFT JOIN p.inventory i " +
+            "WHERE p.deleted = false ORDER BY i.location, i.rackNumber, i.binNumber, p.sku")
+    Stream<LabelRow> streamForLabels();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.inventoryEmployee.demo.service.LabelRow(p.id, p.sku, p.name, p.barcode, " +
+            "i.location, i.rackNumber, i.binNumber) FROM Product p LEFT JOIN p.inventory i " +
+            "WHERE p.deleted = false AND p.category.id = :categoryId " +
+            "ORDER BY i.location, i.rackNumber, i.binNumber, p.sku")
+    Stream<LabelRow> streamForLabelsByCategory(@Param("categoryId") Long categoryId);
+
+    @Query("SELECT new com.inventoryEmployee.demo.service.LabelRow(p.id, p.sku, p.name, p.barcode, " +
+            "i.location, i.rackNumber, i.binNumber) FROM Product p LEFT JOIN p.inventory i " +
+            "WHERE p.deleted = false AND p.id IN :ids ORDER BY i.location, i.rackNumber, i.binNumber, p.sku")
+    List<LabelRow> findForLabels(@Param("ids") Collection<Long> ids);
+
+    // Every live product for the scan index build, streamed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.inventoryEmployee.demo.service.ProductScanRow(p.id, p.sku, p.barcode, p.price, p.status, " +
+            "i.quantityAvailable, p.deleted) FROM Product p LEFT JOIN p.inventory i " +
+            "WHERE p.deleted = false")
+    Stream<ProductScanRow> streamForScanIndex();
+
+    // Current state of some products, deleted ones included (incremental scan index refresh)
+    @Query("SELECT new com.inventoryEmployee.demo.service.ProductScanRow(p.id, p.sku, p.barcode, p.price, p.status, " +
+            "i.quantityAvailable, p.deleted) FROM Product p LEFT JOIN p.inventory i " +
+            "WHERE p.id IN :ids")
+    List<ProductScanRow> findForScanIndex(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.inventoryEmployee.demo.service.ProductScanRow(p.id, p.sku, p.barcode, p.price, p.status, " +
+            "i.quantityAvailable, p.deleted) FROM Product p LEFT JOIN p.inventory i " +
+            "WHERE p.sku = :sku AND p.deleted = false")
+    Optional<ProductScanRow> findScanRowBySku(@Param("sku") String sku);
+
+    @Query("SELECT new com.inventoryEmployee.demo.service.ProductScanRow(p.id, p.sku, p.barcode, p.price, p.status, " +
+            "i.quantityAvailable, p.deleted) FROM Product p LEFT JOIN p.inventory i " +
+            "WHERE p.barcode = :barcode AND p.deleted = false")
+    Optional<ProductScanRow> findScanRowByBarcode(@Param("barcode") String barcode);
+
+    // Every live product for the search index build, streamed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.inventoryEmployee.demo.service.ProductSearchRow(p.id, p.name, p.sku, p.description, " +
+            "p.category.id, p.supplier.id, p.status, p.price, p.deleted) FROM Product p " +
+            "WHERE p.deleted = false")
+    Stream<ProductSearchRow> streamForSearchIndex();
+
+    // Current state of some products, deleted ones included (incremental search index refresh)
+    @Query("SELECT new com.inventoryEmployee.demo.service.ProductSearchRow(p.id, p.name, p.sku, p.description, " +
+            "p.category.id, p.supplier.id, p.status, p.price, p.deleted) FROM Product p " +
+            "WHERE p.id IN :ids")
+    List<ProductSearchRow> findForSearchIndex(@Param("ids") Collection<Long> ids);
+
+    // Every live product for the typeahead build, streamed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.inventoryEmployee.demo.service.SuggestionRow(p.id, p.name, p.sku, p.deleted) " +
+            "FROM Product p WHERE p.deleted = false")
+    Stream<SuggestionRow> streamForSuggest();
+
+    // Deleted ones included (incremental typeahead refresh)
+    @Query("SELECT new com.inventoryEmployee.demo.service.SuggestionRow(p.id, p.name, p.sku, p.deleted) " +
+            "FROM Product p WHERE p.id IN :ids")
+    List<SuggestionRow> findForSuggest(@Param("ids") Collection<Long> ids);
+
+    // Every live product for the facet index build, streamed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.inventoryEmployee.demo.service.ProductFacetRow(p.id, p.category.id, p.supplier.id, " +
+            "p.status, p.price, p.deleted) FROM Product p " +
+            "WHERE p.deleted = false")
+    Stream<ProductFacetRow> streamForFacets();
+
+    // Deleted ones included (incremental facet index refresh)
+    @Query("SELECT new com.inventoryEmployee.demo.service.ProductFacetRow(p.id, p.category.id, p.supplier.id, " +
+            "p.status, p.price, p.deleted) FROM Product p " +
+            "WHERE p.id IN :ids")
+    List<ProductFacetRow> findForFacets(@Param("ids") Collection<Long> ids);
 }
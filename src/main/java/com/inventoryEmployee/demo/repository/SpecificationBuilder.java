@@ -0,0 +1,93 @@
+package com.inventoryEmployee.demo.repository;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Builds a Specification from optional filters. A null / blank filter adds nothing to the
+// WHERE clause (unlike ":x IS NULL OR col = :x"), so each filter combination produces its
+// own small query that MySQL can plan against the matching index. Values are always bound
+// as parameters, so one combination is one query shape for Hibernate's plan cache.
+// Paths may navigate associations ("product.id", "product.name").
+public final class SpecificationBuilder<T> {
+
+    private final List<Specification<T>> parts = new ArrayList<>();
+
+    private SpecificationBuilder() {
+    }
+
+    public static <T> SpecificationBuilder<T> where() {
+        return new SpecificationBuilder<>();
+    }
+
+    public SpecificationBuilder<T> equal(String path, Object value) {
+        if (value != null) {
+            parts.add((root, query, cb) -> cb.equal(path(root, path), value));
+        }
+        return this;
+    }
+
+    public SpecificationBuilder<T> equalIgnoreCase(String path, String value) {
+        if (value != null && !value.isBlank()) {
+            parts.add((root, query, cb) -> cb.equal(cb.lower(path(root, path)), value.toLowerCase()));
+        }
+        return this;
+    }
+
+    public <Y extends Comparable<? super Y>> SpecificationBuilder<T> atLeast(String path, Y value) {
+        if (value != null) {
+            parts.add((root, query, cb) -> cb.greaterThanOrEqualTo(path(root, path), value));
+        }
+        return this;
+    }
+
+    public <Y extends Comparable<? super Y>> SpecificationBuilder<T> atMost(String path, Y value) {
+        if (value != null) {
+            parts.add((root, query, cb) -> cb.lessThanOrEqualTo(path(root, path), value));
+        }
+        return this;
+    }
+
+    // Case-insensitive substring match on any of the paths
+    public SpecificationBuilder<T> containsIgnoreCase(String term, String... paths) {
+        if (term != null && !term.isBlank()) {
+            String pattern = "%" + term.toLowerCase() + "%";
+            parts.add((root, query, cb) -> {
+                List<Predicate> matches = new ArrayList<>(paths.length);
+                for (String path : paths) {
+                    matches.add(cb.like(cb.lower(path(root, path)), pattern));
+                }
+                return cb.or(matches.toArray(Predicate[]::new));
+            });
+        }
+        return this;
+    }
+
+    // Fixed conditions (soft-delete / active flags) - always applied
+    public SpecificationBuilder<T> isTrue(String path) {
+        parts.add((root, query, cb) -> cb.isTrue(path(root, path)));
+        return this;
+    }
+
+    public SpecificationBuilder<T> isFalse(String path) {
+        parts.add((root, query, cb) -> cb.isFalse(path(root, path)));
+        return this;
+    }
+
+    public Specification<T> build() {
+        return parts.isEmpty() ? Specification.unrestricted() : Specification.allOf(parts);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <Y> Path<Y> path(Root<?> root, String path) {
+        Path<?> current = root;
+        for (String attribute : path.split("\\.")) {
+            current = current.get(attribute);
+        }
+        return (Path<Y>) current;
+    }
+}
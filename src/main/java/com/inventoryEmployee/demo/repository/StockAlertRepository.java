@@ -1,19 +1,21 @@
 package com.inventoryEmployee.demo.repository;
 
 import com.inventoryEmployee.demo.entity.StockAlert;
-import com.inventoryEmployee.demo.enums.AlertType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface StockAlertRepository extends JpaRepository<StockAlert, Long> {
+public interface StockAlertRepository extends JpaRepository<StockAlert, Long>,
+        JpaSpecificationExecutor<StockAlert> {
 
 
     // Find unresolved alerts
@@ -28,19 +30,24 @@ public interface StockAlertRepository extends JpaRepository<StockAlert, Long> {
             "AND sa.isResolved = false ORDER BY sa.createdAt DESC")
     List<StockAlert> findUnresolvedAlertsByProduct(@Param("productId") Long productId);
 
+    // Find unresolved alerts for many products at once
+    @Query("SELECT sa FROM StockAlert sa WHERE sa.product.id IN :productIds " +
+            "AND sa.isResolved = false")
+    List<StockAlert> findUnresolvedAlertsByProductIds(@Param("productIds") Collection<Long> productIds);
+
     // Find recent unresolved alerts
     @Query("SELECT sa FROM StockAlert sa WHERE sa.isResolved = false " +
             "ORDER BY sa.createdAt DESC")
     Page<StockAlert> findRecentUnresolvedAlerts(Pageable pageable);
 
-    // Advanced search with filters
-    @Query("SELECT sa FROM StockAlert sa WHERE " +
-            "(:alertType IS NULL OR sa.alertType = :alertType) AND " +
-            "(:isResolved IS NULL OR sa.isResolved = :isResolved) AND " +
-            "(:productId IS NULL OR sa.product.id = :productId) " +
-            "ORDER BY sa.createdAt DESC")
-    Page<StockAlert> findByFilters(@Param("alertType") AlertType alertType,
-                                   @Param("isResolved") Boolean isResolved,
-                                   @Param("productId") Long productId,
-                                   Pageable pageable);
+    // Keyset pages of unresolved alerts, newest first (index on isResolved, createdAt, id)
+    @Query("SELECT sa FROM StockAlert sa WHERE sa.isResolved = false " +
+            "ORDER BY sa.createdAt DESC, sa.id DESC")
+    List<StockAlert> findRecentUnresolvedAlertsFirst(Pageable limit);
+
+    @Query("SELECT sa FROM StockAlert sa WHERE sa.isResolved = false " +
+            "AND (sa.createdAt < :timestamp OR (sa.createdAt = :timestamp AND sa.id < :id)) " +
+            "ORDER BY sa.createdAt DESC, sa.id DESC")
+    List<StockAlert> findRecentUnresolvedAlertsBefore(@Param("timestamp") LocalDateTime timestamp,
+                                                      @Param("id") Long id, Pageable limit);
 }
@@ -0,0 +1,46 @@
+package com.inventoryEmployee.demo.repository;
+
+import com.inventoryEmployee.demo.entity.StockReservation;
+import com.inventoryEmployee.demo.enums.ReservationStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    // Find reservations for an order / cart
+    List<StockReservation> findByReferenceNumber(String referenceNumber);
+
+    // Lock a reservation before changing its status
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r JOIN FETCH r.product WHERE r.id = :id")
+    Optional<StockReservation> findByIdForUpdate(@Param("id") Long id);
+
+    // Lock the active reservations of an order / cart
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r JOIN FETCH r.product " +
+            "WHERE r.referenceNumber = :referenceNumber AND r.status = :status ORDER BY r.product.id")
+    List<StockReservation> findByReferenceNumberAndStatusForUpdate(@Param("referenceNumber") String referenceNumber,
+                                                                   @Param("status") ReservationStatus status);
+
+    // Oldest expired reservations first - walks the (status, expiresAt) index, never the whole table.
+    // SKIP LOCKED (-2) lets several nodes sweep without waiting on each other.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM StockReservation r JOIN FETCH r.product " +
+            "WHERE r.status = :status AND r.expiresAt < :now ORDER BY r.expiresAt")
+    List<StockReservation> findExpiredForUpdate(@Param("status") ReservationStatus status,
+                                                @Param("now") LocalDateTime now,
+                                                Pageable pageable);
+}
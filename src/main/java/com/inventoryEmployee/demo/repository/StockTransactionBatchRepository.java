@@ -0,0 +1,36 @@
+package com.inventoryEmployee.demo.repository;
+
+import com.inventoryEmployee.demo.entity.StockTransaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public class StockTransactionBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Persist ledger rows in the caller's transaction. Ids come from the pooled
+    // table generator, so Hibernate groups the INSERTs into JDBC batches
+    // (hibernate.jdbc.batch_size) instead of one round trip per row.
+    // Each flushed chunk is detached so the persistence context (and the dirty check of
+    // every later flush) stays one chunk in size; the caller's inventory rows stay managed.
+    public void insertAll(List<StockTransaction> transactions) {
+        int chunkStart = 0;
+        for (int i = 0; i < transactions.size(); i++) {
+            entityManager.persist(transactions.get(i));
+            if ((i + 1) % BATCH_SIZE == 0 || i == transactions.size() - 1) {
+                entityManager.flush();
+                for (StockTransaction flushed : transactions.subList(chunkStart, i + 1)) {
+                    entityManager.detach(flushed);
+                }
+                chunkStart = i + 1;
+            }
+        }
+    }
+}
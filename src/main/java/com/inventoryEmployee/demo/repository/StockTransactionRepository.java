@@ -2,19 +2,26 @@ package com.inventoryEmployee.demo.repository;
 
 
 import com.inventoryEmployee.demo.entity.StockTransaction;
-import com.inventoryEmployee.demo.enums.TransactionType;
+import com.inventoryEmployee.demo.service.PopularityRow;
+import com.inventoryEmployee.demo.service.StockTransactionExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface StockTransactionRepository extends JpaRepository<StockTransaction, Long> {
+public interface StockTransactionRepository extends JpaRepository<StockTransaction, Long>,
+        JpaSpecificationExecutor<StockTransaction> {
 
     // Find by product ID
     Page<StockTransaction> findByProductId(Long productId, Pageable pageable);
@@ -31,23 +38,37 @@ public interface StockTransactionRepository extends JpaRepository<StockTransacti
     @Query("SELECT st FROM StockTransaction st ORDER BY st.transactionDate DESC")
     Page<StockTransaction> findRecentTransactions(Pageable pageable);
 
+    // Keyset pages of the ledger, newest first (index on transactionDate, id)
+    @Query("SELECT st FROM StockTransaction st ORDER BY st.transactionDate DESC, st.id DESC")
+    List<StockTransaction> findRecentTransactionsFirst(Pageable limit);
+
+    @Query("SELECT st FROM StockTransaction st WHERE st.transactionDate < :timestamp " +
+            "OR (st.transactionDate = :timestamp AND st.id < :id) " +
+            "ORDER BY st.transactionDate DESC, st.id DESC")
+    List<StockTransaction> findRecentTransactionsBefore(@Param("timestamp") LocalDateTime timestamp,
+                                                        @Param("id") Long id, Pageable limit);
+
     // Count transactions by employee
     Long countByEmployeeId(Long employeeId);
 
     long countByTransactionDateBetween(LocalDateTime start, LocalDateTime end);
 
-    // Advanced search with filters
-    @Query("SELECT st FROM StockTransaction st WHERE " +
-            "(:productId IS NULL OR st.product.id = :productId) AND " +
-            "(:employeeId IS NULL OR st.employee.id = :employeeId) AND " +
-            "(:type IS NULL OR st.type = :type) AND " +
-            "(:startDate IS NULL OR st.transactionDate >= :startDate) AND " +
-            "(:endDate IS NULL OR st.transactionDate <= :endDate) " +
-            "ORDER BY st.transactionDate DESC")
-    Page<StockTransaction> findByFilters(@Param("productId") Long productId,
-                                         @Param("employeeId") Long employeeId,
-                                         @Param("type") TransactionType type,
-                                         @Param("startDate") LocalDateTime startDate,
-                                         @Param("endDate") LocalDateTime endDate,
-                                         Pageable pageable);
-}
\ No newline at end of file
+    // Whole ledger for the export, oldest first, streamed (MySQL needs fetch size MIN_VALUE to stream)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.inventoryEmployee.demo.service.StockTransactionExportRow(st.id, st.transactionDate, " +
+            "p.sku, p.name, st.type, st.reason, st.quantity, st.previousQuantity, st.newQuantity, " +
+            "st.referenceNumber, e.firstName, e.lastName, st.performedBy, st.notes) " +
+            "FROM StockTransaction st JOIN st.product p LEFT JOIN st.employee e " +
+            "ORDER BY st.transactionDate, st.id")
+    Stream<StockTransactionExportRow> streamForExport();
+
+    // Movements per product / employee since a date, for typeahead ranking
+    @Query("SELECT new com.inventoryEmployee.demo.service.PopularityRow(st.product.id, COUNT(st)) " +
+            "FROM StockTransaction st WHERE st.transactionDate >= :since GROUP BY st.product.id")
+    List<PopularityRow> countMovementsByProduct(@Param("since") LocalDateTime since);
+
+    @Query("SELECT new com.inventoryEmployee.demo.service.PopularityRow(st.employee.id, COUNT(st)) " +
+            "FROM StockTransaction st WHERE st.employee IS NOT NULL AND st.transactionDate >= :since " +
+            "GROUP BY st.employee.id")
+    List<PopularityRow> countMovementsByEmployee(@Param("since") LocalDateTime since);
+}
@@ -1,31 +1,41 @@
 package com.inventoryEmployee.demo.repository;
 
 import com.inventoryEmployee.demo.entity.Supplier;
-import com.inventoryEmployee.demo.enums.SupplierStatus;
+import com.inventoryEmployee.demo.service.SearchNameRow;
+import com.inventoryEmployee.demo.service.SuggestionRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
-public interface SupplierRepository extends JpaRepository<Supplier, Long> {
+public interface SupplierRepository extends JpaRepository<Supplier, Long>,
+        JpaSpecificationExecutor<Supplier> {
 
 
     Page<Supplier> findByDeletedFalse(Pageable pageable);
 
-    // Find suppliers with filters
-    @Query("SELECT s FROM Supplier s WHERE " +
-            "(:status IS NULL OR s.status = :status) AND " +
-            "(:city IS NULL OR LOWER(s.city) = LOWER(:city)) AND " +
-            "(:searchTerm IS NULL OR LOWER(s.name) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
-            "s.deleted = false")
-    Page<Supplier> findByFilters(@Param("status") SupplierStatus status,
-                                 @Param("city") String city,
-                                 @Param("searchTerm") String searchTerm,
-                                 Pageable pageable);
+    // Names for product global search (deleted suppliers too: products keep pointing at them)
+    @Query("SELECT new com.inventoryEmployee.demo.service.SearchNameRow(s.id, s.name) FROM Supplier s")
+    List<SearchNameRow> findSearchNames();
+
+    @Query("SELECT new com.inventoryEmployee.demo.service.SearchNameRow(s.id, s.name) FROM Supplier s " +
+            "WHERE s.id IN :ids")
+    List<SearchNameRow> findSearchNames(@Param("ids") Collection<Long> ids);
+
+    // Every live supplier for the typeahead build
+    @Query("SELECT new com.inventoryEmployee.demo.service.SuggestionRow(s.id, s.name, s.city, s.deleted) " +
+            "FROM Supplier s WHERE s.deleted = false")
+    List<SuggestionRow> findAllForSuggest();
+
+    // Deleted ones included (incremental typeahead refresh)
+    @Query("SELECT new com.inventoryEmployee.demo.service.SuggestionRow(s.id, s.name, s.city, s.deleted) " +
+            "FROM Supplier s WHERE s.id IN :ids")
+    List<SuggestionRow> findForSuggest(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,41 @@
+package com.inventoryEmployee.demo.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventoryEmployee.demo.entity.OutboxEvent;
+import com.inventoryEmployee.demo.enums.OutboxEventType;
+import com.inventoryEmployee.demo.repository.StockAlertRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// Emails new stock alerts; SMTP failures are retried by the relay
+@Component
+@RequiredArgsConstructor
+public class AlertEmailOutboxConsumer implements OutboxConsumer {
+
+    private final StockAlertRepository stockAlertRepository;
+    private final EmailService emailService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String getName() {
+        return "alert-email";
+    }
+
+    @Override
+    public boolean accepts(OutboxEventType eventType) {
+        return eventType == OutboxEventType.STOCK_ALERT_CREATED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) throws Exception {
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+
+        stockAlertRepository.findById(payload.get("alertId").asLong())
+                .filter(alert -> !Boolean.TRUE.equals(alert.getEmailSent()))
+                .ifPresent(alert -> {
+                    emailService.deliverLowStockAlert(alert);
+                    alert.setEmailSent(true);
+                });
+    }
+}
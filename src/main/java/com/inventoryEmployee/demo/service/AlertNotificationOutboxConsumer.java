@@ -0,0 +1,37 @@
+package com.inventoryEmployee.demo.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventoryEmployee.demo.entity.OutboxEvent;
+import com.inventoryEmployee.demo.enums.OutboxEventType;
+import com.inventoryEmployee.demo.repository.StockAlertRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// Creates in-app notifications for new stock alerts
+@Component
+@RequiredArgsConstructor
+public class AlertNotificationOutboxConsumer implements OutboxConsumer {
+
+    private final StockAlertRepository stockAlertRepository;
+    private final NotificationService notificationService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String getName() {
+        return "alert-notifications";
+    }
+
+    @Override
+    public boolean accepts(OutboxEventType eventType) {
+        return eventType == OutboxEventType.STOCK_ALERT_CREATED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) throws Exception {
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+
+        stockAlertRepository.findById(payload.get("alertId").asLong())
+                .ifPresent(notificationService::createStockAlertNotification);
+    }
+}
@@ -0,0 +1,5 @@
+package com.inventoryEmployee.demo.service;
+
+// Who performed an action and from where (userId is null for system and job actions)
+public record AuditContext(String username, Long userId, String ipAddress, String userAgent, String endpoint) {
+}
@@ -0,0 +1,11 @@
+package com.inventoryEmployee.demo.service;
+
+import java.time.LocalDateTime;
+
+// An audit entry as captured on the calling thread. Old/new values are snapshot maps
+// (see AuditSnapshots) or scalars; AuditLogWriter diffs and serializes them later.
+public record AuditEvent(String entityName, Long entityId, String action,
+                         Object oldValue, Object newValue,
+                         String username, Long userId, String ipAddress, String userAgent, String endpoint,
+                         LocalDateTime timestamp) {
+}
@@ -0,0 +1,829 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.entity.AuditLog;
+import com.inventoryEmployee.demo.entity.User;
+import com.inventoryEmployee.demo.util.BloomFilter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Optional audit sink (inventory.audit.sink=journal): AuditLog rows are appended to
+// memory-mapped segment files on local disk instead of MySQL.
+//
+// Record layout: [int bodyLength][int crc32][body], body = seq, timestamp, entityId, the
+// string fields and the user id. A zero length marks the end of a segment's data. Segments
+// are pre-sized, roll over when full and are truncated to their real size once sealed;
+// segments older than the retention period are deleted as a whole.
+//
+// A background indexer follows the writer and keeps only sparse, per-segment metadata, so
+// heap use does not grow with the number of records retained: the offset and running max
+// timestamp of every CHECKPOINT_EVERY-th record, record counts per entity name and per
+// user, and the entity keys seen (an exact set for the segment being written, a Bloom
+// filter once it is sealed). Queries skip segments with this metadata and scan the rest,
+// a checkpoint block at a time when paging backwards.
+@Service
+@Slf4j
+public class AuditJournal {
+
+    private static final String FILE_PREFIX = "audit-";
+    private static final String FILE_SUFFIX = ".journal";
+    private static final int HEADER_BYTES = 8;
+    private static final int ENTITY_ID_OFFSET = HEADER_BYTES + 16; // After seq and timestamp
+    private static final int CHECKPOINT_EVERY = 256;
+    private static final double ENTITY_FILTER_FALSE_POSITIVE_RATE = 0.01;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final long retentionMillis;
+    private final long indexIntervalMs;
+    private final boolean syncOnAppend;
+
+    private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+    private Segment active;
+    private long nextSequence = 1;
+
+    // Guards the indexer-maintained metadata of every segment
+    private final ReadWriteLock indexLock = new ReentrantReadWriteLock();
+
+    // Indexer progress
+    private int indexedSegment = -1;
+    private int indexedOffset = 0;
+
+    private Thread indexer;
+    private volatile boolean running = true;
+    private long lastRetentionRun;
+
+    public AuditJournal(@Value("${inventory.audit.sink:database}") String sink,
+                        @Value("${inventory.audit.journal.dir:./data/audit-journal}") String directory,
+                        @Value("${inventory.audit.journal.segment-size-mb:64}") int segmentSizeMb,
+                        @Value("${inventory.audit.journal.retention-days:90}") int retentionDays,
+                        @Value("${inventory.audit.journal.index-interval-ms:100}") long indexIntervalMs,
+                        @Value("${inventory.audit.journal.sync-on-append:false}") boolean syncOnAppend) {
+        this.enabled = "journal".equalsIgnoreCase(sink);
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSizeMb * 1024 * 1024;
+        this.retentionMillis = TimeUnit.DAYS.toMillis(retentionDays);
+        this.indexIntervalMs = indexIntervalMs;
+        this.syncOnAppend = syncOnAppend;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Reopen existing segments before the audit writer starts appending
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public synchronized void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(p -> p.getFileName().toString().startsWith(FILE_PREFIX)
+                            && p.getFileName().toString().endsWith(FILE_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        for (Path file : files) {
+            Segment segment = Segment.open(file, parseSegmentId(file), 0);
+            segments.put(segment.id, segment);
+            segment.recover();
+            segment.sealed = true;
+            if (segment.lastSequence >= nextSequence) {
+                nextSequence = segment.lastSequence + 1;
+            }
+        }
+
+        // Keep appending to the last segment if it still has room
+        Segment last = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        if (last != null && last.channel.size() == segmentSize) {
+            last.sealed = false;
+            active = last;
+        } else {
+            active = newSegment(last != null ? last.id + 1 : 0);
+        }
+
+        indexer = new Thread(this::runIndexer, "audit-journal-indexer");
+        indexer.setDaemon(true);
+        indexer.start();
+
+        log.info("Audit journal opened at {} ({} segments, next sequence {})",
+                directory.toAbsolutePath(), segments.size(), nextSequence);
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        if (indexer != null) {
+            indexer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        if (active != null) {
+            active.buffer.force();
+        }
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+    }
+
+    // Called from the audit writer thread. Assigns sequence numbers as ids.
+    public synchronized void append(List<AuditLog> logs) {
+        if (active == null) {
+            throw new IllegalStateException("Audit journal is not open");
+        }
+
+        for (AuditLog auditLog : logs) {
+            auditLog.setId(nextSequence);
+            byte[] body = encode(auditLog);
+
+            if (HEADER_BYTES + body.length + 4 > segmentSize) {
+                log.warn("Audit record {} too large for a journal segment, skipped", auditLog.getId());
+                continue;
+            }
+            if (active.writePosition + HEADER_BYTES + body.length + 4 > segmentSize) {
+                rollOver();
+            }
+
+            active.write(body);
+            active.lastSequence = nextSequence++;
+        }
+
+        if (syncOnAppend) {
+            active.buffer.force();
+        }
+    }
+
+    // --- Queries (newest first) ---
+
+    public Page<AuditLog> findByEntity(String entityName, Long entityId, Pageable pageable) {
+        return page(entityPositions(entityName, entityId, Integer.MAX_VALUE), pageable);
+    }
+
+    public List<AuditLog> findHistory(String entityName, Long entityId, Integer limit) {
+        long[] positions = entityPositions(entityName, entityId, limit != null ? limit : Integer.MAX_VALUE);
+        List<AuditLog> history = new ArrayList<>(positions.length);
+        for (long position : positions) {
+            AuditLog auditLog = read(position);
+            if (auditLog != null) {
+                history.add(auditLog);
+            }
+        }
+        return history;
+    }
+
+    public Page<AuditLog> findRecent(Pageable pageable) {
+        long skip = pageable.isPaged() ? pageable.getOffset() : 0;
+        int size = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        List<AuditLog> content = new ArrayList<>();
+
+        long total = 0;
+        List<Segment> newestFirst = new ArrayList<>(segments.descendingMap().values());
+        int[] counts = new int[newestFirst.size()];
+        indexLock.readLock().lock();
+        try {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = newestFirst.get(i).records;
+                total += counts[i];
+            }
+        } finally {
+            indexLock.readLock().unlock();
+        }
+
+        for (int i = 0; i < counts.length && content.size() < size; i++) {
+            if (skip >= counts[i]) {
+                skip -= counts[i]; // Whole segment before the page
+                continue;
+            }
+            scanBackward(newestFirst.get(i), (int) (counts[i] - skip), 0, position -> {
+                AuditLog auditLog = read(position);
+                if (auditLog != null) {
+                    content.add(auditLog);
+                }
+                return content.size() < size;
+            });
+            skip = 0;
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    // Keyset page over the whole journal: up to limit records appended before the given
+    // position, newest first (the newest records when position is null)
+    public List<JournalRecord> findRecentBefore(Long beforePosition, int limit) {
+        List<JournalRecord> records = new ArrayList<>(Math.min(limit, 1024));
+        Collection<Segment> candidates = beforePosition == null
+                ? segments.descendingMap().values()
+                : segments.headMap((int) (beforePosition >>> 32), true).descendingMap().values();
+
+        for (Segment segment : candidates) {
+            int before = beforePosition != null && segment.id == (int) (beforePosition >>> 32)
+                    ? ordinalOf(segment, (int) (long) beforePosition)
+                    : indexedRecords(segment);
+            boolean more = scanBackward(segment, before, 0, position -> {
+                AuditLog auditLog = read(position);
+                if (auditLog != null) {
+                    records.add(new JournalRecord(position, auditLog));
+                }
+                return records.size() < limit;
+            });
+            if (!more) {
+                break;
+            }
+        }
+        return records;
+    }
+
+    public Page<AuditLog> findByUser(Long userId, Pageable pageable) {
+        return findByFilters(null, null, userId, null, null, pageable);
+    }
+
+    // Segments are skipped by their entity name, user and time metadata; the rest are
+    // scanned, and within a segment nothing before the start date's checkpoint is read
+    public Page<AuditLog> findByFilters(String entityName, String action, Long userId,
+                                        LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
+        long fromMillis = startDate != null ? toMillis(startDate) : Long.MIN_VALUE;
+        long toMillis = endDate != null ? toMillis(endDate) : Long.MAX_VALUE;
+        long skip = pageable.isPaged() ? pageable.getOffset() : 0;
+        int size = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+
+        Predicate<AuditLog> filter = auditLog ->
+                (entityName == null || entityName.equals(auditLog.getEntityName()))
+                        && (action == null || action.equals(auditLog.getAction()))
+                        && (userId == null || userId.equals(userIdOf(auditLog)))
+                        && (startDate == null || !auditLog.getTimestamp().isBefore(startDate))
+                        && (endDate == null || !auditLog.getTimestamp().isAfter(endDate));
+
+        List<AuditLog> content = new ArrayList<>();
+        long[] matched = {0};
+        for (Segment segment : segments.descendingMap().values()) {
+            int records;
+            int floorOffset;
+            indexLock.readLock().lock();
+            try {
+                if (segment.records == 0 || segment.maxTimestamp < fromMillis || segment.minTimestamp > toMillis
+                        || (entityName != null && !segment.entityNames.containsKey(entityName))
+                        || (userId != null && !segment.users.containsKey(userId))) {
+                    continue;
+                }
+                records = segment.records;
+                floorOffset = startDate != null ? segment.seek(fromMillis) : 0;
+            } finally {
+                indexLock.readLock().unlock();
+            }
+
+            scanBackward(segment, records, floorOffset, position -> {
+                AuditLog auditLog = read(position);
+                if (auditLog != null && filter.test(auditLog)) {
+                    if (matched[0] >= skip && content.size() < size) {
+                        content.add(auditLog);
+                    }
+                    matched[0]++;
+                }
+                return true;
+            });
+        }
+        return new PageImpl<>(content, pageable, matched[0]);
+    }
+
+    public JournalStats getStats() {
+        indexLock.readLock().lock();
+        try {
+            long bytes = 0;
+            long records = 0;
+            long indexBytes = 0;
+            for (Segment segment : segments.values()) {
+                bytes += segment.writePosition;
+                records += segment.records;
+                indexBytes += segment.indexBytes();
+            }
+            return new JournalStats(segments.size(), bytes, records, indexBytes);
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    private Page<AuditLog> page(long[] positions, Pageable pageable) {
+        List<AuditLog> content = new ArrayList<>();
+        long skip = pageable.isPaged() ? pageable.getOffset() : 0;
+        int size = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+
+        for (long i = positions.length - 1 - skip; i >= 0 && content.size() < size; i--) {
+            AuditLog auditLog = read(positions[(int) i]);
+            if (auditLog != null) {
+                content.add(auditLog);
+            }
+        }
+        return new PageImpl<>(content, pageable, positions.length);
+    }
+
+    // Positions of an entity's records, oldest first, at most limit. Only segments whose key
+    // set or filter may hold the entity are scanned, comparing the entity id in place first.
+    private long[] entityPositions(String entityName, Long entityId, int limit) {
+        String key = entityKey(entityName, entityId);
+        byte[] name = bytes(entityName);
+        long id = entityId != null ? entityId : 0L;
+
+        long[] positions = new long[16];
+        int count = 0;
+        for (Segment segment : segments.values()) {
+            int end;
+            indexLock.readLock().lock();
+            try {
+                if (!segment.mightContain(key)) {
+                    continue;
+                }
+                end = segment.indexedEnd;
+            } finally {
+                indexLock.readLock().unlock();
+            }
+
+            for (int offset = 0; offset < end && count < limit; ) {
+                int length = segment.buffer.getInt(offset);
+                if (segment.buffer.getLong(offset + ENTITY_ID_OFFSET) == id && segment.hasEntityName(offset, name)) {
+                    if (count == positions.length) {
+                        positions = Arrays.copyOf(positions, count * 2);
+                    }
+                    positions[count++] = position(segment.id, offset);
+                }
+                offset += HEADER_BYTES + length;
+            }
+            if (count >= limit) {
+                break;
+            }
+        }
+        return Arrays.copyOf(positions, count);
+    }
+
+    // Visit the segment's records with an ordinal below the given one, newest first and not
+    // below floorOffset, decoding one checkpoint block at a time. Returns false when the
+    // visitor asked to stop.
+    private boolean scanBackward(Segment segment, int beforeOrdinal, int floorOffset, LongPredicate visitor) {
+        int[] offsets = new int[CHECKPOINT_EVERY];
+        for (int block = (beforeOrdinal - 1) / CHECKPOINT_EVERY; beforeOrdinal > 0 && block >= 0; block--) {
+            int offset = checkpointOffset(segment, block);
+            int count = Math.min(beforeOrdinal - block * CHECKPOINT_EVERY, CHECKPOINT_EVERY);
+            for (int i = 0; i < count; i++) {
+                offsets[i] = offset;
+                offset += HEADER_BYTES + segment.buffer.getInt(offset);
+            }
+            for (int i = count - 1; i >= 0; i--) {
+                if (offsets[i] < floorOffset) {
+                    return true;
+                }
+                if (!visitor.test(position(segment.id, offsets[i]))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Ordinal of the record at the offset (or of the first one after it)
+    private int ordinalOf(Segment segment, int offset) {
+        int block;
+        int position;
+        int records;
+        int end;
+        indexLock.readLock().lock();
+        try {
+            int found = Arrays.binarySearch(segment.checkpointOffsets, 0, segment.checkpoints, offset);
+            block = found >= 0 ? found : Math.max(0, -found - 2);
+            position = segment.checkpoints > 0 ? segment.checkpointOffsets[block] : 0;
+            records = segment.records;
+            end = segment.indexedEnd;
+        } finally {
+            indexLock.readLock().unlock();
+        }
+
+        int ordinal = block * CHECKPOINT_EVERY;
+        while (ordinal < records && position < offset && position < end) {
+            position += HEADER_BYTES + segment.buffer.getInt(position);
+            ordinal++;
+        }
+        return ordinal;
+    }
+
+    private int indexedRecords(Segment segment) {
+        indexLock.readLock().lock();
+        try {
+            return segment.records;
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    private int checkpointOffset(Segment segment, int block) {
+        indexLock.readLock().lock();
+        try {
+            return segment.checkpointOffsets[block];
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    private AuditLog read(long position) {
+        Segment segment = segments.get((int) (position >>> 32));
+        return segment != null ? segment.read((int) position) : null;
+    }
+
+    private static Long userIdOf(AuditLog auditLog) {
+        return auditLog.getUser() != null ? auditLog.getUser().getId() : null;
+    }
+
+    // --- Indexer ---
+
+    private void runIndexer() {
+        while (running) {
+            try {
+                indexNewRecords();
+                if (System.currentTimeMillis() - lastRetentionRun > TimeUnit.HOURS.toMillis(1)) {
+                    applyRetention();
+                    lastRetentionRun = System.currentTimeMillis();
+                }
+                Thread.sleep(indexIntervalMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Audit journal indexer failed", e);
+            }
+        }
+    }
+
+    private void indexNewRecords() {
+        for (Segment segment : segments.tailMap(Math.max(indexedSegment, 0), true).values()) {
+            if (segment.id > indexedSegment) {
+                indexedSegment = segment.id;
+                indexedOffset = 0;
+            }
+
+            boolean sealed = segment.sealed; // Read before writePosition: a sealed segment's end is final
+            int limit = segment.writePosition; // Volatile read publishes the writer's bytes
+            while (indexedOffset < limit) {
+                int length = segment.buffer.getInt(indexedOffset);
+                AuditLog auditLog = segment.read(indexedOffset);
+                index(segment, indexedOffset, HEADER_BYTES + length, auditLog);
+                indexedOffset += HEADER_BYTES + length;
+            }
+
+            // The writer seals a segment before starting the next, so stop at an open one
+            // rather than skip records it may still receive
+            if (!sealed) {
+                break;
+            }
+            if (segment.entityFilter == null) {
+                indexLock.writeLock().lock();
+                try {
+                    segment.compactEntityKeys();
+                } finally {
+                    indexLock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    // Records that fail their checksum are counted (so ordinals match the file) but not described
+    private void index(Segment segment, int offset, int length, AuditLog auditLog) {
+        indexLock.writeLock().lock();
+        try {
+            segment.track(offset, length, auditLog);
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    // Compaction: drop sealed segments that are entirely past retention
+    private void applyRetention() {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        List<Segment> expired = segments.values().stream()
+                .filter(s -> s.sealed && s.maxTimestamp != Long.MIN_VALUE && s.maxTimestamp < cutoff)
+                .toList();
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        for (Segment segment : expired) {
+            segments.remove(segment.id);
+            segment.close();
+            try {
+                Files.deleteIfExists(segment.file);
+            } catch (IOException e) {
+                log.warn("Could not delete audit journal segment {}", segment.file, e);
+            }
+        }
+        log.info("Removed {} audit journal segments past retention", expired.size());
+    }
+
+    // --- Segments ---
+
+    private void rollOver() {
+        Segment previous = active;
+        previous.seal();
+        active = newSegment(previous.id + 1);
+        log.debug("Audit journal rolled over to segment {}", active.id);
+    }
+
+    private Segment newSegment(int id) {
+        Path file = directory.resolve(String.format("%s%010d%s", FILE_PREFIX, id, FILE_SUFFIX));
+        try {
+            Segment segment = Segment.open(file, id, segmentSize);
+            segments.put(id, segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create audit journal segment " + file, e);
+        }
+    }
+
+    private static int parseSegmentId(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+    }
+
+    private static long position(int segmentId, int offset) {
+        return ((long) segmentId << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    private static String entityKey(String entityName, Long entityId) {
+        return entityName + '#' + entityId;
+    }
+
+    private static long toMillis(LocalDateTime timestamp) {
+        return timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    // --- Record encoding ---
+
+    private static byte[] encode(AuditLog auditLog) {
+        byte[][] strings = {
+                bytes(auditLog.getEntityName()), bytes(auditLog.getAction()),
+                bytes(auditLog.getOldValue()), bytes(auditLog.getNewValue()),
+                bytes(auditLog.getUsername()), bytes(auditLog.getIpAddress()),
+                bytes(auditLog.getUserAgent()), bytes(auditLog.getEndpoint())
+        };
+        int length = 24 + 8;
+        for (byte[] s : strings) {
+            length += 4 + (s != null ? s.length : 0);
+        }
+
+        ByteBuffer body = ByteBuffer.allocate(length);
+        body.putLong(auditLog.getId());
+        body.putLong(toMillis(auditLog.getTimestamp()));
+        body.putLong(auditLog.getEntityId() != null ? auditLog.getEntityId() : 0L);
+        for (byte[] s : strings) {
+            body.putInt(s != null ? s.length : -1);
+            if (s != null) {
+                body.put(s);
+            }
+        }
+        Long userId = userIdOf(auditLog);
+        body.putLong(userId != null ? userId : 0L);
+        return body.array();
+    }
+
+    private static AuditLog decode(ByteBuffer body) {
+        long id = body.getLong();
+        long timestamp = body.getLong();
+        long entityId = body.getLong();
+        AuditLog auditLog = AuditLog.builder()
+                .id(id)
+                .timestamp(LocalDateTime.ofEpochSecond(Math.floorDiv(timestamp, 1000),
+                        (int) Math.floorMod(timestamp, 1000) * 1_000_000, ZoneOffset.UTC))
+                .entityId(entityId)
+                .entityName(string(body))
+                .action(string(body))
+                .oldValue(string(body))
+                .newValue(string(body))
+                .username(string(body))
+                .ipAddress(string(body))
+                .userAgent(string(body))
+                .endpoint(string(body))
+                .build();
+
+        // Records written before the user id was stored end after the strings
+        long userId = body.remaining() >= 8 ? body.getLong() : 0L;
+        if (userId != 0L) {
+            auditLog.setUser(User.builder().id(userId).build());
+        }
+        return auditLog;
+    }
+
+    private static byte[] bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static String string(ByteBuffer body) {
+        int length = body.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Segment {
+        private final Path file;
+        private final int id;
+        private final FileChannel channel;
+        private MappedByteBuffer buffer;
+        private volatile int writePosition;
+        private volatile boolean sealed;
+        private long lastSequence;
+
+        // Indexer-maintained metadata, guarded by indexLock. Checkpoint i is the offset of
+        // record i * CHECKPOINT_EVERY and the max timestamp of the records before it.
+        private int records;
+        private volatile int indexedEnd;
+        private int checkpoints;
+        private int[] checkpointOffsets = new int[16];
+        private long[] checkpointMaxTimestamps = new long[16];
+        private volatile long maxTimestamp = Long.MIN_VALUE;
+        private long minTimestamp = Long.MAX_VALUE;
+        private final Map<String, Integer> entityNames = new HashMap<>();
+        private final Map<Long, Integer> users = new HashMap<>();
+        private Set<String> entityKeys = new HashSet<>(); // Until sealed and fully indexed
+        private BloomFilter entityFilter; // After that
+
+        private Segment(Path file, int id, FileChannel channel, MappedByteBuffer buffer) {
+            this.file = file;
+            this.id = id;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment open(Path file, int id, int size) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long mappedSize = size > 0 ? size : channel.size();
+            return new Segment(file, id, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize));
+        }
+
+        // Find the end of valid data after a restart; a torn tail record is discarded
+        void recover() {
+            int offset = 0;
+            while (offset + HEADER_BYTES <= buffer.capacity()) {
+                int length = buffer.getInt(offset);
+                if (length <= 0 || offset + HEADER_BYTES + length > buffer.capacity() || !checksumMatches(offset)) {
+                    break;
+                }
+                lastSequence = buffer.getLong(offset + HEADER_BYTES);
+                offset += HEADER_BYTES + length;
+            }
+            writePosition = offset;
+            for (int i = offset; i < Math.min(buffer.capacity(), offset + HEADER_BYTES); i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+
+        void write(byte[] body) {
+            int offset = writePosition;
+            CRC32 crc = new CRC32();
+            crc.update(body);
+
+            buffer.put(offset + HEADER_BYTES, body);
+            buffer.putInt(offset + 4, (int) crc.getValue());
+            buffer.putInt(offset, body.length);
+            writePosition = offset + HEADER_BYTES + body.length;
+        }
+
+        AuditLog read(int offset) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || !checksumMatches(offset)) {
+                return null;
+            }
+            return decode(buffer.slice(offset + HEADER_BYTES, length));
+        }
+
+        boolean checksumMatches(int offset) {
+            int length = buffer.getInt(offset);
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(offset + HEADER_BYTES, length));
+            return (int) crc.getValue() == buffer.getInt(offset + 4);
+        }
+
+        // Called by the indexer, in record order
+        void track(int offset, int length, AuditLog auditLog) {
+            if (records % CHECKPOINT_EVERY == 0) {
+                if (checkpoints == checkpointOffsets.length) {
+                    checkpointOffsets = Arrays.copyOf(checkpointOffsets, checkpoints * 2);
+                    checkpointMaxTimestamps = Arrays.copyOf(checkpointMaxTimestamps, checkpoints * 2);
+                }
+                checkpointOffsets[checkpoints] = offset;
+                checkpointMaxTimestamps[checkpoints] = maxTimestamp;
+                checkpoints++;
+            }
+            records++;
+            indexedEnd = offset + length;
+
+            if (auditLog == null) {
+                return;
+            }
+            long timestamp = toMillis(auditLog.getTimestamp());
+            maxTimestamp = Math.max(maxTimestamp, timestamp);
+            minTimestamp = Math.min(minTimestamp, timestamp);
+            entityNames.merge(auditLog.getEntityName(), 1, Integer::sum);
+            Long userId = userIdOf(auditLog);
+            if (userId != null) {
+                users.merge(userId, 1, Integer::sum);
+            }
+            entityKeys.add(entityKey(auditLog.getEntityName(), auditLog.getEntityId()));
+        }
+
+        // Offset of the last checkpoint before which every record is older than the bound
+        int seek(long fromMillis) {
+            int offset = 0;
+            for (int i = 0; i < checkpoints && checkpointMaxTimestamps[i] < fromMillis; i++) {
+                offset = checkpointOffsets[i];
+            }
+            return offset;
+        }
+
+        boolean mightContain(String entityKey) {
+            return entityFilter != null ? entityFilter.mightContain(entityKey) : entityKeys.contains(entityKey);
+        }
+
+        // Once no more records can arrive, trade the exact key set for a Bloom filter
+        void compactEntityKeys() {
+            BloomFilter filter = new BloomFilter(entityKeys.size(), ENTITY_FILTER_FALSE_POSITIVE_RATE);
+            entityKeys.forEach(filter::add);
+            entityFilter = filter;
+            entityKeys = null;
+        }
+
+        // Compare the entity name string in place, without decoding the record
+        boolean hasEntityName(int offset, byte[] name) {
+            int position = offset + ENTITY_ID_OFFSET + 8;
+            int length = buffer.getInt(position);
+            if (length != (name != null ? name.length : -1)) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (buffer.get(position + 4 + i) != name[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Rough heap size of the metadata, for the stats endpoint
+        long indexBytes() {
+            long keys = entityFilter != null ? entityFilter.sizeInBytes() : entityKeys.size() * 64L;
+            return checkpoints * 12L + (entityNames.size() + users.size()) * 48L + keys;
+        }
+
+        // Flush and give back the unused, pre-allocated tail of the file
+        void seal() {
+            buffer.force();
+            sealed = true;
+            try {
+                channel.truncate(writePosition);
+            } catch (IOException e) {
+                log.warn("Could not truncate sealed audit journal segment {}", file, e);
+            }
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Could not close audit journal segment {}", file, e);
+            }
+        }
+    }
+
+    public record JournalRecord(long position, AuditLog auditLog) {
+    }
+
+    public record JournalStats(int segments, long bytes, long records, long indexBytes) {
+    }
+}
@@ -0,0 +1,212 @@
+package com.inventoryEmployee.demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventoryEmployee.demo.entity.AuditLog;
+import com.inventoryEmployee.demo.entity.User;
+import com.inventoryEmployee.demo.repository.AuditLogRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Audit pipeline: callers only capture their request context and enqueue.
+// A single writer thread diffs and serializes the old/new values and inserts AuditLog rows
+// in batches, flushing when max-batch-size events are waiting or flush-interval-ms
+// has passed. When the queue is full a caller waits up to offer-timeout-ms, then
+// the event is dropped and counted - auditing never fails a business operation.
+@Service
+@Slf4j
+public class AuditLogWriter {
+
+    private final AuditLogRepository auditLogRepository;
+    private final ObjectMapper objectMapper;
+    private final AuditPayloadCodec payloadCodec;
+    private final AuditJournal auditJournal;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<AuditEvent> queue;
+    private final int maxBatchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong blocked = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    public AuditLogWriter(AuditLogRepository auditLogRepository,
+                          ObjectMapper objectMapper,
+                          AuditPayloadCodec payloadCodec,
+                          AuditJournal auditJournal,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${inventory.audit.queue-capacity:50000}") int queueCapacity,
+                          @Value("${inventory.audit.max-batch-size:500}") int maxBatchSize,
+                          @Value("${inventory.audit.flush-interval-ms:200}") long flushIntervalMs,
+                          @Value("${inventory.audit.offer-timeout-ms:50}") long offerTimeoutMs) {
+        this.auditLogRepository = auditLogRepository;
+        this.objectMapper = objectMapper;
+        this.payloadCodec = payloadCodec;
+        this.auditJournal = auditJournal;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+
+        this.thread = new Thread(this::run, "audit-writer");
+        this.thread.setDaemon(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        thread.start();
+        log.info("Audit writer started (batch size {}, flush interval {} ms)", maxBatchSize, flushIntervalMs);
+    }
+
+    // Drain what is left before the datasource goes away
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    // Returns false if the event was dropped
+    public boolean enqueue(AuditEvent event) {
+        if (queue.offer(event)) {
+            enqueued.incrementAndGet();
+            return true;
+        }
+
+        blocked.incrementAndGet();
+        try {
+            if (queue.offer(event, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                enqueued.incrementAndGet();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        dropped.incrementAndGet();
+        log.warn("Audit queue full, dropped {} {} #{}", event.action(), event.entityName(), event.entityId());
+        return false;
+    }
+
+    public AuditPipelineStats getStats() {
+        return new AuditPipelineStats(queue.size(), queue.remainingCapacity(), enqueued.get(), written.get(),
+                dropped.get(), blocked.get(), failed.get(), batches.get());
+    }
+
+    private void run() {
+        List<AuditEvent> batch = new ArrayList<>(maxBatchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditEvent first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Linger until the batch is full or the flush interval has passed
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    AuditEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in audit writer", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        List<AuditLog> logs = new ArrayList<>(batch.size());
+        for (AuditEvent event : batch) {
+            Object oldValue = event.oldValue();
+            Object newValue = event.newValue();
+
+            // Two snapshots -> store only the fields that changed
+            if (oldValue instanceof Map<?, ?> oldState && newValue instanceof Map<?, ?> newState) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object>[] changes = AuditSnapshots.diff(
+                        (Map<String, Object>) oldState, (Map<String, Object>) newState);
+                oldValue = changes[0];
+                newValue = changes[1];
+            }
+
+            logs.add(AuditLog.builder()
+                    .entityName(event.entityName())
+                    .entityId(event.entityId())
+                    .action(event.action())
+                    .oldValue(payloadCodec.encode(serialize(oldValue)))
+                    .newValue(payloadCodec.encode(serialize(newValue)))
+                    .username(event.username())
+                    .user(event.userId() != null ? User.builder().id(event.userId()).build() : null)
+                    .ipAddress(event.ipAddress())
+                    .userAgent(event.userAgent())
+                    .endpoint(event.endpoint())
+                    .timestamp(event.timestamp())
+                    .build());
+        }
+
+        try {
+            if (auditJournal.isEnabled()) {
+                auditJournal.append(logs);
+            } else {
+                transactionTemplate.executeWithoutResult(status -> auditLogRepository.saveAll(logs));
+            }
+            written.addAndGet(logs.size());
+            batches.incrementAndGet();
+        } catch (RuntimeException e) {
+            failed.addAndGet(logs.size());
+            log.error("Failed to write {} audit logs", logs.size(), e);
+        }
+    }
+
+    private String serialize(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            log.debug("Could not serialize audit value of type {}", value.getClass().getSimpleName(), e);
+            return "{\"type\":\"" + value.getClass().getSimpleName() + "\",\"serializationError\":true}";
+        }
+    }
+
+    public record AuditPipelineStats(int queueDepth, int remainingCapacity, long enqueued, long written,
+                                     long dropped, long blocked, long failed, long batches) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.inventoryEmployee.demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventoryEmployee.demo.entity.OutboxEvent;
+import com.inventoryEmployee.demo.enums.OutboxEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Audits stock movements with the context captured when they happened
+@Component
+@RequiredArgsConstructor
+public class AuditOutboxConsumer implements OutboxConsumer {
+
+    private final AuditService auditService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String getName() {
+        return "audit";
+    }
+
+    @Override
+    public boolean accepts(OutboxEventType eventType) {
+        return eventType == OutboxEventType.STOCK_MOVEMENT;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) throws Exception {
+        StockMovementEvent movement = objectMapper.readValue(event.getPayload(), StockMovementEvent.class);
+
+        for (StockMovementEvent.Movement m : movement.movements()) {
+            auditService.logAction(movement.context(), "Inventory", m.inventoryId(), movement.action(),
+                    Map.of("quantityAvailable", m.previousQuantity()),
+                    Map.of("quantityAvailable", m.newQuantity()),
+                    movement.occurredAt());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.inventoryEmployee.demo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Optional compact encoding for audit payloads: "z:" + base64(deflate(json)).
+// Only applied above a size threshold and only when it actually saves space;
+// plain JSON (including rows written before this existed) is read back unchanged.
+@Component
+public class AuditPayloadCodec {
+
+    private static final String COMPRESSED_PREFIX = "z:";
+
+    private final boolean compressionEnabled;
+    private final int compressionThreshold;
+
+    public AuditPayloadCodec(@Value("${inventory.audit.compression.enabled:false}") boolean compressionEnabled,
+                             @Value("${inventory.audit.compression.threshold-bytes:512}") int compressionThreshold) {
+        this.compressionEnabled = compressionEnabled;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    public String encode(String json) {
+        if (json == null || !compressionEnabled || json.length() < compressionThreshold) {
+            return json;
+        }
+
+        byte[] input = json.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            String encoded = COMPRESSED_PREFIX + Base64.getEncoder().encodeToString(out.toByteArray());
+            return encoded.length() < json.length() ? encoded : json;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public String decode(String payload) {
+        if (payload == null || !payload.startsWith(COMPRESSED_PREFIX)) {
+            return payload;
+        }
+
+        byte[] input = Base64.getDecoder().decode(payload.substring(COMPRESSED_PREFIX.length()));
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 4);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed audit payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -1,20 +1,35 @@
 package com.inventoryEmployee.demo.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventoryEmployee.demo.config.CustomUserDetails;
+import com.inventoryEmployee.demo.dto.response.AuditReconstructionResponse;
+import com.inventoryEmployee.demo.dto.response.CursorPageResponse;
 import com.inventoryEmployee.demo.entity.AuditLog;
+import com.inventoryEmployee.demo.exception.ResourceNotFoundException;
 import com.inventoryEmployee.demo.repository.AuditLogRepository;
+import com.inventoryEmployee.demo.repository.FilterSpecifications;
+import com.inventoryEmployee.demo.util.SeekCursor;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -24,65 +39,198 @@ public class AuditService {
 
     private final AuditLogRepository auditLogRepository;
     private final HttpServletRequest request;
+    private final AuditLogWriter auditLogWriter;
+    private final AuditPayloadCodec payloadCodec;
+    private final AuditJournal auditJournal;
     private final ObjectMapper objectMapper;
+    private final ListingCountCache listingCountCache;
 
-    // Log action (async to not slow down main operations)
-    @Async
+    // Log action - captures who/where and flat field snapshots on the calling thread;
+    // diffing, serialization and the insert happen on the audit writer thread.
+    // Pass AuditSnapshots.snapshot(entity) taken before mutating as oldValue for updates.
+    // SUPPORTS: queueing needs no transaction, so callers without one don't open an empty one.
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void logAction(String entityName, Long entityId, String action,
                           Object oldValue, Object newValue) {
         try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            String username = auth != null ? auth.getName() : "SYSTEM";
-
-            String ipAddress = IPUtil.getClientIP(request);
-            String userAgent = request.getHeader("User-Agent");
-            String endpoint = request.getRequestURI();
-
-            AuditLog auditLog = AuditLog.builder()
-                    .entityName(entityName)
-                    .entityId(entityId)
-                    .action(action)
-                    .oldValue(oldValue != null ? objectMapper.writeValueAsString(oldValue) : null)
-                    .newValue(newValue != null ? objectMapper.writeValueAsString(newValue) : null)
-                    .username(username)
-                    .ipAddress(ipAddress)
-                    .userAgent(userAgent)
-                    .endpoint(endpoint)
-                    .timestamp(LocalDateTime.now())
-                    .build();
-
-            auditLogRepository.save(auditLog);
-            log.debug("Audit log created: {} {} by {}", action, entityName, username);
+            logAction(captureContext(), entityName, entityId, action, oldValue, newValue, LocalDateTime.now());
+        } catch (Exception e) {
+            log.error("Error queueing audit log", e);
+        }
+    }
+
+    // Log action on behalf of a context captured earlier (e.g. carried in an outbox event)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void logAction(AuditContext context, String entityName, Long entityId, String action,
+                          Object oldValue, Object newValue, LocalDateTime timestamp) {
+        // Snapshots are taken now - the entities may change after this call
+        AuditEvent event = new AuditEvent(entityName, entityId, action,
+                AuditSnapshots.toAuditValue(oldValue), AuditSnapshots.toAuditValue(newValue),
+                context.username(), context.userId(), context.ipAddress(), context.userAgent(), context.endpoint(),
+                timestamp);
+
+        // Only audit what actually committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    auditLogWriter.enqueue(event);
+                }
+            });
+        } else {
+            auditLogWriter.enqueue(event);
+        }
+    }
+
+    // Who/where of the current call; works off the request thread too
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public AuditContext captureContext() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String username = auth != null ? auth.getName() : "SYSTEM";
+        Long userId = auth != null && auth.getPrincipal() instanceof CustomUserDetails details
+                ? details.getUser().getId() : null;
+
+        if (RequestContextHolder.getRequestAttributes() == null) {
+            return new AuditContext(username, userId, null, null, null);
+        }
+        return new AuditContext(username, userId, IPUtil.getClientIP(request),
+                request.getHeader("User-Agent"), request.getRequestURI());
+    }
+
+    // Audit pipeline counters
+    public AuditLogWriter.AuditPipelineStats getPipelineStats() {
+        return auditLogWriter.getStats();
+    }
+
+    // Audit journal size and index counters (when inventory.audit.sink=journal)
+    public AuditJournal.JournalStats getJournalStats() {
+        return auditJournal.isEnabled() ? auditJournal.getStats() : null;
+    }
+
+    // Decode a stored oldValue/newValue (plain or compressed JSON)
+    public String decodePayload(String payload) {
+        return payloadCodec.decode(payload);
+    }
+
+    // Rebuild an entity's audited state by replaying its diffs up to the given
+    // version (1 = first audit entry). A null version means the latest state.
+    @Transactional(readOnly = true)
+    public AuditReconstructionResponse reconstructEntity(String entityName, Long entityId, Integer version) {
+        if (version != null && version < 1) {
+            throw new IllegalArgumentException("Version must be at least 1");
+        }
 
+        List<AuditLog> history = auditJournal.isEnabled()
+                ? auditJournal.findHistory(entityName, entityId, version)
+                : auditLogRepository.findHistory(entityName, entityId,
+                        version != null ? PageRequest.of(0, version) : Pageable.unpaged());
+        if (history.isEmpty()) {
+            throw new ResourceNotFoundException("No audit history for " + entityName + " #" + entityId);
+        }
+
+        Map<String, Object> state = new LinkedHashMap<>();
+        boolean deleted = false;
+        for (AuditLog auditLog : history) {
+            if ("DELETE".equals(auditLog.getAction())) {
+                deleted = true;
+                continue;
+            }
+            applyPayload(state, decodePayload(auditLog.getNewValue()));
+        }
+
+        AuditLog last = history.get(history.size() - 1);
+        return AuditReconstructionResponse.builder()
+                .entityName(entityName)
+                .entityId(entityId)
+                .version(history.size())
+                .auditLogId(last.getId())
+                .timestamp(last.getTimestamp())
+                .deleted(deleted)
+                .state(state)
+                .build();
+    }
+
+    private void applyPayload(Map<String, Object> state, String json) {
+        if (json == null) {
+            return;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            if (node.isObject()) {
+                state.putAll(objectMapper.convertValue(node, new TypeReference<Map<String, Object>>() {}));
+            } else {
+                state.put("value", objectMapper.convertValue(node, Object.class)); // Legacy scalar payloads
+            }
         } catch (Exception e) {
-            log.error("Error creating audit log", e);
+            log.warn("Skipping unreadable audit payload", e);
         }
     }
 
     // Get audit logs for specific entity
     @Transactional(readOnly = true)
     public Page<AuditLog> getAuditLogsByEntity(String entityName, Long entityId, Pageable pageable) {
+        if (auditJournal.isEnabled()) {
+            return auditJournal.findByEntity(entityName, entityId, pageable);
+        }
         return auditLogRepository.findByEntityNameAndEntityId(entityName, entityId, pageable);
     }
 
     // Get audit logs by user
     @Transactional(readOnly = true)
     public Page<AuditLog> getAuditLogsByUser(Long userId, Pageable pageable) {
+        if (auditJournal.isEnabled()) {
+            return auditJournal.findByUser(userId, pageable);
+        }
         return auditLogRepository.findByUserId(userId, pageable);
     }
 
     // Get recent audit logs
     @Transactional(readOnly = true)
     public Page<AuditLog> getRecentAuditLogs(Pageable pageable) {
+        if (auditJournal.isEnabled()) {
+            return auditJournal.findRecent(pageable);
+        }
         return auditLogRepository.findRecentAuditLogs(pageable);
     }
 
+    // Recent audit logs by keyset. The journal pages by record position, the table by (timestamp, id).
+    @Transactional(readOnly = true)
+    public CursorPageResponse<AuditLog> getRecentAuditLogs(String cursor, Integer size, boolean includeTotal) {
+        int limit = CursorPageResponse.clampSize(size);
+        SeekCursor after = SeekCursor.decode(cursor);
+
+        CursorPageResponse<AuditLog> page;
+        if (auditJournal.isEnabled()) {
+            List<AuditJournal.JournalRecord> records = auditJournal.findRecentBefore(
+                    after != null ? after.id() : null, limit + 1);
+            page = CursorPageResponse.of(records, limit, record -> new SeekCursor(null, record.position()))
+                    .map(AuditJournal.JournalRecord::auditLog);
+            if (includeTotal) {
+                page.setTotalElements(auditJournal.getStats().records());
+            }
+            return page;
+        }
+
+        List<AuditLog> rows = after == null
+                ? auditLogRepository.findRecentAuditLogsFirst(PageRequest.of(0, limit + 1))
+                : auditLogRepository.findRecentAuditLogsBefore(after.timestamp(), after.id(),
+                PageRequest.of(0, limit + 1));
+        page = CursorPageResponse.of(rows, limit, auditLog -> new SeekCursor(auditLog.getTimestamp(), auditLog.getId()));
+        if (includeTotal) {
+            page.setTotalElements(listingCountCache.get("audit", auditLogRepository::count));
+        }
+        return page;
+    }
+
     // Search with filters
     @Transactional(readOnly = true)
     public Page<AuditLog> searchAuditLogsWithFilters(String entityName, String action,
                                                      Long userId, LocalDateTime startDate,
                                                      LocalDateTime endDate, Pageable pageable) {
-        return auditLogRepository.findByFilters(entityName, action, userId,
-                startDate, endDate, pageable);
+        if (auditJournal.isEnabled()) {
+            return auditJournal.findByFilters(entityName, action, userId, startDate, endDate, pageable);
+        }
+        return auditLogRepository.findAll(FilterSpecifications.auditLogs(entityName, action, userId,
+                startDate, endDate), FilterSpecifications.sortedOrDefault(pageable, FilterSpecifications.AUDIT_LOG_ORDER));
     }
 }
@@ -0,0 +1,142 @@
+package com.inventoryEmployee.demo.service;
+
+import jakarta.persistence.*;
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.time.temporal.Temporal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Flat, field-level audit snapshots: basic columns by name, to-one associations as
+// "<field>Id". Collections and inverse sides are skipped, so taking a snapshot never
+// triggers lazy loading.
+public final class AuditSnapshots {
+
+    private static final Map<Class<?>, List<Field>> FIELDS = new ConcurrentHashMap<>();
+
+    private AuditSnapshots() {
+    }
+
+    // Converts what callers hand to logAction: entities become snapshots, scalars stay as they are
+    public static Object toAuditValue(Object value) {
+        if (value == null || value instanceof Map) {
+            return value;
+        }
+        if (isEntity(value)) {
+            return snapshot(value);
+        }
+        return simpleValue(value);
+    }
+
+    // A proxy (getReference, lazy association) is unwrapped first: its own fields are never set
+    public static Map<String, Object> snapshot(Object entity) {
+        Object target = Hibernate.unproxy(entity);
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        for (Field field : fieldsOf(target.getClass())) {
+            Object value;
+            try {
+                value = field.get(target);
+            } catch (IllegalAccessException e) {
+                continue;
+            }
+
+            if (isAssociation(field)) {
+                snapshot.put(field.getName() + "Id", value != null ? idOf(value) : null);
+            } else {
+                snapshot.put(field.getName(), simpleValue(value));
+            }
+        }
+        return snapshot;
+    }
+
+    // Changed fields only: [0] = old values, [1] = new values
+    public static Map<String, Object>[] diff(Map<String, Object> oldState, Map<String, Object> newState) {
+        Map<String, Object> oldValues = new LinkedHashMap<>();
+        Map<String, Object> newValues = new LinkedHashMap<>();
+
+        Set<String> keys = new LinkedHashSet<>(oldState.keySet());
+        keys.addAll(newState.keySet());
+
+        for (String key : keys) {
+            Object before = oldState.get(key);
+            Object after = newState.get(key);
+            if (!Objects.equals(before, after)) {
+                oldValues.put(key, before);
+                newValues.put(key, after);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object>[] result = new Map[]{oldValues, newValues};
+        return result;
+    }
+
+    private static Object simpleValue(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal.stripTrailingZeros().toPlainString();
+        }
+        if (value instanceof Enum<?> e) {
+            return e.name();
+        }
+        if (value instanceof Temporal || value instanceof Date) {
+            return value.toString();
+        }
+        return value;
+    }
+
+    private static Object idOf(Object entity) {
+        if (entity instanceof HibernateProxy proxy) {
+            return proxy.getHibernateLazyInitializer().getIdentifier();
+        }
+        for (Field field : fieldsOf(entity.getClass())) {
+            if (field.isAnnotationPresent(Id.class)) {
+                try {
+                    return field.get(entity);
+                } catch (IllegalAccessException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isEntity(Object value) {
+        return value instanceof HibernateProxy || value.getClass().isAnnotationPresent(Entity.class);
+    }
+
+    private static boolean isAssociation(Field field) {
+        return field.isAnnotationPresent(ManyToOne.class) || field.isAnnotationPresent(OneToOne.class);
+    }
+
+    private static List<Field> fieldsOf(Class<?> type) {
+        return FIELDS.computeIfAbsent(type, AuditSnapshots::collectFields);
+    }
+
+    private static List<Field> collectFields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)
+                        || field.isAnnotationPresent(Transient.class)
+                        || field.isAnnotationPresent(OneToMany.class)
+                        || field.isAnnotationPresent(ManyToMany.class)
+                        || Collection.class.isAssignableFrom(field.getType())
+                        || Map.class.isAssignableFrom(field.getType())) {
+                    continue;
+                }
+                OneToOne oneToOne = field.getAnnotation(OneToOne.class);
+                if (oneToOne != null && !oneToOne.mappedBy().isEmpty()) {
+                    continue; // Inverse side - reading its id would load it
+                }
+                field.setAccessible(true);
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+}
@@ -19,6 +19,7 @@ import com.inventoryEmployee.demo.util.JwtUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -50,6 +51,7 @@ public class AuthService {
     private final UserSessionRepository userSessionRepository;
     private final HttpServletRequest httpRequest;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Register new user
     public AuthResponse register(RegisterRequest request) {
@@ -75,6 +77,7 @@ public class AuthService {
                 .build();
 
         Employee savedEmployee = employeeRepository.save(employee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(savedEmployee.getId()));
 
         // Create new user
         User user = User.builder()
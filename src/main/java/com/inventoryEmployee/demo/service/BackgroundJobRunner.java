@@ -0,0 +1,212 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.entity.BackgroundJob;
+import com.inventoryEmployee.demo.enums.JobStatus;
+import com.inventoryEmployee.demo.enums.JobType;
+import com.inventoryEmployee.demo.repository.BackgroundJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs background jobs on a small pool of its own threads, never on request threads.
+// Every node polls for queued jobs and claims them with SKIP LOCKED; each job type has a
+// per-node slot limit (inventory.jobs.max-concurrent.<type>), so e.g. one bulk import at a
+// time can't crowd out the connections and CPU that interactive requests need.
+//
+// Claimed jobs send heartbeats. A job whose heartbeat stops (node crashed) is claimed again
+// by the next poll anywhere and resumes from its last checkpoint; on a clean shutdown the
+// running jobs are put back in the queue straight away.
+@Service
+@Slf4j
+public class BackgroundJobRunner {
+
+    private final Map<JobType, JobHandler> handlers = new EnumMap<>(JobType.class);
+    private final Map<JobType, Semaphore> slots = new EnumMap<>(JobType.class);
+    private final BackgroundJobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+
+    // Job id -> claim token of the jobs running on this node
+    private final Map<Long, String> running = new ConcurrentHashMap<>();
+
+    @Value("${inventory.jobs.stale-after-ms:60000}")
+    private long staleAfterMs;
+
+    @Value("${inventory.jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    public BackgroundJobRunner(List<JobHandler> jobHandlers,
+                               BackgroundJobRepository jobRepository,
+                               PlatformTransactionManager transactionManager,
+                               Environment environment) {
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        for (JobHandler handler : jobHandlers) {
+            handlers.put(handler.getType(), handler);
+        }
+        for (JobType type : JobType.values()) {
+            int limit = environment.getProperty("inventory.jobs.max-concurrent." +
+                    type.name().toLowerCase(Locale.ROOT).replace('_', '-'), Integer.class, type.getDefaultConcurrency());
+            slots.put(type, new Semaphore(Math.max(0, limit)));
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "background-job-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.jobs.poll-interval-ms:1000}")
+    public void poll() {
+        for (Map.Entry<JobType, JobHandler> entry : handlers.entrySet()) {
+            Semaphore free = slots.get(entry.getKey());
+            int available = free.drainPermits();
+            if (available == 0) {
+                continue;
+            }
+
+            List<JobExecution> claimed = List.of();
+            try {
+                claimed = claim(entry.getKey(), available);
+            } catch (RuntimeException e) {
+                log.error("Could not claim {} jobs", entry.getKey(), e);
+            }
+            free.release(available - claimed.size());
+
+            for (JobExecution execution : claimed) {
+                running.put(execution.getJobId(), execution.getClaimToken());
+                executor.execute(() -> execute(entry.getValue(), execution, free));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.jobs.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        if (running.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jobRepository.heartbeat(
+                    new ArrayList<>(running.values()), JobStatus.RUNNING, LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            log.warn("Job heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    // Hand this node's jobs back to the queue so another node (or this one, restarted) resumes them
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        for (Map.Entry<Long, String> job : running.entrySet()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> jobRepository.findById(job.getKey())
+                        .filter(found -> job.getValue().equals(found.getClaimToken())
+                                && found.getStatus() == JobStatus.RUNNING)
+                        .ifPresent(found -> {
+                            found.setStatus(JobStatus.QUEUED);
+                            found.setClaimToken(null);
+                        }));
+            } catch (RuntimeException e) {
+                log.warn("Could not requeue job {}; it resumes once its heartbeat goes stale", job.getKey());
+            }
+        }
+    }
+
+    private List<JobExecution> claim(JobType type, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        return transactionTemplate.execute(status -> {
+            List<JobExecution> claimed = new ArrayList<>();
+            for (BackgroundJob job : jobRepository.findClaimable(type, JobStatus.QUEUED, JobStatus.RUNNING,
+                    now.minusNanos(staleAfterMs * 1_000_000), PageRequest.of(0, limit))) {
+
+                // Keeps dying with its node (e.g. runs out of memory): stop retrying
+                if (job.getStatus() == JobStatus.RUNNING && job.getAttempts() >= maxAttempts) {
+                    job.setStatus(JobStatus.FAILED);
+                    job.setErrorMessage("Abandoned after " + job.getAttempts() + " interrupted attempts");
+                    job.setFinishedAt(now);
+                    continue;
+                }
+                if (job.getStatus() == JobStatus.RUNNING) {
+                    log.warn("Job {} ({}) stopped sending heartbeats, resuming from checkpoint {}",
+                            job.getId(), job.getJobType(), job.getCheckpoint());
+                }
+
+                job.setStatus(JobStatus.RUNNING);
+                job.setClaimToken(UUID.randomUUID().toString());
+                job.setHeartbeatAt(now);
+                job.setAttempts(job.getAttempts() + 1);
+                if (job.getStartedAt() == null) {
+                    job.setStartedAt(now);
+                }
+                claimed.add(new JobExecution(job, jobRepository, transactionTemplate));
+            }
+            return claimed;
+        });
+    }
+
+    private void execute(JobHandler handler, JobExecution execution, Semaphore slot) {
+        long start = System.currentTimeMillis();
+        try {
+            handler.run(execution);
+
+            JobStatus outcome = execution.isCancelRequested() ? JobStatus.CANCELLED : JobStatus.COMPLETED;
+            finish(execution, outcome, null);
+            log.info("Job {} ({}) {} in {} ms", execution.getJobId(), execution.getJobType(), outcome,
+                    System.currentTimeMillis() - start);
+
+        } catch (JobExecution.ClaimLostException e) {
+            log.warn(e.getMessage());
+        } catch (Exception e) {
+            if (executor.isShutdown()) {
+                return; // Interrupted by shutdown; requeued there
+            }
+            log.error("Job {} ({}) failed", execution.getJobId(), execution.getJobType(), e);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            try {
+                finish(execution, JobStatus.FAILED, message.length() > 1000 ? message.substring(0, 1000) : message);
+            } catch (RuntimeException finishFailure) {
+                log.error("Could not mark job {} as failed", execution.getJobId(), finishFailure);
+            }
+        } finally {
+            if (!executor.isShutdown()) {
+                running.remove(execution.getJobId());
+            }
+            slot.release();
+        }
+    }
+
+    private void finish(JobExecution execution, JobStatus status, String errorMessage) {
+        Integer updated = transactionTemplate.execute(tx -> jobRepository.finish(execution.getJobId(),
+                execution.getClaimToken(), status, errorMessage, LocalDateTime.now()));
+        if (updated == null || updated == 0) {
+            throw new JobExecution.ClaimLostException(execution.getJobId());
+        }
+
+        // The staged upload is only needed to resume
+        if (execution.getInputPath() != null) {
+            try {
+                Files.deleteIfExists(execution.getInputPath());
+            } catch (IOException e) {
+                log.warn("Could not delete job input {}: {}", execution.getInputPath(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.entity.BackgroundJob;
+import com.inventoryEmployee.demo.enums.JobStatus;
+import com.inventoryEmployee.demo.enums.JobType;
+import com.inventoryEmployee.demo.exception.ResourceNotFoundException;
+import com.inventoryEmployee.demo.repository.BackgroundJobRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Submitting, inspecting and downloading background jobs; BackgroundJobRunner executes them.
+// Uploads and results live under inventory.jobs.storage-dir, which has to be shared storage
+// when more than one node runs jobs (a job may resume on a different node).
+@Service
+@Slf4j
+@Transactional
+public class BackgroundJobService {
+
+    private static final List<JobStatus> FINISHED = List.of(JobStatus.COMPLETED, JobStatus.FAILED, JobStatus.CANCELLED);
+
+    private final BackgroundJobRepository jobRepository;
+    private final AuditService auditService;
+
+    @Value("${inventory.jobs.storage-dir:${java.io.tmpdir}/inventory-jobs}")
+    private Path storageDir;
+
+    @Value("${inventory.jobs.retention-hours:72}")
+    private long retentionHours;
+
+    public BackgroundJobService(BackgroundJobRepository jobRepository, AuditService auditService) {
+        this.jobRepository = jobRepository;
+        this.auditService = auditService;
+    }
+
+    @PostConstruct
+    public void createStorageDir() throws IOException {
+        Files.createDirectories(storageDir);
+    }
+
+    // The upload is copied to job storage before the request returns; the import itself runs later.
+    // The extension is kept: it tells the handler whether to read CSV or XLSX
+    public BackgroundJob submitProductImport(MultipartFile file) {
+        String key = UUID.randomUUID().toString();
+        String extension = ImportExportService.isXlsx(file.getOriginalFilename()) ? ".xlsx" : ".csv";
+        Path input = storageDir.resolve("job-" + key + "-input" + extension);
+        try {
+            file.transferTo(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store the uploaded file", e);
+        }
+        return submit(JobType.PRODUCT_IMPORT, key, input, "product-import-errors.csv", false);
+    }
+
+    public BackgroundJob submitExport(JobType jobType, boolean gzip) {
+        if (jobType != JobType.PRODUCT_EXPORT && jobType != JobType.EMPLOYEE_EXPORT) {
+            throw new IllegalArgumentException("Not an export job type: " + jobType);
+        }
+        String name = jobType == JobType.PRODUCT_EXPORT ? "products" : "employees";
+        return submit(jobType, UUID.randomUUID().toString(), null, name + (gzip ? ".csv.gz" : ".csv"), gzip);
+    }
+
+    @Transactional(readOnly = true)
+    public BackgroundJob getJob(Long id) {
+        return jobRepository.findById(id)
+                .filter(this::isVisible)
+                .orElseThrow(() -> new ResourceNotFoundException("Job not found with id: " + id));
+    }
+
+    // The caller's own jobs; admins see everyone's
+    @Transactional(readOnly = true)
+    public Page<BackgroundJob> getJobs(Pageable pageable) {
+        if (isAdmin()) {
+            return jobRepository.findAllByOrderByIdDesc(pageable);
+        }
+        return jobRepository.findBySubmittedByOrderByIdDesc(currentUsername(), pageable);
+    }
+
+    // Queued jobs stop at once; running ones at their next checkpoint
+    public BackgroundJob cancel(Long id) {
+        BackgroundJob job = getJob(id);
+        if (job.getStatus() == JobStatus.QUEUED) {
+            job.setStatus(JobStatus.CANCELLED);
+            job.setFinishedAt(LocalDateTime.now());
+        } else if (job.getStatus() == JobStatus.RUNNING) {
+            job.setCancelRequested(true);
+        } else {
+            throw new IllegalArgumentException("Job " + id + " has already finished");
+        }
+        return job;
+    }
+
+    @Transactional(readOnly = true)
+    public Path getResult(Long id) {
+        BackgroundJob job = getJob(id);
+        Path result = job.getResultPath() != null ? Path.of(job.getResultPath()) : null;
+        if (job.getStatus() != JobStatus.COMPLETED || result == null || !Files.exists(result)) {
+            throw new IllegalArgumentException("Job " + id + " has no result to download");
+        }
+        return result;
+    }
+
+    // Drop finished jobs and their files once they are past retention
+    @Scheduled(fixedDelayString = "${inventory.jobs.cleanup-interval-ms:3600000}")
+    public void cleanup() {
+        List<BackgroundJob> expired = jobRepository.findByStatusInAndFinishedAtBefore(FINISHED,
+                LocalDateTime.now().minusHours(retentionHours), PageRequest.of(0, 500));
+        for (BackgroundJob job : expired) {
+            deleteQuietly(job.getInputPath());
+            deleteQuietly(job.getResultPath());
+        }
+        jobRepository.deleteAll(expired);
+        if (!expired.isEmpty()) {
+            log.info("Deleted {} expired background jobs", expired.size());
+        }
+    }
+
+    private BackgroundJob submit(JobType jobType, String key, Path input, String resultFileName, boolean gzip) {
+        AuditContext context = auditService.captureContext();
+        String extension = resultFileName.substring(resultFileName.indexOf('.'));
+
+        BackgroundJob job = jobRepository.save(BackgroundJob.builder()
+                .jobType(jobType)
+                .status(JobStatus.QUEUED)
+                .submittedBy(context.username())
+                .ipAddress(context.ipAddress())
+                .inputPath(input != null ? input.toString() : null)
+                .resultPath(storageDir.resolve("job-" + key + "-result" + extension).toString())
+                .resultFileName(resultFileName)
+                .gzip(gzip)
+                .checkpoint(0L)
+                .resultSize(0L)
+                .processedItems(0L)
+                .succeededItems(0L)
+                .failedItems(0L)
+                .attempts(0)
+                .cancelRequested(false)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        log.info("Queued job {} ({}) for {}", job.getId(), jobType, context.username());
+        return job;
+    }
+
+    private boolean isVisible(BackgroundJob job) {
+        return isAdmin() || job.getSubmittedBy().equals(currentUsername());
+    }
+
+    private String currentUsername() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null ? auth.getName() : "SYSTEM";
+    }
+
+    private boolean isAdmin() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+
+    private void deleteQuietly(String path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(Path.of(path));
+        } catch (IOException e) {
+            log.warn("Could not delete job file {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.inventoryEmployee.demo.service;
+
+// Published when a category is created, updated or deleted; product search re-reads its name
+public record CategoryChangedEvent(Long categoryId) {
+}
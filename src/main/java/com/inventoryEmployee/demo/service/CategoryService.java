@@ -0,0 +1,96 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.dto.request.CategoryRequest;
+import com.inventoryEmployee.demo.entity.Category;
+import com.inventoryEmployee.demo.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// Category writes; each publishes CategoryChangedEvent, handled after commit
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class CategoryService {
+
+    private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Create category
+    public Category createCategory(CategoryRequest request) {
+        log.info("Creating new category: {}", request.getName());
+
+        // Check if category name already exists
+        if (categoryRepository.existsByNameAndDeletedFalse(request.getName())) {
+            throw new IllegalArgumentException("Category with name '" + request.getName() + "' already exists");
+        }
+
+        Category category = Category.builder()
+                .name(request.getName())
+                .description(request.getDescription())
+                .code(request.getCode())
+                .imageUrl(request.getImageUrl())
+                .build();
+
+        if (request.getParentCategoryId() != null) {
+            Category parent = categoryRepository.findById(request.getParentCategoryId())
+                    .orElseThrow(() -> new RuntimeException("Parent Category Not Found: " + request.getParentCategoryId()));
+            category.setParentCategory(parent);
+        }
+
+        Category created = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(created.getId()));
+        return created;
+    }
+
+    // Get category by ID
+    @Transactional(readOnly = true)
+    public Category getCategoryById(Long id) {
+        return categoryRepository.findById(id)
+                .filter(cat -> !cat.getDeleted())
+                .orElseThrow(() -> new RuntimeException("Category not found"));
+    }
+
+    // Update category
+    public Category updateCategory(Long id, CategoryRequest request) {
+        Category existing = getCategoryById(id);
+        log.info("Updating category: {}", id);
+
+        // Check if new name conflicts with another category
+        if (!existing.getName().equals(request.getName()) &&
+                categoryRepository.existsByNameAndDeletedFalse(request.getName())) {
+            throw new IllegalArgumentException("Category with name '" + request.getName() + "' already exists");
+        }
+
+        existing.setName(request.getName());
+        existing.setDescription(request.getDescription());
+        existing.setCode(request.getCode());
+        existing.setImageUrl(request.getImageUrl());
+
+        // Update parent category if provided
+        if (request.getParentCategoryId() != null) {
+            Category parent = categoryRepository.findById(request.getParentCategoryId())
+                    .orElseThrow(() -> new RuntimeException("Parent category not found"));
+            existing.setParentCategory(parent);
+        } else {
+            existing.setParentCategory(null);
+        }
+
+        Category updated = categoryRepository.save(existing);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
+        return updated;
+    }
+
+    // Soft delete category
+    public void deleteCategory(Long id) {
+        Category category = getCategoryById(id);
+        log.info("Soft deleting category: {}", id);
+
+        category.setDeleted(true);
+        categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
+    }
+}
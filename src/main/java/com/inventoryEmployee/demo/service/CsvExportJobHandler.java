@@ -0,0 +1,86 @@
+package com.inventoryEmployee.demo.service;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+// CSV export as a job: rows are read in id order, one keyset chunk at a time, and the
+// checkpoint is the last id written. With gzip each chunk is its own gzip member (a file of
+// concatenated members is still one valid .gz), so a resumed run can simply append.
+public abstract class CsvExportJobHandler<T> implements JobHandler {
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunkSize;
+
+    protected CsvExportJobHandler(PlatformTransactionManager transactionManager, int chunkSize) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunkSize = chunkSize;
+    }
+
+    protected abstract String[] header();
+
+    protected abstract long count();
+
+    protected abstract List<T> findAfter(long lastId, Pageable limit);
+
+    protected abstract long idOf(T row);
+
+    protected abstract Object[] toRow(T row);
+
+    @Override
+    public void run(JobExecution execution) throws IOException {
+        if (execution.getCheckpoint() == 0) {
+            execution.setTotalItems(readOnlyTransaction.execute(status -> count()));
+        }
+
+        try (FileChannel result = execution.openResult()) {
+            if (execution.getResultSize() == 0) {
+                write(result, execution.isGzip(), header(), List.of());
+                execution.checkpoint(0, result.position(), 0, 0, 0);
+            }
+
+            long lastId = execution.getCheckpoint();
+            while (!execution.isCancelRequested()) {
+                long after = lastId;
+                List<T> rows = readOnlyTransaction.execute(status -> findAfter(after, PageRequest.of(0, chunkSize)));
+                if (rows == null || rows.isEmpty()) {
+                    break;
+                }
+
+                write(result, execution.isGzip(), null, rows.stream().map(this::toRow).toList());
+                lastId = idOf(rows.get(rows.size() - 1));
+                execution.checkpoint(lastId, result.position(), rows.size(), rows.size(), 0);
+            }
+        }
+    }
+
+    private void write(FileChannel result, boolean gzip, String[] header, List<Object[]> rows) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(buffer) : buffer) {
+            try (ExportWriter writer = new CsvExportWriter(out)) {
+                if (header != null) {
+                    writer.writeHeader(header);
+                }
+                for (Object[] row : rows) {
+                    writer.writeRow(row);
+                }
+            }
+        }
+
+        ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+        while (bytes.hasRemaining()) {
+            result.write(bytes);
+        }
+        result.force(false);
+    }
+}
@@ -0,0 +1,58 @@
+package com.inventoryEmployee.demo.service;
+
+import com.opencsv.CSVWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+public class CsvExportWriter implements ExportWriter {
+
+    // writeNext never throws: opencsv keeps the IOException and carries on. Checking every
+    // CHECK_EVERY_ROWS rows stops an export whose client has gone away instead of streaming
+    // the rest of the table into a dead connection.
+    private static final int CHECK_EVERY_ROWS = 1000;
+
+    private final CSVWriter writer;
+    private long rows;
+
+    // Buffered so the output sees large writes, not one per field
+    public CsvExportWriter(OutputStream out) {
+        this.writer = new CSVWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024));
+    }
+
+    @Override
+    public void writeHeader(String... names) throws IOException {
+        writer.writeNext(names);
+        throwIfFailed();
+    }
+
+    @Override
+    public void writeRow(Object... values) throws IOException {
+        String[] cells = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            cells[i] = value == null ? "" : value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        }
+        writer.writeNext(cells);
+        if (++rows % CHECK_EVERY_ROWS == 0) {
+            throwIfFailed();
+        }
+    }
+
+    // Flush only: closing the CSVWriter would close the caller's stream
+    @Override
+    public void close() throws IOException {
+        throwIfFailed();
+    }
+
+    // checkError() flushes, so a failed write surfaces here even while it sits in the buffer
+    private void throwIfFailed() throws IOException {
+        if (writer.checkError()) {
+            throw writer.getException();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.dto.response.DashboardKPIResponse;
+import com.inventoryEmployee.demo.repository.DashboardKpiRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+// Cached dashboard KPIs. The snapshot is built from four grouped queries run in parallel
+// plus the in-memory inventory aggregates. Once it is older than refresh-after-ms the
+// next request starts a background refresh and still gets the cached copy; only past
+// max-staleness-ms do requests wait. Either way there is at most one refresh in flight
+// and every request arriving meanwhile joins it.
+@Service
+@Slf4j
+public class DashboardKpiService {
+
+    private final DashboardKpiRepository dashboardKpiRepository;
+    private final InventoryService inventoryService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService executor;
+
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+    private volatile Snapshot snapshot;
+
+    @Value("${inventory.dashboard.refresh-after-ms:5000}")
+    private long refreshAfterMs;
+
+    @Value("${inventory.dashboard.max-staleness-ms:30000}")
+    private long maxStalenessMs;
+
+    public DashboardKpiService(DashboardKpiRepository dashboardKpiRepository,
+                               InventoryService inventoryService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${inventory.dashboard.query-threads:4}") int queryThreads) {
+        this.dashboardKpiRepository = dashboardKpiRepository;
+        this.inventoryService = inventoryService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(queryThreads, runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-kpi-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public DashboardKPIResponse getKpis() {
+        Snapshot current = snapshot;
+        long age = current != null ? System.currentTimeMillis() - current.computedAt() : Long.MAX_VALUE;
+
+        if (age < refreshAfterMs) {
+            return current.kpis();
+        }
+
+        CompletableFuture<Snapshot> refresh = refresh();
+        if (age < maxStalenessMs) {
+            return current.kpis(); // Refresh-ahead: serve cached, refresh in the background
+        }
+
+        try {
+            return refresh.join().kpis();
+        } catch (CompletionException e) {
+            if (current != null) {
+                log.warn("Dashboard KPI refresh failed, serving snapshot from {} ms ago", age, e.getCause());
+                return current.kpis();
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Start a refresh unless one is already running; either way return the running one
+    private CompletableFuture<Snapshot> refresh() {
+        while (true) {
+            CompletableFuture<Snapshot> running = inFlight.get();
+            if (running != null) {
+                return running;
+            }
+
+            CompletableFuture<Snapshot> created = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, created)) {
+                try {
+                    compute().whenComplete((result, error) -> {
+                        if (error == null) {
+                            snapshot = result;
+                        }
+                        inFlight.set(null);
+                        if (error == null) {
+                            created.complete(result);
+                        } else {
+                            created.completeExceptionally(error);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    inFlight.set(null);
+                    created.completeExceptionally(e);
+                }
+                return created;
+            }
+        }
+    }
+
+    private CompletableFuture<Snapshot> compute() {
+        long start = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate firstDayOfMonth = today.withDayOfMonth(1);
+
+        CompletableFuture<long[]> catalog = query(dashboardKpiRepository::countCatalog);
+        CompletableFuture<long[]> orders = query(dashboardKpiRepository::countOrders);
+        CompletableFuture<long[]> employees = query(() -> dashboardKpiRepository.countEmployees(
+                firstDayOfMonth, today.withDayOfMonth(today.lengthOfMonth())));
+        CompletableFuture<long[]> transactions = query(() -> dashboardKpiRepository.countTransactions(
+                today.atStartOfDay(), today.with(DayOfWeek.MONDAY).atStartOfDay(),
+                firstDayOfMonth.atStartOfDay(), now));
+
+        // Served from the stock level index / aggregates
+        CompletableFuture<DashboardKPIResponse.DashboardKPIResponseBuilder> inventory =
+                CompletableFuture.supplyAsync(() -> DashboardKPIResponse.builder()
+                        .totalInventoryValue(inventoryService.calculateTotalInventoryValue())
+                        .lowStockCount(inventoryService.countLowStockItems())
+                        .outOfStockCount(inventoryService.countOutOfStockItems()), executor);
+
+        return CompletableFuture.allOf(catalog, orders, employees, transactions, inventory).thenApply(done -> {
+            long[] catalogCounts = catalog.join();
+            long[] orderCounts = orders.join();
+            long[] employeeCounts = employees.join();
+            long[] transactionCounts = transactions.join();
+
+            DashboardKPIResponse kpis = inventory.join()
+                    .totalProducts(catalogCounts[0])
+                    .totalCategories(catalogCounts[1])
+                    .totalDepartments(catalogCounts[2])
+                    .unresolvedAlerts(catalogCounts[3])
+
+                    .totalOrders(orderCounts[0])
+                    .pendingOrders(orderCounts[1])
+                    .completedOrders(orderCounts[2])
+
+                    .activeEmployees(employeeCounts[0])
+                    .newHiresThisMonth(employeeCounts[1])
+
+                    .transactionsToday(transactionCounts[0])
+                    .transactionsThisWeek(transactionCounts[1])
+                    .transactionsThisMonth(transactionCounts[2])
+                    .build();
+
+            log.debug("Dashboard KPIs computed in {} ms", System.currentTimeMillis() - start);
+            return new Snapshot(kpis, System.currentTimeMillis());
+        });
+    }
+
+    private CompletableFuture<long[]> query(Supplier<long[]> counts) {
+        return CompletableFuture.supplyAsync(() -> readOnlyTransaction.execute(status -> counts.get()), executor);
+    }
+
+    private record Snapshot(DashboardKPIResponse kpis, long computedAt) {
+    }
+}
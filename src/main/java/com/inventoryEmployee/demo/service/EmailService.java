@@ -18,19 +18,23 @@ public class EmailService {
     @Async
     public void sendLowStockAlert(StockAlert alert) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo("manager@company.com"); // Configure recipient
-            message.setSubject("Stock Alert: " + alert.getAlertType());
-            message.setText(buildAlertMessage(alert));
-
-            mailSender.send(message);
-            log.info("Stock alert email sent for product: {}", alert.getProduct().getId());
-
+            deliverLowStockAlert(alert);
         } catch (Exception e) {
             log.error("Error sending stock alert email", e);
         }
     }
 
+    // Send a stock alert email, letting failures propagate (used by the outbox relay to retry)
+    public void deliverLowStockAlert(StockAlert alert) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo("manager@company.com"); // Configure recipient
+        message.setSubject("Stock Alert: " + alert.getAlertType());
+        message.setText(buildAlertMessage(alert));
+
+        mailSender.send(message);
+        log.info("Stock alert email sent for product: {}", alert.getProduct().getId());
+    }
+
     private String buildAlertMessage(StockAlert alert) {
         return String.format(
                 "Alert Type: %s\n" +
@@ -0,0 +1,5 @@
+package com.inventoryEmployee.demo.service;
+
+// Published when an employee is created, updated or deleted; typeahead re-reads the name
+public record EmployeeChangedEvent(Long employeeId) {
+}
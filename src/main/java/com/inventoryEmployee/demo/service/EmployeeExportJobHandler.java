@@ -0,0 +1,53 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.enums.JobType;
+import com.inventoryEmployee.demo.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+@Component
+public class EmployeeExportJobHandler extends CsvExportJobHandler<EmployeeExportRow> {
+
+    private final EmployeeRepository employeeRepository;
+
+    public EmployeeExportJobHandler(EmployeeRepository employeeRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${inventory.jobs.export-chunk-size:5000}") int chunkSize) {
+        super(transactionManager, chunkSize);
+        this.employeeRepository = employeeRepository;
+    }
+
+    @Override
+    public JobType getType() {
+        return JobType.EMPLOYEE_EXPORT;
+    }
+
+    @Override
+    protected String[] header() {
+        return ImportExportService.EMPLOYEE_CSV_HEADER;
+    }
+
+    @Override
+    protected long count() {
+        return employeeRepository.countByDeletedFalse();
+    }
+
+    @Override
+    protected List<EmployeeExportRow> findAfter(long lastId, Pageable limit) {
+        return employeeRepository.findForExportAfter(lastId, limit);
+    }
+
+    @Override
+    protected long idOf(EmployeeExportRow row) {
+        return row.id();
+    }
+
+    @Override
+    protected Object[] toRow(EmployeeExportRow row) {
+        return ImportExportService.toRow(row);
+    }
+}
@@ -0,0 +1,10 @@
+package com.inventoryEmployee.demo.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// One employee as written by the CSV export, department name already joined in
+public record EmployeeExportRow(Long id, String firstName, String lastName, String email, String phone,
+                                String position, String departmentName, BigDecimal salary,
+                                LocalDate hireDate) {
+}
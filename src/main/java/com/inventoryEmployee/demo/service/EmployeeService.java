@@ -4,14 +4,17 @@ import com.inventoryEmployee.demo.entity.Employee;
 import com.inventoryEmployee.demo.enums.EmployeeStatus;
 import com.inventoryEmployee.demo.exception.ResourceNotFoundException;
 import com.inventoryEmployee.demo.repository.EmployeeRepository;
+import com.inventoryEmployee.demo.repository.FilterSpecifications;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +24,7 @@ public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
     private final AuditService auditService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Create new employee
     public Employee createEmployee(Employee employee) {
@@ -33,6 +37,7 @@ public class EmployeeService {
 
         Employee savedEmployee = employeeRepository.save(employee);
         auditService.logAction("Employee", savedEmployee.getId(), "CREATE", null, savedEmployee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(savedEmployee.getId()));
 
         return savedEmployee;
     }
@@ -63,6 +68,8 @@ public class EmployeeService {
 
         log.info("Updating employee: {}", id);
 
+        Map<String, Object> before = AuditSnapshots.snapshot(existingEmployee);
+
         // Update fields
         existingEmployee.setFirstName(updatedEmployee.getFirstName());
         existingEmployee.setLastName(updatedEmployee.getLastName());
@@ -78,7 +85,8 @@ public class EmployeeService {
         existingEmployee.setDepartment(updatedEmployee.getDepartment());
 
         Employee saved = employeeRepository.save(existingEmployee);
-        auditService.logAction("Employee", id, "UPDATE", existingEmployee, saved);
+        auditService.logAction("Employee", id, "UPDATE", before, saved);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(id));
 
         return saved;
     }
@@ -93,6 +101,7 @@ public class EmployeeService {
         employeeRepository.save(employee);
 
         auditService.logAction("Employee", id, "DELETE", employee, null);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(id));
     }
 
     // Search employees by name
@@ -123,7 +132,7 @@ public class EmployeeService {
     @Transactional(readOnly = true)
     public Page<Employee> searchEmployeesWithFilters(Long departmentId, EmployeeStatus status,
                                                      String searchTerm, Pageable pageable) {
-        return employeeRepository.findByFilters(departmentId, status, searchTerm, pageable);
+        return employeeRepository.findAll(FilterSpecifications.employees(departmentId, status, searchTerm), pageable);
     }
 
     // Count employees by department
@@ -0,0 +1,26 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Row-at-a-time tabular output shared by every export. Values are written as typed as
+// the format allows: CSV prints them, XLSX keeps numbers and dates as numeric cells.
+// close() finishes the document but leaves the underlying stream open.
+public interface ExportWriter extends AutoCloseable {
+
+    void writeHeader(String... names) throws IOException;
+
+    void writeRow(Object... values) throws IOException;
+
+    @Override
+    void close() throws IOException;
+
+    static ExportWriter open(ExportFormat format, OutputStream out, String sheetName) {
+        return switch (format) {
+            case CSV -> new CsvExportWriter(out);
+            case XLSX -> new XlsxExportWriter(out, sheetName);
+        };
+    }
+}
@@ -1,134 +1,193 @@
 package com.inventoryEmployee.demo.service;
 
-import com.inventoryEmployee.demo.entity.Employee;
-import com.inventoryEmployee.demo.entity.Product;
-import com.opencsv.CSVReader;
-import com.opencsv.CSVWriter;
+import com.inventoryEmployee.demo.dto.response.ImportReportResponse;
+import com.inventoryEmployee.demo.enums.ExportFormat;
+import com.inventoryEmployee.demo.repository.EmployeeRepository;
+import com.inventoryEmployee.demo.repository.InventoryRepository;
+import com.inventoryEmployee.demo.repository.ProductRepository;
+import com.inventoryEmployee.demo.repository.StockTransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.*;
-import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ImportExportService {
 
-    private final ProductService productService;
-    private final EmployeeService employeeService;
-
-    // Import products from CSV
-    public List<Product> importProductsFromCSV(MultipartFile file) {
-        List<Product> importedProducts = new ArrayList<>();
-
-        try (CSVReader reader = new CSVReader(new InputStreamReader(file.getInputStream()))) {
-            List<String[]> rows = reader.readAll();
-
-            // Skip header row
-            for (int i = 1; i < rows.size(); i++) {
-                String[] row = rows.get(i);
-
-                // FIX: Check if the row has enough columns (we need at least 4: Name, SKU, Desc, Price)
-                if (row.length < 4) {
-                    log.warn("Skipping invalid or empty row at line {}: {}", i + 1, java.util.Arrays.toString(row));
-                    continue;
-                }
-
-                // Optional: Handle empty strings to avoid parsing errors later
-                String priceStr = row[3];
-                if (priceStr == null || priceStr.trim().isEmpty()) {
-                    log.warn("Skipping row at line {} due to missing price", i + 1);
-                    continue;
-                }
-
-                Product product = Product.builder()
-                        .name(row[0])
-                        .sku(row[1])
-                        .description(row[2])
-                        .price(new BigDecimal(row[3]))
-                        .build();
-
-                Product saved = productService.createProduct(product);
-                importedProducts.add(saved);
+    public static final String[] PRODUCT_CSV_HEADER =
+            {"Name", "SKU", "Description", "Price", "Category", "Supplier"};
+    public static final String[] EMPLOYEE_CSV_HEADER =
+            {"First Name", "Last Name", "Email", "Phone", "Position", "Department", "Salary", "Hire Date"};
+    public static final String[] INVENTORY_HEADER =
+            {"SKU", "Product", "Available", "Reserved", "Min Stock", "Max Stock", "Reorder Point",
+                    "Reorder Quantity", "Location", "Bin", "Rack", "Last Restock", "Last Sale"};
+    public static final String[] STOCK_TRANSACTION_HEADER =
+            {"Id", "Date", "SKU", "Product", "Type", "Reason", "Quantity", "Previous Quantity", "New Quantity",
+                    "Reference", "Employee", "Performed By", "Notes"};
+
+    private final ProductImporter productImporter;
+    private final ProductRepository productRepository;
+    private final EmployeeRepository employeeRepository;
+    private final InventoryRepository inventoryRepository;
+    private final StockTransactionRepository stockTransactionRepository;
+
+    // Import products from CSV or XLSX: streamed, chunked and batched, see ProductImporter.
+    // Invalid or clashing rows are reported per line instead of failing the whole file.
+    public ImportReportResponse importProducts(MultipartFile file) {
+        if (!isXlsx(file.getOriginalFilename())) {
+            try (InputStream in = file.getInputStream()) {
+                return productImporter.importCsv(in);
+            } catch (IOException e) {
+                log.error("Error importing products from CSV", e);
+                throw new RuntimeException("Failed to import products: " + e.getMessage());
             }
+        }
 
-            log.info("Imported {} products from CSV", importedProducts.size());
-
-        } catch (Exception e) {
-            log.error("Error importing products from CSV", e);
+        // The XLSX reader needs random access to the zip, so the upload goes to a temp file first
+        Path staged = null;
+        try {
+            staged = Files.createTempFile("product-import-", ".xlsx");
+            file.transferTo(staged);
+            return productImporter.importXlsx(staged);
+        } catch (IOException e) {
+            log.error("Error importing products from XLSX", e);
             throw new RuntimeException("Failed to import products: " + e.getMessage());
+        } finally {
+            deleteQuietly(staged);
         }
+    }
 
-        return importedProducts;
+    public static boolean isXlsx(String filename) {
+        return filename != null && filename.toLowerCase(Locale.ROOT).endsWith(".xlsx");
     }
 
-    // Export products to CSV
-    public ByteArrayInputStream exportProductsToCSV(List<Product> products) {
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream();
-             CSVWriter writer = new CSVWriter(new OutputStreamWriter(out))) {
-
-            // Write header
-            String[] header = {"Name", "SKU", "Description", "Price", "Category", "Supplier"};
-            writer.writeNext(header);
-
-            // Write data
-            for (Product product : products) {
-                String[] row = {
-                        product.getName(),
-                        product.getSku(),
-                        product.getDescription(),
-                        product.getPrice().toString(),
-                        product.getCategory() != null ? product.getCategory().getName() : "",
-                        product.getSupplier() != null ? product.getSupplier().getName() : ""
-                };
-                writer.writeNext(row);
-            }
+    // Every export below streams rows from a forward-only cursor as projections (no entities
+    // in the persistence context) into the writer, so memory stays flat whatever the table
+    // size; XLSX keeps only a window of rows in memory (see XlsxExportWriter). The caller
+    // owns (and closes) the output stream.
+    @Transactional(readOnly = true)
+    public long exportProducts(OutputStream out, ExportFormat format) {
+        return export(out, format, "Products", PRODUCT_CSV_HEADER,
+                productRepository.streamForExport(), ImportExportService::toRow);
+    }
 
-            writer.flush();
-            return new ByteArrayInputStream(out.toByteArray());
+    @Transactional(readOnly = true)
+    public long exportEmployees(OutputStream out, ExportFormat format) {
+        return export(out, format, "Employees", EMPLOYEE_CSV_HEADER,
+                employeeRepository.streamForExport(), ImportExportService::toRow);
+    }
 
-        } catch (IOException e) {
-            log.error("Error exporting products to CSV", e);
-            throw new RuntimeException("Failed to export products: " + e.getMessage());
-        }
+    // Active inventory of live products, same scope as the stock-level reports
+    @Transactional(readOnly = true)
+    public long exportInventory(OutputStream out, ExportFormat format) {
+        return export(out, format, "Inventory", INVENTORY_HEADER,
+                inventoryRepository.streamStockLevels().filter(StockLevelEntry::isListed), ImportExportService::toRow);
     }
 
-    // Export employees to CSV
-    public ByteArrayInputStream exportEmployeesToCSV(List<Employee> employees) {
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream();
-             CSVWriter writer = new CSVWriter(new OutputStreamWriter(out))) {
-
-            // Write header
-            String[] header = {"First Name", "Last Name", "Email", "Phone", "Position",
-                    "Department", "Salary", "Hire Date"};
-            writer.writeNext(header);
-
-            // Write data
-            for (Employee employee : employees) {
-                String[] row = {
-                        employee.getFirstName(),
-                        employee.getLastName(),
-                        employee.getEmail(),
-                        employee.getPhone(),
-                        employee.getPosition(),
-                        employee.getDepartment() != null ? employee.getDepartment().getName() : "",
-                        employee.getSalary() != null ? employee.getSalary().toString() : "",
-                        employee.getHireDate() != null ? employee.getHireDate().toString() : ""
-                };
-                writer.writeNext(row);
+    // The whole stock ledger in date order
+    @Transactional(readOnly = true)
+    public long exportStockTransactions(OutputStream out, ExportFormat format) {
+        return export(out, format, "Stock Transactions", STOCK_TRANSACTION_HEADER,
+                stockTransactionRepository.streamForExport(), ImportExportService::toRow);
+    }
+
+    public static Object[] toRow(ProductExportRow product) {
+        return new Object[]{
+                product.name(),
+                product.sku(),
+                product.description(),
+                product.price(),
+                product.categoryName(),
+                product.supplierName()
+        };
+    }
+
+    public static Object[] toRow(EmployeeExportRow employee) {
+        return new Object[]{
+                employee.firstName(),
+                employee.lastName(),
+                employee.email(),
+                employee.phone(),
+                employee.position(),
+                employee.departmentName(),
+                employee.salary(),
+                employee.hireDate()
+        };
+    }
+
+    public static Object[] toRow(StockLevelEntry entry) {
+        return new Object[]{
+                entry.productSku(),
+                entry.productName(),
+                entry.quantityAvailable(),
+                entry.quantityReserved(),
+                entry.minStockLevel(),
+                entry.maxStockLevel(),
+                entry.reorderPoint(),
+                entry.reorderQuantity(),
+                entry.location(),
+                entry.binNumber(),
+                entry.rackNumber(),
+                entry.lastRestockDate(),
+                entry.lastSaleDate()
+        };
+    }
+
+    public static Object[] toRow(StockTransactionExportRow transaction) {
+        String employee = transaction.employeeFirstName() != null
+                ? transaction.employeeFirstName() + " " + transaction.employeeLastName() : null;
+        return new Object[]{
+                transaction.id(),
+                transaction.transactionDate(),
+                transaction.productSku(),
+                transaction.productName(),
+                transaction.type(),
+                transaction.reason(),
+                transaction.quantity(),
+                transaction.previousQuantity(),
+                transaction.newQuantity(),
+                transaction.referenceNumber(),
+                employee,
+                transaction.performedBy(),
+                transaction.notes()
+        };
+    }
+
+    private <T> long export(OutputStream out, ExportFormat format, String sheetName, String[] header,
+                            Stream<T> source, Function<T, Object[]> toRow) {
+        long count = 0;
+        try (Stream<T> rows = source; ExportWriter writer = ExportWriter.open(format, out, sheetName)) {
+            writer.writeHeader(header);
+            for (T row : (Iterable<T>) rows::iterator) {
+                writer.writeRow(toRow.apply(row));
+                count++;
             }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + sheetName.toLowerCase(Locale.ROOT) + " export", e);
+        }
 
-            writer.flush();
-            return new ByteArrayInputStream(out.toByteArray());
+        log.info("Exported {} rows of {} as {}", count, sheetName, format);
+        return count;
+    }
 
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
         } catch (IOException e) {
-            log.error("Error exporting employees to CSV", e);
-            throw new RuntimeException("Failed to export employees: " + e.getMessage());
+            log.warn("Could not delete temp file {}: {}", path, e.getMessage());
         }
     }
 }
@@ -0,0 +1,73 @@
+package com.inventoryEmployee.demo.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Keeps one kind of entry of an in-memory index current. Change events queue ids as dirty
+// after commit; refresh() re-reads them from the database in IN batches and hands each
+// batch to the index. Re-reading (rather than applying deltas) means out-of-order commits
+// can't leave a stale entry behind. A failed pass queues its ids again for the next one.
+@Slf4j
+final class IndexRefresher<R> {
+
+    // Applies one batch: the rows read, and the ids of the batch that no longer exist.
+    // Runs on the refreshing thread; the index takes its own lock.
+    interface Batch<R> {
+        void apply(List<R> rows, Set<Long> missing);
+    }
+
+    private final String name;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int batchSize;
+    private final Function<Collection<Long>, List<R>> loader;
+    private final Function<R, Long> idOf;
+    private final Batch<R> batch;
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    IndexRefresher(String name, TransactionTemplate readOnlyTransaction, int batchSize,
+                   Function<Collection<Long>, List<R>> loader, Function<R, Long> idOf, Batch<R> batch) {
+        this.name = name;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.batchSize = batchSize;
+        this.loader = loader;
+        this.idOf = idOf;
+        this.batch = batch;
+    }
+
+    void markDirty(Collection<Long> ids) {
+        dirty.addAll(ids);
+    }
+
+    void markDirty(Long id) {
+        dirty.add(id);
+    }
+
+    void refresh() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(dirty);
+        dirty.removeAll(ids);
+
+        try {
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                List<R> rows = readOnlyTransaction.execute(status -> loader.apply(chunk));
+
+                Set<Long> missing = new HashSet<>(chunk);
+                for (R row : rows) {
+                    missing.remove(idOf.apply(row));
+                }
+                batch.apply(rows, missing);
+            }
+        } catch (RuntimeException e) {
+            // Try again on the next pass
+            dirty.addAll(ids);
+            log.error("{} refresh failed for {} ids", name, ids.size(), e);
+        }
+    }
+}
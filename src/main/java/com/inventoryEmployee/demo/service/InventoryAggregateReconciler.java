@@ -0,0 +1,106 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.repository.InventoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Periodically checks the in-memory aggregates and stock level counts against a full
+// recompute. The index trails commits by up to one refresh interval, so a single
+// mismatch is only logged; if the next run disagrees too, the index is rebuilt.
+@Service
+@Slf4j
+public class InventoryAggregateReconciler {
+
+    private final InventoryRepository inventoryRepository;
+    private final StockLevelIndex stockLevelIndex;
+    private final InventoryAggregates aggregates;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private boolean mismatchSeen;
+
+    public InventoryAggregateReconciler(InventoryRepository inventoryRepository,
+                                        StockLevelIndex stockLevelIndex,
+                                        InventoryAggregates aggregates,
+                                        PlatformTransactionManager transactionManager) {
+        this.inventoryRepository = inventoryRepository;
+        this.stockLevelIndex = stockLevelIndex;
+        this.aggregates = aggregates;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.aggregates.reconcile-interval-ms:900000}",
+            initialDelayString = "${inventory.aggregates.reconcile-interval-ms:900000}")
+    public void reconcile() {
+        if (!stockLevelIndex.isReady()) {
+            return;
+        }
+
+        List<String> differences = readOnlyTransaction.execute(status -> compare());
+        if (differences == null || differences.isEmpty()) {
+            mismatchSeen = false;
+            return;
+        }
+
+        if (!mismatchSeen) {
+            mismatchSeen = true;
+            log.info("Inventory aggregates differ from database, re-checking next run: {}", differences);
+            return;
+        }
+
+        log.warn("Inventory aggregates still differ from database, rebuilding stock level index: {}", differences);
+        mismatchSeen = false;
+        stockLevelIndex.rebuild();
+    }
+
+    private List<String> compare() {
+        List<String> differences = new ArrayList<>();
+
+        check(differences, "totalValue", aggregates.getTotalValue(), inventoryRepository.sumInventoryValue());
+        check(differences, "lowStockCount", stockLevelIndex.count(StockLevelIndex.Level.LOW_STOCK),
+                inventoryRepository.countLowStockItems());
+        check(differences, "outOfStockCount", stockLevelIndex.count(StockLevelIndex.Level.OUT_OF_STOCK),
+                inventoryRepository.countOutOfStockItems());
+        checkGroups(differences, "category", aggregates.getValueByCategory(),
+                toMap(inventoryRepository.sumInventoryValueByCategory()));
+        checkGroups(differences, "supplier", aggregates.getValueBySupplier(),
+                toMap(inventoryRepository.sumInventoryValueBySupplier()));
+
+        return differences;
+    }
+
+    private static void check(List<String> differences, String name, Object memory, Object database) {
+        boolean same = memory instanceof BigDecimal m && database instanceof BigDecimal d
+                ? m.compareTo(d) == 0
+                : Objects.equals(memory, database);
+        if (!same) {
+            differences.add(name + " memory=" + memory + " database=" + database);
+        }
+    }
+
+    private static void checkGroups(List<String> differences, String name,
+                                    Map<Long, BigDecimal> memory, Map<Long, BigDecimal> database) {
+        Map<Long, BigDecimal> all = new HashMap<>(database);
+        memory.forEach(all::putIfAbsent);
+        all.keySet().forEach(id -> check(differences, name + " " + id + " value",
+                memory.getOrDefault(id, BigDecimal.ZERO), database.getOrDefault(id, BigDecimal.ZERO)));
+    }
+
+    private static Map<Long, BigDecimal> toMap(List<Object[]> rows) {
+        Map<Long, BigDecimal> values = new HashMap<>();
+        for (Object[] row : rows) {
+            values.put((Long) row[0], row[1] != null ? new BigDecimal(row[1].toString()) : BigDecimal.ZERO);
+        }
+        return values;
+    }
+}
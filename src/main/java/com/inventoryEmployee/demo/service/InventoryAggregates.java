@@ -0,0 +1,68 @@
+package com.inventoryEmployee.demo.service;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+// Running inventory value totals (overall, per category, per supplier), kept as deltas by
+// StockLevelIndex every time it replaces an entry, so reads never touch the database.
+// A price change and a stock movement look the same here: old entry out, new entry in.
+@Component
+public class InventoryAggregates {
+
+    private volatile BigDecimal totalValue = BigDecimal.ZERO;
+    private final Map<Long, BigDecimal> valueByCategory = new HashMap<>();
+    private final Map<Long, BigDecimal> valueBySupplier = new HashMap<>();
+
+    synchronized void apply(StockLevelEntry previous, StockLevelEntry current) {
+        if (previous != null) {
+            add(previous, previous.stockValue().negate());
+        }
+        if (current != null) {
+            add(current, current.stockValue());
+        }
+    }
+
+    synchronized void reset() {
+        totalValue = BigDecimal.ZERO;
+        valueByCategory.clear();
+        valueBySupplier.clear();
+    }
+
+    public BigDecimal getTotalValue() {
+        return totalValue;
+    }
+
+    public synchronized Map<Long, BigDecimal> getValueByCategory() {
+        return new HashMap<>(valueByCategory);
+    }
+
+    public synchronized Map<Long, BigDecimal> getValueBySupplier() {
+        return new HashMap<>(valueBySupplier);
+    }
+
+    private void add(StockLevelEntry entry, BigDecimal delta) {
+        if (delta.signum() == 0) {
+            return;
+        }
+        totalValue = totalValue.add(delta);
+        if (entry.categoryId() != null) {
+            merge(valueByCategory, entry.categoryId(), delta);
+        }
+        if (entry.supplierId() != null) {
+            merge(valueBySupplier, entry.supplierId(), delta);
+        }
+    }
+
+    // Drop keys that net out to zero so the maps only hold stocked groups
+    private static void merge(Map<Long, BigDecimal> totals, Long key, BigDecimal delta) {
+        BigDecimal value = totals.getOrDefault(key, BigDecimal.ZERO).add(delta);
+        if (value.signum() == 0) {
+            totals.remove(key);
+        } else {
+            totals.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.inventoryEmployee.demo.service;
+
+import java.math.BigDecimal;
+
+// One inventory row as printed by the PDF valuation and reorder reports
+public record InventoryReportRow(String categoryName, String supplierName, String productSku, String productName,
+                                 BigDecimal price, Integer quantityAvailable, Integer minStockLevel,
+                                 Integer maxStockLevel, Integer reorderQuantity) {
+}
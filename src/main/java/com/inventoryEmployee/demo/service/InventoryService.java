@@ -1,24 +1,39 @@
 package com.inventoryEmployee.demo.service;
 
+import com.inventoryEmployee.demo.dto.request.StockAdjustmentRequest;
+import com.inventoryEmployee.demo.dto.response.BulkStockMovementResponse;
 import com.inventoryEmployee.demo.entity.Employee;
 import com.inventoryEmployee.demo.entity.Inventory;
 import com.inventoryEmployee.demo.entity.Product;
+import com.inventoryEmployee.demo.entity.StockTransaction;
 import com.inventoryEmployee.demo.enums.StockMovementReason;
 import com.inventoryEmployee.demo.enums.TransactionType;
 import com.inventoryEmployee.demo.exception.InsufficientStockException;
 import com.inventoryEmployee.demo.exception.ResourceNotFoundException;
 import com.inventoryEmployee.demo.repository.EmployeeRepository;
+import com.inventoryEmployee.demo.repository.FilterSpecifications;
 import com.inventoryEmployee.demo.repository.InventoryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
 
 
 @Service
@@ -29,28 +44,50 @@ public class InventoryService {
 
     private final InventoryRepository inventoryRepository;
     private final StockTransactionService stockTransactionService;
-    private final StockAlertService stockAlertService;
+    private final OutboxService outboxService;
+    private final StockWriteCombiner stockWriteCombiner;
+    private final StockLevelIndex stockLevelIndex;
+    private final InventoryAggregates inventoryAggregates;
     private final AuditService auditService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    // Movements that are not combined run in (or join) a transaction of their own
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
     // Create inventory for a product
     public Inventory createInventoryForProduct(Product product) {
         log.info("Creating inventory for product: {}", product.getId());
 
-        Inventory inventory = Inventory.builder()
+        Inventory saved = inventoryRepository.save(newInventoryFor(product));
+        eventPublisher.publishEvent(new StockLevelChangedEvent(List.of(product.getId())));
+        return saved;
+    }
+
+    // Empty inventory row with the default thresholds, not yet persisted
+    public static Inventory newInventoryFor(Product product) {
+        return Inventory.builder()
                 .product(product)
                 .quantityAvailable(0)
+                .quantityReserved(0)
                 .minStockLevel(10)
                 .maxStockLevel(1000)
                 .reorderPoint(20)
                 .reorderQuantity(50)
                 .lowStockAlertEnabled(true)
                 .isActive(true)
+                .writeCombiningEnabled(false)
                 .build();
-
-        return inventoryRepository.save(inventory);
     }
 
     // Get inventory by ID
@@ -87,12 +124,20 @@ public class InventoryService {
         existingInventory.setBinNumber(updatedInventory.getBinNumber());
         existingInventory.setRackNumber(updatedInventory.getRackNumber());
         existingInventory.setLowStockAlertEnabled(updatedInventory.getLowStockAlertEnabled());
+        if (updatedInventory.getWriteCombiningEnabled() != null) {
+            existingInventory.setWriteCombiningEnabled(updatedInventory.getWriteCombiningEnabled());
+        }
 
-        return inventoryRepository.save(existingInventory);
+        Inventory saved = inventoryRepository.save(existingInventory);
+        stockWriteCombiner.setEnabled(saved.getProduct().getId(), saved.getWriteCombiningEnabled());
+        eventPublisher.publishEvent(new StockLevelChangedEvent(List.of(saved.getProduct().getId())));
+
+        return saved;
     }
 
-    // Add stock (IN transaction)
-    @Transactional
+    // Add stock (IN transaction). Joins the caller's transaction; without one, a
+    // write-combined product's movement is applied by its stripe's batch.
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Inventory addStock(Long productId, Integer quantity, StockMovementReason reason,
                               String notes, Long employeeId) {
         if (quantity <= 0) {
@@ -104,19 +149,24 @@ public class InventoryService {
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new RuntimeException("Employee not found with ID: " + employeeId));
 
-        Inventory inventory = getInventoryByProductId(productId);
-        int previousQuantity = (inventory.getQuantityAvailable() != null)
-                                ? inventory.getQuantityAvailable()
-                                : 0;
+        log.info("Adding {} units to product {}", quantity, productId);
 
-        int newQuantity = previousQuantity + quantity;
+        if (stockWriteCombiner.canCombine(productId)) {
+            return applyCombined(productId, TransactionType.IN, quantity, reason, notes, employee, "ADD_STOCK");
+        }
+        return transactionTemplate.execute(status -> addStockDirect(productId, quantity, reason, notes, employee));
+    }
 
-        log.info("Adding {} units to product {}", quantity, productId);
+    private Inventory addStockDirect(Long productId, Integer quantity, StockMovementReason reason,
+                                     String notes, Employee employee) {
+        // Single guarded UPDATE - no read-modify-write, no optimistic lock failures
+        if (inventoryRepository.incrementStock(productId, quantity, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("Inventory not found for product: " + productId);
+        }
 
-        // Update inventory
-        inventory.setQuantityAvailable(newQuantity);
-        inventory.setLastRestockDate(LocalDateTime.now());
-        Inventory savedInventory = inventoryRepository.save(inventory);
+        Inventory inventory = reloadInventory(productId);
+        int newQuantity = inventory.getQuantityAvailable();
+        int previousQuantity = newQuantity - quantity;
 
         // Record transaction
         stockTransactionService.recordTransaction(
@@ -124,40 +174,42 @@ public class InventoryService {
                 quantity, previousQuantity, newQuantity, notes
         );
 
-        // Check and resolve alerts if stock is now sufficient
-        stockAlertService.checkAndResolveAlerts(inventory);
+        // Alerts and audit are handled by the outbox relay after commit
+        publishMovement("ADD_STOCK", inventory, previousQuantity, newQuantity);
 
-        auditService.logAction("Inventory", inventory.getId(), "ADD_STOCK",
-                previousQuantity, newQuantity);
-
-        return savedInventory;
+        return inventory;
     }
 
-    // Remove stock (OUT transaction)
+    // Remove stock (OUT transaction); transactions as for addStock
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Inventory removeStock(Long productId, Integer quantity, StockMovementReason reason,
                                  String notes, Employee employee) {
         if (quantity <= 0) {
             throw new IllegalArgumentException("Quantity must be positive");
         }
 
-        Inventory inventory = getInventoryByProductId(productId);
-        int previousQuantity = inventory.getQuantityAvailable();
+        log.info("Removing {} units from product {}", quantity, productId);
+
+        if (stockWriteCombiner.canCombine(productId)) {
+            return applyCombined(productId, TransactionType.OUT, quantity, reason, notes, employee, "REMOVE_STOCK");
+        }
+        return transactionTemplate.execute(status -> removeStockDirect(productId, quantity, reason, notes, employee));
+    }
 
-        // Check if sufficient stock available
-        if (previousQuantity < quantity) {
+    private Inventory removeStockDirect(Long productId, Integer quantity, StockMovementReason reason,
+                                        String notes, Employee employee) {
+        // Guarded UPDATE - the database only decrements if enough unreserved stock is available
+        if (inventoryRepository.decrementStock(productId, quantity, LocalDateTime.now()) == 0) {
+            Integer available = inventoryRepository.findAvailableToPromiseByProductId(productId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Inventory not found for product: " + productId));
             throw new InsufficientStockException(
-                    "Insufficient stock. Available: " + previousQuantity + ", Required: " + quantity
+                    "Insufficient stock. Available: " + Math.max(0, available) + ", Required: " + quantity
             );
         }
 
-        int newQuantity = previousQuantity - quantity;
-
-        log.info("Removing {} units from product {}", quantity, productId);
-
-        // Update inventory
-        inventory.setQuantityAvailable(newQuantity);
-        inventory.setLastSaleDate(LocalDateTime.now());
-        Inventory savedInventory = inventoryRepository.save(inventory);
+        Inventory inventory = reloadInventory(productId);
+        int newQuantity = inventory.getQuantityAvailable();
+        int previousQuantity = newQuantity + quantity;
 
         // Record transaction
         stockTransactionService.recordTransaction(
@@ -165,89 +217,338 @@ public class InventoryService {
                 quantity, previousQuantity, newQuantity, notes
         );
 
-        // Check if low stock alert needed
-        stockAlertService.checkAndCreateAlerts(inventory);
+        publishMovement("REMOVE_STOCK", inventory, previousQuantity, newQuantity);
 
-        auditService.logAction("Inventory", inventory.getId(), "REMOVE_STOCK",
-                previousQuantity, newQuantity);
+        return inventory;
+    }
 
-        return savedInventory;
+    // Turn a reservation's held stock into an OUT movement
+    public Inventory commitReservedStock(Long productId, Integer quantity, StockMovementReason reason,
+                                         String notes, Employee employee) {
+        log.info("Committing {} reserved units of product {}", quantity, productId);
+
+        if (inventoryRepository.commitReservedStock(productId, quantity, LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("Reserved stock for product " + productId + " is no longer held");
+        }
+
+        Inventory inventory = reloadInventory(productId);
+        int newQuantity = inventory.getQuantityAvailable();
+        int previousQuantity = newQuantity + quantity;
+
+        stockTransactionService.recordTransaction(
+                inventory.getProduct(), employee, TransactionType.OUT, reason,
+                quantity, previousQuantity, newQuantity, notes
+        );
+
+        publishMovement("COMMIT_RESERVATION", inventory, previousQuantity, newQuantity);
+
+        return inventory;
     }
 
-    // Adjust stock (ADJUSTMENT transaction) - for corrections
+    // Adjust stock (ADJUSTMENT transaction) - for corrections; transactions as for addStock
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Inventory adjustStock(Long productId, Integer newQuantity, StockMovementReason reason,
                                  String notes, Employee employee) {
         if (newQuantity < 0) {
             throw new IllegalArgumentException("Quantity cannot be negative");
         }
 
+        if (stockWriteCombiner.canCombine(productId)) {
+            log.info("Adjusting stock for product {} to {}", productId, newQuantity);
+            return applyCombined(productId, TransactionType.ADJUSTMENT, newQuantity, reason, notes, employee, "ADJUST_STOCK");
+        }
+        return transactionTemplate.execute(status -> adjustStockDirect(productId, newQuantity, reason, notes, employee));
+    }
+
+    private Inventory adjustStockDirect(Long productId, Integer newQuantity, StockMovementReason reason,
+                                        String notes, Employee employee) {
+        // Lock the row so the previous quantity we record is the one we overwrite
         Inventory inventory = getInventoryByProductId(productId);
+        entityManager.refresh(inventory, LockModeType.PESSIMISTIC_WRITE);
         int previousQuantity = inventory.getQuantityAvailable();
         int difference = newQuantity - previousQuantity;
 
         log.info("Adjusting stock for product {} from {} to {}", productId, previousQuantity, newQuantity);
 
-        // Update inventory
-        inventory.setQuantityAvailable(newQuantity);
-        Inventory savedInventory = inventoryRepository.save(inventory);
+        if (inventoryRepository.compareAndSetStock(productId, previousQuantity, newQuantity) == 0) {
+            throw new IllegalStateException("Stock for product " + productId + " changed during adjustment");
+        }
+        entityManager.refresh(inventory);
 
         // Record transaction
         stockTransactionService.recordTransaction(
                 inventory.getProduct(), employee, TransactionType.ADJUSTMENT, reason,
-                Math.abs(difference), previousQuantity, newQuantity, notes
+                Math.abs(difference), previousQuantity, inventory.getQuantityAvailable(), notes
         );
 
-        // Check alerts
-        stockAlertService.checkAndCreateAlerts(inventory);
-        stockAlertService.checkAndResolveAlerts(inventory);
+        publishMovement("ADJUST_STOCK", inventory, previousQuantity, inventory.getQuantityAvailable());
 
-        auditService.logAction("Inventory", inventory.getId(), "ADJUST_STOCK",
-                previousQuantity, newQuantity);
+        return inventory;
+    }
 
-        return savedInventory;
+    // Hand the movement to the product's stripe and wait for its batch to commit. The batch
+    // also writes the movement's outbox row, so there is nothing left to do in a transaction here.
+    // The ledger row is built here (request details) and attached to its product by the batch.
+    private Inventory applyCombined(Long productId, TransactionType type, int amount,
+                                    StockMovementReason reason, String notes,
+                                    Employee employee, String action) {
+        StockTransaction ledger = stockTransactionService.buildTransaction(
+                null, employee, type, reason, amount, notes);
+
+        StockMovementResult result = stockWriteCombiner.apply(productId, type, amount, ledger, action,
+                auditService.captureContext());
+
+        // The response is a copy carrying this movement's quantity; a row cached earlier in
+        // this request may predate the batch and is left as it is
+        Inventory response = new Inventory();
+        BeanUtils.copyProperties(getInventoryByProductId(productId), response);
+        response.setQuantityAvailable(result.getNewQuantity());
+        return response;
     }
 
-    // Get low stock items
+    // Apply many movements in one transaction (receiving dock scans, stock takes).
+    // Every inventory row is fetched and locked once, in product-id order, and the ledger
+    // is written with JDBC batches. atomic=true rolls everything back if any line fails.
+    public BulkStockMovementResponse applyBulkMovements(List<StockAdjustmentRequest> lines,
+                                                        boolean atomic, Employee employee) {
+        Set<Long> productIds = lines.stream()
+                .map(StockAdjustmentRequest::getProductId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        Map<Long, Inventory> inventoryByProduct = new HashMap<>();
+        if (!productIds.isEmpty()) {
+            for (Inventory inventory : inventoryRepository.findByProductIdsForUpdate(productIds)) {
+                inventoryByProduct.put(inventory.getProduct().getId(), inventory);
+            }
+        }
+
+        log.info("Applying {} bulk stock movements across {} products", lines.size(), productIds.size());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<BulkStockMovementResponse.LineResult> results = new ArrayList<>(lines.size());
+        List<StockTransaction> ledger = new ArrayList<>();
+        Map<Long, Integer> startingQuantities = new LinkedHashMap<>();
+        int failed = 0;
+
+        for (int i = 0; i < lines.size(); i++) {
+            StockAdjustmentRequest line = lines.get(i);
+            try {
+                Inventory inventory = inventoryByProduct.get(line.getProductId());
+                if (inventory == null) {
+                    throw new ResourceNotFoundException("Inventory not found for product: " + line.getProductId());
+                }
+                if (line.getType() == null || line.getReason() == null) {
+                    throw new IllegalArgumentException("Type and reason are required");
+                }
+
+                int previousQuantity = inventory.getQuantityAvailable();
+                int newQuantity = applyLine(inventory, line, now);
+                int movedQuantity = line.getType() == TransactionType.ADJUSTMENT
+                        ? Math.abs(newQuantity - previousQuantity) : line.getQuantity();
+
+                startingQuantities.putIfAbsent(line.getProductId(), previousQuantity);
+
+                StockTransaction transaction = stockTransactionService.buildTransaction(
+                        inventory.getProduct(), employee, line.getType(), line.getReason(),
+                        movedQuantity, line.getNotes());
+                transaction.setPreviousQuantity(previousQuantity);
+                transaction.setNewQuantity(newQuantity);
+                transaction.setTransactionDate(now);
+                ledger.add(transaction);
+
+                results.add(BulkStockMovementResponse.LineResult.builder()
+                        .lineNumber(i + 1)
+                        .productId(line.getProductId())
+                        .success(true)
+                        .previousQuantity(previousQuantity)
+                        .newQuantity(newQuantity)
+                        .build());
+            } catch (RuntimeException e) {
+                failed++;
+                results.add(BulkStockMovementResponse.LineResult.builder()
+                        .lineNumber(i + 1)
+                        .productId(line.getProductId())
+                        .success(false)
+                        .error(e.getMessage())
+                        .build());
+            }
+        }
+
+        boolean committed = !(atomic && failed > 0);
+        if (!committed) {
+            log.warn("Rolling back bulk movement: {} of {} lines failed", failed, lines.size());
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        } else {
+            stockTransactionService.recordTransactions(ledger);
+
+            // One outbox event for the whole batch; one audit entry per product touched
+            List<StockMovementEvent.Movement> movements = new ArrayList<>();
+            startingQuantities.forEach((productId, startingQuantity) -> {
+                Inventory inventory = inventoryByProduct.get(productId);
+                movements.add(new StockMovementEvent.Movement(productId, inventory.getId(),
+                        startingQuantity, inventory.getQuantityAvailable()));
+            });
+            outboxService.publishStockMovement("BULK_MOVEMENT", movements);
+            eventPublisher.publishEvent(new StockLevelChangedEvent(List.copyOf(startingQuantities.keySet())));
+        }
+
+        return BulkStockMovementResponse.builder()
+                .totalLines(lines.size())
+                .appliedLines(committed ? lines.size() - failed : 0)
+                .failedLines(failed)
+                .committed(committed)
+                .results(results)
+                .build();
+    }
+
+    // Apply one bulk line to a locked inventory row and return the new quantity
+    private int applyLine(Inventory inventory, StockAdjustmentRequest line, LocalDateTime now) {
+        int currentQuantity = inventory.getQuantityAvailable();
+
+        switch (line.getType()) {
+            case IN:
+                if (line.getQuantity() == null || line.getQuantity() <= 0) {
+                    throw new IllegalArgumentException("Quantity must be positive");
+                }
+                inventory.setQuantityAvailable(currentQuantity + line.getQuantity());
+                inventory.setLastRestockDate(now);
+                break;
+            case OUT:
+                if (line.getQuantity() == null || line.getQuantity() <= 0) {
+                    throw new IllegalArgumentException("Quantity must be positive");
+                }
+                int unreserved = currentQuantity - inventory.getQuantityReserved();
+                if (unreserved < line.getQuantity()) {
+                    throw new InsufficientStockException(
+                            "Insufficient stock. Available: " + Math.max(0, unreserved) + ", Required: " + line.getQuantity());
+                }
+                inventory.setQuantityAvailable(currentQuantity - line.getQuantity());
+                inventory.setLastSaleDate(now);
+                break;
+            case ADJUSTMENT:
+                if (line.getNewQuantity() == null || line.getNewQuantity() < 0) {
+                    throw new IllegalArgumentException("Quantity cannot be negative");
+                }
+                inventory.setQuantityAvailable(line.getNewQuantity());
+                break;
+        }
+
+        return inventory.getQuantityAvailable();
+    }
+
+    // Re-read inventory after a bulk UPDATE so the managed copy matches the database
+    private Inventory reloadInventory(Long productId) {
+        Inventory inventory = getInventoryByProductId(productId);
+        entityManager.refresh(inventory);
+        return inventory;
+    }
+
+    // Get low stock items (served from the stock level index once it is built)
     @Transactional(readOnly = true)
-    public List<Inventory> getLowStockItems() {
-        return inventoryRepository.findLowStockItems();
+    public List<StockLevelEntry> getLowStockItems() {
+        if (stockLevelIndex.isReady()) {
+            return stockLevelIndex.list(StockLevelIndex.Level.LOW_STOCK);
+        }
+        return toEntries(inventoryRepository.findLowStockItems());
     }
 
     // Get out of stock items
     @Transactional(readOnly = true)
-    public List<Inventory> getOutOfStockItems() {
-        return inventoryRepository.findOutOfStockItems();
+    public List<StockLevelEntry> getOutOfStockItems() {
+        if (stockLevelIndex.isReady()) {
+            return stockLevelIndex.list(StockLevelIndex.Level.OUT_OF_STOCK);
+        }
+        return toEntries(inventoryRepository.findOutOfStockItems());
     }
 
     // Get overstocked items
     @Transactional(readOnly = true)
-    public List<Inventory> getOverstockedItems() {
-        return inventoryRepository.findOverstockedItems();
+    public List<StockLevelEntry> getOverstockedItems() {
+        if (stockLevelIndex.isReady()) {
+            return stockLevelIndex.list(StockLevelIndex.Level.OVERSTOCKED);
+        }
+        return toEntries(inventoryRepository.findOverstockedItems());
     }
 
     // Calculate total inventory value
     @Transactional(readOnly = true)
     public Double calculateTotalInventoryValue() {
+        if (stockLevelIndex.isReady()) {
+            return inventoryAggregates.getTotalValue().doubleValue();
+        }
         Double value = inventoryRepository.calculateTotalInventoryValue();
         return value != null ? value : 0.0;
     }
 
+    // Inventory value per category id
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> getInventoryValueByCategory() {
+        if (stockLevelIndex.isReady()) {
+            return inventoryAggregates.getValueByCategory();
+        }
+        return toValueMap(inventoryRepository.sumInventoryValueByCategory());
+    }
+
+    // Inventory value per supplier id
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> getInventoryValueBySupplier() {
+        if (stockLevelIndex.isReady()) {
+            return inventoryAggregates.getValueBySupplier();
+        }
+        return toValueMap(inventoryRepository.sumInventoryValueBySupplier());
+    }
+
     // Count low stock items
     @Transactional(readOnly = true)
     public Long countLowStockItems() {
+        if (stockLevelIndex.isReady()) {
+            return stockLevelIndex.count(StockLevelIndex.Level.LOW_STOCK);
+        }
         return inventoryRepository.countLowStockItems();
     }
 
     // Count out of stock items
     @Transactional(readOnly = true)
     public Long countOutOfStockItems() {
+        if (stockLevelIndex.isReady()) {
+            return stockLevelIndex.count(StockLevelIndex.Level.OUT_OF_STOCK);
+        }
         return inventoryRepository.countOutOfStockItems();
     }
 
+    // Count overstocked items
+    @Transactional(readOnly = true)
+    public Long countOverstockedItems() {
+        if (stockLevelIndex.isReady()) {
+            return stockLevelIndex.count(StockLevelIndex.Level.OVERSTOCKED);
+        }
+        return inventoryRepository.countOverstockedItems();
+    }
+
     // Search inventory with filters
     @Transactional(readOnly = true)
     public Page<Inventory> searchInventoryWithFilters(String location, String searchTerm,
                                                       Pageable pageable) {
-        return inventoryRepository.findByFilters(location, searchTerm, pageable);
+        return inventoryRepository.findAll(FilterSpecifications.inventory(location, searchTerm), pageable);
+    }
+
+    // Side effects of a single-row movement go through the outbox, in this transaction
+    private void publishMovement(String action, Inventory inventory, int previousQuantity, int newQuantity) {
+        outboxService.publishStockMovement(action, List.of(new StockMovementEvent.Movement(
+                inventory.getProduct().getId(), inventory.getId(), previousQuantity, newQuantity)));
+        eventPublisher.publishEvent(new StockLevelChangedEvent(List.of(inventory.getProduct().getId())));
+    }
+
+    private Map<Long, BigDecimal> toValueMap(List<Object[]> rows) {
+        Map<Long, BigDecimal> values = new HashMap<>();
+        for (Object[] row : rows) {
+            values.put((Long) row[0], row[1] != null ? new BigDecimal(row[1].toString()) : BigDecimal.ZERO);
+        }
+        return values;
+    }
+
+    private List<StockLevelEntry> toEntries(List<Inventory> inventory) {
+        return inventory.stream().map(StockLevelEntry::from).collect(Collectors.toList());
     }
 }
@@ -0,0 +1,8 @@
+package com.inventoryEmployee.demo.service;
+
+import java.math.BigDecimal;
+
+// One order item as printed on an invoice
+public record InvoiceLine(String productSku, String productName, Integer quantity, BigDecimal unitPrice,
+                          BigDecimal discountAmount, BigDecimal finalAmount) {
+}
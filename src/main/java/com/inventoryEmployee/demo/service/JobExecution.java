@@ -0,0 +1,142 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.entity.BackgroundJob;
+import com.inventoryEmployee.demo.enums.JobStatus;
+import com.inventoryEmployee.demo.enums.JobType;
+import com.inventoryEmployee.demo.repository.BackgroundJobRepository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+// One claimed run of a background job, handed to its JobHandler. Holds the last committed
+// checkpoint and writes new ones under the claim token, so a node that lost the job (its
+// heartbeat went stale and another node took over) can't move it any further.
+public class JobExecution {
+
+    private final BackgroundJob job;
+    private final String claimToken;
+    private final BackgroundJobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Committed values only; updated after the checkpoint's transaction commits
+    private volatile long checkpoint;
+    private volatile long resultSize;
+    private volatile long processedItems;
+    private volatile long succeededItems;
+    private volatile long failedItems;
+
+    JobExecution(BackgroundJob job, BackgroundJobRepository jobRepository, TransactionTemplate transactionTemplate) {
+        this.job = job;
+        this.claimToken = job.getClaimToken();
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.checkpoint = job.getCheckpoint();
+        this.resultSize = job.getResultSize();
+        this.processedItems = job.getProcessedItems();
+        this.succeededItems = job.getSucceededItems();
+        this.failedItems = job.getFailedItems();
+    }
+
+    public Long getJobId() {
+        return job.getId();
+    }
+
+    public JobType getJobType() {
+        return job.getJobType();
+    }
+
+    String getClaimToken() {
+        return claimToken;
+    }
+
+    public boolean isGzip() {
+        return Boolean.TRUE.equals(job.getGzip());
+    }
+
+    public Path getInputPath() {
+        return job.getInputPath() != null ? Path.of(job.getInputPath()) : null;
+    }
+
+    public Path getResultPath() {
+        return Path.of(job.getResultPath());
+    }
+
+    // Audit entries written by the job are attributed to whoever submitted it
+    public AuditContext getAuditContext() {
+        return new AuditContext(job.getSubmittedBy(), null, job.getIpAddress(), null, "job:" + job.getId());
+    }
+
+    public long getCheckpoint() {
+        return checkpoint;
+    }
+
+    public long getResultSize() {
+        return resultSize;
+    }
+
+    // Result file opened for writing at the last checkpoint. Bytes past it were written
+    // by a run that died before checkpointing and are dropped.
+    public FileChannel openResult() throws IOException {
+        FileChannel channel = FileChannel.open(getResultPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.truncate(resultSize);
+        channel.position(resultSize);
+        return channel;
+    }
+
+    // Record progress: a new resume position, the result file length that goes with it and the
+    // items handled since the last checkpoint. Joins the caller's transaction if there is one,
+    // so the checkpoint commits or rolls back together with the chunk it describes.
+    public void checkpoint(long position, long newResultSize, long processed, long succeeded, long failed) {
+        long newProcessed = processedItems + processed;
+        long newSucceeded = succeededItems + succeeded;
+        long newFailed = failedItems + failed;
+
+        Integer updated = transactionTemplate.execute(status -> jobRepository.saveCheckpoint(job.getId(),
+                claimToken, JobStatus.RUNNING, position, newResultSize, newProcessed, newSucceeded, newFailed,
+                LocalDateTime.now()));
+        if (updated == null || updated == 0) {
+            throw new ClaimLostException(job.getId());
+        }
+
+        Runnable apply = () -> {
+            checkpoint = position;
+            resultSize = newResultSize;
+            processedItems = newProcessed;
+            succeededItems = newSucceeded;
+            failedItems = newFailed;
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    public void setTotalItems(long totalItems) {
+        transactionTemplate.executeWithoutResult(status ->
+                jobRepository.saveTotalItems(job.getId(), claimToken, totalItems));
+    }
+
+    public boolean isCancelRequested() {
+        return Boolean.TRUE.equals(jobRepository.isCancelRequested(job.getId()));
+    }
+
+    // The job was re-claimed by another node; this run must stop without touching it
+    public static class ClaimLostException extends RuntimeException {
+
+        public ClaimLostException(Long jobId) {
+            super("Job " + jobId + " is no longer owned by this node");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.enums.JobType;
+
+// The work behind one job type. run() is called on a job thread, and called again on
+// whichever node picks the job up after a restart or crash: it has to continue from
+// execution.getCheckpoint() and record a checkpoint after each chunk. Returning normally
+// completes the job (or cancels it, if that was requested); throwing fails it.
+public interface JobHandler {
+
+    JobType getType();
+
+    void run(JobExecution execution) throws Exception;
+}
@@ -0,0 +1,6 @@
+package com.inventoryEmployee.demo.service;
+
+// What a shelf label prints
+public record LabelRow(Long productId, String sku, String name, String barcode,
+                       String location, String rackNumber, String binNumber) {
+}
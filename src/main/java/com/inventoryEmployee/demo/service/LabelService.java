@@ -0,0 +1,339 @@
+package com.inventoryEmployee.demo.service;
+
+import com.google.zxing.common.BitMatrix;
+import com.inventoryEmployee.demo.dto.request.LabelRequest;
+import com.inventoryEmployee.demo.enums.LabelFormat;
+import com.inventoryEmployee.demo.repository.ProductRepository;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Shelf labels (barcode + QR of SKU and bin location) for many products at once, as one
+// PDF of 24-up A4 sheets or a ZIP with one PNG per product. Products are read in chunks;
+// each chunk's symbols (and PNGs) are produced in parallel on a pool of its own, then
+// written out in shelf order. Symbols come from LabelSymbols' cache when unchanged.
+@Service
+@Slf4j
+public class LabelService {
+
+    // 3 x 8 labels of 70 x 37 mm on A4, in points
+    private static final int COLUMNS = 3;
+    private static final int ROWS = 8;
+    private static final float LABEL_WIDTH = 198.4f;
+    private static final float LABEL_HEIGHT = 104.9f;
+    private static final float PADDING = 8;
+
+    // PNG labels: 2 x 1 inch at 300 dpi
+    private static final int PNG_WIDTH = 600;
+    private static final int PNG_HEIGHT = 300;
+
+    private final ProductRepository productRepository;
+    private final LabelSymbols labelSymbols;
+    private final ForkJoinPool renderPool;
+
+    @Value("${inventory.labels.chunk-size:1000}")
+    private int chunkSize;
+
+    public LabelService(ProductRepository productRepository,
+                        LabelSymbols labelSymbols,
+                        @Value("${inventory.labels.render-threads:0}") int renderThreads) {
+        this.productRepository = productRepository;
+        this.labelSymbols = labelSymbols;
+        this.renderPool = new ForkJoinPool(renderThreads > 0
+                ? renderThreads : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderPool.shutdownNow();
+    }
+
+    // Writes the labels to the output (left open); returns the number of labels
+    @Transactional(readOnly = true)
+    public long writeLabels(LabelRequest request, OutputStream out) {
+        long start = System.currentTimeMillis();
+        LabelFormat format = request.getFormat() != null ? request.getFormat() : LabelFormat.PDF;
+
+        long count;
+        try {
+            count = format == LabelFormat.PDF ? writePdf(request, out) : writeZip(request, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write labels", e);
+        }
+
+        log.info("Rendered {} labels as {} in {} ms", count, format, System.currentTimeMillis() - start);
+        return count;
+    }
+
+    private long writePdf(LabelRequest request, OutputStream out) throws IOException {
+        PdfDocument pdf = new PdfDocument(new PdfWriter(new NonClosingOutputStream(out)));
+        PdfFont regular = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+        PdfFont bold = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
+
+        long[] count = {0};
+        PdfPage[] page = {null};
+        PdfCanvas[] canvas = {null};
+        forEachChunk(request, chunk -> {
+            List<LabelSymbols.Symbols> symbols = inParallel(chunk, labelSymbols::get);
+            for (int i = 0; i < chunk.size(); i++) {
+                int slot = (int) (count[0]++ % (COLUMNS * ROWS));
+                if (slot == 0) {
+                    if (page[0] != null) {
+                        page[0].flush(); // Written out now, not kept until close
+                    }
+                    page[0] = pdf.addNewPage(PageSize.A4);
+                    canvas[0] = new PdfCanvas(page[0]);
+                }
+                float x = (slot % COLUMNS) * LABEL_WIDTH;
+                float y = PageSize.A4.getHeight() - (slot / COLUMNS + 1) * LABEL_HEIGHT;
+                drawLabel(canvas[0], regular, bold, x, y, chunk.get(i), symbols.get(i));
+            }
+        });
+
+        if (count[0] == 0) {
+            pdf.addNewPage(PageSize.A4); // A PDF needs at least one page
+        }
+        pdf.close();
+        return count[0];
+    }
+
+    private void drawLabel(PdfCanvas canvas, PdfFont regular, PdfFont bold, float x, float y,
+                           LabelRow row, LabelSymbols.Symbols symbols) {
+        float width = LABEL_WIDTH - 2 * PADDING;
+        float top = y + LABEL_HEIGHT - PADDING;
+
+        text(canvas, bold, 8, x + PADDING, top - 8, fit(bold, 8, row.name(), width));
+
+        // Barcode on the left, QR on the right
+        float qrSize = 56;
+        float barcodeWidth = width - qrSize - PADDING;
+        float symbolTop = top - 14;
+        drawModules(canvas, symbols.barcode(), x + PADDING, symbolTop - 44, barcodeWidth, 44);
+        drawModules(canvas, symbols.qrCode(), x + LABEL_WIDTH - PADDING - qrSize, symbolTop - qrSize, qrSize, qrSize);
+        canvas.fill();
+
+        text(canvas, regular, 7, x + PADDING, symbolTop - 53, fit(regular, 7, symbols.barcodeText(), barcodeWidth));
+        text(canvas, bold, 9, x + PADDING, y + PADDING + 10, fit(bold, 9, row.sku(), barcodeWidth));
+        text(canvas, regular, 7, x + PADDING, y + PADDING, fit(regular, 7, symbols.locationText(), width));
+    }
+
+    // One rectangle per run of dark modules; the caller fills them all at once
+    private void drawModules(PdfCanvas canvas, BitMatrix matrix, float x, float y, float width, float height) {
+        float moduleWidth = width / matrix.getWidth();
+        float moduleHeight = height / matrix.getHeight();
+        for (int row = 0; row < matrix.getHeight(); row++) {
+            float rowY = y + height - (row + 1) * moduleHeight;
+            int column = 0;
+            while (column < matrix.getWidth()) {
+                if (!matrix.get(column, row)) {
+                    column++;
+                    continue;
+                }
+                int runStart = column;
+                while (column < matrix.getWidth() && matrix.get(column, row)) {
+                    column++;
+                }
+                canvas.rectangle(x + runStart * moduleWidth, rowY, (column - runStart) * moduleWidth, moduleHeight);
+            }
+        }
+    }
+
+    private void text(PdfCanvas canvas, PdfFont font, float size, float x, float y, String text) {
+        if (text.isEmpty()) {
+            return;
+        }
+        canvas.beginText().setFontAndSize(font, size).moveText(x, y).showText(text).endText();
+    }
+
+    private String fit(PdfFont font, float size, String text, float width) {
+        if (text == null) {
+            return "";
+        }
+        String fitted = text;
+        while (!fitted.isEmpty() && font.getWidth(fitted, size) > width) {
+            fitted = fitted.substring(0, fitted.length() - 1);
+        }
+        return fitted;
+    }
+
+    private long writeZip(LabelRequest request, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(new NonClosingOutputStream(out));
+        zip.setLevel(Deflater.NO_COMPRESSION); // PNGs are compressed already
+
+        long[] count = {0};
+        Set<String> names = new HashSet<>();
+        forEachChunk(request, chunk -> {
+            List<byte[]> images = inParallel(chunk, row -> png(row, labelSymbols.get(row)));
+            for (int i = 0; i < chunk.size(); i++) {
+                zip.putNextEntry(new ZipEntry(entryName(chunk.get(i), names)));
+                zip.write(images.get(i));
+                zip.closeEntry();
+                count[0]++;
+            }
+        });
+
+        zip.close();
+        return count[0];
+    }
+
+    // The SKU as a file name. SKUs are unique but "A/B" and "A_B" sanitize alike, so a name
+    // that had characters replaced, or is taken anyway, gets the product id appended.
+    private static String entryName(LabelRow row, Set<String> names) {
+        String safe = row.sku().replaceAll("[^A-Za-z0-9._-]", "_");
+        String name = safe.equals(row.sku()) ? safe : safe + "-" + row.productId();
+        if (!names.add(name)) {
+            name = safe + "-" + row.productId() + "-" + names.size();
+            names.add(name);
+        }
+        return name + ".png";
+    }
+
+    private byte[] png(LabelRow row, LabelSymbols.Symbols symbols) {
+        BufferedImage image = new BufferedImage(PNG_WIDTH, PNG_HEIGHT, BufferedImage.TYPE_BYTE_BINARY);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, PNG_WIDTH, PNG_HEIGHT);
+            graphics.setColor(Color.BLACK);
+
+            int padding = 20;
+            int qrSize = 170;
+            int barcodeWidth = PNG_WIDTH - 3 * padding - qrSize;
+
+            graphics.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 26));
+            graphics.drawString(fit(graphics, row.name(), PNG_WIDTH - 2 * padding), padding, 40);
+
+            fillModules(graphics, symbols.barcode(), padding, 60, barcodeWidth, 130);
+            fillModules(graphics, symbols.qrCode(), PNG_WIDTH - padding - qrSize, 60, qrSize, qrSize);
+
+            graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 20));
+            graphics.drawString(fit(graphics, symbols.barcodeText(), barcodeWidth), padding, 215);
+            graphics.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 26));
+            graphics.drawString(fit(graphics, row.sku(), barcodeWidth), padding, 250);
+            graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 20));
+            graphics.drawString(fit(graphics, symbols.locationText(), PNG_WIDTH - 2 * padding), padding, 283);
+        } finally {
+            graphics.dispose();
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8 * 1024);
+        try {
+            ImageIO.write(image, "png", bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // Whole pixels per module (no blurred edges), centred in the box
+    private void fillModules(Graphics2D graphics, BitMatrix matrix, int x, int y, int width, int height) {
+        int moduleWidth = Math.max(1, width / matrix.getWidth());
+        int moduleHeight = Math.max(1, height / matrix.getHeight());
+        int left = x + (width - moduleWidth * matrix.getWidth()) / 2;
+        int top = matrix.getHeight() == 1 ? y : y + (height - moduleHeight * matrix.getHeight()) / 2;
+        int rowHeight = matrix.getHeight() == 1 ? height : moduleHeight;
+
+        for (int row = 0; row < matrix.getHeight(); row++) {
+            for (int column = 0; column < matrix.getWidth(); column++) {
+                if (matrix.get(column, row)) {
+                    graphics.fillRect(left + column * moduleWidth, top + row * rowHeight, moduleWidth, rowHeight);
+                }
+            }
+        }
+    }
+
+    private String fit(Graphics2D graphics, String text, int width) {
+        if (text == null) {
+            return "";
+        }
+        FontMetrics metrics = graphics.getFontMetrics();
+        String fitted = text;
+        while (!fitted.isEmpty() && metrics.stringWidth(fitted) > width) {
+            fitted = fitted.substring(0, fitted.length() - 1);
+        }
+        return fitted;
+    }
+
+    private interface ChunkWriter {
+        void write(List<LabelRow> chunk) throws IOException;
+    }
+
+    // Explicit ids are looked up in IN batches, otherwise the catalog (or one category) is streamed
+    private void forEachChunk(LabelRequest request, ChunkWriter writer) throws IOException {
+        List<Long> ids = request.getProductIds();
+        if (ids != null && !ids.isEmpty()) {
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                writer.write(productRepository.findForLabels(ids.subList(from, Math.min(from + chunkSize, ids.size()))));
+            }
+            return;
+        }
+
+        try (Stream<LabelRow> rows = request.getCategoryId() != null
+                ? productRepository.streamForLabelsByCategory(request.getCategoryId())
+                : productRepository.streamForLabels()) {
+            List<LabelRow> chunk = new ArrayList<>(chunkSize);
+            for (LabelRow row : (Iterable<LabelRow>) rows::iterator) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    writer.write(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writer.write(chunk);
+            }
+        }
+    }
+
+    // Order-preserving parallel map on the render pool
+    private <T> List<T> inParallel(List<LabelRow> chunk, Function<LabelRow, T> render) {
+        return renderPool.submit(() -> chunk.parallelStream().map(render).toList()).join();
+    }
+
+    // The PDF writer and the ZIP stream close their output when done; the caller owns it
+    private static class NonClosingOutputStream extends FilterOutputStream {
+
+        private NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
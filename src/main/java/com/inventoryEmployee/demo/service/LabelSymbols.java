@@ -0,0 +1,103 @@
+package com.inventoryEmployee.demo.service;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.MultiFormatWriter;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Encodes the two symbols of a shelf label with ZXing: the product barcode (EAN-13 / UPC-A /
+// EAN-8 when it is a valid one, Code 128 otherwise, or of the SKU when there is no barcode)
+// and a QR code of SKU + bin location. Symbols are encoded at one pixel per module with no
+// quiet zone; renderers scale them and leave the margins.
+//
+// Encoded symbols are kept in an LRU cache keyed by product id + the texts they encode, so
+// relabelling encodes nothing unless a barcode, SKU or bin location changed (stock movements
+// don't touch the key).
+@Component
+public class LabelSymbols {
+
+    private static final Map<EncodeHintType, Object> BARCODE_HINTS = Map.of(EncodeHintType.MARGIN, 0);
+    private static final Map<EncodeHintType, Object> QR_HINTS = Map.of(
+            EncodeHintType.MARGIN, 0,
+            EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M,
+            EncodeHintType.CHARACTER_SET, "UTF-8");
+
+    private final Map<Key, Symbols> cache;
+
+    public LabelSymbols(@Value("${inventory.labels.symbol-cache-size:50000}") int cacheSize) {
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Symbols> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public record Symbols(BitMatrix barcode, String barcodeText, BitMatrix qrCode, String locationText) {
+    }
+
+    private record Key(Long productId, String barcodeText, String sku, String locationText) {
+    }
+
+    // Thread-safe; two threads missing on the same key both encode, which is harmless
+    public Symbols get(LabelRow row) {
+        String barcodeText = row.barcode() != null && !row.barcode().isBlank() ? row.barcode().trim() : row.sku();
+        Key key = new Key(row.productId(), barcodeText, row.sku(), locationText(row));
+        Symbols symbols = cache.get(key);
+        if (symbols == null) {
+            symbols = encode(key);
+            cache.put(key, symbols);
+        }
+        return symbols;
+    }
+
+    private Symbols encode(Key key) {
+        String location = key.locationText();
+        String qrText = "SKU:" + key.sku() + (location.isEmpty() ? "" : "\nLOC:" + location);
+        return new Symbols(encodeBarcode(key.barcodeText()), key.barcodeText(),
+                encode(qrText, BarcodeFormat.QR_CODE, QR_HINTS), location);
+    }
+
+    private BitMatrix encodeBarcode(String text) {
+        BarcodeFormat format = switch (text.chars().allMatch(Character::isDigit) ? text.length() : -1) {
+            case 13 -> BarcodeFormat.EAN_13;
+            case 12 -> BarcodeFormat.UPC_A;
+            case 8 -> BarcodeFormat.EAN_8;
+            default -> BarcodeFormat.CODE_128;
+        };
+        if (format != BarcodeFormat.CODE_128) {
+            try {
+                return encode(text, format, BARCODE_HINTS);
+            } catch (IllegalArgumentException e) {
+                // Bad check digit: still scannable as Code 128
+            }
+        }
+        return encode(text, BarcodeFormat.CODE_128, BARCODE_HINTS);
+    }
+
+    private BitMatrix encode(String text, BarcodeFormat format, Map<EncodeHintType, Object> hints) {
+        try {
+            return new MultiFormatWriter().encode(text, format, 0, 0, hints);
+        } catch (WriterException e) {
+            throw new IllegalArgumentException("Cannot encode '" + text + "' as " + format + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String locationText(LabelRow row) {
+        StringBuilder location = new StringBuilder();
+        for (String part : new String[]{row.location(), row.rackNumber(), row.binNumber()}) {
+            if (part != null && !part.isBlank()) {
+                location.append(location.isEmpty() ? "" : " / ").append(part.trim());
+            }
+        }
+        return location.toString();
+    }
+}
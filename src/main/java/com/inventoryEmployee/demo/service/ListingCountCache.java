@@ -0,0 +1,71 @@
+package com.inventoryEmployee.demo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Short-lived cache of COUNT(*) results for cursor listings that ask for a total.
+// Concurrent misses on the same key wait for one count instead of each running it. The
+// count runs on the caller's thread outside any map lock, so a slow count only holds up
+// callers of its own key; expired entries are swept so per-user keys don't pile up.
+@Component
+public class ListingCountCache {
+
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    @Value("${inventory.listing.count-cache-ttl-ms:60000}")
+    private long ttlMs;
+
+    public long get(String key, Supplier<Long> counter) {
+        long now = System.currentTimeMillis();
+        CachedCount cached = counts.get(key);
+        if (cached == null || cached.isExpired(now, ttlMs)) {
+            CachedCount fresh = new CachedCount(new CompletableFuture<>(), now);
+            boolean owner = cached == null ? counts.putIfAbsent(key, fresh) == null : counts.replace(key, cached, fresh);
+            if (owner) {
+                try {
+                    fresh.value().complete(counter.get());
+                } catch (RuntimeException e) {
+                    counts.remove(key, fresh);
+                    fresh.value().completeExceptionally(e);
+                    throw e;
+                }
+                cached = fresh;
+            } else {
+                cached = counts.getOrDefault(key, fresh); // Someone else is counting
+                if (cached == fresh) {
+                    return get(key, counter); // Their count failed and was removed
+                }
+            }
+        }
+
+        try {
+            return cached.value().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.listing.count-cache-ttl-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        counts.values().removeIf(cached -> cached.isExpired(now, ttlMs));
+    }
+
+    private record CachedCount(CompletableFuture<Long> value, long computedAt) {
+
+        // A count still running is never expired, however long it takes
+        boolean isExpired(long now, long ttlMs) {
+            return value.isDone() && now - computedAt >= ttlMs;
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package com.inventoryEmployee.demo.service;
 
+import com.inventoryEmployee.demo.dto.response.CursorPageResponse;
 import com.inventoryEmployee.demo.entity.Notification;
 import com.inventoryEmployee.demo.entity.StockAlert;
 import com.inventoryEmployee.demo.entity.User;
 import com.inventoryEmployee.demo.enums.NotificationPriority;
 import com.inventoryEmployee.demo.enums.NotificationType;
 import com.inventoryEmployee.demo.repository.NotificationRepository;
+import com.inventoryEmployee.demo.util.SeekCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,6 +26,7 @@ import java.util.List;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final ListingCountCache listingCountCache;
 
     // Create stock alert notification
     public void createStockAlertNotification(StockAlert alert) {
@@ -62,6 +66,26 @@ public class NotificationService {
         return notificationRepository.findRecentNotificationsByUser(userId, pageable);
     }
 
+    // User notifications by keyset
+    @Transactional(readOnly = true)
+    public CursorPageResponse<Notification> getUserNotifications(Long userId, String cursor, Integer size,
+                                                                 boolean includeTotal) {
+        int limit = CursorPageResponse.clampSize(size);
+        SeekCursor after = SeekCursor.decode(cursor);
+        List<Notification> rows = after == null
+                ? notificationRepository.findRecentNotificationsByUserFirst(userId, PageRequest.of(0, limit + 1))
+                : notificationRepository.findRecentNotificationsByUserBefore(userId, after.timestamp(), after.id(),
+                PageRequest.of(0, limit + 1));
+
+        CursorPageResponse<Notification> page = CursorPageResponse.of(rows, limit,
+                notification -> new SeekCursor(notification.getCreatedAt(), notification.getId()));
+        if (includeTotal) {
+            page.setTotalElements(listingCountCache.get("notifications:" + userId,
+                    () -> notificationRepository.countByUserId(userId)));
+        }
+        return page;
+    }
+
     // Get unread notifications
     @Transactional(readOnly = true)
     public List<Notification> getUnreadNotifications(Long userId) {
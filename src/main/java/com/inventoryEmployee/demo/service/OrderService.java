@@ -4,10 +4,14 @@ import com.inventoryEmployee.demo.dto.request.OrderRequest;
 import com.inventoryEmployee.demo.entity.Employee;
 import com.inventoryEmployee.demo.entity.*;
 import com.inventoryEmployee.demo.enums.OrderStatus;
+import com.inventoryEmployee.demo.enums.OrderType;
+import com.inventoryEmployee.demo.enums.ReservationStatus;
+import com.inventoryEmployee.demo.enums.StockMovementReason;
 import com.inventoryEmployee.demo.exception.ResourceNotFoundException;
 import com.inventoryEmployee.demo.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -16,7 +20,11 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -29,6 +37,15 @@ public class OrderService {
     private final SupplierRepository supplierRepository;
     private final AuditService auditService;
     private final InventoryService inventoryService;
+    private final StockReservationService reservationService;
+    private final StockReservationRepository reservationRepository;
+
+    // Statuses in which an order's stock has physically left the warehouse
+    private static final Set<OrderStatus> FULFILLED_STATUSES = EnumSet.of(
+            OrderStatus.CONFIRMED, OrderStatus.PROCESSING, OrderStatus.SHIPPED, OrderStatus.DELIVERED);
+
+    @Value("${inventory.reservations.order-ttl-minutes:1440}")
+    private long orderReservationTtlMinutes;
 
     // Create new order
     public Order createOrder(OrderRequest request, Employee employee) {
@@ -67,14 +84,23 @@ public class OrderService {
             Product product = productRepository.findById(itemRequest.getProductId())
                     .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
 
-            inventoryService.removeStock(
-                    product.getId(),
-                    itemRequest.getQuantity(),
-                    com.inventoryEmployee.demo.enums.StockMovementReason.SALES,
-                    "Order #" + request.getOrderNumber(),
-                    employee
-            );
-            // --- CRITICAL FIX END ---
+            // Pending orders only hold stock; it is committed once the order is confirmed
+            if (order.getStatus() == OrderStatus.PENDING) {
+                reservationService.reserve(
+                        product.getId(),
+                        itemRequest.getQuantity(),
+                        request.getOrderNumber(),
+                        orderReservationTtlMinutes
+                );
+            } else {
+                inventoryService.removeStock(
+                        product.getId(),
+                        itemRequest.getQuantity(),
+                        StockMovementReason.SALES,
+                        "Order #" + request.getOrderNumber(),
+                        employee
+                );
+            }
 
             BigDecimal subtotal = itemRequest.getUnitPrice()
                     .multiply(BigDecimal.valueOf(itemRequest.getQuantity()));
@@ -139,6 +165,12 @@ public class OrderService {
 
         log.info("Updating order {} status from {} to {}", id, oldStatus, newStatus);
 
+        if (oldStatus == OrderStatus.PENDING && FULFILLED_STATUSES.contains(newStatus)) {
+            commitOrderStock(order);
+        } else if (oldStatus == OrderStatus.PENDING && newStatus == OrderStatus.CANCELLED) {
+            reservationService.releaseForReference(order.getOrderNumber());
+        }
+
         order.setStatus(newStatus);
 
         // If status is DELIVERED, set actual delivery date
@@ -147,7 +179,8 @@ public class OrderService {
         }
 
         Order updated = orderRepository.save(order);
-        auditService.logAction("Order", id, "UPDATE_STATUS", oldStatus, newStatus);
+        auditService.logAction("Order", id, "UPDATE_STATUS",
+                Map.of("status", oldStatus.name()), Map.of("status", newStatus.name()));
 
         return updated;
     }
@@ -157,18 +190,23 @@ public class OrderService {
         Order order = getOrderById(id);
         log.info("Soft deleting order: {}", id);
 
-        if (order.getStatus() != OrderStatus.CANCELLED) {
+        boolean reserved = order.getStatus() == OrderStatus.PENDING
+                && !reservationRepository.findByReferenceNumber(order.getOrderNumber()).isEmpty();
+
+        if (reserved) {
+            // Stock was only reserved - hand it back without touching on-hand quantities
+            reservationService.releaseForReference(order.getOrderNumber());
+        } else if (order.getStatus() != OrderStatus.CANCELLED) {
             for (OrderItem item : order.getOrderItems()) {
                 inventoryService.addStock(
                         item.getProduct().getId(),
                         item.getQuantity(),
-                        com.inventoryEmployee.demo.enums.StockMovementReason.RETURNED,
+                        StockMovementReason.RETURNED,
                         "Order Cancelled #" + order.getOrderNumber(),
-                        order.getEmployee().getId() // Assuming addStock takes ID, check your InventoryService signature
+                        order.getEmployee().getId()
                 );
             }
         }
-        // --- CRITICAL FIX END ---
 
         order.setDeleted(true);
         order.setStatus(OrderStatus.CANCELLED);
@@ -177,12 +215,50 @@ public class OrderService {
         auditService.logAction("Order", id, "DELETE", order, null);
     }
 
+    // Turn a pending order's reservations into OUT movements. Lines whose reservation
+    // expired are taken from free stock. Orders without any reservation rows were created
+    // before reservations existed and had their stock removed at creation, so nothing is
+    // removed for them here - removing it again would deduct it twice.
+    private void commitOrderStock(Order order) {
+        Map<Long, Integer> committed = new HashMap<>(reservationService.commitForReference(
+                order.getOrderNumber(), StockMovementReason.SALES, order.getEmployee()));
+
+        boolean hadReservations = !reservationRepository.findByReferenceNumber(order.getOrderNumber()).isEmpty();
+
+        for (OrderItem item : order.getOrderItems()) {
+            Long productId = item.getProduct().getId();
+            int covered = Math.min(committed.getOrDefault(productId, 0), item.getQuantity());
+            committed.merge(productId, -covered, Integer::sum);
+
+            int remaining = item.getQuantity() - covered;
+            if (remaining > 0 && hadReservations) {
+                inventoryService.removeStock(
+                        productId,
+                        remaining,
+                        StockMovementReason.SALES,
+                        "Order #" + order.getOrderNumber(),
+                        order.getEmployee()
+                );
+            }
+        }
+    }
+
     // Get orders by status
     @Transactional(readOnly = true)
     public Page<Order> getOrdersByStatus(OrderStatus status, Pageable pageable) {
         return orderRepository.findByStatus(status, pageable);
     }
 
+    // Search orders with filters
+    @Transactional(readOnly = true)
+    public Page<Order> searchOrdersWithFilters(OrderStatus status, OrderType orderType, Long employeeId,
+                                               Long supplierId, LocalDateTime startDate,
+                                               LocalDateTime endDate, Pageable pageable) {
+        return orderRepository.findAll(FilterSpecifications.orders(status, orderType, employeeId,
+                supplierId, startDate, endDate),
+                FilterSpecifications.sortedOrDefault(pageable, FilterSpecifications.ORDER_ORDER));
+    }
+
     // Get pending orders
     @Transactional(readOnly = true)
     public List<Order> getPendingOrders() {
@@ -0,0 +1,17 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.entity.OutboxEvent;
+import com.inventoryEmployee.demo.enums.OutboxEventType;
+
+// A side effect driven from the outbox. Each consumer keeps its own offset, so a slow or
+// failing consumer (e.g. SMTP) never holds back the others. Delivery is at-least-once:
+// handle() runs in the transaction that advances the offset, and is retried if it throws.
+public interface OutboxConsumer {
+
+    // Stable name, used as the offset key
+    String getName();
+
+    boolean accepts(OutboxEventType eventType);
+
+    void handle(OutboxEvent event) throws Exception;
+}
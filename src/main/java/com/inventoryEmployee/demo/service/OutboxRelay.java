@@ -0,0 +1,254 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.entity.OutboxConsumerOffset;
+import com.inventoryEmployee.demo.entity.OutboxEvent;
+import com.inventoryEmployee.demo.repository.OutboxConsumerOffsetRepository;
+import com.inventoryEmployee.demo.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Drains the outbox into its consumers. Per consumer and per batch, one transaction
+// claims the consumer's offset row (SKIP LOCKED, so one node at a time), runs the
+// handlers and advances the offset. If a handler throws, the batch is rolled back and
+// re-run up to the failing event; that event is retried on later passes and skipped
+// (logged) after max-attempts.
+//
+// Ids are assigned at insert, so a transaction that commits late can land behind an offset
+// that has already moved past it. Every id skipped over is kept as a gap on the consumer's
+// offset row and looked up again on each pass; a gap that fills is handled then (out of id
+// order), one still empty after gap-timeout-ms is taken to be a rollback and dropped.
+@Service
+@Slf4j
+public class OutboxRelay {
+
+    private final List<OutboxConsumer> consumers;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxConsumerOffsetRepository offsetRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, Integer> attempts = new ConcurrentHashMap<>();
+
+    @Value("${inventory.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${inventory.outbox.gap-timeout-ms:300000}")
+    private long gapTimeoutMs;
+
+    @Value("${inventory.outbox.max-gaps:10000}")
+    private int maxGaps;
+
+    @Value("${inventory.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${inventory.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    public OutboxRelay(List<OutboxConsumer> consumers,
+                       OutboxEventRepository outboxEventRepository,
+                       OutboxConsumerOffsetRepository offsetRepository,
+                       PlatformTransactionManager transactionManager) {
+        this.consumers = consumers;
+        this.outboxEventRepository = outboxEventRepository;
+        this.offsetRepository = offsetRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // New consumers start from the beginning of whatever the outbox still holds
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerConsumers() {
+        for (OutboxConsumer consumer : consumers) {
+            if (offsetRepository.existsById(consumer.getName())) {
+                continue;
+            }
+            try {
+                offsetRepository.save(OutboxConsumerOffset.builder()
+                        .consumerName(consumer.getName())
+                        .lastEventId(0L)
+                        .updatedAt(LocalDateTime.now())
+                        .build());
+            } catch (DataIntegrityViolationException e) {
+                // Registered concurrently by another node
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.outbox.relay-interval-ms:500}")
+    public void relay() {
+        for (OutboxConsumer consumer : consumers) {
+            try {
+                // Keep going while batches come back full, bounded so one consumer can't starve the rest
+                for (int round = 0; round < 10; round++) {
+                    if (drain(consumer, Long.MAX_VALUE) < batchSize) {
+                        break;
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.error("Outbox relay failed for consumer {}", consumer.getName(), e);
+            }
+        }
+    }
+
+    // Delete events every consumer is past, keeping any a consumer still waits on as a gap
+    @Scheduled(fixedDelayString = "${inventory.outbox.cleanup-interval-ms:600000}")
+    public void cleanup() {
+        long lowestOffset = Long.MAX_VALUE;
+        for (OutboxConsumerOffset offset : offsetRepository.findAll()) {
+            long handledUpTo = offset.getLastEventId();
+            for (Long gap : decodeGaps(offset.getPendingGaps()).keySet()) {
+                handledUpTo = Math.min(handledUpTo, gap - 1);
+            }
+            lowestOffset = Math.min(lowestOffset, handledUpTo);
+        }
+        if (lowestOffset == Long.MAX_VALUE || lowestOffset <= 0) {
+            return;
+        }
+        long upToId = lowestOffset;
+        Integer deleted = transactionTemplate.execute(status -> outboxEventRepository.deleteConsumed(
+                upToId, LocalDateTime.now().minusHours(retentionHours)));
+        if (deleted != null && deleted > 0) {
+            log.info("Deleted {} consumed outbox events", deleted);
+        }
+    }
+
+    // Returns the number of events read, 0 if the consumer is busy on another node
+    private int drain(OutboxConsumer consumer, long stopBeforeId) {
+        try {
+            Integer read = transactionTemplate.execute(status -> processBatch(consumer, stopBeforeId));
+            return read != null ? read : 0;
+        } catch (HandlerFailure failure) {
+            String key = consumer.getName() + ":" + failure.eventId;
+            int attempt = attempts.merge(key, 1, Integer::sum);
+            log.warn("Outbox consumer {} failed on event {} (attempt {}/{})",
+                    consumer.getName(), failure.eventId, attempt, maxAttempts, failure.getCause());
+
+            // Commit what succeeded before the failing event
+            if (stopBeforeId == Long.MAX_VALUE) {
+                drain(consumer, failure.eventId);
+            }
+            return 0;
+        }
+    }
+
+    private int processBatch(OutboxConsumer consumer, long stopBeforeId) {
+        Optional<OutboxConsumerOffset> claimed = offsetRepository.claim(consumer.getName());
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        OutboxConsumerOffset offset = claimed.get();
+        long now = System.currentTimeMillis();
+        NavigableMap<Long, Long> gaps = decodeGaps(offset.getPendingGaps());
+        int read = 0;
+
+        // Gaps whose transactions have committed since
+        if (!gaps.isEmpty()) {
+            for (OutboxEvent event : outboxEventRepository.findByIds(gaps.keySet())) {
+                if (event.getId() >= stopBeforeId) {
+                    break;
+                }
+                handle(consumer, event);
+                gaps.remove(event.getId());
+                read++;
+            }
+            int before = gaps.size();
+            gaps.values().removeIf(firstSeen -> now - firstSeen > gapTimeoutMs);
+            if (gaps.size() < before) {
+                log.debug("Outbox consumer {} dropped {} gaps after {} ms", consumer.getName(),
+                        before - gaps.size(), gapTimeoutMs);
+            }
+        }
+
+        List<OutboxEvent> batch = outboxEventRepository.findBatch(offset.getLastEventId(),
+                PageRequest.of(0, batchSize));
+
+        long lastId = offset.getLastEventId();
+        for (OutboxEvent event : batch) {
+            if (event.getId() >= stopBeforeId) {
+                break;
+            }
+            for (long missing = Math.max(lastId + 1, event.getId() - maxGaps); missing < event.getId(); missing++) {
+                gaps.put(missing, now);
+            }
+            handle(consumer, event);
+            lastId = event.getId();
+            read++;
+        }
+
+        // Never wait on more than max-gaps ids: the oldest go first
+        while (gaps.size() > maxGaps) {
+            log.warn("Outbox consumer {} gave up waiting for event {}", consumer.getName(), gaps.pollFirstEntry().getKey());
+        }
+
+        String pendingGaps = encodeGaps(gaps);
+        if (lastId != offset.getLastEventId() || !Objects.equals(pendingGaps, offset.getPendingGaps())) {
+            offset.setLastEventId(lastId);
+            offset.setPendingGaps(pendingGaps);
+            offset.setUpdatedAt(LocalDateTime.now());
+        }
+        return read;
+    }
+
+    private void handle(OutboxConsumer consumer, OutboxEvent event) {
+        if (consumer.accepts(event.getEventType()) && !giveUp(consumer, event)) {
+            try {
+                consumer.handle(event);
+            } catch (Exception e) {
+                throw new HandlerFailure(event.getId(), e);
+            }
+        }
+    }
+
+    // id -> epoch millis the gap was first seen
+    static NavigableMap<Long, Long> decodeGaps(String encoded) {
+        NavigableMap<Long, Long> gaps = new TreeMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return gaps;
+        }
+        for (String entry : encoded.split(",")) {
+            int separator = entry.indexOf(':');
+            gaps.put(Long.parseLong(entry.substring(0, separator)), Long.parseLong(entry.substring(separator + 1)));
+        }
+        return gaps;
+    }
+
+    static String encodeGaps(NavigableMap<Long, Long> gaps) {
+        if (gaps.isEmpty()) {
+            return null;
+        }
+        StringJoiner joiner = new StringJoiner(",");
+        gaps.forEach((id, firstSeen) -> joiner.add(id + ":" + firstSeen));
+        return joiner.toString();
+    }
+
+    private boolean giveUp(OutboxConsumer consumer, OutboxEvent event) {
+        Integer attempt = attempts.get(consumer.getName() + ":" + event.getId());
+        if (attempt == null || attempt < maxAttempts) {
+            return false;
+        }
+        log.error("Outbox consumer {} skipping event {} ({}) after {} failed attempts",
+                consumer.getName(), event.getId(), event.getEventType(), attempt);
+        attempts.remove(consumer.getName() + ":" + event.getId());
+        return true;
+    }
+
+    private static class HandlerFailure extends RuntimeException {
+        private final long eventId;
+
+        private HandlerFailure(long eventId, Throwable cause) {
+            super(cause);
+            this.eventId = eventId;
+        }
+    }
+}
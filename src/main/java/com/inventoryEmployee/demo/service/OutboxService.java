@@ -0,0 +1,66 @@
+package com.inventoryEmployee.demo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventoryEmployee.demo.entity.OutboxEvent;
+import com.inventoryEmployee.demo.enums.OutboxEventType;
+import com.inventoryEmployee.demo.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final AuditService auditService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Record side effects of a stock movement; must join the movement's transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishStockMovement(String action, List<StockMovementEvent.Movement> movements) {
+        publishStockMovement(action, movements, auditService.captureContext());
+    }
+
+    // Same, on behalf of a context captured on another thread (e.g. a combined movement's caller)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishStockMovement(String action, List<StockMovementEvent.Movement> movements,
+                                     AuditContext context) {
+        if (movements.isEmpty()) {
+            return;
+        }
+        StockMovementEvent event = new StockMovementEvent(action, movements, context, LocalDateTime.now());
+        publish(OutboxEventType.STOCK_MOVEMENT, "Inventory",
+                movements.size() == 1 ? movements.get(0).inventoryId() : null, event);
+        // Local listeners that only need an approximate in-memory view (typeahead ranking)
+        eventPublisher.publishEvent(event);
+    }
+
+    // Insert one outbox row in the caller's transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEventType type, String aggregateType, Long aggregateId, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload", e);
+        }
+
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(type)
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .payload(json)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,216 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.entity.Order;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+// iText layout for the PDF reports. Rows are consumed from a stream into "large" tables
+// that are flushed every FLUSH_ROWS rows, and the document flushes each page as soon as
+// it is laid out, so only the page being built is in memory, however long the report.
+public final class PdfReportRenderer {
+
+    private static final int FLUSH_ROWS = 100;
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final Document document;
+    private final PdfFont bold;
+
+    private PdfReportRenderer(OutputStream out, PageSize pageSize) throws IOException {
+        this.document = new Document(new PdfDocument(new PdfWriter(out)), pageSize);
+        this.document.setFont(PdfFontFactory.createFont(StandardFonts.HELVETICA));
+        this.document.setFontSize(9);
+        this.bold = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
+    }
+
+    // Stock value (price x available) per product, grouped by category with subtotals
+    public static void inventoryValuation(Stream<InventoryReportRow> rows, OutputStream out) {
+        render(out, PageSize.A4, renderer -> {
+            renderer.title("Inventory Valuation");
+
+            Table table = renderer.table(new float[]{3, 6, 2, 2, 3}, "SKU", "Product", "Available", "Price", "Value");
+            String category = null;
+            boolean first = true;
+            BigDecimal categoryTotal = BigDecimal.ZERO;
+            BigDecimal grandTotal = BigDecimal.ZERO;
+            long count = 0;
+
+            for (InventoryReportRow row : (Iterable<InventoryReportRow>) rows::iterator) {
+                String rowCategory = row.categoryName() != null ? row.categoryName() : "Uncategorized";
+                if (first || !rowCategory.equals(category)) {
+                    if (!first) {
+                        renderer.totalRow(table, 5, "Total " + category, categoryTotal);
+                    }
+                    table.addCell(new Cell(1, 5).add(new Paragraph(rowCategory).setFont(renderer.bold)));
+                    category = rowCategory;
+                    categoryTotal = BigDecimal.ZERO;
+                    first = false;
+                }
+
+                BigDecimal value = row.price() != null
+                        ? row.price().multiply(BigDecimal.valueOf(row.quantityAvailable())) : BigDecimal.ZERO;
+                categoryTotal = categoryTotal.add(value);
+                grandTotal = grandTotal.add(value);
+
+                table.addCell(text(row.productSku()));
+                table.addCell(text(row.productName()));
+                table.addCell(number(row.quantityAvailable()));
+                table.addCell(amount(row.price()));
+                table.addCell(amount(value));
+                renderer.flushEvery(table, ++count);
+            }
+            if (!first) {
+                renderer.totalRow(table, 5, "Total " + category, categoryTotal);
+            }
+            renderer.totalRow(table, 5, "Total inventory value", grandTotal);
+            table.complete();
+        });
+    }
+
+    // Items at or below minimum stock, by supplier, with the quantity to order
+    public static void reorderSheet(Stream<InventoryReportRow> rows, OutputStream out) {
+        render(out, PageSize.A4.rotate(), renderer -> {
+            renderer.title("Reorder Sheet");
+
+            Table table = renderer.table(new float[]{5, 3, 6, 2, 2, 2, 2},
+                    "Supplier", "SKU", "Product", "Available", "Minimum", "Maximum", "Order Qty");
+            long count = 0;
+            for (InventoryReportRow row : (Iterable<InventoryReportRow>) rows::iterator) {
+                table.addCell(text(row.supplierName() != null ? row.supplierName() : "No supplier"));
+                table.addCell(text(row.productSku()));
+                table.addCell(text(row.productName()));
+                table.addCell(number(row.quantityAvailable()));
+                table.addCell(number(row.minStockLevel()));
+                table.addCell(number(row.maxStockLevel()));
+                table.addCell(number(orderQuantity(row)).setFont(renderer.bold));
+                renderer.flushEvery(table, ++count);
+            }
+            table.complete();
+            renderer.document.add(new Paragraph(count + " items to reorder").setMarginTop(8));
+        });
+    }
+
+    public static void invoice(Order order, Stream<InvoiceLine> lines, OutputStream out) {
+        render(out, PageSize.A4, renderer -> {
+            renderer.title("Invoice " + order.getOrderNumber());
+            Document document = renderer.document;
+            document.add(new Paragraph("Order date: " + DATE_TIME.format(order.getOrderDate())));
+            if (order.getOrderType() != null) {
+                document.add(new Paragraph("Type: " + order.getOrderType()));
+            }
+            document.add(new Paragraph("Status: " + order.getStatus()));
+            if (order.getSupplier() != null) {
+                document.add(new Paragraph("Supplier: " + order.getSupplier().getName()));
+            }
+            if (order.getEmployee() != null) {
+                document.add(new Paragraph("Handled by: " + order.getEmployee().getFirstName() + " "
+                        + order.getEmployee().getLastName()));
+            }
+
+            Table table = renderer.table(new float[]{3, 6, 2, 2, 2, 3},
+                    "SKU", "Product", "Quantity", "Unit Price", "Discount", "Amount");
+            long count = 0;
+            for (InvoiceLine line : (Iterable<InvoiceLine>) lines::iterator) {
+                table.addCell(text(line.productSku()));
+                table.addCell(text(line.productName()));
+                table.addCell(number(line.quantity()));
+                table.addCell(amount(line.unitPrice()));
+                table.addCell(amount(line.discountAmount()));
+                table.addCell(amount(line.finalAmount()));
+                renderer.flushEvery(table, ++count);
+            }
+            renderer.totalRow(table, 6, "Subtotal", order.getTotalAmount());
+            renderer.totalRow(table, 6, "Discount", order.getDiscountAmount());
+            renderer.totalRow(table, 6, "Tax", order.getTaxAmount());
+            renderer.totalRow(table, 6, "Total", order.getFinalAmount());
+            table.complete();
+
+            if (order.getNotes() != null && !order.getNotes().isBlank()) {
+                document.add(new Paragraph("Notes: " + order.getNotes()).setMarginTop(8));
+            }
+        });
+    }
+
+    private interface Body {
+        void write(PdfReportRenderer renderer) throws IOException;
+    }
+
+    // Closing the document writes the trailer and closes the output
+    private static void render(OutputStream out, PageSize pageSize, Body body) {
+        try {
+            PdfReportRenderer renderer = new PdfReportRenderer(out, pageSize);
+            try {
+                body.write(renderer);
+            } finally {
+                renderer.document.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to render PDF report", e);
+        }
+    }
+
+    private void title(String title) {
+        document.add(new Paragraph(title).setFont(bold).setFontSize(16));
+        document.add(new Paragraph("Generated " + DATE_TIME.format(LocalDateTime.now())).setMarginBottom(8));
+    }
+
+    // A large table: added to the document first, then filled and flushed as rows arrive.
+    // The header row repeats on every page.
+    private Table table(float[] widths, String... header) {
+        Table table = new Table(UnitValue.createPercentArray(widths), true).useAllAvailableWidth();
+        for (String name : header) {
+            table.addHeaderCell(new Cell().add(new Paragraph(name).setFont(bold)));
+        }
+        document.add(table);
+        return table;
+    }
+
+    private void flushEvery(Table table, long count) {
+        if (count % FLUSH_ROWS == 0) {
+            table.flush();
+        }
+    }
+
+    private void totalRow(Table table, int columns, String label, BigDecimal total) {
+        table.addCell(new Cell(1, columns - 1).add(new Paragraph(label).setFont(bold)));
+        table.addCell(amount(total).setFont(bold));
+    }
+
+    private static int orderQuantity(InventoryReportRow row) {
+        // Up to the maximum, but never less than the configured reorder quantity
+        int toMax = row.maxStockLevel() - row.quantityAvailable();
+        return Math.max(toMax, Objects.requireNonNullElse(row.reorderQuantity(), 0));
+    }
+
+    private static Cell text(String value) {
+        return new Cell().add(new Paragraph(value != null ? value : ""));
+    }
+
+    private static Cell number(Integer value) {
+        return new Cell().add(new Paragraph(value != null ? value.toString() : "")).setTextAlignment(TextAlignment.RIGHT);
+    }
+
+    private static Cell amount(BigDecimal value) {
+        String text = value != null ? value.setScale(2, RoundingMode.HALF_UP).toPlainString() : "";
+        return new Cell().add(new Paragraph(text)).setTextAlignment(TextAlignment.RIGHT);
+    }
+}
@@ -0,0 +1,238 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.entity.Order;
+import com.inventoryEmployee.demo.exception.ResourceNotFoundException;
+import com.inventoryEmployee.demo.repository.InventoryRepository;
+import com.inventoryEmployee.demo.repository.OrderItemRepository;
+import com.inventoryEmployee.demo.repository.OrderRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// PDF reports, rendered on a small bounded pool of their own (never on request threads)
+// straight to a file under inventory.reports.cache-dir, page by page.
+//
+// Each report is keyed by the version of its inputs: requests for a version that is rendered
+// or rendering share that one render, and a new version starts a new one. When the queue is
+// full, new renders are rejected rather than piling up.
+//
+// The inventory reports' version is a counter of local change events plus a fingerprint of
+// the tables (which also sees other nodes' writes). The fingerprint is a few index lookups,
+// re-read at most once per fingerprint-ttl-ms; the invoice version is a keyed lookup.
+@Service
+@Slf4j
+public class PdfReportService {
+
+    private final InventoryRepository inventoryRepository;
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService executor;
+
+    // Report key -> latest render
+    private final Map<String, Render> renders = new ConcurrentHashMap<>();
+
+    // Inventory, product, category and supplier changes committed on this node
+    private final AtomicLong localChanges = new AtomicLong();
+    private volatile Fingerprint inventoryFingerprint;
+
+    @Value("${inventory.reports.fingerprint-ttl-ms:5000}")
+    private long fingerprintTtlMs;
+
+    @Value("${inventory.reports.cache-dir:${java.io.tmpdir}/inventory-reports}")
+    private Path cacheDir;
+
+    @Value("${inventory.reports.cache-ttl-ms:3600000}")
+    private long cacheTtlMs;
+
+    public PdfReportService(InventoryRepository inventoryRepository,
+                            OrderRepository orderRepository,
+                            OrderItemRepository orderItemRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${inventory.reports.render-threads:2}") int renderThreads,
+                            @Value("${inventory.reports.queue-capacity:16}") int queueCapacity) {
+        this.inventoryRepository = inventoryRepository;
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(renderThreads, renderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "pdf-report-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void createCacheDir() throws IOException {
+        Files.createDirectories(cacheDir);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public CompletableFuture<Path> inventoryValuation() {
+        String version = inventoryReportVersion();
+        return render("inventory-valuation", version, out -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<InventoryReportRow> rows = inventoryRepository.streamForValuationReport()) {
+                PdfReportRenderer.inventoryValuation(rows, out);
+            }
+        }));
+    }
+
+    public CompletableFuture<Path> reorderSheet() {
+        String version = inventoryReportVersion();
+        return render("reorder-sheet", version, out -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<InventoryReportRow> rows = inventoryRepository.streamForReorderReport()) {
+                PdfReportRenderer.reorderSheet(rows, out);
+            }
+        }));
+    }
+
+    public CompletableFuture<Path> invoice(Long orderId) {
+        String version = readOnlyTransaction.execute(status -> orderRepository.findReportVersion(orderId));
+        if (version == null) {
+            throw new ResourceNotFoundException("Order not found with id: " + orderId);
+        }
+        return render("invoice-" + orderId, version, out -> readOnlyTransaction.executeWithoutResult(status -> {
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+            try (Stream<InvoiceLine> lines = orderItemRepository.streamInvoiceLines(orderId)) {
+                PdfReportRenderer.invoice(order, lines, out);
+            }
+        }));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockLevelChanged(StockLevelChangedEvent event) {
+        localChanges.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        localChanges.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        localChanges.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSupplierChanged(SupplierChangedEvent event) {
+        localChanges.incrementAndGet();
+    }
+
+    // Drop renders past their TTL, and files no current render points at (superseded
+    // versions, failed renders, leftovers from a previous run) once no download can still
+    // be reading them
+    @Scheduled(fixedDelayString = "${inventory.reports.cleanup-interval-ms:600000}")
+    public void cleanup() {
+        long now = System.currentTimeMillis();
+        renders.entrySet().removeIf(entry -> entry.getValue().file().isDone()
+                && now - entry.getValue().startedAt() > cacheTtlMs);
+
+        Set<Path> current = renders.values().stream()
+                .map(render -> render.file().getNow(null))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            files.filter(file -> !current.contains(file))
+                    .filter(file -> isOlderThan(file, now - cacheTtlMs))
+                    .forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Could not clean up report cache {}: {}", cacheDir, e.getMessage());
+        }
+    }
+
+    private String inventoryReportVersion() {
+        Fingerprint current = inventoryFingerprint;
+        if (current == null || System.currentTimeMillis() - current.readAt() >= fingerprintTtlMs) {
+            synchronized (this) {
+                current = inventoryFingerprint;
+                if (current == null || System.currentTimeMillis() - current.readAt() >= fingerprintTtlMs) {
+                    current = new Fingerprint(readOnlyTransaction.execute(status -> inventoryRepository.findReportVersion()),
+                            System.currentTimeMillis());
+                    inventoryFingerprint = current;
+                }
+            }
+        }
+        return localChanges.get() + ":" + current.value();
+    }
+
+    // The render of this version if there is one (running or done), otherwise a new one
+    private CompletableFuture<Path> render(String key, String version, Consumer<OutputStream> body) {
+        return renders.compute(key, (k, current) -> {
+            if (current != null && current.version().equals(version) && !current.file().isCompletedExceptionally()) {
+                return current;
+            }
+            return new Render(version, CompletableFuture.supplyAsync(() -> write(key, body), executor),
+                    System.currentTimeMillis());
+        }).file();
+    }
+
+    private Path write(String key, Consumer<OutputStream> body) {
+        long start = System.currentTimeMillis();
+        Path file = cacheDir.resolve(key + "-" + UUID.randomUUID() + ".pdf");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024)) {
+            body.accept(out);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(file);
+            throw e instanceof IOException io ? new UncheckedIOException("Failed to write report " + key, io)
+                    : (RuntimeException) e;
+        }
+        log.info("Rendered report {} in {} ms", key, System.currentTimeMillis() - start);
+        return file;
+    }
+
+    private boolean isOlderThan(Path file, long cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis() < cutoff;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete report file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private record Fingerprint(String value, long readAt) {
+    }
+
+    private record Render(String version, CompletableFuture<Path> file, long startedAt) {
+    }
+}
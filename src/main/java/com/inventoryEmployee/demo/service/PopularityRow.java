@@ -0,0 +1,5 @@
+package com.inventoryEmployee.demo.service;
+
+// How often an entity was used in the popularity window (movements, orders)
+public record PopularityRow(Long id, Long count) {
+}
@@ -0,0 +1,8 @@
+package com.inventoryEmployee.demo.service;
+
+import java.util.Collection;
+
+// Published when products are created, updated or deleted; indexes over product fields
+// reload these products after the transaction commits
+public record ProductChangedEvent(Collection<Long> productIds) {
+}
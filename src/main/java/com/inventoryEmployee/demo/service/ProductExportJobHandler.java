@@ -0,0 +1,53 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.enums.JobType;
+import com.inventoryEmployee.demo.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+@Component
+public class ProductExportJobHandler extends CsvExportJobHandler<ProductExportRow> {
+
+    private final ProductRepository productRepository;
+
+    public ProductExportJobHandler(ProductRepository productRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${inventory.jobs.export-chunk-size:5000}") int chunkSize) {
+        super(transactionManager, chunkSize);
+        this.productRepository = productRepository;
+    }
+
+    @Override
+    public JobType getType() {
+        return JobType.PRODUCT_EXPORT;
+    }
+
+    @Override
+    protected String[] header() {
+        return ImportExportService.PRODUCT_CSV_HEADER;
+    }
+
+    @Override
+    protected long count() {
+        return productRepository.countByDeletedFalse();
+    }
+
+    @Override
+    protected List<ProductExportRow> findAfter(long lastId, Pageable limit) {
+        return productRepository.findForExportAfter(lastId, limit);
+    }
+
+    @Override
+    protected long idOf(ProductExportRow row) {
+        return row.id();
+    }
+
+    @Override
+    protected Object[] toRow(ProductExportRow row) {
+        return ImportExportService.toRow(row);
+    }
+}
@@ -0,0 +1,8 @@
+package com.inventoryEmployee.demo.service;
+
+import java.math.BigDecimal;
+
+// One product as written by the CSV export, category/supplier names already joined in
+public record ProductExportRow(Long id, String name, String sku, String description, BigDecimal price,
+                               String categoryName, String supplierName) {
+}
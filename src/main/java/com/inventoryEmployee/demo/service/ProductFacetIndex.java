@@ -0,0 +1,422 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.enums.ProductStatus;
+import com.inventoryEmployee.demo.repository.ProductRepository;
+import com.inventoryEmployee.demo.util.CompressedBitmap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Product filtering and facet counts from compressed bitmaps of product ids: one per
+// category, supplier, status and price band (bounds from inventory.facets.price-bands),
+// plus the set of live products. A filter is an AND of the matching bitmaps (a price range
+// is the OR of the bands it covers, with exact prices checked only in the two edge bands);
+// a facet count is the cardinality of the filter AND that facet value.
+//
+// Counts for a facet ignore the filter's own condition on that facet, so the UI can show
+// what picking another value would give. Kept current like StockLevelIndex: built at
+// startup, then products from ProductChangedEvent re-read by an IndexRefresher.
+//
+// Bitmaps hold int ids. Products with a larger id are kept aside: while there are any,
+// filter() returns null so callers query the database, and facets() counts them one by one.
+@Service
+@Slf4j
+public class ProductFacetIndex {
+
+    // Half-open price range [from, to); to is null for the last band
+    public record PriceBand(BigDecimal from, BigDecimal to, long count) {
+    }
+
+    public record Facets(long total, Map<Long, Long> categories, Map<Long, Long> suppliers,
+                         Map<ProductStatus, Long> statuses, List<PriceBand> priceBands) {
+    }
+
+    // A page of filtered products and the facet counts of the same filters, read together
+    public record Filtered(ProductSearchIndex.Hits hits, Facets facets) {
+    }
+
+    private record Values(Long categoryId, Long supplierId, ProductStatus status, BigDecimal price) {
+    }
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final IndexRefresher<ProductFacetRow> refresher;
+    private final List<BigDecimal> bandBounds;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final CompressedBitmap live = new CompressedBitmap();
+    private final Map<Long, CompressedBitmap> byCategory = new HashMap<>();
+    private final Map<Long, CompressedBitmap> bySupplier = new HashMap<>();
+    private final Map<ProductStatus, CompressedBitmap> byStatus = new EnumMap<>(ProductStatus.class);
+    private final CompressedBitmap[] byBand;
+    private final Map<Integer, Values> values = new HashMap<>();
+    private final Map<Long, Values> outOfRange = new HashMap<>();
+
+    private volatile boolean ready;
+
+    public ProductFacetIndex(ProductRepository productRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${inventory.facets.price-bands:10,25,50,100,250,500,1000}")
+                             BigDecimal[] bandBounds,
+                             @Value("${inventory.facets.refresh-batch-size:500}") int refreshBatchSize) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.refresher = new IndexRefresher<>("Product facet index", readOnlyTransaction, refreshBatchSize,
+                productRepository::findForFacets, ProductFacetRow::productId, this::apply);
+        this.bandBounds = Arrays.stream(bandBounds).sorted().distinct().toList();
+
+        // Band 0 is below the first bound, band n is at or above the last
+        this.byBand = new CompressedBitmap[this.bandBounds.size() + 1];
+        for (int band = 0; band < byBand.length; band++) {
+            byBand[band] = new CompressedBitmap();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        ready = false;
+
+        lock.writeLock().lock();
+        try {
+            new ArrayList<>(values.keySet()).forEach(this::remove);
+            outOfRange.clear();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ProductFacetRow> rows = productRepository.streamForFacets()) {
+                    rows.forEach(this::put);
+                }
+            });
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Product facet index built: {} products, {} categories, {} suppliers in {} ms", values.size(),
+                byCategory.size(), bySupplier.size(), System.currentTimeMillis() - start);
+        if (!outOfRange.isEmpty()) {
+            log.warn("{} products have ids above {}; product filtering uses the database", outOfRange.size(),
+                    Integer.MAX_VALUE);
+        }
+
+        // Changes that committed while the scan was running
+        refresh();
+    }
+
+    // Without a transaction (e.g. scheduled jobs) the event is handled immediately
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        refresher.markDirty(event.productIds());
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.facets.refresh-interval-ms:200}")
+    public void refresh() {
+        if (ready) {
+            refresher.refresh();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // One page of matching product ids in id order, and the number of matches; null before
+    // the first build or while some product id is out of bitmap range
+    public ProductSearchIndex.Hits filter(ProductSearchIndex.Filter filter, long offset, int limit) {
+        if (!ready) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            return outOfRange.isEmpty() ? page(filter, offset, limit) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // filter() and facets() under one read lock, so the page total and the counts agree; null
+    // before the first build. hits is null while some product id is out of bitmap range.
+    public Filtered filterWithFacets(ProductSearchIndex.Filter filter, long offset, int limit) {
+        if (!ready) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            return new Filtered(outOfRange.isEmpty() ? page(filter, offset, limit) : null, countFacets(filter, null));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Counts per category, supplier, status and price band for the filter, restricted to the
+    // given products when within is not null (e.g. full-text matches); null before the first build
+    public Facets facets(ProductSearchIndex.Filter filter, Collection<Long> within) {
+        if (!ready) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            return countFacets(filter, within);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Read lock held
+    private ProductSearchIndex.Hits page(ProductSearchIndex.Filter filter, long offset, int limit) {
+        CompressedBitmap matches = select(filter.categoryId(), filter.supplierId(), filter.status(),
+                filter.minPrice(), filter.maxPrice());
+        List<Long> productIds = Arrays.stream(matches.page(offset, limit)).mapToObj(id -> (long) id).toList();
+        return new ProductSearchIndex.Hits(productIds, matches.cardinality());
+    }
+
+    // Read lock held
+    private Facets countFacets(ProductSearchIndex.Filter filter, Collection<Long> within) {
+        CompressedBitmap scope = live;
+        if (within != null) {
+            scope = new CompressedBitmap();
+            for (Long productId : within) {
+                if (productId <= Integer.MAX_VALUE) {
+                    scope.add(productId.intValue());
+                }
+            }
+        }
+        Long categoryId = filter.categoryId();
+        Long supplierId = filter.supplierId();
+        ProductStatus status = filter.status();
+        BigDecimal minPrice = filter.minPrice();
+        BigDecimal maxPrice = filter.maxPrice();
+
+        long total = CompressedBitmap.andCardinality(scope,
+                select(categoryId, supplierId, status, minPrice, maxPrice));
+
+        CompressedBitmap base = CompressedBitmap.and(scope, select(null, supplierId, status, minPrice, maxPrice));
+        Map<Long, Long> categories = counts(base, byCategory);
+
+        base = CompressedBitmap.and(scope, select(categoryId, null, status, minPrice, maxPrice));
+        Map<Long, Long> suppliers = counts(base, bySupplier);
+
+        base = CompressedBitmap.and(scope, select(categoryId, supplierId, null, minPrice, maxPrice));
+        Map<ProductStatus, Long> statuses = new EnumMap<>(ProductStatus.class);
+        for (Map.Entry<ProductStatus, CompressedBitmap> entry : byStatus.entrySet()) {
+            long count = CompressedBitmap.andCardinality(base, entry.getValue());
+            if (count > 0) {
+                statuses.put(entry.getKey(), count);
+            }
+        }
+
+        base = CompressedBitmap.and(scope, select(categoryId, supplierId, status, null, null));
+        List<PriceBand> priceBands = new ArrayList<>(byBand.length);
+        for (int band = 0; band < byBand.length; band++) {
+            priceBands.add(new PriceBand(band == 0 ? BigDecimal.ZERO : bandBounds.get(band - 1),
+                    band < bandBounds.size() ? bandBounds.get(band) : null,
+                    CompressedBitmap.andCardinality(base, byBand[band])));
+        }
+
+        // Few if any; each is checked against the same conditions as the bitmaps
+        Set<Long> scopeIds = within != null && !outOfRange.isEmpty() ? new HashSet<>(within) : null;
+        for (Map.Entry<Long, Values> product : outOfRange.entrySet()) {
+            if (scopeIds != null && !scopeIds.contains(product.getKey())) {
+                continue;
+            }
+            Values v = product.getValue();
+            if (matches(v, categoryId, supplierId, status, minPrice, maxPrice)) {
+                total++;
+            }
+            if (v.categoryId() != null && matches(v, null, supplierId, status, minPrice, maxPrice)) {
+                categories.merge(v.categoryId(), 1L, Long::sum);
+            }
+            if (v.supplierId() != null && matches(v, categoryId, null, status, minPrice, maxPrice)) {
+                suppliers.merge(v.supplierId(), 1L, Long::sum);
+            }
+            if (v.status() != null && matches(v, categoryId, supplierId, null, minPrice, maxPrice)) {
+                statuses.merge(v.status(), 1L, Long::sum);
+            }
+            if (v.price() != null && matches(v, categoryId, supplierId, status, null, null)) {
+                int band = band(v.price());
+                PriceBand counted = priceBands.get(band);
+                priceBands.set(band, new PriceBand(counted.from(), counted.to(), counted.count() + 1));
+            }
+        }
+
+        return new Facets(total, categories, suppliers, statuses, priceBands);
+    }
+
+    // Read lock held. Live products matching every given condition
+    private CompressedBitmap select(Long categoryId, Long supplierId, ProductStatus status,
+                                    BigDecimal minPrice, BigDecimal maxPrice) {
+        List<CompressedBitmap> conditions = new ArrayList<>();
+        if (categoryId != null) {
+            conditions.add(byCategory.getOrDefault(categoryId, new CompressedBitmap()));
+        }
+        if (supplierId != null) {
+            conditions.add(bySupplier.getOrDefault(supplierId, new CompressedBitmap()));
+        }
+        if (status != null) {
+            conditions.add(byStatus.getOrDefault(status, new CompressedBitmap()));
+        }
+        if (minPrice != null || maxPrice != null) {
+            conditions.add(priceRange(minPrice, maxPrice));
+        }
+        if (conditions.isEmpty()) {
+            return live;
+        }
+
+        // Smallest first, so every AND is bounded by the most selective condition
+        conditions.sort(Comparator.comparingLong(CompressedBitmap::cardinality));
+        CompressedBitmap result = conditions.get(0);
+        for (int i = 1; i < conditions.size() && !result.isEmpty(); i++) {
+            result = CompressedBitmap.and(result, conditions.get(i));
+        }
+        return result;
+    }
+
+    // Bands entirely inside [min, max] are taken whole; the bands holding min and max are
+    // checked product by product
+    private CompressedBitmap priceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        int first = minPrice != null ? band(minPrice) : 0;
+        int last = maxPrice != null ? band(maxPrice) : byBand.length - 1;
+        CompressedBitmap whole = new CompressedBitmap();
+        CompressedBitmap edges = new CompressedBitmap();
+        for (int band = first; band <= last; band++) {
+            if (band == first || band == last) {
+                byBand[band].forEach(productId -> {
+                    BigDecimal price = values.get(productId).price();
+                    if ((minPrice == null || price.compareTo(minPrice) >= 0)
+                            && (maxPrice == null || price.compareTo(maxPrice) <= 0)) {
+                        edges.add(productId);
+                    }
+                });
+            } else {
+                whole = CompressedBitmap.or(whole, byBand[band]);
+            }
+        }
+        return CompressedBitmap.or(whole, edges);
+    }
+
+    // The bitmap conditions of select(), for one product kept out of the bitmaps
+    private static boolean matches(Values v, Long categoryId, Long supplierId, ProductStatus status,
+                                   BigDecimal minPrice, BigDecimal maxPrice) {
+        return (categoryId == null || categoryId.equals(v.categoryId()))
+                && (supplierId == null || supplierId.equals(v.supplierId()))
+                && (status == null || status == v.status())
+                && (minPrice == null && maxPrice == null || v.price() != null
+                        && (minPrice == null || v.price().compareTo(minPrice) >= 0)
+                        && (maxPrice == null || v.price().compareTo(maxPrice) <= 0));
+    }
+
+    private static <K> Map<K, Long> counts(CompressedBitmap base, Map<K, CompressedBitmap> bitmaps) {
+        Map<K, Long> counts = new HashMap<>();
+        for (Map.Entry<K, CompressedBitmap> entry : bitmaps.entrySet()) {
+            long count = CompressedBitmap.andCardinality(base, entry.getValue());
+            if (count > 0) {
+                counts.put(entry.getKey(), count);
+            }
+        }
+        return counts;
+    }
+
+    private int band(BigDecimal price) {
+        int band = 0;
+        while (band < bandBounds.size() && price.compareTo(bandBounds.get(band)) >= 0) {
+            band++;
+        }
+        return band;
+    }
+
+    private void apply(List<ProductFacetRow> rows, Set<Long> missing) {
+        lock.writeLock().lock();
+        try {
+            for (ProductFacetRow row : rows) {
+                if (Boolean.TRUE.equals(row.deleted())) {
+                    remove(row.productId());
+                } else {
+                    put(row);
+                }
+            }
+            missing.forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Write lock held
+    private void put(ProductFacetRow row) {
+        remove(row.productId());
+
+        Values entry = new Values(row.categoryId(), row.supplierId(), row.status(), row.price());
+        if (!fitsBitmap(row.productId())) {
+            outOfRange.put(row.productId(), entry);
+            return;
+        }
+        int productId = row.productId().intValue();
+        values.put(productId, entry);
+        live.add(productId);
+        if (entry.categoryId() != null) {
+            byCategory.computeIfAbsent(entry.categoryId(), id -> new CompressedBitmap()).add(productId);
+        }
+        if (entry.supplierId() != null) {
+            bySupplier.computeIfAbsent(entry.supplierId(), id -> new CompressedBitmap()).add(productId);
+        }
+        if (entry.status() != null) {
+            byStatus.computeIfAbsent(entry.status(), s -> new CompressedBitmap()).add(productId);
+        }
+        if (entry.price() != null) {
+            byBand[band(entry.price())].add(productId);
+        }
+    }
+
+    // Write lock held
+    private void remove(Long productId) {
+        if (fitsBitmap(productId)) {
+            remove(productId.intValue());
+        } else {
+            outOfRange.remove(productId);
+        }
+    }
+
+    // Write lock held
+    private void remove(int productId) {
+        Values entry = values.remove(productId);
+        if (entry == null) {
+            return;
+        }
+        live.remove(productId);
+        removeFrom(byCategory, entry.categoryId(), productId);
+        removeFrom(bySupplier, entry.supplierId(), productId);
+        removeFrom(byStatus, entry.status(), productId);
+        if (entry.price() != null) {
+            byBand[band(entry.price())].remove(productId);
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, CompressedBitmap> bitmaps, K key, int productId) {
+        if (key == null) {
+            return;
+        }
+        CompressedBitmap bitmap = bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.remove(productId);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    private static boolean fitsBitmap(Long productId) {
+        return productId >= 0 && productId <= Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,10 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.enums.ProductStatus;
+
+import java.math.BigDecimal;
+
+// The facet values ProductFacetIndex keeps per product
+public record ProductFacetRow(Long productId, Long categoryId, Long supplierId, ProductStatus status,
+                              BigDecimal price, Boolean deleted) {
+}
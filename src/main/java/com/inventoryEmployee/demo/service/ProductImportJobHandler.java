@@ -0,0 +1,100 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.dto.response.ImportReportResponse;
+import com.inventoryEmployee.demo.enums.JobType;
+import com.opencsv.CSVWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+// Product import (CSV or XLSX) as a job. The checkpoint is the number of data rows read, stored in
+// the same transaction as each chunk's inserts; a resumed run skips that many rows. Row
+// errors are appended to the result file (Line, SKU, Error) before the chunk commits.
+@Component
+@RequiredArgsConstructor
+public class ProductImportJobHandler implements JobHandler {
+
+    private static final String[] ERROR_HEADER = {"Line", "SKU", "Error"};
+
+    private final ProductImporter productImporter;
+
+    @Override
+    public JobType getType() {
+        return JobType.PRODUCT_IMPORT;
+    }
+
+    @Override
+    public void run(JobExecution execution) throws IOException {
+        try (FileChannel result = execution.openResult()) {
+            ProductImporter.Progress progress = new ProductImporter.Progress() {
+                @Override
+                public long rowsToSkip() {
+                    return execution.getCheckpoint();
+                }
+
+                @Override
+                public void chunkCompleted(long rowsRead, int imported, List<ImportReportResponse.RowError> errors) {
+                    long size = appendErrors(result, execution, errors);
+                    execution.checkpoint(rowsRead, size, rowsRead - execution.getCheckpoint(), imported, errors.size());
+                }
+
+                @Override
+                public boolean isCancelled() {
+                    return execution.isCancelRequested();
+                }
+            };
+
+            if (ImportExportService.isXlsx(execution.getInputPath().toString())) {
+                productImporter.importXlsx(execution.getInputPath(), execution.getAuditContext(), progress);
+            } else {
+                try (InputStream in = Files.newInputStream(execution.getInputPath())) {
+                    productImporter.importCsv(in, execution.getAuditContext(), progress);
+                }
+            }
+
+            // Nothing was checkpointed (empty file): still leave a report with its header
+            if (execution.getResultSize() == 0) {
+                long size = appendErrors(result, execution, List.of());
+                execution.checkpoint(execution.getCheckpoint(), size, 0, 0, 0);
+            }
+        }
+    }
+
+    // Write from the last committed length: a chunk whose transaction rolled back (and is
+    // being retried) may have appended its errors already
+    private long appendErrors(FileChannel result, JobExecution execution, List<ImportReportResponse.RowError> errors) {
+        StringWriter buffer = new StringWriter();
+        try (CSVWriter writer = new CSVWriter(buffer)) {
+            if (execution.getResultSize() == 0) {
+                writer.writeNext(ERROR_HEADER);
+            }
+            for (ImportReportResponse.RowError error : errors) {
+                writer.writeNext(new String[]{String.valueOf(error.getLineNumber()), error.getSku(), error.getError()});
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            result.truncate(execution.getResultSize());
+            result.position(execution.getResultSize());
+            ByteBuffer bytes = ByteBuffer.wrap(buffer.toString().getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                result.write(bytes);
+            }
+            result.force(false);
+            return result.position();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the import error report", e);
+        }
+    }
+}
@@ -0,0 +1,536 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.dto.response.ImportReportResponse;
+import com.inventoryEmployee.demo.entity.Category;
+import com.inventoryEmployee.demo.entity.Product;
+import com.inventoryEmployee.demo.entity.Supplier;
+import com.inventoryEmployee.demo.enums.ProductStatus;
+import com.inventoryEmployee.demo.repository.CategoryRepository;
+import com.inventoryEmployee.demo.repository.ProductBatchRepository;
+import com.inventoryEmployee.demo.repository.ProductRepository;
+import com.inventoryEmployee.demo.repository.SupplierRepository;
+import com.inventoryEmployee.demo.util.BloomFilter;
+import com.inventoryEmployee.demo.util.XlsxRowReader;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Product import (CSV or XLSX) for large files. Rows are read as a stream in chunks; each chunk is
+// validated in parallel, checked for SKU / barcode clashes with one IN query per column
+// (only for keys the Bloom filter of the existing catalog can't rule out), and inserted
+// with its inventory rows in JDBC batches in its own transaction. Bad rows end up in the
+// report with their line number instead of failing the import.
+//
+// Columns are matched by header name (Name, SKU, Description, Price, Barcode, Cost Price,
+// Unit, Manufacturer, Model, Category, Supplier), so a product export can be re-imported.
+// Name, SKU and Price are required; Category / Supplier are looked up by name.
+@Service
+@Slf4j
+public class ProductImporter {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "sku", "price");
+
+    private final ProductRepository productRepository;
+    private final ProductBatchRepository productBatchRepository;
+    private final CategoryRepository categoryRepository;
+    private final SupplierRepository supplierRepository;
+    private final AuditService auditService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ForkJoinPool validationPool;
+
+    @Value("${inventory.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${inventory.import.expected-new-rows:250000}")
+    private long expectedNewRows;
+
+    @Value("${inventory.import.bloom-false-positive-rate:0.01}")
+    private double bloomFalsePositiveRate;
+
+    @Value("${inventory.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public ProductImporter(ProductRepository productRepository,
+                           ProductBatchRepository productBatchRepository,
+                           CategoryRepository categoryRepository,
+                           SupplierRepository supplierRepository,
+                           AuditService auditService,
+                           ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${inventory.import.validation-threads:0}") int validationThreads) {
+        this.productRepository = productRepository;
+        this.productBatchRepository = productBatchRepository;
+        this.categoryRepository = categoryRepository;
+        this.supplierRepository = supplierRepository;
+        this.auditService = auditService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Own pool so a large import doesn't occupy the common pool
+        this.validationPool = new ForkJoinPool(validationThreads > 0
+                ? validationThreads : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        validationPool.shutdownNow();
+    }
+
+    // Hook for callers that keep their own progress (background jobs). chunkCompleted runs inside
+    // the transaction that inserted the chunk (or one of its own if nothing was inserted), so a
+    // checkpoint stored there always matches the data.
+    public interface Progress {
+
+        Progress NONE = new Progress() {
+        };
+
+        // Data rows already handled by an earlier, interrupted run
+        default long rowsToSkip() {
+            return 0;
+        }
+
+        default void chunkCompleted(long rowsRead, int imported, List<ImportReportResponse.RowError> errors) {
+        }
+
+        // Checked between chunks
+        default boolean isCancelled() {
+            return false;
+        }
+    }
+
+    public ImportReportResponse importCsv(InputStream in) {
+        return importCsv(in, auditService.captureContext(), Progress.NONE);
+    }
+
+    public ImportReportResponse importCsv(InputStream in, AuditContext auditContext, Progress progress) {
+        Import state = begin(auditContext, progress);
+        try (CSVReader reader = new CSVReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String[] row;
+            while ((row = reader.readNext()) != null && state.accept(reader.getLinesRead(), row)) {
+                // accept() returns false once the import is cancelled
+            }
+        } catch (IOException | CsvValidationException e) {
+            log.error("Error importing products from CSV", e);
+            throw new RuntimeException("Failed to import products: " + e.getMessage(), e);
+        }
+        return state.finish();
+    }
+
+    public ImportReportResponse importXlsx(Path file) {
+        return importXlsx(file, auditService.captureContext(), Progress.NONE);
+    }
+
+    // Same pipeline, fed row by row from a SAX pass over the first sheet (see XlsxRowReader)
+    public ImportReportResponse importXlsx(Path file, AuditContext auditContext, Progress progress) {
+        Import state = begin(auditContext, progress);
+        try {
+            XlsxRowReader.read(file, state::accept);
+        } catch (IOException e) {
+            log.error("Error importing products from XLSX", e);
+            throw new RuntimeException("Failed to import products: " + e.getMessage(), e);
+        }
+        return state.finish();
+    }
+
+    private Import begin(AuditContext auditContext, Progress progress) {
+        return new Import(loadNameIndex(categoryRepository.findAll(), Category::getName, Category::getId,
+                Category::getDeleted), loadNameIndex(supplierRepository.findAll(), Supplier::getName,
+                Supplier::getId, Supplier::getDeleted), loadCatalogFilter(), auditContext, progress);
+    }
+
+    private void processChunk(Import state, Map<String, Integer> columns, List<RawRow> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        state.totalRows += chunk.size();
+
+        List<ValidatedRow> validated = validationPool.submit(() -> chunk.parallelStream()
+                .map(row -> validate(row, columns, state))
+                .toList()).join();
+
+        List<Candidate> candidates = new ArrayList<>(validated.size());
+        for (ValidatedRow row : validated) {
+            if (row.error() != null) {
+                state.fail(row.line(), row.sku(), row.error());
+            } else {
+                candidates.add(row.candidate());
+            }
+        }
+
+        candidates = rejectDuplicates(state, candidates, true);
+        if (candidates.isEmpty()) {
+            completeChunk(state);
+            return;
+        }
+
+        try {
+            insert(state, candidates);
+        } catch (DataIntegrityViolationException e) {
+            // Most likely a product created concurrently with the same SKU / barcode:
+            // re-check every key against the database and try once more
+            log.warn("Import chunk rejected by the database, re-checking {} rows: {}",
+                    candidates.size(), e.getMostSpecificCause().getMessage());
+            candidates = rejectDuplicates(state, candidates, false);
+            try {
+                insert(state, candidates);
+            } catch (DataIntegrityViolationException retryFailure) {
+                String message = "Rejected by the database: " + retryFailure.getMostSpecificCause().getMessage();
+                candidates.forEach(candidate -> state.fail(candidate.line(), candidate.sku(), message));
+                completeChunk(state);
+            }
+        }
+    }
+
+    // Chunk with nothing to insert: report progress in a transaction of its own
+    private void completeChunk(Import state) {
+        if (state.progress != Progress.NONE) {
+            transactionTemplate.executeWithoutResult(status ->
+                    state.progress.chunkCompleted(state.rowsRead, 0, List.copyOf(state.chunkErrors)));
+        }
+        state.chunkErrors.clear();
+    }
+
+    // Clashes inside the chunk first, then against the catalog. Rows from earlier chunks are
+    // already committed, so the catalog check covers duplicates across chunks as well.
+    private List<Candidate> rejectDuplicates(Import state, List<Candidate> candidates, boolean useFilter) {
+        Set<String> skusToCheck = new HashSet<>();
+        Set<String> barcodesToCheck = new HashSet<>();
+        for (Candidate candidate : candidates) {
+            if (!useFilter || state.catalog.mightContain(skuKey(candidate.sku()))) {
+                skusToCheck.add(candidate.sku());
+            }
+            if (candidate.barcode() != null
+                    && (!useFilter || state.catalog.mightContain(barcodeKey(candidate.barcode())))) {
+                barcodesToCheck.add(candidate.barcode());
+            }
+        }
+
+        Set<String> existingSkus = normalized(skusToCheck.isEmpty() ? List.of()
+                : readOnlyTransaction.execute(status -> productRepository.findExistingSkus(skusToCheck)));
+        Set<String> existingBarcodes = normalized(barcodesToCheck.isEmpty() ? List.of()
+                : readOnlyTransaction.execute(status -> productRepository.findExistingBarcodes(barcodesToCheck)));
+
+        Set<String> chunkSkus = new HashSet<>();
+        Set<String> chunkBarcodes = new HashSet<>();
+        List<Candidate> accepted = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            String sku = normalize(candidate.sku());
+            String barcode = candidate.barcode() != null ? normalize(candidate.barcode()) : null;
+
+            if (existingSkus.contains(sku)) {
+                state.fail(candidate.line(), candidate.sku(), "SKU already exists");
+            } else if (barcode != null && existingBarcodes.contains(barcode)) {
+                state.fail(candidate.line(), candidate.sku(), "Barcode " + candidate.barcode() + " already exists");
+            } else if (!chunkSkus.add(sku)) {
+                state.fail(candidate.line(), candidate.sku(), "Duplicate SKU in file");
+            } else if (barcode != null && !chunkBarcodes.add(barcode)) {
+                state.fail(candidate.line(), candidate.sku(), "Duplicate barcode " + candidate.barcode() + " in file");
+            } else {
+                accepted.add(candidate);
+            }
+        }
+        return accepted;
+    }
+
+    private void insert(Import state, List<Candidate> candidates) {
+        List<Product> products = transactionTemplate.execute(status -> {
+            List<Product> created = new ArrayList<>(candidates.size());
+            for (Candidate candidate : candidates) {
+                created.add(toProduct(candidate));
+            }
+            productBatchRepository.insertAll(created);
+
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> productIds = new ArrayList<>(created.size());
+            for (Product product : created) {
+                productIds.add(product.getId());
+                auditService.logAction(state.auditContext, "Product", product.getId(), "CREATE", null, product, now);
+            }
+            eventPublisher.publishEvent(new ProductChangedEvent(productIds));
+            state.progress.chunkCompleted(state.rowsRead, created.size(), List.copyOf(state.chunkErrors));
+            return created;
+        });
+        state.chunkErrors.clear();
+
+        for (Product product : products) {
+            state.catalog.add(skuKey(product.getSku()));
+            if (product.getBarcode() != null) {
+                state.catalog.add(barcodeKey(product.getBarcode()));
+            }
+        }
+        state.importedRows += products.size();
+    }
+
+    // Entities are built fresh for every attempt: a rolled-back persist leaves ids behind
+    private Product toProduct(Candidate candidate) {
+        Product product = Product.builder()
+                .name(candidate.name())
+                .sku(candidate.sku())
+                .description(candidate.description())
+                .price(candidate.price())
+                .costPrice(candidate.costPrice())
+                .barcode(candidate.barcode())
+                .unit(candidate.unit())
+                .manufacturer(candidate.manufacturer())
+                .model(candidate.model())
+                .status(ProductStatus.ACTIVE)
+                .category(candidate.categoryId() != null
+                        ? categoryRepository.getReferenceById(candidate.categoryId()) : null)
+                .supplier(candidate.supplierId() != null
+                        ? supplierRepository.getReferenceById(candidate.supplierId()) : null)
+                .build();
+        product.setInventory(InventoryService.newInventoryFor(product));
+        return product;
+    }
+
+    // Pure function of the row, safe to run on the validation pool
+    private ValidatedRow validate(RawRow raw, Map<String, Integer> columns, Import state) {
+        String sku = cell(raw, columns, "sku");
+        try {
+            String name = cell(raw, columns, "name");
+            require(name != null, "Name is required");
+            require(name.length() <= 200, "Name is longer than 200 characters");
+            require(sku != null, "SKU is required");
+            require(sku.length() <= 50, "SKU is longer than 50 characters");
+
+            BigDecimal price = decimal(cell(raw, columns, "price"), "Price");
+            require(price != null, "Price is required");
+            require(price.signum() > 0, "Price must be greater than 0");
+            BigDecimal costPrice = decimal(cell(raw, columns, "cost price"), "Cost Price");
+            require(costPrice == null || costPrice.signum() >= 0, "Cost Price must not be negative");
+
+            String barcode = cell(raw, columns, "barcode");
+            require(barcode == null || barcode.length() <= 13, "Barcode is longer than 13 characters");
+            String unit = cell(raw, columns, "unit");
+            require(unit == null || unit.length() <= 50, "Unit is longer than 50 characters");
+            String manufacturer = cell(raw, columns, "manufacturer");
+            require(manufacturer == null || manufacturer.length() <= 100, "Manufacturer is longer than 100 characters");
+            String model = cell(raw, columns, "model");
+            require(model == null || model.length() <= 50, "Model is longer than 50 characters");
+
+            String category = cell(raw, columns, "category");
+            Long categoryId = category != null ? state.categories.get(normalize(category)) : null;
+            require(category == null || categoryId != null, "Unknown category: " + category);
+            String supplier = cell(raw, columns, "supplier");
+            Long supplierId = supplier != null ? state.suppliers.get(normalize(supplier)) : null;
+            require(supplier == null || supplierId != null, "Unknown supplier: " + supplier);
+
+            return new ValidatedRow(raw.line(), sku, new Candidate(raw.line(), name, sku,
+                    cell(raw, columns, "description"), price, costPrice, barcode, unit, manufacturer, model,
+                    categoryId, supplierId), null);
+        } catch (IllegalArgumentException e) {
+            return new ValidatedRow(raw.line(), sku, null, e.getMessage());
+        }
+    }
+
+    private BloomFilter loadCatalogFilter() {
+        long catalogSize = productRepository.count();
+        // Both SKUs and barcodes go in, hence twice the rows
+        BloomFilter filter = new BloomFilter(2 * (catalogSize + expectedNewRows), bloomFalsePositiveRate);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = productRepository.streamSkusAndBarcodes()) {
+                rows.forEach(row -> {
+                    filter.add(skuKey((String) row[0]));
+                    if (row[1] != null) {
+                        filter.add(barcodeKey((String) row[1]));
+                    }
+                });
+            }
+        });
+        return filter;
+    }
+
+    private static <T> Map<String, Long> loadNameIndex(List<T> entities,
+                                                       Function<T, String> name,
+                                                       Function<T, Long> id,
+                                                       Function<T, Boolean> deleted) {
+        Map<String, Long> index = new HashMap<>();
+        for (T entity : entities) {
+            if (!Boolean.TRUE.equals(deleted.apply(entity)) && name.apply(entity) != null) {
+                index.putIfAbsent(normalize(name.apply(entity)), id.apply(entity));
+            }
+        }
+        return index;
+    }
+
+    private static Map<String, Integer> columnIndex(String[] header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            // Strip a UTF-8 BOM from the first header cell (files saved by Excel)
+            String name = i == 0 ? header[i].replace("\uFEFF", "") : header[i];
+            columns.putIfAbsent(normalize(name), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing the required column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    // Trimmed cell value, null when the column is absent or the cell is blank
+    private static String cell(RawRow raw, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= raw.values().length) {
+            return null;
+        }
+        String value = raw.values()[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static BigDecimal decimal(String value, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+
+    private static void require(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    // MySQL's default collation compares case- and trailing-space-insensitively
+    private static String normalize(String value) {
+        return value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> normalized(Collection<String> values) {
+        Set<String> result = new HashSet<>();
+        for (String value : values) {
+            result.add(normalize(value));
+        }
+        return result;
+    }
+
+    private static String skuKey(String sku) {
+        return "s:" + normalize(sku);
+    }
+
+    private static String barcodeKey(String barcode) {
+        return "b:" + normalize(barcode);
+    }
+
+    private record RawRow(long line, String[] values) {
+    }
+
+    private record Candidate(long line, String name, String sku, String description, BigDecimal price,
+                             BigDecimal costPrice, String barcode, String unit, String manufacturer,
+                             String model, Long categoryId, Long supplierId) {
+    }
+
+    private record ValidatedRow(long line, String sku, Candidate candidate, String error) {
+    }
+
+    // Per-import state; only touched by the importing thread (validation reads the lookups)
+    private class Import {
+
+        private final Map<String, Long> categories;
+        private final Map<String, Long> suppliers;
+        private final BloomFilter catalog;
+        private final AuditContext auditContext;
+        private final Progress progress;
+
+        private final List<ImportReportResponse.RowError> errors = new ArrayList<>();
+        private final List<ImportReportResponse.RowError> chunkErrors = new ArrayList<>();
+        private final long start = System.currentTimeMillis();
+        private Map<String, Integer> columns;
+        private List<RawRow> chunk = new ArrayList<>(chunkSize);
+        private boolean cancelled;
+        private long rowsRead;
+        private int totalRows;
+        private int importedRows;
+        private int failedRows;
+
+        private Import(Map<String, Long> categories, Map<String, Long> suppliers,
+                       BloomFilter catalog, AuditContext auditContext, Progress progress) {
+            this.categories = categories;
+            this.suppliers = suppliers;
+            this.catalog = catalog;
+            this.auditContext = auditContext;
+            this.progress = progress;
+        }
+
+        // First row is the header. Returns false once the import is cancelled.
+        private boolean accept(long line, String[] row) {
+            if (columns == null) {
+                columns = columnIndex(row);
+                return true;
+            }
+            if (++rowsRead <= progress.rowsToSkip() || Arrays.stream(row).allMatch(String::isBlank)) {
+                return true; // Already imported / empty line
+            }
+
+            chunk.add(new RawRow(line, row));
+            if (chunk.size() == chunkSize) {
+                processChunk(this, columns, chunk);
+                chunk = new ArrayList<>(chunkSize);
+                cancelled = progress.isCancelled();
+            }
+            return !cancelled;
+        }
+
+        private ImportReportResponse finish() {
+            if (!cancelled && columns != null) {
+                processChunk(this, columns, chunk);
+            }
+            ImportReportResponse report = report();
+            log.info("Imported {} of {} products ({} failed) in {} ms", report.getImportedRows(),
+                    report.getTotalRows(), report.getFailedRows(), System.currentTimeMillis() - start);
+            return report;
+        }
+
+        private void fail(long line, String sku, String error) {
+            ImportReportResponse.RowError rowError = ImportReportResponse.RowError.builder()
+                    .lineNumber(line)
+                    .sku(sku)
+                    .error(error)
+                    .build();
+            failedRows++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(rowError);
+            }
+            if (progress != Progress.NONE) {
+                chunkErrors.add(rowError);
+            }
+        }
+
+        private ImportReportResponse report() {
+            errors.sort(Comparator.comparing(ImportReportResponse.RowError::getLineNumber));
+            return ImportReportResponse.builder()
+                    .totalRows(totalRows)
+                    .importedRows(importedRows)
+                    .failedRows(failedRows)
+                    .errorsTruncated(failedRows > errors.size())
+                    .errors(errors)
+                    .build();
+        }
+    }
+}
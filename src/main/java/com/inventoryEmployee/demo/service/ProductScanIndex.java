@@ -0,0 +1,185 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.repository.ProductRepository;
+import com.inventoryEmployee.demo.util.OffHeapProductIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+// SKU / barcode -> product lookups for scanners, served from an OffHeapProductIndex so a
+// scan costs no query and no connection. Kept current the same way as StockLevelIndex:
+// built at startup from a streaming scan, then products from ProductChangedEvent and (for
+// the available quantity) StockLevelChangedEvent are re-read by an IndexRefresher. Grows by
+// copying into an index of twice the capacity.
+//
+// The index can lag a commit by one refresh interval, so callers treat a miss as "ask the
+// database", never as "does not exist".
+@Service
+@Slf4j
+public class ProductScanIndex {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final IndexRefresher<ProductScanRow> refresher;
+
+    // Null until the first build finishes; replaced whole when the index grows
+    private volatile OffHeapProductIndex index;
+
+    @Value("${inventory.scan-index.dir:${java.io.tmpdir}/inventory-scan-index}")
+    private Path dir;
+
+    public ProductScanIndex(ProductRepository productRepository, PlatformTransactionManager transactionManager,
+                            @Value("${inventory.scan-index.refresh-batch-size:500}") int refreshBatchSize) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.refresher = new IndexRefresher<>("Product scan index", readOnlyTransaction, refreshBatchSize,
+                productRepository::findForScanIndex, ProductScanRow::productId, this::apply);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        synchronized (this) {
+            long live = readOnlyTransaction.execute(status -> productRepository.countByDeletedFalse());
+            OffHeapProductIndex[] building = {newIndex((int) Math.min(Integer.MAX_VALUE / 2, live + live / 4 + 1024))};
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ProductScanRow> rows = productRepository.streamForScanIndex()) {
+                    rows.forEach(row -> building[0] = put(building[0], row));
+                }
+            });
+            swap(building[0]);
+        }
+
+        log.info("Product scan index built: {} products in {} ms", index.size(), System.currentTimeMillis() - start);
+
+        // Changes that committed while the scan was running
+        refresh();
+    }
+
+    // Without a transaction (e.g. scheduled jobs) the event is handled immediately
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        refresher.markDirty(event.productIds());
+    }
+
+    // The index holds the available quantity
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockLevelChanged(StockLevelChangedEvent event) {
+        refresher.markDirty(event.productIds());
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.scan-index.refresh-interval-ms:200}")
+    public void refresh() {
+        if (index != null) {
+            refresher.refresh();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (index != null) {
+            closeQuietly(index);
+            index = null;
+        }
+    }
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    // Product id, OffHeapProductIndex.NOT_FOUND, or NOT_INDEXABLE (also before the first build)
+    public long findProductId(OffHeapProductIndex.KeyType type, String code) {
+        OffHeapProductIndex current = index;
+        return current != null ? current.findProductId(type, code) : OffHeapProductIndex.NOT_INDEXABLE;
+    }
+
+    // The indexed fields of a product, or null when not in the index
+    public OffHeapProductIndex.Entry find(OffHeapProductIndex.KeyType type, String code) {
+        OffHeapProductIndex current = index;
+        return current != null ? current.find(type, code) : null;
+    }
+
+    private synchronized void apply(List<ProductScanRow> rows, Set<Long> missing) {
+        OffHeapProductIndex current = index;
+        if (current == null) {
+            return; // closed on shutdown
+        }
+        for (ProductScanRow row : rows) {
+            if (Boolean.TRUE.equals(row.deleted())) {
+                current.remove(row.productId(), row.sku());
+            } else {
+                current = put(current, row);
+            }
+        }
+        missing.forEach(current::removeProduct);
+        if (current != index) {
+            swap(current);
+        }
+    }
+
+    // Returns the index the row ended up in: the given one, or a bigger copy when it was full
+    private OffHeapProductIndex put(OffHeapProductIndex target, ProductScanRow row) {
+        while (!target.put(row.productId(), row.sku(), row.barcode(), row.price(), row.quantityAvailable(),
+                row.status())) {
+            target = grow(target);
+        }
+        return target;
+    }
+
+    private OffHeapProductIndex grow(OffHeapProductIndex from) {
+        OffHeapProductIndex to = newIndex((int) Math.min(Integer.MAX_VALUE / 2, (long) from.capacity() * 2));
+        from.forEach(entry -> to.put(entry.productId(), entry.sku(), entry.barcode(), entry.price(),
+                entry.quantityAvailable(), entry.status()));
+        // Never published yet when growing during a build; otherwise swap() closes it
+        if (from != index) {
+            closeQuietly(from);
+        }
+        log.info("Product scan index grown to {} records", to.capacity());
+        return to;
+    }
+
+    // Readers still holding the old index keep a valid mapping until they let go of it
+    private void swap(OffHeapProductIndex next) {
+        OffHeapProductIndex previous = index;
+        index = next;
+        if (previous != null && previous != next) {
+            closeQuietly(previous);
+        }
+    }
+
+    private OffHeapProductIndex newIndex(int recordCapacity) {
+        try {
+            Files.createDirectories(dir);
+            return OffHeapProductIndex.create(dir.resolve("products-" + UUID.randomUUID() + ".idx"), recordCapacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create product scan index in " + dir, e);
+        }
+    }
+
+    private void closeQuietly(OffHeapProductIndex target) {
+        try {
+            target.close();
+        } catch (IOException e) {
+            log.warn("Could not delete product scan index file: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.enums.ProductStatus;
+
+import java.math.BigDecimal;
+
+// The fields ProductScanIndex keeps per product
+public record ProductScanRow(Long productId, String sku, String barcode, BigDecimal price,
+                             ProductStatus status, Integer quantityAvailable, Boolean deleted) {
+}
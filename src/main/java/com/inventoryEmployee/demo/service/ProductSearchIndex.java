@@ -0,0 +1,375 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.enums.ProductStatus;
+import com.inventoryEmployee.demo.repository.CategoryRepository;
+import com.inventoryEmployee.demo.repository.ProductRepository;
+import com.inventoryEmployee.demo.repository.SupplierRepository;
+import com.inventoryEmployee.demo.util.InvertedIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Ranked full-text product search over name, SKU, description, category name and supplier
+// name, replacing LIKE '%term%' scans. Products, categories and suppliers each have an
+// InvertedIndex; a category or supplier hit expands to its products.
+//
+// Every query token must match (AND). A token scores its best match per product: match
+// quality (exact > prefix > infix) x field weight (SKU > name > category / supplier >
+// description). Results are ordered by total score, then name, then id.
+//
+// Kept current like StockLevelIndex: built at startup, then products from
+// ProductChangedEvent and categories / suppliers from their change events are re-read by
+// IndexRefreshers. Until the first build finishes, search() returns null and callers query
+// the database.
+@Service
+@Slf4j
+public class ProductSearchIndex {
+
+    public enum Field {
+        NAME(1, 4), SKU(2, 5), DESCRIPTION(4, 1), CATEGORY(8, 2), SUPPLIER(16, 2);
+
+        private final int bit;
+        private final int weight;
+
+        Field(int bit, int weight) {
+            this.bit = bit;
+            this.weight = weight;
+        }
+    }
+
+    // Optional constraints on the matches; null means any
+    public record Filter(Long categoryId, Long supplierId, ProductStatus status,
+                         BigDecimal minPrice, BigDecimal maxPrice) {
+
+        public static final Filter NONE = new Filter(null, null, null, null, null);
+
+        boolean accepts(Document document) {
+            return (categoryId == null || categoryId.equals(document.categoryId()))
+                    && (supplierId == null || supplierId.equals(document.supplierId()))
+                    && (status == null || status == document.status())
+                    && (minPrice == null || document.price() != null && document.price().compareTo(minPrice) >= 0)
+                    && (maxPrice == null || document.price() != null && document.price().compareTo(maxPrice) <= 0);
+        }
+    }
+
+    // One page of product ids, best first, and the number of matches
+    public record Hits(List<Long> productIds, long total) {
+    }
+
+    private record Document(long productId, String name, Long categoryId, Long supplierId, ProductStatus status,
+                            BigDecimal price, String[] terms) {
+    }
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final SupplierRepository supplierRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final IndexRefresher<ProductSearchRow> productRefresher;
+    private final IndexRefresher<SearchNameRow> categoryRefresher;
+    private final IndexRefresher<SearchNameRow> supplierRefresher;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final InvertedIndex productTerms = new InvertedIndex();
+    private final InvertedIndex categoryTerms = new InvertedIndex();
+    private final InvertedIndex supplierTerms = new InvertedIndex();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<Long, String[]> categoryNames = new HashMap<>();
+    private final Map<Long, String[]> supplierNames = new HashMap<>();
+    private final Map<Long, Set<Long>> productsByCategory = new HashMap<>();
+    private final Map<Long, Set<Long>> productsBySupplier = new HashMap<>();
+
+
+    private volatile boolean ready;
+
+    public ProductSearchIndex(ProductRepository productRepository,
+                              CategoryRepository categoryRepository,
+                              SupplierRepository supplierRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${inventory.search-index.refresh-batch-size:500}") int refreshBatchSize) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.supplierRepository = supplierRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.productRefresher = new IndexRefresher<>("Product search index", readOnlyTransaction, refreshBatchSize,
+                productRepository::findForSearchIndex, ProductSearchRow::productId, this::applyProducts);
+        this.categoryRefresher = new IndexRefresher<>("Product search index (categories)", readOnlyTransaction,
+                refreshBatchSize, categoryRepository::findSearchNames, SearchNameRow::id,
+                (rows, missing) -> applyNames(categoryTerms, categoryNames, rows, missing));
+        this.supplierRefresher = new IndexRefresher<>("Product search index (suppliers)", readOnlyTransaction,
+                refreshBatchSize, supplierRepository::findSearchNames, SearchNameRow::id,
+                (rows, missing) -> applyNames(supplierTerms, supplierNames, rows, missing));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        ready = false;
+
+        lock.writeLock().lock();
+        try {
+            for (Long productId : new ArrayList<>(documents.keySet())) {
+                removeProduct(productId);
+            }
+            new ArrayList<>(categoryNames.keySet()).forEach(id -> putName(categoryTerms, categoryNames, id, null));
+            new ArrayList<>(supplierNames.keySet()).forEach(id -> putName(supplierTerms, supplierNames, id, null));
+
+            readOnlyTransaction.executeWithoutResult(status -> {
+                categoryRepository.findSearchNames()
+                        .forEach(row -> putName(categoryTerms, categoryNames, row.id(), row.name()));
+                supplierRepository.findSearchNames()
+                        .forEach(row -> putName(supplierTerms, supplierNames, row.id(), row.name()));
+                try (Stream<ProductSearchRow> rows = productRepository.streamForSearchIndex()) {
+                    rows.forEach(this::putProduct);
+                }
+            });
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Product search index built: {} products, {} terms in {} ms", documents.size(),
+                productTerms.termCount(), System.currentTimeMillis() - start);
+
+        // Changes that committed while the scan was running
+        refresh();
+    }
+
+    // Without a transaction (e.g. scheduled jobs) the events are handled immediately
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        productRefresher.markDirty(event.productIds());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        categoryRefresher.markDirty(event.categoryId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSupplierChanged(SupplierChangedEvent event) {
+        supplierRefresher.markDirty(event.supplierId());
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.search-index.refresh-interval-ms:200}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        categoryRefresher.refresh();
+        supplierRefresher.refresh();
+        productRefresher.refresh();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Null when the index can't answer (not built yet, or no word characters in the query)
+    public Hits search(String query, Set<Field> fields, Filter filter, long offset, int limit) {
+        if (!ready) {
+            return null;
+        }
+        List<String> tokens = InvertedIndex.tokenize(query).stream().distinct().toList();
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        int fieldMask = 0;
+        for (Field field : fields) {
+            fieldMask |= field.bit;
+        }
+
+        lock.readLock().lock();
+        try {
+            // Product id -> summed score over the tokens matched so far
+            Map<Long, Integer> scores = null;
+            for (String token : tokens) {
+                Map<Long, Integer> tokenScores = score(token, fieldMask);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    Map<Long, Integer> previous = scores;
+                    scores = new HashMap<>();
+                    for (Map.Entry<Long, Integer> entry : tokenScores.entrySet()) {
+                        Integer score = previous.get(entry.getKey());
+                        if (score != null) {
+                            scores.put(entry.getKey(), score + entry.getValue());
+                        }
+                    }
+                }
+                if (scores.isEmpty()) {
+                    return new Hits(List.of(), 0);
+                }
+            }
+
+            List<Document> matches = new ArrayList<>(scores.size());
+            for (Long productId : scores.keySet()) {
+                Document document = documents.get(productId);
+                if (document != null && filter.accepts(document)) {
+                    matches.add(document);
+                }
+            }
+            Map<Long, Integer> totals = scores;
+            matches.sort(Comparator.comparingInt((Document d) -> -totals.get(d.productId()))
+                    .thenComparing(Document::name, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                    .thenComparingLong(Document::productId));
+
+            int from = (int) Math.min(offset, matches.size());
+            int to = (int) Math.min((long) from + limit, matches.size());
+            return new Hits(matches.subList(from, to).stream().map(Document::productId).toList(), matches.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best score per product for one token, over the allowed fields
+    private Map<Long, Integer> score(String token, int fieldMask) {
+        Map<Long, Integer> scores = new HashMap<>();
+        int productFields = fieldMask & (Field.NAME.bit | Field.SKU.bit | Field.DESCRIPTION.bit);
+        if (productFields != 0) {
+            productTerms.match(token, (match, postings) -> {
+                for (Map.Entry<Long, Integer> posting : postings.entrySet()) {
+                    int weight = weight(posting.getValue() & productFields);
+                    if (weight > 0) {
+                        scores.merge(posting.getKey(), match.quality() * weight, Math::max);
+                    }
+                }
+            });
+        }
+        if ((fieldMask & Field.CATEGORY.bit) != 0) {
+            scoreGroups(token, categoryTerms, productsByCategory, Field.CATEGORY.weight, scores);
+        }
+        if ((fieldMask & Field.SUPPLIER.bit) != 0) {
+            scoreGroups(token, supplierTerms, productsBySupplier, Field.SUPPLIER.weight, scores);
+        }
+        return scores;
+    }
+
+    private static void scoreGroups(String token, InvertedIndex names, Map<Long, Set<Long>> products, int weight,
+                                    Map<Long, Integer> scores) {
+        names.match(token, (match, postings) -> {
+            for (Long groupId : postings.keySet()) {
+                for (Long productId : products.getOrDefault(groupId, Set.of())) {
+                    scores.merge(productId, match.quality() * weight, Math::max);
+                }
+            }
+        });
+    }
+
+    private static int weight(int fieldMask) {
+        int weight = 0;
+        for (Field field : Field.values()) {
+            if ((fieldMask & field.bit) != 0) {
+                weight = Math.max(weight, field.weight);
+            }
+        }
+        return weight;
+    }
+
+    private void applyProducts(List<ProductSearchRow> rows, Set<Long> missing) {
+        lock.writeLock().lock();
+        try {
+            for (ProductSearchRow row : rows) {
+                if (Boolean.TRUE.equals(row.deleted())) {
+                    removeProduct(row.productId());
+                } else {
+                    putProduct(row);
+                }
+            }
+            missing.forEach(this::removeProduct);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyNames(InvertedIndex terms, Map<Long, String[]> names, List<SearchNameRow> rows,
+                            Set<Long> missing) {
+        lock.writeLock().lock();
+        try {
+            rows.forEach(row -> putName(terms, names, row.id(), row.name()));
+            missing.forEach(id -> putName(terms, names, id, null));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Write lock held
+    private void putProduct(ProductSearchRow row) {
+        removeProduct(row.productId());
+
+        Map<String, Integer> fieldsByTerm = new LinkedHashMap<>();
+        addTerms(fieldsByTerm, InvertedIndex.tokenize(row.name()), Field.NAME);
+        addTerms(fieldsByTerm, InvertedIndex.tokenize(row.sku()), Field.SKU);
+        addTerms(fieldsByTerm, InvertedIndex.tokenize(row.description()), Field.DESCRIPTION);
+
+        long productId = row.productId();
+        fieldsByTerm.forEach((term, fields) -> productTerms.add(term, productId, fields));
+        documents.put(productId, new Document(productId, row.name(), row.categoryId(), row.supplierId(),
+                row.status(), row.price(), fieldsByTerm.keySet().toArray(String[]::new)));
+        if (row.categoryId() != null) {
+            productsByCategory.computeIfAbsent(row.categoryId(), id -> new HashSet<>()).add(productId);
+        }
+        if (row.supplierId() != null) {
+            productsBySupplier.computeIfAbsent(row.supplierId(), id -> new HashSet<>()).add(productId);
+        }
+    }
+
+    // Write lock held
+    private void removeProduct(Long productId) {
+        Document document = documents.remove(productId);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms()) {
+            productTerms.remove(term, productId);
+        }
+        removeMember(productsByCategory, document.categoryId(), productId);
+        removeMember(productsBySupplier, document.supplierId(), productId);
+    }
+
+    // Write lock held; a null name removes the entry
+    private static void putName(InvertedIndex terms, Map<Long, String[]> names, Long id, String name) {
+        String[] previous = names.remove(id);
+        if (previous != null) {
+            for (String term : previous) {
+                terms.remove(term, id);
+            }
+        }
+        if (name != null) {
+            String[] tokens = InvertedIndex.tokenize(name).stream().distinct().toArray(String[]::new);
+            for (String term : tokens) {
+                terms.add(term, id, 1);
+            }
+            names.put(id, tokens);
+        }
+    }
+
+    private static void addTerms(Map<String, Integer> fieldsByTerm, List<String> terms, Field field) {
+        for (String term : terms) {
+            fieldsByTerm.merge(term, field.bit, (a, b) -> a | b);
+        }
+    }
+
+    private static void removeMember(Map<Long, Set<Long>> groups, Long groupId, Long productId) {
+        if (groupId == null) {
+            return;
+        }
+        Set<Long> members = groups.get(groupId);
+        if (members != null && members.remove(productId) && members.isEmpty()) {
+            groups.remove(groupId);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.enums.ProductStatus;
+
+import java.math.BigDecimal;
+
+// The fields ProductSearchIndex indexes and filters on per product
+public record ProductSearchRow(Long productId, String name, String sku, String description, Long categoryId,
+                               Long supplierId, ProductStatus status, BigDecimal price, Boolean deleted) {
+}
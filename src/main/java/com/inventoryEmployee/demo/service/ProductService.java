@@ -3,17 +3,30 @@ package com.inventoryEmployee.demo.service;
 import com.inventoryEmployee.demo.entity.Product;
 import com.inventoryEmployee.demo.enums.ProductStatus;
 import com.inventoryEmployee.demo.exception.ResourceNotFoundException;
+import com.inventoryEmployee.demo.exception.ServiceUnavailableException;
+import com.inventoryEmployee.demo.repository.FilterSpecifications;
 import com.inventoryEmployee.demo.repository.ProductRepository;
+import com.inventoryEmployee.demo.util.OffHeapProductIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +37,13 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final AuditService auditService;
     private final InventoryService inventoryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductScanIndex productScanIndex;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetIndex productFacetIndex;
+
+    private static final OffHeapProductIndex.KeyType[] SCAN_ORDER =
+            {OffHeapProductIndex.KeyType.BARCODE, OffHeapProductIndex.KeyType.SKU};
 
     // Create new product
     public Product createProduct(Product product) {
@@ -46,6 +66,7 @@ public class ProductService {
         inventoryService.createInventoryForProduct(savedProduct);
 
         auditService.logAction("Product", savedProduct.getId(), "CREATE", null, savedProduct);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(savedProduct.getId())));
 
         return savedProduct;
     }
@@ -61,7 +82,8 @@ public class ProductService {
     // Get product by SKU
     @Transactional(readOnly = true)
     public Product getProductBySku(String sku) {
-        return productRepository.findBySku(sku)
+        return findIndexed(OffHeapProductIndex.KeyType.SKU, sku, Product::getSku)
+                .or(() -> productRepository.findBySku(sku))
                 .filter(product -> !product.getDeleted())
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with SKU: " + sku));
     }
@@ -69,11 +91,41 @@ public class ProductService {
     // Get product by barcode
     @Transactional(readOnly = true)
     public Product getProductByBarcode(String barcode) {
-        return productRepository.findByBarcode(barcode)
+        return findIndexed(OffHeapProductIndex.KeyType.BARCODE, barcode, Product::getBarcode)
+                .or(() -> productRepository.findByBarcode(barcode))
                 .filter(product -> !product.getDeleted())
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with barcode: " + barcode));
     }
 
+    // The scan index resolves the code to an id without allocating, so the entity comes from a
+    // primary key lookup. A miss, or a hit the index hasn't caught up with (the product was
+    // deleted or its code changed since), falls back to the query on the code.
+    private Optional<Product> findIndexed(OffHeapProductIndex.KeyType type, String code,
+                                          Function<Product, String> indexedCode) {
+        long productId = productScanIndex.findProductId(type, code);
+        if (productId < 0) {
+            return Optional.empty();
+        }
+        return productRepository.findById(productId)
+                .filter(product -> !product.getDeleted() && code.equals(indexedCode.apply(product)));
+    }
+
+    // Scanner lookup by barcode, then SKU. Served from the scan index when it has the code (no
+    // connection taken); otherwise, as the index can lag a commit, from the database
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ProductScanRow scanProduct(String code) {
+        for (OffHeapProductIndex.KeyType type : SCAN_ORDER) {
+            OffHeapProductIndex.Entry entry = productScanIndex.find(type, code);
+            if (entry != null) {
+                return new ProductScanRow(entry.productId(), entry.sku(), entry.barcode(), entry.price(),
+                        entry.status(), entry.quantityAvailable(), false);
+            }
+        }
+        return productRepository.findScanRowByBarcode(code)
+                .or(() -> productRepository.findScanRowBySku(code))
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with barcode or SKU: " + code));
+    }
+
     // Get all products
     @Transactional(readOnly = true)
     public Page<Product> getAllProducts(Pageable pageable) {
@@ -83,7 +135,9 @@ public class ProductService {
     // Global Search Service
     @Transactional(readOnly = true)
     public Page<Product> searchProductsGlobal(String keyword, Pageable pageable) {
-        return productRepository.searchGlobal(keyword, pageable);
+        Page<Product> ranked = searchIndexed(keyword, EnumSet.allOf(ProductSearchIndex.Field.class),
+                ProductSearchIndex.Filter.NONE, pageable);
+        return ranked != null ? ranked : productRepository.searchGlobal(keyword, pageable);
     }
 
     // Update product
@@ -92,6 +146,8 @@ public class ProductService {
 
         log.info("Updating product: {}", id);
 
+        Map<String, Object> before = AuditSnapshots.snapshot(existingProduct);
+
         existingProduct.setName(updatedProduct.getName());
         existingProduct.setDescription(updatedProduct.getDescription());
         existingProduct.setPrice(updatedProduct.getPrice());
@@ -107,7 +163,8 @@ public class ProductService {
         existingProduct.setSupplier(updatedProduct.getSupplier());
 
         Product saved = productRepository.save(existingProduct);
-        auditService.logAction("Product", id, "UPDATE", existingProduct, saved);
+        auditService.logAction("Product", id, "UPDATE", before, saved);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(id)));
 
         return saved;
     }
@@ -122,12 +179,16 @@ public class ProductService {
         productRepository.save(product);
 
         auditService.logAction("Product", id, "DELETE", product, null);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(id)));
     }
 
     // Search products
     @Transactional(readOnly = true)
     public Page<Product> searchProducts(String searchTerm, Pageable pageable) {
-        return productRepository.searchByNameOrSku(searchTerm, pageable);
+        Page<Product> ranked = searchIndexed(searchTerm,
+                EnumSet.of(ProductSearchIndex.Field.NAME, ProductSearchIndex.Field.SKU),
+                ProductSearchIndex.Filter.NONE, pageable);
+        return ranked != null ? ranked : productRepository.searchByNameOrSku(searchTerm, pageable);
     }
 
     // Get products by category
@@ -162,7 +223,114 @@ public class ProductService {
                                                    ProductStatus status, BigDecimal minPrice,
                                                    BigDecimal maxPrice, String searchTerm,
                                                    Pageable pageable) {
-        return productRepository.findByFilters(categoryId, supplierId, status,
-                minPrice, maxPrice, searchTerm, pageable);
+        ProductSearchIndex.Filter filter =
+                new ProductSearchIndex.Filter(categoryId, supplierId, status, minPrice, maxPrice);
+        Page<Product> indexed = searchTerm != null && !searchTerm.isBlank()
+                ? searchIndexed(searchTerm, EnumSet.of(ProductSearchIndex.Field.NAME, ProductSearchIndex.Field.SKU),
+                        filter, pageable)
+                : filterIndexed(filter, pageable);
+        if (indexed != null) {
+            return indexed;
+        }
+        return productRepository.findAll(FilterSpecifications.products(categoryId, supplierId, status,
+                minPrice, maxPrice, searchTerm), pageable);
+    }
+
+    // Product counts per category, supplier, status and price band for the same filters as
+    // searchProductsWithFilters, from ProductFacetIndex; no connection taken
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ProductFacetIndex.Facets getProductFacets(Long categoryId, Long supplierId, ProductStatus status,
+                                                     BigDecimal minPrice, BigDecimal maxPrice, String searchTerm) {
+        Collection<Long> within = null;
+        if (searchTerm != null && !searchTerm.isBlank()) {
+            ProductSearchIndex.Hits hits = productSearchIndex.search(searchTerm,
+                    EnumSet.of(ProductSearchIndex.Field.NAME, ProductSearchIndex.Field.SKU),
+                    ProductSearchIndex.Filter.NONE, 0, Integer.MAX_VALUE);
+            if (hits == null && productSearchIndex.isReady()) {
+                throw new IllegalArgumentException("Search term must contain letters or digits");
+            }
+            if (hits == null) {
+                throw new ServiceUnavailableException("Product search is still loading, please retry shortly");
+            }
+            within = hits.productIds();
+        }
+
+        ProductFacetIndex.Facets facets = productFacetIndex.facets(
+                new ProductSearchIndex.Filter(categoryId, supplierId, status, minPrice, maxPrice), within);
+        if (facets == null) {
+            throw new ServiceUnavailableException("Product facets are still loading, please retry shortly");
+        }
+        return facets;
+    }
+
+    // searchProductsWithFilters and getProductFacets in one call. Without a search term or a
+    // column sort, the page and the counts come from one read of ProductFacetIndex; otherwise
+    // the page comes from its usual source and may trail or lead the counts by a refresh.
+    @Transactional(readOnly = true)
+    public FacetedProducts searchProductsWithFacets(Long categoryId, Long supplierId,
+                                                    ProductStatus status, BigDecimal minPrice,
+                                                    BigDecimal maxPrice, String searchTerm,
+                                                    Pageable pageable) {
+        if ((searchTerm == null || searchTerm.isBlank()) && pageable.getSort().isUnsorted()) {
+            ProductSearchIndex.Filter filter =
+                    new ProductSearchIndex.Filter(categoryId, supplierId, status, minPrice, maxPrice);
+            ProductFacetIndex.Filtered filtered = pageable.isPaged()
+                    ? productFacetIndex.filterWithFacets(filter, pageable.getOffset(), pageable.getPageSize())
+                    : productFacetIndex.filterWithFacets(filter, 0, Integer.MAX_VALUE);
+            if (filtered == null) {
+                throw new ServiceUnavailableException("Product facets are still loading, please retry shortly");
+            }
+            Page<Product> page = toPage(filtered.hits(), pageable);
+            return new FacetedProducts(page != null ? page : productRepository.findAll(
+                    FilterSpecifications.products(categoryId, supplierId, status, minPrice, maxPrice, null),
+                    pageable), filtered.facets());
+        }
+
+        return new FacetedProducts(
+                searchProductsWithFilters(categoryId, supplierId, status, minPrice, maxPrice, searchTerm, pageable),
+                getProductFacets(categoryId, supplierId, status, minPrice, maxPrice, searchTerm));
+    }
+
+    // A page of products ranked by ProductSearchIndex, or null to use the database query: the
+    // index isn't built yet, can't tokenize the term, or the caller asked for a column sort
+    private Page<Product> searchIndexed(String term, Set<ProductSearchIndex.Field> fields,
+                                        ProductSearchIndex.Filter filter, Pageable pageable) {
+        if (pageable.getSort().isSorted()) {
+            return null;
+        }
+        return toPage(pageable.isPaged()
+                ? productSearchIndex.search(term, fields, filter, pageable.getOffset(), pageable.getPageSize())
+                : productSearchIndex.search(term, fields, filter, 0, Integer.MAX_VALUE), pageable);
+    }
+
+    // A page of filtered products in id order from ProductFacetIndex, or null to use the
+    // database query (index not built yet, or a column sort was asked for)
+    private Page<Product> filterIndexed(ProductSearchIndex.Filter filter, Pageable pageable) {
+        if (pageable.getSort().isSorted()) {
+            return null;
+        }
+        return toPage(pageable.isPaged()
+                ? productFacetIndex.filter(filter, pageable.getOffset(), pageable.getPageSize())
+                : productFacetIndex.filter(filter, 0, Integer.MAX_VALUE), pageable);
+    }
+
+    // Loads the hits' products in hit order. The index lags a commit by one refresh, so a
+    // product deleted since is dropped here
+    private Page<Product> toPage(ProductSearchIndex.Hits hits, Pageable pageable) {
+        if (hits == null) {
+            return null;
+        }
+
+        Map<Long, Product> byId = productRepository.findAllById(hits.productIds()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<Product> products = hits.productIds().stream()
+                .map(byId::get)
+                .filter(product -> product != null && !Boolean.TRUE.equals(product.getDeleted()))
+                .toList();
+        return new PageImpl<>(products, pageable, hits.total());
+    }
+
+    // A page of products and the facet counts of the same filters
+    public record FacetedProducts(Page<Product> page, ProductFacetIndex.Facets facets) {
     }
-}
\ No newline at end of file
+}
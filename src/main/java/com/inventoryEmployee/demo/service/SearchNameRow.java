@@ -0,0 +1,5 @@
+package com.inventoryEmployee.demo.service;
+
+// A category or supplier name, as matched by product global search
+public record SearchNameRow(Long id, String name) {
+}
@@ -0,0 +1,42 @@
+package com.inventoryEmployee.demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventoryEmployee.demo.entity.OutboxEvent;
+import com.inventoryEmployee.demo.enums.OutboxEventType;
+import com.inventoryEmployee.demo.repository.InventoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+// Evaluates low/out/over-stock alerts for the products a movement touched
+@Component
+@RequiredArgsConstructor
+public class StockAlertOutboxConsumer implements OutboxConsumer {
+
+    private final InventoryRepository inventoryRepository;
+    private final StockAlertService stockAlertService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String getName() {
+        return "stock-alerts";
+    }
+
+    @Override
+    public boolean accepts(OutboxEventType eventType) {
+        return eventType == OutboxEventType.STOCK_MOVEMENT;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) throws Exception {
+        StockMovementEvent movement = objectMapper.readValue(event.getPayload(), StockMovementEvent.class);
+
+        Set<Long> productIds = new TreeSet<>();
+        movement.movements().forEach(m -> productIds.add(m.productId()));
+
+        // Current levels, not the ones in the event - a later movement may already have changed them
+        stockAlertService.evaluateAlerts(inventoryRepository.findByProductIds(productIds));
+    }
+}
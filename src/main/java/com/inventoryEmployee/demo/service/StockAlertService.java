@@ -1,18 +1,26 @@
 package com.inventoryEmployee.demo.service;
 
+import com.inventoryEmployee.demo.dto.response.CursorPageResponse;
 import com.inventoryEmployee.demo.entity.Inventory;
 import com.inventoryEmployee.demo.entity.StockAlert;
 import com.inventoryEmployee.demo.enums.AlertType;
+import com.inventoryEmployee.demo.enums.OutboxEventType;
+import com.inventoryEmployee.demo.repository.FilterSpecifications;
 import com.inventoryEmployee.demo.repository.StockAlertRepository;
+import com.inventoryEmployee.demo.util.SeekCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,8 +29,8 @@ import java.util.List;
 public class StockAlertService {
 
     private final StockAlertRepository stockAlertRepository;
-    private final EmailService emailService;
-    private final NotificationService notificationService;
+    private final OutboxService outboxService;
+    private final ListingCountCache listingCountCache;
 
     // Check and create alerts if needed
     public void checkAndCreateAlerts(Inventory inventory) {
@@ -42,15 +50,7 @@ public class StockAlertService {
             return; // Alert already exists
         }
 
-        AlertType alertType = null;
-
-        if (currentQuantity == 0) {
-            alertType = AlertType.OUT_OF_STOCK;
-        } else if (currentQuantity <= minLevel) {
-            alertType = AlertType.LOW_STOCK;
-        } else if (currentQuantity > maxLevel) {
-            alertType = AlertType.OVERSTOCKED;
-        }
+        AlertType alertType = alertTypeFor(inventory);
 
         if (alertType != null) {
             createAlert(inventory, alertType, currentQuantity,
@@ -58,6 +58,57 @@ public class StockAlertService {
         }
     }
 
+    // Evaluate alerts for many inventory rows with a single lookup of unresolved alerts
+    public void evaluateAlerts(Collection<Inventory> inventories) {
+        if (inventories.isEmpty()) {
+            return;
+        }
+
+        List<Long> productIds = inventories.stream()
+                .map(inventory -> inventory.getProduct().getId())
+                .collect(Collectors.toList());
+        Map<Long, List<StockAlert>> unresolvedByProduct = stockAlertRepository
+                .findUnresolvedAlertsByProductIds(productIds).stream()
+                .collect(Collectors.groupingBy(alert -> alert.getProduct().getId()));
+
+        for (Inventory inventory : inventories) {
+            boolean hasOpenAlert = false;
+
+            for (StockAlert alert : unresolvedByProduct.getOrDefault(inventory.getProduct().getId(), List.of())) {
+                if (shouldResolve(alert, inventory)) {
+                    markResolved(alert, "Stock level normalized");
+                } else {
+                    hasOpenAlert = true;
+                }
+            }
+
+            if (hasOpenAlert || !inventory.getLowStockAlertEnabled()) {
+                continue;
+            }
+
+            AlertType alertType = alertTypeFor(inventory);
+            if (alertType != null) {
+                createAlert(inventory, alertType, inventory.getQuantityAvailable(),
+                        alertType == AlertType.OVERSTOCKED
+                                ? inventory.getMaxStockLevel() : inventory.getMinStockLevel());
+            }
+        }
+    }
+
+    // Which alert (if any) the current stock level calls for
+    private AlertType alertTypeFor(Inventory inventory) {
+        int currentQuantity = inventory.getQuantityAvailable();
+
+        if (currentQuantity == 0) {
+            return AlertType.OUT_OF_STOCK;
+        } else if (currentQuantity <= inventory.getMinStockLevel()) {
+            return AlertType.LOW_STOCK;
+        } else if (currentQuantity > inventory.getMaxStockLevel()) {
+            return AlertType.OVERSTOCKED;
+        }
+        return null;
+    }
+
     // Create alert
     private void createAlert(Inventory inventory, AlertType alertType,
                              int currentQuantity, int threshold) {
@@ -75,11 +126,9 @@ public class StockAlertService {
 
         StockAlert savedAlert = stockAlertRepository.save(alert);
 
-        // Send email notification (async)
-        emailService.sendLowStockAlert(savedAlert);
-
-        // Create in-app notification
-        notificationService.createStockAlertNotification(savedAlert);
+        // Email and in-app notification are sent by the outbox relay after commit
+        outboxService.publish(OutboxEventType.STOCK_ALERT_CREATED, "StockAlert", savedAlert.getId(),
+                Map.of("alertId", savedAlert.getId()));
     }
 
     // Resolve alerts when stock is replenished
@@ -88,28 +137,24 @@ public class StockAlertService {
                 .findUnresolvedAlertsByProduct(inventory.getProduct().getId());
 
         for (StockAlert alert : unresolvedAlerts) {
-            boolean shouldResolve = false;
-
-            switch (alert.getAlertType()) {
-                case OUT_OF_STOCK:
-                case LOW_STOCK:
-                    if (inventory.getQuantityAvailable() > inventory.getMinStockLevel()) {
-                        shouldResolve = true;
-                    }
-                    break;
-                case OVERSTOCKED:
-                    if (inventory.getQuantityAvailable() <= inventory.getMaxStockLevel()) {
-                        shouldResolve = true;
-                    }
-                    break;
-            }
-
-            if (shouldResolve) {
+            if (shouldResolve(alert, inventory)) {
                 resolveAlert(alert.getId(), "Stock level normalized");
             }
         }
     }
 
+    private boolean shouldResolve(StockAlert alert, Inventory inventory) {
+        switch (alert.getAlertType()) {
+            case OUT_OF_STOCK:
+            case LOW_STOCK:
+                return inventory.getQuantityAvailable() > inventory.getMinStockLevel();
+            case OVERSTOCKED:
+                return inventory.getQuantityAvailable() <= inventory.getMaxStockLevel();
+            default:
+                return false;
+        }
+    }
+
     // Resolve alert manually
     public void resolveAlert(Long alertId, String notes) {
         StockAlert alert = stockAlertRepository.findById(alertId)
@@ -117,6 +162,10 @@ public class StockAlertService {
 
         log.info("Resolving alert: {}", alertId);
 
+        markResolved(alert, notes);
+    }
+
+    private void markResolved(StockAlert alert, String notes) {
         alert.setIsResolved(true);
         alert.setResolvedAt(LocalDateTime.now());
         alert.setNotes(notes);
@@ -148,10 +197,31 @@ public class StockAlertService {
         return stockAlertRepository.findRecentUnresolvedAlerts(pageable);
     }
 
+    // Recent unresolved alerts by keyset
+    @Transactional(readOnly = true)
+    public CursorPageResponse<StockAlert> getRecentUnresolvedAlerts(String cursor, Integer size,
+                                                                    boolean includeTotal) {
+        int limit = CursorPageResponse.clampSize(size);
+        SeekCursor after = SeekCursor.decode(cursor);
+        List<StockAlert> rows = after == null
+                ? stockAlertRepository.findRecentUnresolvedAlertsFirst(PageRequest.of(0, limit + 1))
+                : stockAlertRepository.findRecentUnresolvedAlertsBefore(after.timestamp(), after.id(),
+                PageRequest.of(0, limit + 1));
+
+        CursorPageResponse<StockAlert> page = CursorPageResponse.of(rows, limit,
+                alert -> new SeekCursor(alert.getCreatedAt(), alert.getId()));
+        if (includeTotal) {
+            page.setTotalElements(listingCountCache.get("alerts:unresolved",
+                    stockAlertRepository::countByIsResolvedFalse));
+        }
+        return page;
+    }
+
     // Search alerts with filters
     @Transactional(readOnly = true)
     public Page<StockAlert> searchAlertsWithFilters(AlertType alertType, Boolean isResolved,
                                                     Long productId, Pageable pageable) {
-        return stockAlertRepository.findByFilters(alertType, isResolved, productId, pageable);
+        return stockAlertRepository.findAll(FilterSpecifications.stockAlerts(alertType, isResolved, productId),
+                FilterSpecifications.sortedOrDefault(pageable, FilterSpecifications.STOCK_ALERT_ORDER));
     }
 }
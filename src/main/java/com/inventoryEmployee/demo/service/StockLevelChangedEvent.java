@@ -0,0 +1,8 @@
+package com.inventoryEmployee.demo.service;
+
+import java.util.Collection;
+
+// Published when inventory rows (quantities, thresholds, flags) change; in-memory views
+// holding quantities reload these products after the transaction commits
+public record StockLevelChangedEvent(Collection<Long> productIds) {
+}
@@ -0,0 +1,60 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.entity.Inventory;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Read-only view of one inventory row (plus its product's name/SKU) held by StockLevelIndex
+public record StockLevelEntry(Long inventoryId, Long productId, String productName, String productSku,
+                              BigDecimal price, Long categoryId, Long supplierId,
+                              Integer quantityAvailable, Integer quantityReserved,
+                              Integer minStockLevel, Integer maxStockLevel,
+                              Integer reorderPoint, Integer reorderQuantity,
+                              String location, String binNumber, String rackNumber,
+                              Boolean lowStockAlertEnabled, Boolean writeCombiningEnabled,
+                              LocalDateTime lastRestockDate, LocalDateTime lastSaleDate,
+                              Boolean isActive, Boolean productDeleted,
+                              LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    public static StockLevelEntry from(Inventory inventory) {
+        return new StockLevelEntry(inventory.getId(), inventory.getProduct().getId(),
+                inventory.getProduct().getName(), inventory.getProduct().getSku(),
+                inventory.getProduct().getPrice(),
+                inventory.getProduct().getCategory() != null ? inventory.getProduct().getCategory().getId() : null,
+                inventory.getProduct().getSupplier() != null ? inventory.getProduct().getSupplier().getId() : null,
+                inventory.getQuantityAvailable(), inventory.getQuantityReserved(),
+                inventory.getMinStockLevel(), inventory.getMaxStockLevel(),
+                inventory.getReorderPoint(), inventory.getReorderQuantity(),
+                inventory.getLocation(), inventory.getBinNumber(), inventory.getRackNumber(),
+                inventory.getLowStockAlertEnabled(), inventory.getWriteCombiningEnabled(),
+                inventory.getLastRestockDate(), inventory.getLastSaleDate(),
+                inventory.getIsActive(), inventory.getProduct().getDeleted(),
+                inventory.getCreatedAt(), inventory.getUpdatedAt());
+    }
+
+    // Same scope as the low/out/over-stock queries: active inventory of live products
+    public boolean isListed() {
+        return Boolean.TRUE.equals(isActive) && !Boolean.TRUE.equals(productDeleted);
+    }
+
+    // Contribution to the total inventory value (zero when not listed)
+    public BigDecimal stockValue() {
+        if (!isListed() || price == null) {
+            return BigDecimal.ZERO;
+        }
+        return price.multiply(BigDecimal.valueOf(quantityAvailable));
+    }
+
+    public boolean isLowStock() {
+        return quantityAvailable <= minStockLevel;
+    }
+
+    public boolean isOutOfStock() {
+        return quantityAvailable == 0;
+    }
+
+    public boolean isOverstocked() {
+        return quantityAvailable > maxStockLevel;
+    }
+}
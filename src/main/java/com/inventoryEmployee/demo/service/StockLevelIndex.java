@@ -0,0 +1,184 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.repository.InventoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// In-memory low-stock / out-of-stock / overstock sets, so those lists and counts are
+// served in O(result) instead of a table scan. Built once at startup from a streaming
+// scan, then kept current by an IndexRefresher: products from StockLevelChangedEvent and
+// ProductChangedEvent are re-read after commit. Each replaced entry is also fed to
+// InventoryAggregates as an old/new pair.
+//
+// Until the first build finishes, isReady() is false and callers query the database.
+@Service
+@Slf4j
+public class StockLevelIndex {
+
+    public enum Level { LOW_STOCK, OUT_OF_STOCK, OVERSTOCKED }
+
+    // Most urgent first: furthest below minimum / furthest above maximum
+    private static final Comparator<StockLevelEntry> BY_SHORTFALL = Comparator
+            .comparingInt((StockLevelEntry e) -> e.quantityAvailable() - e.minStockLevel())
+            .thenComparing(StockLevelEntry::productId);
+    private static final Comparator<StockLevelEntry> BY_EXCESS = Comparator
+            .comparingInt((StockLevelEntry e) -> e.maxStockLevel() - e.quantityAvailable())
+            .thenComparing(StockLevelEntry::productId);
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryAggregates aggregates;
+    private final TransactionTemplate readOnlyTransaction;
+    private final IndexRefresher<StockLevelEntry> refresher;
+
+    private final Map<Long, StockLevelEntry> entries = new ConcurrentHashMap<>();
+    private final Map<Level, NavigableSet<StockLevelEntry>> levels = new EnumMap<>(Level.class);
+    // Skip-list size() is O(n); counts are kept alongside the sets
+    private final Map<Level, AtomicLong> counts = new EnumMap<>(Level.class);
+
+    private volatile boolean ready;
+
+    public StockLevelIndex(InventoryRepository inventoryRepository,
+                           InventoryAggregates aggregates,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${inventory.stock-index.refresh-batch-size:500}") int refreshBatchSize) {
+        this.inventoryRepository = inventoryRepository;
+        this.aggregates = aggregates;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.refresher = new IndexRefresher<>("Stock level index", readOnlyTransaction, refreshBatchSize,
+                inventoryRepository::findStockLevelsByProductIds, StockLevelEntry::productId, this::apply);
+
+        levels.put(Level.LOW_STOCK, new ConcurrentSkipListSet<>(BY_SHORTFALL));
+        levels.put(Level.OUT_OF_STOCK, new ConcurrentSkipListSet<>(BY_SHORTFALL));
+        levels.put(Level.OVERSTOCKED, new ConcurrentSkipListSet<>(BY_EXCESS));
+        for (Level level : Level.values()) {
+            counts.put(level, new AtomicLong());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        synchronized (this) {
+            ready = false;
+            entries.clear();
+            levels.values().forEach(Set::clear);
+            counts.values().forEach(count -> count.set(0));
+            aggregates.reset();
+
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<StockLevelEntry> rows = inventoryRepository.streamStockLevels()) {
+                    rows.forEach(this::put);
+                }
+            });
+            ready = true;
+        }
+
+        log.info("Stock level index built: {} rows, {} low, {} out, {} over in {} ms", entries.size(),
+                count(Level.LOW_STOCK), count(Level.OUT_OF_STOCK), count(Level.OVERSTOCKED),
+                System.currentTimeMillis() - start);
+
+        // Changes that committed while the scan was running
+        refresh();
+    }
+
+    // Without a transaction (e.g. scheduled jobs) the event is handled immediately
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockLevelChanged(StockLevelChangedEvent event) {
+        refresher.markDirty(event.productIds());
+    }
+
+    // Names, SKUs and the listed flag come from the product
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        refresher.markDirty(event.productIds());
+    }
+
+    // Holds the monitor for the whole pass, so rows read before a reconciler rebuild can't be
+    // applied over the rebuilt index
+    @Scheduled(fixedDelayString = "${inventory.stock-index.refresh-interval-ms:200}")
+    public synchronized void refresh() {
+        if (ready) {
+            refresher.refresh();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<StockLevelEntry> list(Level level) {
+        return new ArrayList<>(levels.get(level));
+    }
+
+    public long count(Level level) {
+        return counts.get(level).get();
+    }
+
+    public Optional<StockLevelEntry> get(Long productId) {
+        return Optional.ofNullable(entries.get(productId));
+    }
+
+    private synchronized void apply(List<StockLevelEntry> rows, Set<Long> missing) {
+        rows.forEach(this::put);
+        missing.forEach(this::remove);
+    }
+
+    // Caller holds the monitor
+    private void put(StockLevelEntry entry) {
+        StockLevelEntry previous = entries.put(entry.productId(), entry);
+        if (previous != null) {
+            unlink(previous);
+        }
+        aggregates.apply(previous, entry);
+        if (!entry.isListed()) {
+            return;
+        }
+        if (entry.isLowStock()) {
+            link(Level.LOW_STOCK, entry);
+        }
+        if (entry.isOutOfStock()) {
+            link(Level.OUT_OF_STOCK, entry);
+        }
+        if (entry.isOverstocked()) {
+            link(Level.OVERSTOCKED, entry);
+        }
+    }
+
+    private void remove(Long productId) {
+        StockLevelEntry previous = entries.remove(productId);
+        if (previous != null) {
+            unlink(previous);
+            aggregates.apply(previous, null);
+        }
+    }
+
+    private void link(Level level, StockLevelEntry entry) {
+        if (levels.get(level).add(entry)) {
+            counts.get(level).incrementAndGet();
+        }
+    }
+
+    private void unlink(StockLevelEntry entry) {
+        for (Level level : Level.values()) {
+            if (levels.get(level).remove(entry)) {
+                counts.get(level).decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.inventoryEmployee.demo.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Outbox payload for STOCK_MOVEMENT: the rows a movement (or bulk/combined batch) changed,
+// plus the caller's audit context so side effects can be replayed off the request thread.
+// Also published as an application event on the node that made the movement
+public record StockMovementEvent(String action, List<Movement> movements, AuditContext context,
+                                 LocalDateTime occurredAt) {
+
+    public record Movement(Long productId, Long inventoryId, Integer previousQuantity, Integer newQuantity) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.inventoryEmployee.demo.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Quantities before and after one stock movement, as applied by the database
+@Getter
+@AllArgsConstructor
+public class StockMovementResult {
+
+    private final Long productId;
+    private final int previousQuantity;
+    private final int newQuantity;
+}
@@ -0,0 +1,253 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.entity.Employee;
+import com.inventoryEmployee.demo.entity.Product;
+import com.inventoryEmployee.demo.entity.StockReservation;
+import com.inventoryEmployee.demo.enums.ReservationStatus;
+import com.inventoryEmployee.demo.enums.StockMovementReason;
+import com.inventoryEmployee.demo.exception.InsufficientStockException;
+import com.inventoryEmployee.demo.exception.ResourceNotFoundException;
+import com.inventoryEmployee.demo.repository.InventoryRepository;
+import com.inventoryEmployee.demo.repository.StockReservationRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+@Slf4j
+@Transactional
+public class StockReservationService {
+
+    private final StockReservationRepository reservationRepository;
+    private final InventoryRepository inventoryRepository;
+    private final InventoryService inventoryService;
+    private final AuditService auditService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${inventory.reservations.default-ttl-minutes:15}")
+    private long defaultTtlMinutes;
+
+    @Value("${inventory.reservations.sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    public StockReservationService(StockReservationRepository reservationRepository,
+                                   InventoryRepository inventoryRepository,
+                                   InventoryService inventoryService,
+                                   AuditService auditService,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager) {
+        this.reservationRepository = reservationRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.inventoryService = inventoryService;
+        this.auditService = auditService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Hold stock for an in-flight cart / order
+    public StockReservation reserve(Long productId, Integer quantity, String referenceNumber, Long ttlMinutes) {
+        if (quantity == null || quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+
+        log.info("Reserving {} units of product {} for {}", quantity, productId, referenceNumber);
+
+        // One guarded UPDATE: only succeeds if enough unreserved stock exists
+        if (inventoryRepository.reserveStock(productId, quantity) == 0) {
+            Integer available = inventoryRepository.findAvailableToPromiseByProductId(productId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Inventory not found for product: " + productId));
+            throw new InsufficientStockException(
+                    "Insufficient stock. Available: " + Math.max(0, available) + ", Required: " + quantity);
+        }
+        eventPublisher.publishEvent(new StockLevelChangedEvent(List.of(productId)));
+
+        LocalDateTime now = LocalDateTime.now();
+        StockReservation reservation = StockReservation.builder()
+                .product(entityManager.getReference(Product.class, productId))
+                .quantity(quantity)
+                .status(ReservationStatus.ACTIVE)
+                .referenceNumber(referenceNumber)
+                .createdAt(now)
+                .expiresAt(now.plusMinutes(ttlMinutes != null ? ttlMinutes : defaultTtlMinutes))
+                .createdBy(currentUsername())
+                .build();
+        StockReservation saved = reservationRepository.save(reservation);
+
+        // Reserving changes available-to-promise, so it is audited like commit and release
+        Map<String, Object> reserved = new LinkedHashMap<>();
+        reserved.put("status", ReservationStatus.ACTIVE.name());
+        reserved.put("productId", productId);
+        reserved.put("quantity", quantity);
+        reserved.put("referenceNumber", referenceNumber);
+        reserved.put("expiresAt", saved.getExpiresAt().toString());
+        auditService.logAction("StockReservation", saved.getId(), "RESERVE", null, reserved);
+        return saved;
+    }
+
+    // Convert a reservation into a real OUT movement
+    public StockReservation commit(Long reservationId, StockMovementReason reason, Employee employee) {
+        StockReservation reservation = getActiveReservation(reservationId);
+
+        inventoryService.commitReservedStock(reservation.getProduct().getId(), reservation.getQuantity(),
+                reason != null ? reason : StockMovementReason.SALES,
+                reservation.getReferenceNumber() != null ? "Reservation " + reservation.getReferenceNumber() : null,
+                employee);
+
+        return close(reservation, ReservationStatus.COMMITTED);
+    }
+
+    // Give a reservation's stock back
+    public StockReservation release(Long reservationId) {
+        StockReservation reservation = getActiveReservation(reservationId);
+
+        inventoryRepository.releaseReservedStock(reservation.getProduct().getId(), reservation.getQuantity());
+        eventPublisher.publishEvent(new StockLevelChangedEvent(List.of(reservation.getProduct().getId())));
+
+        return close(reservation, ReservationStatus.RELEASED);
+    }
+
+    // Commit every active reservation of an order; returns committed quantities per product
+    public Map<Long, Integer> commitForReference(String referenceNumber, StockMovementReason reason,
+                                                 Employee employee) {
+        Map<Long, Integer> committed = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (StockReservation reservation : reservationRepository
+                .findByReferenceNumberAndStatusForUpdate(referenceNumber, ReservationStatus.ACTIVE)) {
+            if (reservation.getExpiresAt().isBefore(now)) {
+                continue; // Left for the sweeper
+            }
+            inventoryService.commitReservedStock(reservation.getProduct().getId(), reservation.getQuantity(),
+                    reason, "Reservation " + referenceNumber, employee);
+            close(reservation, ReservationStatus.COMMITTED);
+            committed.merge(reservation.getProduct().getId(), reservation.getQuantity(), Integer::sum);
+        }
+
+        return committed;
+    }
+
+    // Release every active reservation of an order / cart
+    public int releaseForReference(String referenceNumber) {
+        List<StockReservation> reservations = reservationRepository
+                .findByReferenceNumberAndStatusForUpdate(referenceNumber, ReservationStatus.ACTIVE);
+
+        Set<Long> productIds = new HashSet<>();
+        for (StockReservation reservation : reservations) {
+            inventoryRepository.releaseReservedStock(reservation.getProduct().getId(), reservation.getQuantity());
+            close(reservation, ReservationStatus.RELEASED);
+            productIds.add(reservation.getProduct().getId());
+        }
+        if (!productIds.isEmpty()) {
+            eventPublisher.publishEvent(new StockLevelChangedEvent(productIds));
+        }
+
+        return reservations.size();
+    }
+
+    // Get reservation by ID
+    @Transactional(readOnly = true)
+    public StockReservation getReservationById(Long id) {
+        return reservationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + id));
+    }
+
+    // Get reservations of an order / cart
+    @Transactional(readOnly = true)
+    public List<StockReservation> getReservationsByReference(String referenceNumber) {
+        return reservationRepository.findByReferenceNumber(referenceNumber);
+    }
+
+    // Available-to-promise - a single indexed read, no transaction needed
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Integer getAvailableToPromise(Long productId) {
+        return inventoryRepository.findAvailableToPromiseByProductId(productId)
+                .map(available -> Math.max(0, available))
+                .orElseThrow(() -> new ResourceNotFoundException("Inventory not found for product: " + productId));
+    }
+
+    // Reclaim expired reservations in bulk, oldest first, one short transaction per batch
+    @Scheduled(fixedDelayString = "${inventory.reservations.sweep-interval-ms:30000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void sweepExpiredReservations() {
+        int total = 0;
+        Integer swept;
+
+        do {
+            swept = transactionTemplate.execute(status -> expireBatch());
+            total += swept != null ? swept : 0;
+        } while (swept != null && swept == sweepBatchSize);
+
+        if (total > 0) {
+            log.info("Expired {} stock reservations", total);
+        }
+    }
+
+    private int expireBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<StockReservation> expired = reservationRepository.findExpiredForUpdate(
+                ReservationStatus.ACTIVE, now, PageRequest.of(0, sweepBatchSize));
+
+        // One release UPDATE per product, not per reservation
+        Map<Long, Integer> releasedByProduct = new TreeMap<>();
+        for (StockReservation reservation : expired) {
+            releasedByProduct.merge(reservation.getProduct().getId(), reservation.getQuantity(), Integer::sum);
+            reservation.setStatus(ReservationStatus.EXPIRED);
+            reservation.setClosedAt(now);
+        }
+        releasedByProduct.forEach(inventoryRepository::releaseReservedStock);
+        if (!releasedByProduct.isEmpty()) {
+            eventPublisher.publishEvent(new StockLevelChangedEvent(List.copyOf(releasedByProduct.keySet())));
+        }
+
+        return expired.size();
+    }
+
+    private StockReservation getActiveReservation(Long reservationId) {
+        StockReservation reservation = reservationRepository.findByIdForUpdate(reservationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + reservationId));
+
+        if (reservation.getStatus() != ReservationStatus.ACTIVE) {
+            throw new IllegalStateException("Reservation " + reservationId + " is " + reservation.getStatus());
+        }
+        if (reservation.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new IllegalStateException("Reservation " + reservationId + " has expired");
+        }
+        return reservation;
+    }
+
+    private StockReservation close(StockReservation reservation, ReservationStatus status) {
+        log.info("Reservation {} -> {}", reservation.getId(), status);
+
+        ReservationStatus oldStatus = reservation.getStatus();
+        reservation.setStatus(status);
+        reservation.setClosedAt(LocalDateTime.now());
+        StockReservation saved = reservationRepository.save(reservation);
+
+        auditService.logAction("StockReservation", saved.getId(), status.name(),
+                Map.of("status", oldStatus.name()), Map.of("status", status.name()));
+        return saved;
+    }
+
+    private String currentUsername() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null ? auth.getName() : "SYSTEM";
+    }
+}
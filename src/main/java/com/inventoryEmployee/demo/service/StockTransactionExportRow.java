@@ -0,0 +1,14 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.enums.StockMovementReason;
+import com.inventoryEmployee.demo.enums.TransactionType;
+
+import java.time.LocalDateTime;
+
+// One ledger row as written by the export, product and employee names already joined in
+public record StockTransactionExportRow(Long id, LocalDateTime transactionDate, String productSku,
+                                        String productName, TransactionType type, StockMovementReason reason,
+                                        Integer quantity, Integer previousQuantity, Integer newQuantity,
+                                        String referenceNumber, String employeeFirstName,
+                                        String employeeLastName, String performedBy, String notes) {
+}
@@ -1,20 +1,27 @@
 package com.inventoryEmployee.demo.service;
 
+import com.inventoryEmployee.demo.dto.response.CursorPageResponse;
 import com.inventoryEmployee.demo.entity.Employee;
 import com.inventoryEmployee.demo.entity.Product;
 import com.inventoryEmployee.demo.entity.StockTransaction;
 import com.inventoryEmployee.demo.enums.StockMovementReason;
 import com.inventoryEmployee.demo.enums.TransactionType;
+import com.inventoryEmployee.demo.repository.FilterSpecifications;
+import com.inventoryEmployee.demo.repository.StockTransactionBatchRepository;
 import com.inventoryEmployee.demo.repository.StockTransactionRepository;
+import com.inventoryEmployee.demo.util.SeekCursor;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -23,7 +30,9 @@ import java.time.LocalDateTime;
 public class StockTransactionService {
 
     private final StockTransactionRepository stockTransactionRepository;
+    private final StockTransactionBatchRepository stockTransactionBatchRepository;
     private final HttpServletRequest request;
+    private final ListingCountCache listingCountCache;
 
     // Record a stock transaction
     public void recordTransaction(Product product, Employee employee,
@@ -34,25 +43,42 @@ public class StockTransactionService {
         log.info("Recording {} transaction for product {} by employee {}",
                 type, product.getId(), employee != null ? employee.getId() : "SYSTEM");
 
-        String ipAddress = IPUtil.getClientIP(request);
-        String userAgent = request.getHeader("User-Agent");
+        StockTransaction transaction = buildTransaction(product, employee, type, reason, quantity, notes);
+        transaction.setPreviousQuantity(previousQuantity);
+        transaction.setNewQuantity(newQuantity);
 
-        StockTransaction transaction = StockTransaction.builder()
+        stockTransactionRepository.save(transaction);
+    }
+
+    // Record many ledger rows with JDBC batch inserts
+    public void recordTransactions(List<StockTransaction> transactions) {
+        stockTransactionBatchRepository.insertAll(transactions);
+    }
+
+    // Build a ledger row with the caller's request context (IP, user agent).
+    // Quantities are filled in later by whoever applies the movement.
+    public StockTransaction buildTransaction(Product product, Employee employee,
+                                             TransactionType type, StockMovementReason reason,
+                                             Integer quantity, String notes) {
+        String ipAddress = null;
+        String userAgent = null;
+        if (RequestContextHolder.getRequestAttributes() != null) {
+            ipAddress = IPUtil.getClientIP(request);
+            userAgent = request.getHeader("User-Agent");
+        }
+
+        return StockTransaction.builder()
                 .product(product)
                 .employee(employee)
                 .type(type)
                 .reason(reason)
                 .quantity(quantity)
-                .previousQuantity(previousQuantity)
-                .newQuantity(newQuantity)
                 .notes(notes)
                 .ipAddress(ipAddress)
                 .userAgent(userAgent)
                 .transactionDate(LocalDateTime.now())
                 .performedBy(employee != null ? employee.getEmail() : "SYSTEM")
                 .build();
-
-        stockTransactionRepository.save(transaction);
     }
 
     // Get transactions by product
@@ -73,6 +99,25 @@ public class StockTransactionService {
         return stockTransactionRepository.findRecentTransactions(pageable);
     }
 
+    // Recent transactions by keyset: seeks past the cursor instead of skipping OFFSET rows
+    @Transactional(readOnly = true)
+    public CursorPageResponse<StockTransaction> getRecentTransactions(String cursor, Integer size,
+                                                                      boolean includeTotal) {
+        int limit = CursorPageResponse.clampSize(size);
+        SeekCursor after = SeekCursor.decode(cursor);
+        List<StockTransaction> rows = after == null
+                ? stockTransactionRepository.findRecentTransactionsFirst(PageRequest.of(0, limit + 1))
+                : stockTransactionRepository.findRecentTransactionsBefore(after.timestamp(), after.id(),
+                PageRequest.of(0, limit + 1));
+
+        CursorPageResponse<StockTransaction> page = CursorPageResponse.of(rows, limit,
+                transaction -> new SeekCursor(transaction.getTransactionDate(), transaction.getId()));
+        if (includeTotal) {
+            page.setTotalElements(listingCountCache.get("transactions", stockTransactionRepository::count));
+        }
+        return page;
+    }
+
     // Get transactions by date range
     @Transactional(readOnly = true)
     public Page<StockTransaction> getTransactionsByDateRange(LocalDateTime startDate,
@@ -88,8 +133,9 @@ public class StockTransactionService {
                                                                 LocalDateTime startDate,
                                                                 LocalDateTime endDate,
                                                                 Pageable pageable) {
-        return stockTransactionRepository.findByFilters(productId, employeeId, type,
-                startDate, endDate, pageable);
+        return stockTransactionRepository.findAll(
+                FilterSpecifications.stockTransactions(productId, employeeId, type, startDate, endDate),
+                FilterSpecifications.sortedOrDefault(pageable, FilterSpecifications.STOCK_TRANSACTION_ORDER));
     }
 
     // Count transactions by employee
@@ -0,0 +1,278 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.entity.Employee;
+import com.inventoryEmployee.demo.entity.Product;
+import com.inventoryEmployee.demo.entity.StockTransaction;
+import com.inventoryEmployee.demo.enums.TransactionType;
+import com.inventoryEmployee.demo.exception.InsufficientStockException;
+import com.inventoryEmployee.demo.exception.ResourceNotFoundException;
+import com.inventoryEmployee.demo.repository.InventoryRepository;
+import com.inventoryEmployee.demo.repository.StockTransactionBatchRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Single-writer stock engine for hot SKUs, by flat combining.
+// Movements for a product always land on the same stripe. A caller queues its movement and
+// takes the stripe's lock; whoever holds it drains the queue, merges the pending movements per
+// product into one inventory UPDATE plus one batched ledger insert, writes their outbox rows,
+// and commits - on its own connection, in a transaction of its own. Callers that were queued
+// behind it find their movement already applied when they get the lock.
+//
+// Movements are only combined for callers without a transaction: a combined movement commits
+// with the batch, so it could not roll back with an outer transaction, and a caller holding
+// inventory row locks would block the batch it is waiting for.
+@Service
+@Slf4j
+public class StockWriteCombiner {
+
+    private final InventoryRepository inventoryRepository;
+    private final StockTransactionBatchRepository stockTransactionBatchRepository;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatchSize;
+    private final Stripe[] stripes;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Products switched to write-combining through their inventory settings
+    private final Set<Long> enabledProducts = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+
+    public StockWriteCombiner(InventoryRepository inventoryRepository,
+                              StockTransactionBatchRepository stockTransactionBatchRepository,
+                              OutboxService outboxService,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${inventory.write-combining.stripes:8}") int stripeCount,
+                              @Value("${inventory.write-combining.max-batch-size:1000}") int maxBatchSize) {
+        this.inventoryRepository = inventoryRepository;
+        this.stockTransactionBatchRepository = stockTransactionBatchRepository;
+        this.outboxService = outboxService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxBatchSize = maxBatchSize;
+
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        enabledProducts.addAll(inventoryRepository.findWriteCombinedProductIds());
+        running = true;
+        log.info("Stock write-combining started with {} stripes ({} products enabled)",
+                stripes.length, enabledProducts.size());
+    }
+
+    // Movements submitted from now on are rejected; callers fall back to direct updates
+    @PreDestroy
+    public void stop() {
+        running = false;
+    }
+
+    // Whether a movement of this product can be combined by the current caller
+    public boolean canCombine(Long productId) {
+        return running && enabledProducts.contains(productId)
+                && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    public void setEnabled(Long productId, boolean enabled) {
+        if (enabled) {
+            enabledProducts.add(productId);
+        } else {
+            enabledProducts.remove(productId);
+        }
+    }
+
+    // Apply a movement and return once its batch has committed. For IN/OUT the amount is the
+    // delta, for ADJUSTMENT the target level. The ledger row's product is set by the batch.
+    // Failures of this movement are rethrown.
+    public StockMovementResult apply(Long productId, TransactionType type, int amount,
+                                     StockTransaction ledger, String action, AuditContext context) {
+        if (!running) {
+            throw new IllegalStateException("Stock write-combining is stopped");
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Combined stock movements must not run inside a transaction");
+        }
+
+        PendingMovement movement = new PendingMovement(productId, type, amount, ledger, action, context);
+        Stripe stripe = stripes[Math.floorMod(productId.hashCode(), stripes.length)];
+        stripe.queue.add(movement);
+
+        stripe.lock.lock();
+        try {
+            while (!movement.future.isDone()) {
+                List<PendingMovement> batch = new ArrayList<>();
+                PendingMovement next;
+                while (batch.size() < maxBatchSize && (next = stripe.queue.poll()) != null) {
+                    batch.add(next);
+                }
+                flush(batch);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        try {
+            return movement.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void flush(List<PendingMovement> batch) {
+        Map<Long, List<PendingMovement>> byProduct = new LinkedHashMap<>();
+        for (PendingMovement movement : batch) {
+            byProduct.computeIfAbsent(movement.productId, id -> new ArrayList<>()).add(movement);
+        }
+
+        Map<PendingMovement, Object> outcomes = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> applyBatch(byProduct, outcomes));
+        } catch (RuntimeException e) {
+            log.error("Combined stock flush of {} movements failed", batch.size(), e);
+            batch.forEach(movement -> movement.future.completeExceptionally(e));
+            return;
+        }
+
+        for (PendingMovement movement : batch) {
+            Object outcome = outcomes.get(movement);
+            if (outcome instanceof StockMovementResult result) {
+                movement.future.complete(result);
+            } else {
+                movement.future.completeExceptionally((Throwable) outcome);
+            }
+        }
+    }
+
+    private void applyBatch(Map<Long, List<PendingMovement>> byProduct, Map<PendingMovement, Object> outcomes) {
+        Map<Long, Long> inventoryIds = new HashMap<>();
+        Map<Long, Integer> currentQuantities = new HashMap<>();
+        Map<Long, Integer> reservedQuantities = new HashMap<>();
+        for (Object[] row : inventoryRepository.lockQuantitiesByProductIds(byProduct.keySet())) {
+            Long productId = ((Number) row[0]).longValue();
+            currentQuantities.put(productId, ((Number) row[1]).intValue());
+            reservedQuantities.put(productId, ((Number) row[2]).intValue());
+            inventoryIds.put(productId, ((Number) row[3]).longValue());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<StockTransaction> ledger = new ArrayList<>();
+        List<Long> changedProducts = new ArrayList<>();
+
+        for (Map.Entry<Long, List<PendingMovement>> entry : byProduct.entrySet()) {
+            Long productId = entry.getKey();
+            Integer startQuantity = currentQuantities.get(productId);
+
+            if (startQuantity == null) {
+                entry.getValue().forEach(movement -> outcomes.put(movement,
+                        new ResourceNotFoundException("Inventory not found for product: " + productId)));
+                continue;
+            }
+
+            int reserved = reservedQuantities.get(productId);
+            int quantity = startQuantity;
+            boolean restocked = false;
+            boolean sold = false;
+
+            // Replay the movements in arrival order so each caller sees its own before/after
+            for (PendingMovement movement : entry.getValue()) {
+                int previousQuantity = quantity;
+
+                if (movement.type == TransactionType.IN) {
+                    quantity += movement.amount;
+                    restocked = true;
+                } else if (movement.type == TransactionType.OUT) {
+                    // Reserved stock is not available to unreserved removals
+                    if (quantity - reserved < movement.amount) {
+                        outcomes.put(movement, new InsufficientStockException(
+                                "Insufficient stock. Available: " + Math.max(0, quantity - reserved)
+                                        + ", Required: " + movement.amount));
+                        continue;
+                    }
+                    quantity -= movement.amount;
+                    sold = true;
+                } else {
+                    quantity = movement.amount;
+                    movement.ledger.setQuantity(Math.abs(quantity - previousQuantity));
+                }
+
+                // The caller's entities belong to its own persistence context; the ledger row
+                // references product and employee by id in the batch's
+                movement.ledger.setProduct(entityManager.getReference(Product.class, productId));
+                if (movement.ledger.getEmployee() != null) {
+                    movement.ledger.setEmployee(entityManager.getReference(Employee.class,
+                            movement.ledger.getEmployee().getId()));
+                }
+                movement.ledger.setPreviousQuantity(previousQuantity);
+                movement.ledger.setNewQuantity(quantity);
+                movement.ledger.setTransactionDate(now);
+                ledger.add(movement.ledger);
+                outcomes.put(movement, new StockMovementResult(productId, previousQuantity, quantity));
+
+                // Same outbox row and audit context as an uncombined movement
+                outboxService.publishStockMovement(movement.action, List.of(new StockMovementEvent.Movement(
+                        productId, inventoryIds.get(productId), previousQuantity, quantity)), movement.context);
+            }
+
+            if (quantity != startQuantity || restocked || sold) {
+                inventoryRepository.applyCombinedStock(productId, quantity,
+                        restocked ? now : null, sold ? now : null);
+                changedProducts.add(productId);
+            }
+        }
+
+        stockTransactionBatchRepository.insertAll(ledger);
+        if (!changedProducts.isEmpty()) {
+            eventPublisher.publishEvent(new StockLevelChangedEvent(changedProducts));
+        }
+    }
+
+    private static class PendingMovement {
+        private final Long productId;
+        private final TransactionType type;
+        private final int amount;
+        private final StockTransaction ledger;
+        private final String action;
+        private final AuditContext context;
+        private final CompletableFuture<StockMovementResult> future = new CompletableFuture<>();
+
+        private PendingMovement(Long productId, TransactionType type, int amount, StockTransaction ledger,
+                                String action, AuditContext context) {
+            this.productId = productId;
+            this.type = type;
+            this.amount = amount;
+            this.ledger = ledger;
+            this.action = action;
+            this.context = context;
+        }
+    }
+
+    private static class Stripe {
+        private final Queue<PendingMovement> queue = new ConcurrentLinkedQueue<>();
+        private final ReentrantLock lock = new ReentrantLock();
+    }
+}
@@ -0,0 +1,375 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.enums.SuggestType;
+import com.inventoryEmployee.demo.repository.*;
+import com.inventoryEmployee.demo.util.RadixTrie;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Typeahead for product names / SKUs, employee names and supplier names, from one RadixTrie
+// per type. Each name is keyed from every word start ("latte" finds "Cafe Latte"); products
+// also by SKU. Ranked by use over inventory.suggest.popularity-days: stock movements for
+// products and employees, orders for suppliers.
+//
+// Startup loads the last snapshot file, so suggestions are served at once, then a full
+// build from the database replaces it (and is repeated every rebuild-interval-ms to pick up
+// popularity drift). Writes reach the tries incrementally, like StockLevelIndex: change
+// events queue ids, which IndexRefreshers re-read after commit. A re-read entry keeps its
+// score; between builds a product's score goes up by one per committed movement made on
+// this node, without a query. Before any trie exists, the old LIKE queries answer.
+@Service
+@Slf4j
+public class SuggestService {
+
+    private static final int SNAPSHOT_MAGIC = 0x53554747; // "SUGG"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int MAX_WORD_STARTS = 8;
+
+    private final ProductRepository productRepository;
+    private final EmployeeRepository employeeRepository;
+    private final SupplierRepository supplierRepository;
+    private final StockTransactionRepository stockTransactionRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<SuggestType, IndexRefresher<SuggestionRow>> refreshers = new EnumMap<>(SuggestType.class);
+
+    // Null until a snapshot is loaded or the first build finishes; replaced whole by a build
+    private volatile Map<SuggestType, RadixTrie> tries;
+
+    @Value("${inventory.suggest.top-k:10}")
+    private int topK;
+
+    @Value("${inventory.suggest.popularity-days:90}")
+    private int popularityDays;
+
+    @Value("${inventory.suggest.snapshot-file:${java.io.tmpdir}/inventory-suggest.snapshot}")
+    private Path snapshotFile;
+
+    public SuggestService(ProductRepository productRepository,
+                          EmployeeRepository employeeRepository,
+                          SupplierRepository supplierRepository,
+                          StockTransactionRepository stockTransactionRepository,
+                          OrderRepository orderRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${inventory.suggest.refresh-batch-size:500}") int refreshBatchSize) {
+        this.productRepository = productRepository;
+        this.employeeRepository = employeeRepository;
+        this.supplierRepository = supplierRepository;
+        this.stockTransactionRepository = stockTransactionRepository;
+        this.orderRepository = orderRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        refreshers.put(SuggestType.PRODUCT, refresher(SuggestType.PRODUCT, productRepository::findForSuggest,
+                refreshBatchSize));
+        refreshers.put(SuggestType.EMPLOYEE, refresher(SuggestType.EMPLOYEE, employeeRepository::findForSuggest,
+                refreshBatchSize));
+        refreshers.put(SuggestType.SUPPLIER, refresher(SuggestType.SUPPLIER, supplierRepository::findForSuggest,
+                refreshBatchSize));
+    }
+
+    @PostConstruct
+    public void loadSnapshot() {
+        if (!Files.exists(snapshotFile)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(snapshotFile))))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("Ignoring typeahead snapshot {}: unknown format", snapshotFile);
+                return;
+            }
+            Map<SuggestType, RadixTrie> loaded = emptyTries();
+            int types = in.readInt();
+            for (int t = 0; t < types; t++) {
+                SuggestType type = SuggestType.valueOf(in.readUTF());
+                RadixTrie trie = loaded.get(type);
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    long id = in.readLong();
+                    String label = in.readUTF();
+                    String detail = in.readBoolean() ? in.readUTF() : null;
+                    put(trie, type, new RadixTrie.Entry(id, label, detail, in.readLong()));
+                }
+            }
+            tries = loaded;
+            log.info("Typeahead snapshot loaded: {} in {} ms", sizes(loaded), System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load typeahead snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        LocalDateTime since = LocalDateTime.now().minusDays(popularityDays);
+
+        synchronized (this) {
+            Map<SuggestType, RadixTrie> built = emptyTries();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                Map<Long, Long> movements = counts(stockTransactionRepository.countMovementsByProduct(since));
+                try (Stream<SuggestionRow> rows = productRepository.streamForSuggest()) {
+                    rows.forEach(row -> put(built.get(SuggestType.PRODUCT), SuggestType.PRODUCT, row,
+                            movements.getOrDefault(row.id(), 0L)));
+                }
+
+                Map<Long, Long> handled = counts(stockTransactionRepository.countMovementsByEmployee(since));
+                employeeRepository.findAllForSuggest().forEach(row -> put(built.get(SuggestType.EMPLOYEE),
+                        SuggestType.EMPLOYEE, row, handled.getOrDefault(row.id(), 0L)));
+
+                Map<Long, Long> orders = counts(orderRepository.countOrdersBySupplier(since));
+                supplierRepository.findAllForSuggest().forEach(row -> put(built.get(SuggestType.SUPPLIER),
+                        SuggestType.SUPPLIER, row, orders.getOrDefault(row.id(), 0L)));
+            });
+
+            lock.writeLock().lock();
+            try {
+                tries = built;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        log.info("Typeahead built: {} in {} ms", sizes(tries), System.currentTimeMillis() - start);
+
+        // Changes that committed while the scan was running
+        refresh();
+        writeSnapshot();
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.suggest.rebuild-interval-ms:900000}",
+            initialDelayString = "${inventory.suggest.rebuild-interval-ms:900000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    // Without a transaction (e.g. scheduled jobs) the events are handled immediately
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        refreshers.get(SuggestType.PRODUCT).markDirty(event.productIds());
+    }
+
+    // Approximate between builds: movements made on other nodes wait for the next build
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStockMovement(StockMovementEvent event) {
+        Map<SuggestType, RadixTrie> current = tries;
+        if (current == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            RadixTrie trie = current.get(SuggestType.PRODUCT);
+            for (StockMovementEvent.Movement movement : event.movements()) {
+                RadixTrie.Entry entry = trie.get(movement.productId());
+                if (entry != null) {
+                    put(trie, SuggestType.PRODUCT, new RadixTrie.Entry(entry.id(), entry.label(), entry.detail(),
+                            entry.score() + 1));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        refreshers.get(SuggestType.EMPLOYEE).markDirty(event.employeeId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSupplierChanged(SupplierChangedEvent event) {
+        refreshers.get(SuggestType.SUPPLIER).markDirty(event.supplierId());
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.suggest.refresh-interval-ms:200}")
+    public synchronized void refresh() {
+        if (tries != null) {
+            refreshers.values().forEach(IndexRefresher::refresh);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writeSnapshot();
+    }
+
+    // Best matches for what has been typed so far, at most min(limit, top-k)
+    public List<RadixTrie.Entry> suggest(SuggestType type, String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Map<SuggestType, RadixTrie> current = tries;
+        if (current == null) {
+            return suggestFromDatabase(type, prefix.trim(), Math.min(limit, topK));
+        }
+        lock.readLock().lock();
+        try {
+            return current.get(type).suggest(normalized, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private IndexRefresher<SuggestionRow> refresher(SuggestType type,
+                                                    Function<Collection<Long>, List<SuggestionRow>> loader,
+                                                    int batchSize) {
+        return new IndexRefresher<>("Typeahead (" + type + ")", readOnlyTransaction, batchSize, loader,
+                SuggestionRow::id, (rows, missing) -> apply(type, rows, missing));
+    }
+
+    private void apply(SuggestType type, List<SuggestionRow> rows, Set<Long> missing) {
+        lock.writeLock().lock();
+        try {
+            RadixTrie trie = tries.get(type);
+            for (SuggestionRow row : rows) {
+                if (Boolean.TRUE.equals(row.deleted())) {
+                    trie.remove(row.id());
+                    continue;
+                }
+                RadixTrie.Entry previous = trie.get(row.id());
+                put(trie, type, row, previous != null ? previous.score() : 0L);
+            }
+            missing.forEach(trie::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<RadixTrie.Entry> suggestFromDatabase(SuggestType type, String prefix, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return switch (type) {
+            case PRODUCT -> productRepository.searchByNameOrSku(prefix, page).stream()
+                    .map(p -> new RadixTrie.Entry(p.getId(), p.getName(), p.getSku(), 0))
+                    .toList();
+            case EMPLOYEE -> employeeRepository.searchByName(prefix, page).stream()
+                    .filter(e -> !e.getDeleted())
+                    .map(e -> new RadixTrie.Entry(e.getId(), e.getFirstName() + " " + e.getLastName(),
+                            e.getPosition(), 0))
+                    .toList();
+            case SUPPLIER -> supplierRepository.findAll(FilterSpecifications.suppliers(null, null, prefix), page)
+                    .stream()
+                    .map(s -> new RadixTrie.Entry(s.getId(), s.getName(), s.getCity(), 0))
+                    .toList();
+        };
+    }
+
+    private void put(RadixTrie trie, SuggestType type, SuggestionRow row, long score) {
+        if (row.label() != null && !row.label().isBlank()) {
+            put(trie, type, new RadixTrie.Entry(row.id(), row.label().trim(), row.detail(), score));
+        }
+    }
+
+    private static void put(RadixTrie trie, SuggestType type, RadixTrie.Entry entry) {
+        List<String> keys = wordStarts(normalize(entry.label()));
+        if (type == SuggestType.PRODUCT && entry.detail() != null) {
+            keys.add(normalize(entry.detail())); // SKU
+        }
+        trie.put(entry, keys);
+    }
+
+    // The text from each word start on: "cafe latte 1l", "latte 1l", "1l"
+    private static List<String> wordStarts(String normalized) {
+        List<String> keys = new ArrayList<>();
+        int start = 0;
+        while (start >= 0 && keys.size() < MAX_WORD_STARTS) {
+            keys.add(normalized.substring(start));
+            int space = normalized.indexOf(' ', start);
+            start = space < 0 ? -1 : space + 1;
+        }
+        return keys;
+    }
+
+    // Lower case, single spaces
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private Map<SuggestType, RadixTrie> emptyTries() {
+        Map<SuggestType, RadixTrie> result = new EnumMap<>(SuggestType.class);
+        for (SuggestType type : SuggestType.values()) {
+            result.put(type, new RadixTrie(topK));
+        }
+        return result;
+    }
+
+    private static Map<Long, Long> counts(List<PopularityRow> rows) {
+        return rows.stream().collect(Collectors.toMap(PopularityRow::id, PopularityRow::count));
+    }
+
+    private static Map<SuggestType, Integer> sizes(Map<SuggestType, RadixTrie> tries) {
+        Map<SuggestType, Integer> sizes = new EnumMap<>(SuggestType.class);
+        tries.forEach((type, trie) -> sizes.put(type, trie.size()));
+        return sizes;
+    }
+
+    // Copied under the read lock, written without it; replaced atomically so a crash mid-write
+    // leaves the previous snapshot
+    private void writeSnapshot() {
+        Map<SuggestType, RadixTrie> current = tries;
+        if (current == null) {
+            return;
+        }
+        Map<SuggestType, List<RadixTrie.Entry>> entries = new EnumMap<>(SuggestType.class);
+        lock.readLock().lock();
+        try {
+            current.forEach((type, trie) -> entries.put(type, new ArrayList<>(trie.entries())));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(snapshotFile.toAbsolutePath().getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(temp))))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeInt(entries.size());
+                for (Map.Entry<SuggestType, List<RadixTrie.Entry>> type : entries.entrySet()) {
+                    out.writeUTF(type.getKey().name());
+                    out.writeInt(type.getValue().size());
+                    for (RadixTrie.Entry entry : type.getValue()) {
+                        out.writeLong(entry.id());
+                        out.writeUTF(entry.label());
+                        out.writeBoolean(entry.detail() != null);
+                        if (entry.detail() != null) {
+                            out.writeUTF(entry.detail());
+                        }
+                        out.writeLong(entry.score());
+                    }
+                }
+            }
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write typeahead snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+}
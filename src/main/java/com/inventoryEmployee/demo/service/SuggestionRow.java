@@ -0,0 +1,6 @@
+package com.inventoryEmployee.demo.service;
+
+// One typeahead entry as loaded from the database: what is shown, and a secondary line
+// (SKU, position, city)
+public record SuggestionRow(Long id, String label, String detail, Boolean deleted) {
+}
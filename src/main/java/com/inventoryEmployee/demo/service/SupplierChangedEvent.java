@@ -0,0 +1,6 @@
+package com.inventoryEmployee.demo.service;
+
+// Published when a supplier is created, updated or deleted; product search and typeahead
+// re-read its name
+public record SupplierChangedEvent(Long supplierId) {
+}
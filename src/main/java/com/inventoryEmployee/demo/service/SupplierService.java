@@ -0,0 +1,85 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.dto.request.SupplierRequest;
+import com.inventoryEmployee.demo.entity.Supplier;
+import com.inventoryEmployee.demo.enums.SupplierStatus;
+import com.inventoryEmployee.demo.repository.SupplierRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// Supplier writes; each publishes SupplierChangedEvent, handled after commit
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class SupplierService {
+
+    private final SupplierRepository supplierRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Create supplier
+    public Supplier createSupplier(SupplierRequest request) {
+        log.info("Creating new supplier: {}", request.getName());
+
+        Supplier supplier = new Supplier();
+        supplier.setName(request.getName());
+        supplier.setContactPerson(request.getContactPerson());
+        supplier.setEmail(request.getEmail());
+        supplier.setPhone(request.getPhone());
+        supplier.setAlternatePhone(request.getAlternatePhone());
+        supplier.setAddress(request.getAddress());
+        supplier.setCity(request.getCity());
+        supplier.setState(request.getState());
+        supplier.setCountry(request.getCountry());
+        supplier.setZipCode(request.getZipCode());
+        supplier.setTaxId(request.getTaxId());
+        supplier.setNotes(request.getNotes());
+        supplier.setStatus(request.getStatus() != null ? request.getStatus() : SupplierStatus.ACTIVE);
+
+        Supplier created = supplierRepository.save(supplier);
+        eventPublisher.publishEvent(new SupplierChangedEvent(created.getId()));
+        return created;
+    }
+
+    // Get supplier by ID
+    @Transactional(readOnly = true)
+    public Supplier getSupplierById(Long id) {
+        return supplierRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Supplier not found"));
+    }
+
+    // Update supplier
+    public Supplier updateSupplier(Long id, SupplierRequest request) {
+        Supplier existing = getSupplierById(id);
+        log.info("Updating supplier: {}", id);
+
+        existing.setName(request.getName());
+        existing.setContactPerson(request.getContactPerson());
+        existing.setEmail(request.getEmail());
+        existing.setPhone(request.getPhone());
+        existing.setAddress(request.getAddress());
+        existing.setCity(request.getCity());
+        existing.setState(request.getState());
+        existing.setCountry(request.getCountry());
+        existing.setZipCode(request.getZipCode());
+        existing.setTaxId(request.getTaxId());
+        existing.setStatus(request.getStatus());
+
+        Supplier updated = supplierRepository.save(existing);
+        eventPublisher.publishEvent(new SupplierChangedEvent(id));
+        return updated;
+    }
+
+    // Soft delete supplier
+    public void deleteSupplier(Long id) {
+        Supplier supplier = getSupplierById(id);
+        log.info("Soft deleting supplier: {}", id);
+
+        supplier.setDeleted(true);
+        supplierRepository.save(supplier);
+        eventPublisher.publishEvent(new SupplierChangedEvent(id));
+    }
+}
@@ -0,0 +1,132 @@
+package com.inventoryEmployee.demo.util;
+
+import java.util.*;
+
+// Term -> posting list index over long keys, with a trigram index over the vocabulary so a
+// query token also finds the terms it occurs inside. Each posting carries a bit mask of the
+// fields the term came from, so callers can weight and restrict by field.
+//
+// match() reports each term the token matches once, with how it matched:
+//   EXACT  the term itself
+//   PREFIX terms starting with the token (a range of the sorted vocabulary)
+//   INFIX  terms containing it elsewhere (tokens of 3+ chars: candidates from the rarest
+//          trigram's terms, then checked with contains())
+//
+// Not thread-safe.
+public class InvertedIndex {
+
+    public enum Match {
+        INFIX(1), PREFIX(2), EXACT(3);
+
+        private final int quality;
+
+        Match(int quality) {
+            this.quality = quality;
+        }
+
+        public int quality() {
+            return quality;
+        }
+    }
+
+    public interface MatchVisitor {
+        void visit(Match match, Map<Long, Integer> postings);
+    }
+
+    private static final int GRAM = 3;
+    private static final int MAX_TERM_LENGTH = 64;
+
+    // Term -> key -> field mask
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    // Trigram -> terms containing it
+    private final Map<String, Set<String>> grams = new HashMap<>();
+
+    // Lower-cased runs of letters and digits; overlong runs are cut
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, Math.min(i, start + MAX_TERM_LENGTH)).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    public void add(String term, long key, int fields) {
+        Map<Long, Integer> keys = postings.get(term);
+        if (keys == null) {
+            keys = new HashMap<>(4);
+            postings.put(term, keys);
+            for (String gram : grams(term)) {
+                grams.computeIfAbsent(gram, g -> new HashSet<>(4)).add(term);
+            }
+        }
+        keys.merge(key, fields, (a, b) -> a | b);
+    }
+
+    public void remove(String term, long key) {
+        Map<Long, Integer> keys = postings.get(term);
+        if (keys == null || keys.remove(key) == null || !keys.isEmpty()) {
+            return;
+        }
+        postings.remove(term);
+        for (String gram : grams(term)) {
+            Set<String> terms = grams.get(gram);
+            if (terms != null && terms.remove(term) && terms.isEmpty()) {
+                grams.remove(gram);
+            }
+        }
+    }
+
+    public int termCount() {
+        return postings.size();
+    }
+
+    public void match(String token, MatchVisitor visitor) {
+        Map<Long, Integer> exact = postings.get(token);
+        if (exact != null) {
+            visitor.visit(Match.EXACT, exact);
+        }
+        for (Map<Long, Integer> keys : postings.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+            visitor.visit(Match.PREFIX, keys);
+        }
+        if (token.length() < GRAM) {
+            return;
+        }
+
+        Set<String> candidates = null;
+        for (String gram : grams(token)) {
+            Set<String> terms = grams.get(gram);
+            if (terms == null) {
+                return;
+            }
+            if (candidates == null || terms.size() < candidates.size()) {
+                candidates = terms;
+            }
+        }
+        for (String term : candidates) {
+            if (!term.startsWith(token) && term.contains(token)) {
+                visitor.visit(Match.INFIX, postings.get(term));
+            }
+        }
+    }
+
+    private static Set<String> grams(String term) {
+        if (term.length() < GRAM) {
+            return Set.of();
+        }
+        Set<String> result = new HashSet<>(term.length());
+        for (int i = 0; i + GRAM <= term.length(); i++) {
+            result.add(term.substring(i, i + GRAM));
+        }
+        return result;
+    }
+}
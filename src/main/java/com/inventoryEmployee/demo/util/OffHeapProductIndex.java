@@ -0,0 +1,479 @@
+package com.inventoryEmployee.demo.util;
+
+import com.inventoryEmployee.demo.enums.ProductStatus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+// Open-addressing hash index from SKU and barcode to a fixed-size product record, kept in a
+// memory-mapped file. Nothing per product lives on the Java heap, so GC work does not grow
+// with the catalog. Layout:
+//
+//   header   64 bytes
+//   slots    slotCount x 8 bytes: key hash (int), record index + 1 with the key type in the
+//            top bit (int, 0 = empty). Linear probing, backward-shift deletion (no tombstones).
+//   records  recordCapacity x 96 bytes: product id, price (unscaled, scale 2), quantity,
+//            status, SKU (ASCII, up to 50 bytes) and barcode (ASCII, up to 13 bytes)
+//
+// Lookups compare the key's chars with the stored bytes directly: no allocation. Keys that
+// are not short ASCII are not indexed (callers ask the database instead).
+//
+// One writer at a time (callers serialize writes); readers are lock-free and kept
+// consistent with a sequence lock: a read that overlaps a write is retried.
+public final class OffHeapProductIndex implements Closeable {
+
+    public static final long NOT_FOUND = -1;
+    public static final long NOT_INDEXABLE = -2;
+
+    public static final int MAX_SKU_LENGTH = 50;
+    public static final int MAX_BARCODE_LENGTH = 13;
+
+    public enum KeyType { SKU, BARCODE }
+
+    public record Entry(long productId, String sku, String barcode, BigDecimal price,
+                        Integer quantityAvailable, ProductStatus status) {
+    }
+
+    private static final int MAGIC = 0x50494458; // "PIDX"
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 8;
+    private static final int RECORD_SIZE = 96;
+    private static final int BARCODE_FLAG = 1 << 31;
+    private static final ProductStatus[] STATUSES = ProductStatus.values();
+
+    // Header fields
+    private static final int H_MAGIC = 0;
+    private static final int H_SLOT_COUNT = 4;
+    private static final int H_RECORD_CAPACITY = 8;
+    private static final int H_HIGH_WATER = 12; // Records ever used
+    private static final int H_FREE_HEAD = 16; // First free record, -1 if none
+    private static final int H_LIVE = 20;
+
+    // Record fields
+    private static final int R_PRODUCT_ID = 0; // -1 when free
+    private static final int R_PRICE = 8;
+    private static final int R_QUANTITY = 16; // Next free record when free
+    private static final int R_STATUS = 20;
+    private static final int R_SKU_LENGTH = 21;
+    private static final int R_BARCODE_LENGTH = 22;
+    private static final int R_SKU = 24;
+    private static final int R_BARCODE = R_SKU + MAX_SKU_LENGTH;
+
+    private static final long NULL_PRICE = Long.MIN_VALUE;
+    private static final int NULL_QUANTITY = Integer.MIN_VALUE;
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int slotCount;
+    private final int slotMask;
+    private final int recordCapacity;
+    private final int recordsOffset;
+
+    // Odd while a write is in progress
+    private volatile long sequence;
+
+    private OffHeapProductIndex(Path file, MappedByteBuffer buffer, int slotCount, int recordCapacity) {
+        this.file = file;
+        this.buffer = buffer;
+        this.slotCount = slotCount;
+        this.slotMask = slotCount - 1;
+        this.recordCapacity = recordCapacity;
+        this.recordsOffset = HEADER_SIZE + slotCount * SLOT_SIZE;
+    }
+
+    // A new, empty index in a fresh file with room for recordCapacity products.
+    // Slots stay at most half full (two keys per product).
+    public static OffHeapProductIndex create(Path file, int recordCapacity) throws IOException {
+        int slotCount = Integer.highestOneBit(Math.max(1024, recordCapacity * 4 - 1)) << 1;
+        long size = HEADER_SIZE + (long) slotCount * SLOT_SIZE + (long) recordCapacity * RECORD_SIZE;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Index for " + recordCapacity + " products exceeds one mapping");
+        }
+
+        Files.deleteIfExists(file);
+        MappedByteBuffer buffer;
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(size); // Zero-filled: every slot starts empty
+            buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        buffer.order(ByteOrder.nativeOrder());
+
+        buffer.putInt(H_MAGIC, MAGIC);
+        buffer.putInt(H_SLOT_COUNT, slotCount);
+        buffer.putInt(H_RECORD_CAPACITY, recordCapacity);
+        buffer.putInt(H_HIGH_WATER, 0);
+        buffer.putInt(H_FREE_HEAD, -1);
+        buffer.putInt(H_LIVE, 0);
+        return new OffHeapProductIndex(file, buffer, slotCount, recordCapacity);
+    }
+
+    public static boolean isIndexable(CharSequence key, int maxLength) {
+        if (key == null || key.isEmpty() || key.length() > maxLength) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Product id for the key, NOT_FOUND, or NOT_INDEXABLE. Allocation-free; any thread.
+    public long findProductId(KeyType type, CharSequence key) {
+        if (!isIndexable(key, maxLength(type))) {
+            return NOT_INDEXABLE;
+        }
+        int hash = hash(type, key);
+        while (true) {
+            long before = sequence;
+            if ((before & 1) == 0) {
+                int record = findRecord(type, key, hash);
+                long productId = record >= 0 ? buffer.getLong(recordOffset(record) + R_PRODUCT_ID) : NOT_FOUND;
+                VarHandle.loadLoadFence();
+                if (sequence == before) {
+                    return productId;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    // The record for the key, or null (also for keys that can't be indexed)
+    public Entry find(KeyType type, CharSequence key) {
+        if (!isIndexable(key, maxLength(type))) {
+            return null;
+        }
+        int hash = hash(type, key);
+        while (true) {
+            long before = sequence;
+            if ((before & 1) == 0) {
+                int record = findRecord(type, key, hash);
+                Entry entry = record >= 0 ? readRecord(record) : null;
+                VarHandle.loadLoadFence();
+                if (sequence == before) {
+                    return entry;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    public int size() {
+        return buffer.getInt(H_LIVE);
+    }
+
+    public int capacity() {
+        return recordCapacity;
+    }
+
+    // Writes below: one thread at a time
+
+    public boolean isFull() {
+        return buffer.getInt(H_FREE_HEAD) < 0 && buffer.getInt(H_HIGH_WATER) >= recordCapacity;
+    }
+
+    // Insert or update a product. Returns false when it is new and there is no free record
+    // (the caller grows the index). Keys that can't be indexed are skipped.
+    public boolean put(long productId, String sku, String barcode, BigDecimal price,
+                       Integer quantityAvailable, ProductStatus status) {
+        if (!isIndexable(sku, MAX_SKU_LENGTH)) {
+            return true; // Found through the database instead
+        }
+        String indexedBarcode = isIndexable(barcode, MAX_BARCODE_LENGTH) ? barcode : null;
+
+        beginWrite();
+        try {
+            int skuHash = hash(KeyType.SKU, sku);
+            int record = findRecord(KeyType.SKU, sku, skuHash);
+            if (record >= 0 && buffer.getLong(recordOffset(record) + R_PRODUCT_ID) != productId) {
+                removeRecord(record); // SKU now belongs to another product
+                record = -1;
+            }
+
+            if (record < 0) {
+                record = allocateRecord();
+                if (record < 0) {
+                    return false;
+                }
+                writeRecord(record, productId, sku, null, price, quantityAvailable, status);
+                insertSlot(skuHash, record, KeyType.SKU);
+            } else {
+                String currentBarcode = readKey(recordOffset(record) + R_BARCODE,
+                        buffer.get(recordOffset(record) + R_BARCODE_LENGTH), MAX_BARCODE_LENGTH);
+                if (currentBarcode != null && !currentBarcode.equals(indexedBarcode)) {
+                    removeSlot(KeyType.BARCODE, currentBarcode, record);
+                    currentBarcode = null;
+                }
+                writeRecord(record, productId, sku, currentBarcode, price, quantityAvailable, status);
+            }
+
+            if (indexedBarcode != null) {
+                int barcodeHash = hash(KeyType.BARCODE, indexedBarcode);
+                int holder = findRecord(KeyType.BARCODE, indexedBarcode, barcodeHash);
+                if (holder != record) {
+                    if (holder >= 0) {
+                        clearBarcode(holder); // Stale claim by another product
+                    }
+                    writeKey(recordOffset(record) + R_BARCODE_LENGTH, recordOffset(record) + R_BARCODE, indexedBarcode);
+                    insertSlot(barcodeHash, record, KeyType.BARCODE);
+                }
+            }
+            return true;
+        } finally {
+            endWrite();
+        }
+    }
+
+    // Remove a product by its SKU (SKUs never change once created)
+    public void remove(long productId, String sku) {
+        if (!isIndexable(sku, MAX_SKU_LENGTH)) {
+            return;
+        }
+        beginWrite();
+        try {
+            int record = findRecord(KeyType.SKU, sku, hash(KeyType.SKU, sku));
+            if (record >= 0 && buffer.getLong(recordOffset(record) + R_PRODUCT_ID) == productId) {
+                removeRecord(record);
+            }
+        } finally {
+            endWrite();
+        }
+    }
+
+    // Remove a product whose SKU is unknown: a scan of all records, for the rare case
+    public void removeProduct(long productId) {
+        int highWater = buffer.getInt(H_HIGH_WATER);
+        for (int record = 0; record < highWater; record++) {
+            if (buffer.getLong(recordOffset(record) + R_PRODUCT_ID) == productId) {
+                beginWrite();
+                try {
+                    removeRecord(record);
+                } finally {
+                    endWrite();
+                }
+                return;
+            }
+        }
+    }
+
+    // Every live record (writer thread only), e.g. to copy into a bigger index
+    public void forEach(Consumer<Entry> action) {
+        int highWater = buffer.getInt(H_HIGH_WATER);
+        for (int record = 0; record < highWater; record++) {
+            if (buffer.getLong(recordOffset(record) + R_PRODUCT_ID) >= 0) {
+                action.accept(readRecord(record));
+            }
+        }
+    }
+
+    // Deletes the file; the mapping itself goes away once the buffer is collected
+    @Override
+    public void close() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private void beginWrite() {
+        sequence++;
+        VarHandle.storeStoreFence(); // The odd sequence is visible before any change
+    }
+
+    private void endWrite() {
+        sequence++; // Volatile write: every change is visible before the even sequence
+    }
+
+    private static int maxLength(KeyType type) {
+        return type == KeyType.SKU ? MAX_SKU_LENGTH : MAX_BARCODE_LENGTH;
+    }
+
+    // FNV-1a over the chars and key type, then a finalizer to spread the low bits
+    private static int hash(KeyType type, CharSequence key) {
+        int hash = 0x811c9dc5 ^ type.ordinal();
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x01000193;
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+
+    private int slotOffset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private int recordOffset(int record) {
+        return recordsOffset + record * RECORD_SIZE;
+    }
+
+    // Bounded so a read racing a write can't loop forever on torn data; such a read is retried
+    private int findRecord(KeyType type, CharSequence key, int hash) {
+        int slot = hash & slotMask;
+        for (int probes = 0; probes < slotCount; probes++) {
+            int offset = slotOffset(slot);
+            int value = buffer.getInt(offset + 4);
+            if (value == 0) {
+                return -1;
+            }
+            if (buffer.getInt(offset) == hash && ((value & BARCODE_FLAG) != 0) == (type == KeyType.BARCODE)) {
+                int record = (value & ~BARCODE_FLAG) - 1;
+                if (record >= 0 && record < recordCapacity && keyEquals(type, key, record)) {
+                    return record;
+                }
+            }
+            slot = (slot + 1) & slotMask;
+        }
+        return -1;
+    }
+
+    private boolean keyEquals(KeyType type, CharSequence key, int record) {
+        int base = recordOffset(record);
+        int length = buffer.get(base + (type == KeyType.SKU ? R_SKU_LENGTH : R_BARCODE_LENGTH));
+        if (length != key.length()) {
+            return false;
+        }
+        int start = base + (type == KeyType.SKU ? R_SKU : R_BARCODE);
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(start + i) != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void insertSlot(int hash, int record, KeyType type) {
+        int slot = hash & slotMask;
+        while (buffer.getInt(slotOffset(slot) + 4) != 0) {
+            slot = (slot + 1) & slotMask;
+        }
+        buffer.putInt(slotOffset(slot), hash);
+        buffer.putInt(slotOffset(slot) + 4, (record + 1) | (type == KeyType.BARCODE ? BARCODE_FLAG : 0));
+    }
+
+    private void removeSlot(KeyType type, String key, int record) {
+        int hash = hash(type, key);
+        int slot = hash & slotMask;
+        int expected = (record + 1) | (type == KeyType.BARCODE ? BARCODE_FLAG : 0);
+        while (true) {
+            int value = buffer.getInt(slotOffset(slot) + 4);
+            if (value == 0) {
+                return;
+            }
+            if (value == expected) {
+                break;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+
+        // Backward shift: pull later entries of the probe run into the gap when their home
+        // slot allows it, so lookups never stop early at a hole
+        int gap = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & slotMask;
+            int value = buffer.getInt(slotOffset(next) + 4);
+            if (value == 0) {
+                break;
+            }
+            int home = buffer.getInt(slotOffset(next)) & slotMask;
+            boolean stays = gap <= next ? gap < home && home <= next : gap < home || home <= next;
+            if (!stays) {
+                buffer.putLong(slotOffset(gap), buffer.getLong(slotOffset(next)));
+                gap = next;
+            }
+        }
+        buffer.putLong(slotOffset(gap), 0L);
+    }
+
+    private int allocateRecord() {
+        int free = buffer.getInt(H_FREE_HEAD);
+        if (free >= 0) {
+            buffer.putInt(H_FREE_HEAD, buffer.getInt(recordOffset(free) + R_QUANTITY));
+        } else {
+            free = buffer.getInt(H_HIGH_WATER);
+            if (free >= recordCapacity) {
+                return -1;
+            }
+            buffer.putInt(H_HIGH_WATER, free + 1);
+        }
+        buffer.putInt(H_LIVE, buffer.getInt(H_LIVE) + 1);
+        return free;
+    }
+
+    private void removeRecord(int record) {
+        int base = recordOffset(record);
+        String sku = readKey(base + R_SKU, buffer.get(base + R_SKU_LENGTH), MAX_SKU_LENGTH);
+        removeSlot(KeyType.SKU, sku, record);
+        clearBarcode(record);
+
+        buffer.putLong(base + R_PRODUCT_ID, -1);
+        buffer.putInt(base + R_QUANTITY, buffer.getInt(H_FREE_HEAD));
+        buffer.putInt(H_FREE_HEAD, record);
+        buffer.putInt(H_LIVE, buffer.getInt(H_LIVE) - 1);
+    }
+
+    private void clearBarcode(int record) {
+        int base = recordOffset(record);
+        String barcode = readKey(base + R_BARCODE, buffer.get(base + R_BARCODE_LENGTH), MAX_BARCODE_LENGTH);
+        if (barcode != null) {
+            removeSlot(KeyType.BARCODE, barcode, record);
+            buffer.put(base + R_BARCODE_LENGTH, (byte) 0);
+        }
+    }
+
+    private void writeRecord(int record, long productId, String sku, String barcode, BigDecimal price,
+                             Integer quantityAvailable, ProductStatus status) {
+        int base = recordOffset(record);
+        buffer.putLong(base + R_PRODUCT_ID, productId);
+        buffer.putLong(base + R_PRICE, price != null
+                ? price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact() : NULL_PRICE);
+        buffer.putInt(base + R_QUANTITY, quantityAvailable != null ? quantityAvailable : NULL_QUANTITY);
+        buffer.put(base + R_STATUS, (byte) (status != null ? status.ordinal() : -1));
+        writeKey(base + R_SKU_LENGTH, base + R_SKU, sku);
+        writeKey(base + R_BARCODE_LENGTH, base + R_BARCODE, barcode);
+    }
+
+    private void writeKey(int lengthOffset, int offset, String key) {
+        int length = key != null ? key.length() : 0;
+        for (int i = 0; i < length; i++) {
+            buffer.put(offset + i, (byte) key.charAt(i));
+        }
+        buffer.put(lengthOffset, (byte) length);
+    }
+
+    private Entry readRecord(int record) {
+        int base = recordOffset(record);
+        long price = buffer.getLong(base + R_PRICE);
+        int quantity = buffer.getInt(base + R_QUANTITY);
+        int status = buffer.get(base + R_STATUS);
+        return new Entry(
+                buffer.getLong(base + R_PRODUCT_ID),
+                readKey(base + R_SKU, buffer.get(base + R_SKU_LENGTH), MAX_SKU_LENGTH),
+                readKey(base + R_BARCODE, buffer.get(base + R_BARCODE_LENGTH), MAX_BARCODE_LENGTH),
+                price != NULL_PRICE ? BigDecimal.valueOf(price, 2) : null,
+                quantity != NULL_QUANTITY ? quantity : null,
+                status >= 0 && status < STATUSES.length ? STATUSES[status] : null);
+    }
+
+    // Torn reads may see any length; the caller's sequence check discards them
+    private String readKey(int offset, int length, int maxLength) {
+        if (length <= 0) {
+            return null;
+        }
+        char[] chars = new char[Math.min(length, maxLength)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) (buffer.get(offset + i) & 0x7F);
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,262 @@
+package com.inventoryEmployee.demo.util;
+
+import java.util.*;
+
+// Compressed (radix) trie from string keys to scored entries, for typeahead. An entry may be
+// reachable under several keys (e.g. from each word of a name). Every node caches the best
+// topK entries of its subtree, so a prefix query is a walk down the prefix plus a copy of
+// that node's list: O(prefix length + k), whatever the number of matches.
+//
+// Order is score descending, then label, then id. Writes keep the caches current: an insert
+// offers the entry to each node on its paths; a removal re-merges the caches on its paths
+// from the children. Not thread-safe.
+public class RadixTrie {
+
+    public record Entry(long id, String label, String detail, long score) {
+    }
+
+    public static final Comparator<Entry> ORDER = Comparator.comparingLong((Entry e) -> -e.score())
+            .thenComparing(Entry::label, String.CASE_INSENSITIVE_ORDER)
+            .thenComparingLong(Entry::id);
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+    private static final long[] NO_IDS = new long[0];
+
+    private static final class Node {
+        String edge;
+        Node[] children = new Node[0]; // Sorted by first char of edge
+        long[] ids = NO_IDS; // Entries whose key ends here
+        Entry[] top = NO_ENTRIES;
+
+        Node(String edge) {
+            this.edge = edge;
+        }
+
+        int childIndex(char c) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char midChar = children[mid].edge.charAt(0);
+                if (midChar < c) {
+                    low = mid + 1;
+                } else if (midChar > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+
+    private final int topK;
+    private final Node root = new Node("");
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Long, String[]> keysById = new HashMap<>();
+
+    public RadixTrie(int topK) {
+        this.topK = topK;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Entry get(long id) {
+        return entries.get(id);
+    }
+
+    // Insert or replace the entry with this id under the given keys
+    public void put(Entry entry, Collection<String> keys) {
+        remove(entry.id());
+        String[] distinct = keys.stream().filter(key -> !key.isEmpty()).distinct().toArray(String[]::new);
+        entries.put(entry.id(), entry);
+        keysById.put(entry.id(), distinct);
+        for (String key : distinct) {
+            insert(key, entry);
+        }
+    }
+
+    public void remove(long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String key : keysById.remove(id)) {
+            remove(root, key, 0, id);
+        }
+    }
+
+    // Best entries under keys starting with the prefix, at most min(limit, topK)
+    public List<Entry> suggest(String prefix, int limit) {
+        Node node = root;
+        int offset = 0;
+        while (offset < prefix.length()) {
+            int index = node.childIndex(prefix.charAt(offset));
+            if (index < 0) {
+                return List.of();
+            }
+            node = node.children[index];
+            int common = commonPrefix(node.edge, prefix, offset);
+            if (offset + common == prefix.length()) {
+                break; // Prefix ends on or inside this edge
+            }
+            if (common < node.edge.length()) {
+                return List.of();
+            }
+            offset += common;
+        }
+        return List.of(Arrays.copyOf(node.top, Math.min(limit, node.top.length)));
+    }
+
+    // Every entry (for snapshots)
+    public Collection<Entry> entries() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    private void insert(String key, Entry entry) {
+        Node node = root;
+        offer(node, entry);
+        int offset = 0;
+        while (offset < key.length()) {
+            int index = node.childIndex(key.charAt(offset));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(offset));
+                node.children = insertChild(node.children, -(index + 1), leaf);
+                node = leaf;
+                offset = key.length();
+            } else {
+                Node child = node.children[index];
+                int common = commonPrefix(child.edge, key, offset);
+                if (common < child.edge.length()) {
+                    // Split the edge: the shared part becomes a new node above the child
+                    Node split = new Node(child.edge.substring(0, common));
+                    child.edge = child.edge.substring(common);
+                    split.children = new Node[]{child};
+                    split.top = child.top.clone();
+                    node.children[index] = split;
+                    child = split;
+                }
+                node = child;
+                offset += common;
+            }
+            offer(node, entry);
+        }
+        node.ids = Arrays.copyOf(node.ids, node.ids.length + 1);
+        node.ids[node.ids.length - 1] = entry.id();
+    }
+
+    // Returns false when the node is now empty and should be unlinked by its parent
+    private boolean remove(Node node, String key, int offset, long id) {
+        if (offset == key.length()) {
+            node.ids = without(node.ids, id);
+        } else {
+            int index = node.childIndex(key.charAt(offset));
+            if (index < 0) {
+                return true;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.edge, key, offset);
+            if (common < child.edge.length()) {
+                return true;
+            }
+            if (!remove(child, key, offset + common, id)) {
+                node.children = removeChild(node.children, index);
+            } else if (child.ids.length == 0 && child.children.length == 1) {
+                // Merge a pass-through node into its only child
+                Node only = child.children[0];
+                only.edge = child.edge + only.edge;
+                node.children[index] = only;
+            }
+        }
+        recomputeTop(node);
+        return node == root || node.ids.length > 0 || node.children.length > 0;
+    }
+
+    private void offer(Node node, Entry entry) {
+        Entry[] top = node.top;
+        if (top.length == topK && ORDER.compare(entry, top[topK - 1]) >= 0) {
+            return;
+        }
+        int position = Arrays.binarySearch(top, entry, ORDER);
+        if (position >= 0) {
+            return; // Already there (same id under another key of this subtree)
+        }
+        position = -(position + 1);
+        int length = Math.min(top.length + 1, topK);
+        Entry[] merged = new Entry[length];
+        System.arraycopy(top, 0, merged, 0, position);
+        merged[position] = entry;
+        System.arraycopy(top, position, merged, position + 1, length - position - 1);
+        node.top = merged;
+    }
+
+    // While an entry with several keys is being removed, caches on its other paths still hold
+    // it; anything no longer in entries is skipped, and those paths are recomputed in turn
+    private void recomputeTop(Node node) {
+        List<Entry> candidates = new ArrayList<>();
+        for (long id : node.ids) {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                candidates.add(entry);
+            }
+        }
+        for (Node child : node.children) {
+            for (Entry entry : child.top) {
+                if (entries.get(entry.id()) == entry) {
+                    candidates.add(entry);
+                }
+            }
+        }
+        candidates.sort(ORDER);
+        List<Entry> top = new ArrayList<>(Math.min(topK, candidates.size()));
+        Entry previous = null;
+        for (Entry entry : candidates) {
+            if (top.size() == topK) {
+                break;
+            }
+            if (previous == null || previous.id() != entry.id()) {
+                top.add(entry);
+                previous = entry;
+            }
+        }
+        node.top = top.toArray(NO_ENTRIES);
+    }
+
+    private static int commonPrefix(String edge, String key, int offset) {
+        int max = Math.min(edge.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && edge.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static Node[] insertChild(Node[] children, int position, Node child) {
+        Node[] result = new Node[children.length + 1];
+        System.arraycopy(children, 0, result, 0, position);
+        result[position] = child;
+        System.arraycopy(children, position, result, position + 1, children.length - position);
+        return result;
+    }
+
+    private static Node[] removeChild(Node[] children, int position) {
+        Node[] result = new Node[children.length - 1];
+        System.arraycopy(children, 0, result, 0, position);
+        System.arraycopy(children, position + 1, result, position, children.length - position - 1);
+        return result;
+    }
+
+    private static long[] without(long[] ids, long id) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                long[] result = new long[ids.length - 1];
+                System.arraycopy(ids, 0, result, 0, i);
+                System.arraycopy(ids, i + 1, result, i, ids.length - i - 1);
+                return result;
+            }
+        }
+        return ids;
+    }
+}
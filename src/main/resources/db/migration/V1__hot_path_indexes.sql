@@ -0,0 +1,23 @@
+-- Composite indexes for the hot filter / sort paths. Tables themselves still come from
+-- the entity mappings; these run after Hibernate has created them.
+
+-- Product ledger: WHERE product_id = ? ORDER BY transaction_date DESC, id DESC
+CREATE INDEX idx_stock_tx_product_date ON stock_transactions (product_id, transaction_date, id);
+
+-- Employee activity in a date range
+CREATE INDEX idx_stock_tx_employee_date ON stock_transactions (employee_id, transaction_date);
+
+-- Unread badge count and unread listing per user
+CREATE INDEX idx_notification_user_read_created ON notifications (user_id, is_read, created_at);
+
+-- Open alerts for a product (dedupe on alert creation, resolve on restock)
+CREATE INDEX idx_alert_product_resolved_type ON stock_alerts (product_id, is_resolved, alert_type);
+
+-- Order listings by status, newest first, soft-deleted rows excluded
+CREATE INDEX idx_order_status_deleted_date ON orders (status, deleted, order_date);
+
+-- Covering index for the stock level scan: the threshold check never reads the row
+CREATE INDEX idx_inventory_stock_levels ON inventory (is_active, product_id, quantity_available, min_stock_level, max_stock_level);
+
+-- Audit trail for one user
+CREATE INDEX idx_audit_user_timestamp ON audit_logs (user_id, timestamp);
@@ -0,0 +1,8 @@
+-- Report version: MAX(updated_at) of each table the inventory reports print is one index dive
+CREATE INDEX idx_inventory_updated_at ON inventory (updated_at);
+
+CREATE INDEX idx_product_updated_at ON products (updated_at);
+
+CREATE INDEX idx_category_updated_at ON categories (updated_at);
+
+CREATE INDEX idx_supplier_updated_at ON suppliers (updated_at);
@@ -0,0 +1,183 @@
+package com.inventoryEmployee.demo;
+
+import com.inventoryEmployee.demo.enums.AlertType;
+import com.inventoryEmployee.demo.enums.OrderStatus;
+import com.inventoryEmployee.demo.enums.ReservationStatus;
+import com.inventoryEmployee.demo.repository.*;
+import com.inventoryEmployee.demo.service.OrderService;
+import com.inventoryEmployee.demo.service.StockAlertService;
+import com.inventoryEmployee.demo.service.StockTransactionService;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Runs the hot repository queries, captures the SQL Hibernate sends (with the bound values)
+// and fails when EXPLAIN shows one of them falling back to a full table scan. Boots the
+// application against a seeded MySQL database, e.g.
+//   mvn test -Dtest=QueryPlanRegressionTests -Dexplain.jdbc.url=jdbc:mysql://localhost:3306/inventory
+//            -Dexplain.jdbc.user=root -Dexplain.jdbc.password=...
+// On a near-empty table MySQL prefers a scan regardless of indexes, so tables below
+// explain.min-rows are skipped rather than failed. Each query runs in a rolled-back transaction.
+@SpringBootTest
+@Import(SqlCapture.Config.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "explain.jdbc.url", matches = ".+")
+class QueryPlanRegressionTests {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 2, 1, 0, 0);
+    private static final PageRequest PAGE = PageRequest.of(0, 20);
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getProperty("explain.jdbc.url"));
+        registry.add("spring.datasource.username", () -> System.getProperty("explain.jdbc.user", "root"));
+        registry.add("spring.datasource.password", () -> System.getProperty("explain.jdbc.password", ""));
+    }
+
+    @Autowired
+    private StockTransactionRepository stockTransactionRepository;
+
+    @Autowired
+    private StockTransactionService stockTransactionService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private StockAlertRepository stockAlertRepository;
+
+    @Autowired
+    private StockAlertService stockAlertService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // name, table that must be reached through an index, the call that issues the query
+    Stream<Arguments> hotQueries() {
+        return Stream.of(
+                Arguments.of("ledger by product", "stock_transactions", (Runnable) () ->
+                        stockTransactionRepository.findByProductId(1L, PageRequest.of(0, 20,
+                                Sort.by(Sort.Order.desc("transactionDate"), Sort.Order.desc("id"))))),
+                Arguments.of("ledger keyset page", "stock_transactions", (Runnable) () ->
+                        stockTransactionRepository.findRecentTransactionsBefore(FROM, 1000L, PAGE)),
+                Arguments.of("ledger by product and date range", "stock_transactions", (Runnable) () ->
+                        stockTransactionService.searchTransactionsWithFilters(1L, null, null, FROM, TO, PAGE)),
+                Arguments.of("ledger by employee and date range", "stock_transactions", (Runnable) () ->
+                        stockTransactionService.searchTransactionsWithFilters(null, 1L, null, FROM, TO, PAGE)),
+                Arguments.of("unread notification count", "notifications", (Runnable) () ->
+                        notificationRepository.countByUserIdAndIsReadFalse(1L)),
+                Arguments.of("unread notifications", "notifications", (Runnable) () ->
+                        notificationRepository.findByUserIdAndIsReadFalse(1L)),
+                Arguments.of("notification keyset page", "notifications", (Runnable) () ->
+                        notificationRepository.findRecentNotificationsByUserBefore(1L, FROM, 1000L, PAGE)),
+                Arguments.of("open alerts for product", "stock_alerts", (Runnable) () ->
+                        stockAlertRepository.findUnresolvedAlertsByProduct(1L)),
+                Arguments.of("open alert of type for product", "stock_alerts", (Runnable) () ->
+                        stockAlertService.searchAlertsWithFilters(AlertType.LOW_STOCK, false, 1L, PAGE)),
+                Arguments.of("recent unresolved alerts", "stock_alerts", (Runnable) () ->
+                        stockAlertRepository.findRecentUnresolvedAlertsFirst(PAGE)),
+                Arguments.of("orders by status", "orders", (Runnable) () ->
+                        orderRepository.findByStatus(OrderStatus.PENDING, PAGE)),
+                Arguments.of("orders by status and date range", "orders", (Runnable) () ->
+                        orderService.searchOrdersWithFilters(OrderStatus.DELIVERED, null, null, null, FROM, TO, PAGE)),
+                Arguments.of("audit history of an entity", "audit_logs", (Runnable) () ->
+                        auditLogRepository.findHistory("Product", 1L, PageRequest.of(0, 100))),
+                Arguments.of("audit trail of a user", "audit_logs", (Runnable) () ->
+                        auditLogRepository.findByUserId(1L, PageRequest.of(0, 20, Sort.by(Sort.Order.desc("timestamp"))))),
+                Arguments.of("inventory by product", "inventory", (Runnable) () ->
+                        inventoryRepository.findByProductId(1L)),
+                Arguments.of("outbox batch", "outbox_events", (Runnable) () ->
+                        outboxEventRepository.findBatch(1000L, PageRequest.of(0, 200))),
+                Arguments.of("expired reservations", "stock_reservations", (Runnable) () ->
+                        stockReservationRepository.findExpiredForUpdate(ReservationStatus.ACTIVE, FROM,
+                                PageRequest.of(0, 100))),
+                Arguments.of("reservations of an order", "stock_reservations", (Runnable) () ->
+                        stockReservationRepository.findByReferenceNumberAndStatusForUpdate("ORD-1",
+                                ReservationStatus.ACTIVE))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQueryUsesAnIndex(String name, String table, Runnable query) {
+        long minRows = Long.getLong("explain.min-rows", 1000);
+        long rows = estimatedRows(table);
+        assumeTrue(rows >= minRows, () -> table + " has ~" + rows + " rows, seed at least " + minRows);
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<String> statements = transaction.execute(status -> {
+            status.setRollbackOnly();
+            return SqlCapture.capture(query);
+        });
+
+        List<PlanRow> forTable = new ArrayList<>();
+        for (String sql : statements) {
+            if (sql.regionMatches(true, 0, "select", 0, 6)) {
+                explain(sql).stream().filter(row -> table.equals(row.table())).forEach(forTable::add);
+            }
+        }
+
+        assertFalse(forTable.isEmpty(), () -> "No plan row for " + table + " in " + statements);
+        for (PlanRow row : forTable) {
+            assertNotEquals("ALL", row.type(), () -> name + " does a full scan of " + table + ": " + statements);
+        }
+    }
+
+    private long estimatedRows(String table) {
+        Long rows = jdbcTemplate.query(
+                "SELECT table_rows FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?",
+                rs -> rs.next() ? rs.getLong(1) : 0L, table);
+        return rows != null ? rows : 0;
+    }
+
+    private List<PlanRow> explain(String sql) {
+        return jdbcTemplate.query("EXPLAIN " + sql, (rs, rowNum) ->
+                new PlanRow(rs.getString("table"), rs.getString("type"), rs.getString("key")));
+    }
+
+    private record PlanRow(String table, String type, String key) {
+    }
+}
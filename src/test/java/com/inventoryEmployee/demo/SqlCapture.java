@@ -0,0 +1,116 @@
+package com.inventoryEmployee.demo;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Records the SQL the current thread sends to the database, with the bound values inlined
+// by the MySQL driver, so plan checks can EXPLAIN exactly what the repositories issue
+// instead of a hand-written copy. Register it with @Import(SqlCapture.Config.class).
+public final class SqlCapture {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    private SqlCapture() {
+    }
+
+    // Run the action and return the statements it executed, in order
+    public static List<String> capture(Runnable action) {
+        List<String> previous = CAPTURED.get();
+        List<String> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            action.run();
+        } finally {
+            CAPTURED.set(previous);
+        }
+        return statements;
+    }
+
+    @TestConfiguration
+    public static class Config {
+
+        @Bean
+        static BeanPostProcessor sqlCaptureDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof CapturingDataSource)) {
+                        return new CapturingDataSource(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    private static class CapturingDataSource extends DelegatingDataSource {
+
+        CapturingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return capturing(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return capturing(super.getConnection(username, password));
+        }
+    }
+
+    private static Connection capturing(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                return capturing(statement);
+            }
+            return result;
+        });
+    }
+
+    private static PreparedStatement capturing(PreparedStatement statement) {
+        return proxy(PreparedStatement.class, statement, (proxy, method, args) -> {
+            List<String> statements = CAPTURED.get();
+            if (statements != null && method.getName().startsWith("execute") && (args == null || args.length == 0)) {
+                statements.add(inlinedSql(statement));
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    // Connector/J renders a client-side prepared statement as "ClassName: <sql with values>";
+    // unwrap past the pool's proxy to reach it
+    private static String inlinedSql(PreparedStatement statement) throws SQLException {
+        String text = statement.unwrap(PreparedStatement.class).toString();
+        int start = text.indexOf(": ");
+        return start >= 0 ? text.substring(start + 2) : text;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlCapture.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
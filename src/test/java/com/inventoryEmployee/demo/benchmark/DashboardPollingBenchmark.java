@@ -0,0 +1,77 @@
+package com.inventoryEmployee.demo.benchmark;
+
+import com.inventoryEmployee.demo.repository.DashboardKpiRepository;
+import com.inventoryEmployee.demo.service.AnalyticsService;
+import com.inventoryEmployee.demo.service.InventoryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Dashboard KPI latency with bench.dashboard.pollers (100) concurrent pollers:
+// - per request: every poll runs the KPI queries itself, as before the snapshot cache
+// - cached: AnalyticsService.getDashboardKPIs, served from the refresh-ahead snapshot
+// Read-only; run against a seeded database:
+//   mvn test -Dtest=DashboardPollingBenchmark -Dbench.jdbc.url=jdbc:mysql://localhost:3306/inventory
+//            -Dbench.jdbc.user=root -Dbench.jdbc.password=...
+@SpringBootTest
+@EnabledIfSystemProperty(named = "bench.jdbc.url", matches = ".+")
+class DashboardPollingBenchmark {
+
+    private static final int POLLERS = Integer.getInteger("bench.dashboard.pollers", 100);
+    private static final int WARMUP_CALLS = 5;
+    private static final int CALLS_PER_THREAD = Integer.getInteger("bench.calls", 50);
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        LoadRunner.registerDataSource(registry);
+    }
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private DashboardKpiRepository dashboardKpiRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentPollers() throws InterruptedException {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        LoadRunner.run("per request", POLLERS, WARMUP_CALLS, CALLS_PER_THREAD, (thread, call) ->
+                readOnly.executeWithoutResult(status -> computeKpis()));
+
+        LoadRunner.Result cached = LoadRunner.run("cached snapshot", POLLERS, WARMUP_CALLS, CALLS_PER_THREAD,
+                (thread, call) -> analyticsService.getDashboardKPIs());
+        assertEquals(0, cached.errors(), "dashboard requests failed");
+    }
+
+    private void computeKpis() {
+        LocalDate today = LocalDate.now();
+        LocalDate firstDayOfMonth = today.withDayOfMonth(1);
+        dashboardKpiRepository.countCatalog();
+        dashboardKpiRepository.countOrders();
+        dashboardKpiRepository.countEmployees(firstDayOfMonth, today.withDayOfMonth(today.lengthOfMonth()));
+        dashboardKpiRepository.countTransactions(today.atStartOfDay(), today.with(DayOfWeek.MONDAY).atStartOfDay(),
+                firstDayOfMonth.atStartOfDay(), LocalDateTime.now());
+        inventoryService.calculateTotalInventoryValue();
+        inventoryService.countLowStockItems();
+        inventoryService.countOutOfStockItems();
+    }
+}
@@ -0,0 +1,135 @@
+package com.inventoryEmployee.demo.benchmark;
+
+import com.inventoryEmployee.demo.SqlCapture;
+import com.inventoryEmployee.demo.entity.Product;
+import com.inventoryEmployee.demo.enums.OrderStatus;
+import com.inventoryEmployee.demo.enums.OrderType;
+import com.inventoryEmployee.demo.enums.ProductStatus;
+import com.inventoryEmployee.demo.enums.TransactionType;
+import com.inventoryEmployee.demo.repository.EmployeeRepository;
+import com.inventoryEmployee.demo.repository.ProductRepository;
+import com.inventoryEmployee.demo.service.AuditService;
+import com.inventoryEmployee.demo.service.InventoryService;
+import com.inventoryEmployee.demo.service.OrderService;
+import com.inventoryEmployee.demo.service.ProductService;
+import com.inventoryEmployee.demo.service.StockTransactionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Plans and latency of the common listing filter combinations, through the real services:
+// each combination's statements are captured with their bound values and EXPLAINed, then
+// the call is timed. Read-only; run against a seeded database:
+//   mvn test -Dtest=FilterQueryBenchmark -Dbench.jdbc.url=jdbc:mysql://localhost:3306/inventory
+//            -Dbench.jdbc.user=root -Dbench.jdbc.password=...
+@SpringBootTest
+@Import(SqlCapture.Config.class)
+@EnabledIfSystemProperty(named = "bench.jdbc.url", matches = ".+")
+class FilterQueryBenchmark {
+
+    private static final int WARMUP_CALLS = 20;
+    private static final int CALLS = Integer.getInteger("bench.calls", 200);
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        LoadRunner.registerDataSource(registry);
+    }
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private StockTransactionService stockTransactionService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void filterCombinations() throws InterruptedException {
+        Product product = productRepository.findAll(PageRequest.of(0, 1)).getContent().getFirst();
+        Long productId = product.getId();
+        Long categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
+        Long supplierId = product.getSupplier() != null ? product.getSupplier().getId() : null;
+        Long employeeId = employeeRepository.findAll(PageRequest.of(0, 1)).getContent().getFirst().getId();
+        LocalDateTime monthAgo = LocalDateTime.now().minusMonths(1);
+        LocalDateTime now = LocalDateTime.now();
+        Pageable page = PageRequest.of(0, 20);
+
+        Map<String, Runnable> combinations = new LinkedHashMap<>();
+        combinations.put("products: category", () -> productService.searchProductsWithFilters(
+                categoryId, null, null, null, null, null, page));
+        combinations.put("products: category + status", () -> productService.searchProductsWithFilters(
+                categoryId, null, ProductStatus.ACTIVE, null, null, null, page));
+        combinations.put("products: supplier + price range", () -> productService.searchProductsWithFilters(
+                null, supplierId, null, BigDecimal.ONE, BigDecimal.valueOf(1000), null, page));
+        combinations.put("products: term + category", () -> productService.searchProductsWithFilters(
+                categoryId, null, null, null, null, "a", page));
+        combinations.put("inventory: location", () -> inventoryService.searchInventoryWithFilters(
+                "A", null, page));
+        combinations.put("ledger: product", () -> stockTransactionService.searchTransactionsWithFilters(
+                productId, null, null, null, null, page));
+        combinations.put("ledger: product + type + dates", () -> stockTransactionService.searchTransactionsWithFilters(
+                productId, null, TransactionType.OUT, monthAgo, now, page));
+        combinations.put("ledger: employee + dates", () -> stockTransactionService.searchTransactionsWithFilters(
+                null, employeeId, null, monthAgo, now, page));
+        combinations.put("ledger: type + dates", () -> stockTransactionService.searchTransactionsWithFilters(
+                null, null, TransactionType.IN, monthAgo, now, page));
+        combinations.put("orders: status", () -> orderService.searchOrdersWithFilters(
+                OrderStatus.PENDING, null, null, null, null, null, page));
+        combinations.put("orders: status + dates", () -> orderService.searchOrdersWithFilters(
+                OrderStatus.DELIVERED, null, null, null, monthAgo, now, page));
+        combinations.put("orders: supplier + type", () -> orderService.searchOrdersWithFilters(
+                null, OrderType.PURCHASE, null, supplierId, null, null, page));
+        combinations.put("orders: employee + status", () -> orderService.searchOrdersWithFilters(
+                OrderStatus.PENDING, null, employeeId, null, null, null, page));
+        combinations.put("audit: entity + action", () -> auditService.searchAuditLogsWithFilters(
+                "Product", "UPDATE", null, null, null, page));
+        combinations.put("audit: dates", () -> auditService.searchAuditLogsWithFilters(
+                null, null, null, monthAgo, now, page));
+
+        for (Map.Entry<String, Runnable> combination : combinations.entrySet()) {
+            System.out.println("== " + combination.getKey());
+            for (String sql : SqlCapture.capture(combination.getValue())) {
+                System.out.println("   " + sql);
+                if (sql.regionMatches(true, 0, "select", 0, 6)) {
+                    explain(sql).forEach(row -> System.out.println("     " + row));
+                }
+            }
+            LoadRunner.run(combination.getKey(), 1, WARMUP_CALLS, CALLS, (thread, call) -> combination.getValue().run());
+        }
+    }
+
+    private List<String> explain(String sql) {
+        return jdbcTemplate.query("EXPLAIN " + sql, (rs, rowNum) -> String.format("%-20s type=%-7s key=%-30s rows=%-8s %s",
+                rs.getString("table"), rs.getString("type"), rs.getString("key"),
+                rs.getString("rows"), rs.getString("Extra")));
+    }
+}
@@ -0,0 +1,53 @@
+package com.inventoryEmployee.demo.benchmark;
+
+import com.inventoryEmployee.demo.enums.StockMovementReason;
+import com.inventoryEmployee.demo.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// The ledger row as it was mapped before pooled ids: an IDENTITY id, which Hibernate can
+// only learn by running each INSERT on its own, so JDBC batching is off for it. Lives in
+// a scratch table LedgerInsertBenchmark creates and drops.
+@Entity
+@Table(name = LedgerInsertBenchmark.IDENTITY_TABLE)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+class IdentityLedgerRow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TransactionType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private StockMovementReason reason;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private Integer previousQuantity;
+
+    @Column(nullable = false)
+    private Integer newQuantity;
+
+    @Column(columnDefinition = "TEXT")
+    private String notes;
+
+    @Column(nullable = false)
+    private LocalDateTime transactionDate;
+}
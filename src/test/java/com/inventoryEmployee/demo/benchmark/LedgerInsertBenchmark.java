@@ -0,0 +1,155 @@
+package com.inventoryEmployee.demo.benchmark;
+
+import com.inventoryEmployee.demo.entity.Employee;
+import com.inventoryEmployee.demo.entity.Product;
+import com.inventoryEmployee.demo.entity.StockTransaction;
+import com.inventoryEmployee.demo.enums.StockMovementReason;
+import com.inventoryEmployee.demo.enums.TransactionType;
+import com.inventoryEmployee.demo.repository.EmployeeRepository;
+import com.inventoryEmployee.demo.repository.ProductRepository;
+import com.inventoryEmployee.demo.repository.StockTransactionBatchRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+// Insert throughput for bench.ledger.rows (100k) ledger rows, committed in chunks:
+// - identity: the old mapping (IdentityLedgerRow), one INSERT per row, no JDBC batching
+// - per-row flush: pooled ids, but a flush after every persist
+// - batched: StockTransactionBatchRepository (pooled ids, JDBC batches, rewritten inserts)
+// The identity rows go to a scratch table with the ledger's columns and indexes; the
+// ledger rows are tagged. Both are removed afterwards. Run against a disposable copy:
+//   mvn test -Dtest=LedgerInsertBenchmark -Dbench.jdbc.url=jdbc:mysql://localhost:3306/inventory_bench
+//            -Dbench.jdbc.user=root -Dbench.jdbc.password=...
+@SpringBootTest
+@EnabledIfSystemProperty(named = "bench.jdbc.url", matches = ".+")
+class LedgerInsertBenchmark {
+
+    private static final int ROWS = Integer.getInteger("bench.ledger.rows", 100_000);
+    private static final int CHUNK = 5_000;
+    private static final String MARKER = "ledger-insert-benchmark";
+    static final String IDENTITY_TABLE = "ledger_insert_benchmark_identity";
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        LoadRunner.registerDataSource(registry);
+    }
+
+    @Autowired
+    private StockTransactionBatchRepository stockTransactionBatchRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void createIdentityTable() {
+        execute("CREATE TABLE " + IDENTITY_TABLE + " ("
+                + "id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+                + "product_id BIGINT NOT NULL, employee_id BIGINT, "
+                + "type VARCHAR(20) NOT NULL, reason VARCHAR(50) NOT NULL, "
+                + "quantity INT NOT NULL, previous_quantity INT NOT NULL, new_quantity INT NOT NULL, "
+                + "notes TEXT, transaction_date DATETIME(6) NOT NULL, "
+                + "KEY (product_id), KEY (employee_id), KEY (transaction_date, id))");
+    }
+
+    @AfterEach
+    void deleteRows() {
+        execute("DROP TABLE IF EXISTS " + IDENTITY_TABLE);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> entityManager
+                .createQuery("DELETE FROM StockTransaction t WHERE t.notes = :notes")
+                .setParameter("notes", MARKER)
+                .executeUpdate());
+    }
+
+    @Test
+    void insertLedgerRows() {
+        Long productId = productRepository.findAll(PageRequest.of(0, 1)).getContent().getFirst().getId();
+        Long employeeId = employeeRepository.findAll(PageRequest.of(0, 1)).getContent().getFirst().getId();
+
+        insert("identity", size -> identityRows(productId, employeeId, size), rows -> rows.forEach(entityManager::persist));
+        insert("per-row flush", size -> ledgerRows(productId, employeeId, size), rows -> rows.forEach(row -> {
+            entityManager.persist(row);
+            entityManager.flush();
+        }));
+        insert("batched insertAll", size -> ledgerRows(productId, employeeId, size),
+                stockTransactionBatchRepository::insertAll);
+    }
+
+    private <T> void insert(String name, IntFunction<List<T>> rows, Consumer<List<T>> writer) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long start = System.nanoTime();
+        for (int offset = 0; offset < ROWS; offset += CHUNK) {
+            int size = Math.min(CHUNK, ROWS - offset);
+            transaction.executeWithoutResult(status -> writer.accept(rows.apply(size)));
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-20s rows=%d  %.1f s  %.0f rows/s%n", name, ROWS, elapsed / 1e9, ROWS * 1e9 / elapsed);
+    }
+
+    private void execute(String sql) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                entityManager.createNativeQuery(sql).executeUpdate());
+    }
+
+    private static List<IdentityLedgerRow> identityRows(Long productId, Long employeeId, int size) {
+        List<IdentityLedgerRow> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(IdentityLedgerRow.builder()
+                    .productId(productId)
+                    .employeeId(employeeId)
+                    .type(TransactionType.IN)
+                    .reason(StockMovementReason.PURCHASE)
+                    .quantity(1)
+                    .previousQuantity(i)
+                    .newQuantity(i + 1)
+                    .notes(MARKER)
+                    .transactionDate(LocalDateTime.now())
+                    .build());
+        }
+        return rows;
+    }
+
+    private List<StockTransaction> ledgerRows(Long productId, Long employeeId, int size) {
+        Product product = entityManager.getReference(Product.class, productId);
+        Employee employee = entityManager.getReference(Employee.class, employeeId);
+        List<StockTransaction> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(StockTransaction.builder()
+                    .product(product)
+                    .employee(employee)
+                    .type(TransactionType.IN)
+                    .reason(StockMovementReason.PURCHASE)
+                    .quantity(1)
+                    .previousQuantity(i)
+                    .newQuantity(i + 1)
+                    .notes(MARKER)
+                    .transactionDate(LocalDateTime.now())
+                    .build());
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,115 @@
+package com.inventoryEmployee.demo.benchmark;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Closed-loop load generator for the opt-in benchmarks: each thread runs the task back to
+// back, the warmup calls are discarded, and the latencies of the rest are reported as
+// throughput and percentiles. Not JMH - numbers are for comparing variants on one machine.
+final class LoadRunner {
+
+    @FunctionalInterface
+    interface Task {
+        void run(int thread, int call) throws Exception;
+    }
+
+    record Result(String name, int threads, long calls, long errors, long elapsedNanos,
+                  long p50Nanos, long p99Nanos, long maxNanos) {
+
+        double throughput() {
+            return calls * 1_000_000_000.0 / Math.max(1, elapsedNanos);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-40s threads=%-3d calls=%-8d errors=%-6d %10.0f ops/s  p50=%8.1f us  p99=%8.1f us  max=%9.1f us",
+                    name, threads, calls, errors, throughput(), p50Nanos / 1000.0, p99Nanos / 1000.0, maxNanos / 1000.0);
+        }
+    }
+
+    private LoadRunner() {
+    }
+
+    // The DB benchmarks run the application against bench.jdbc.url (a disposable, seeded copy)
+    static void registerDataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getProperty("bench.jdbc.url"));
+        registry.add("spring.datasource.username", () -> System.getProperty("bench.jdbc.user", "root"));
+        registry.add("spring.datasource.password", () -> System.getProperty("bench.jdbc.password", ""));
+    }
+
+    static Result run(String name, int threads, int warmupCalls, int callsPerThread, Task task) throws InterruptedException {
+        long[][] latencies = new long[threads][callsPerThread];
+        AtomicLong errors = new AtomicLong();
+        AtomicReference<Throwable> firstError = new AtomicReference<>();
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong startedAt = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                workers.add(executor.submit(() -> {
+                    for (int call = 0; call < warmupCalls; call++) {
+                        runCounted(task, thread, call, errors, firstError);
+                    }
+                    ready.countDown();
+                    start.await();
+                    for (int call = 0; call < callsPerThread; call++) {
+                        long begin = System.nanoTime();
+                        runCounted(task, thread, warmupCalls + call, errors, firstError);
+                        latencies[thread][call] = System.nanoTime() - begin;
+                    }
+                    return null;
+                }));
+            }
+
+            ready.await();
+            errors.set(0); // Only count errors of measured calls
+            firstError.set(null);
+            startedAt.set(System.nanoTime());
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Benchmark worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - startedAt.get();
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        Result result = new Result(name, threads, all.length, errors.get(), elapsed,
+                percentile(all, 0.50), percentile(all, 0.99), all.length > 0 ? all[all.length - 1] : 0);
+        System.out.println(result);
+        if (firstError.get() != null && result.errors() > 0) {
+            System.out.println("    first error: " + firstError.get());
+        }
+        return result;
+    }
+
+    private static void runCounted(Task task, int thread, int call, AtomicLong errors,
+                                   AtomicReference<Throwable> firstError) {
+        try {
+            task.run(thread, call);
+        } catch (Exception e) {
+            errors.incrementAndGet();
+            firstError.compareAndSet(null, e);
+        }
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1)];
+    }
+}
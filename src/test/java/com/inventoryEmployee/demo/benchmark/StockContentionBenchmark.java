@@ -0,0 +1,125 @@
+package com.inventoryEmployee.demo.benchmark;
+
+import com.inventoryEmployee.demo.entity.Employee;
+import com.inventoryEmployee.demo.entity.Inventory;
+import com.inventoryEmployee.demo.enums.StockMovementReason;
+import com.inventoryEmployee.demo.repository.EmployeeRepository;
+import com.inventoryEmployee.demo.repository.InventoryRepository;
+import com.inventoryEmployee.demo.service.InventoryService;
+import com.inventoryEmployee.demo.service.StockWriteCombiner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Stock movements on one hot product at 1, 8 and 64 concurrent writers:
+// - read-modify-write: the entity load + save the service used to do, failing on @Version
+// - guarded UPDATE: the current direct path
+// - write-combined: the same movements merged by StockWriteCombiner
+// Writes to the database, so point it at a disposable seeded copy:
+//   mvn test -Dtest=StockContentionBenchmark -Dbench.jdbc.url=jdbc:mysql://localhost:3306/inventory_bench
+//            -Dbench.jdbc.user=root -Dbench.jdbc.password=... [-Dbench.product-id=1 -Dbench.employee-id=1]
+@SpringBootTest
+@EnabledIfSystemProperty(named = "bench.jdbc.url", matches = ".+")
+class StockContentionBenchmark {
+
+    private static final int[] WRITERS = {1, 8, 64};
+    private static final int START_LEVEL = 1_000_000;
+    private static final int WARMUP_CALLS = 20;
+    private static final int CALLS_PER_THREAD = Integer.getInteger("bench.calls", 200);
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        LoadRunner.registerDataSource(registry);
+    }
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private StockWriteCombiner stockWriteCombiner;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long productId;
+    private Employee employee;
+    private int originalQuantity;
+    private boolean originallyCombined;
+
+    @BeforeEach
+    void pickProduct() {
+        Inventory inventory = Long.getLong("bench.product-id") != null
+                ? inventoryRepository.findByProductId(Long.getLong("bench.product-id")).orElseThrow()
+                : inventoryRepository.findAll(PageRequest.of(0, 1)).getContent().getFirst();
+        productId = inventory.getProduct().getId();
+        originalQuantity = inventory.getQuantityAvailable();
+        originallyCombined = Boolean.TRUE.equals(inventory.getWriteCombiningEnabled());
+        employee = Long.getLong("bench.employee-id") != null
+                ? employeeRepository.findById(Long.getLong("bench.employee-id")).orElseThrow()
+                : employeeRepository.findAll(PageRequest.of(0, 1)).getContent().getFirst();
+    }
+
+    @AfterEach
+    void restore() {
+        stockWriteCombiner.setEnabled(productId, false);
+        inventoryService.adjustStock(productId, originalQuantity, StockMovementReason.ADJUSTMENT,
+                "benchmark restore", employee);
+        stockWriteCombiner.setEnabled(productId, originallyCombined);
+    }
+
+    @Test
+    void hotProductMovements() throws InterruptedException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        for (int writers : WRITERS) {
+            reset(false);
+            LoadRunner.run("read-modify-write", writers, WARMUP_CALLS, CALLS_PER_THREAD, (thread, call) ->
+                    transaction.executeWithoutResult(status -> {
+                        Inventory inventory = inventoryRepository.findByProductId(productId).orElseThrow();
+                        inventory.setQuantityAvailable(inventory.getQuantityAvailable() + (call % 2 == 0 ? 1 : -1));
+                        inventoryRepository.save(inventory);
+                    }));
+
+            for (boolean combined : new boolean[]{false, true}) {
+                reset(combined);
+                LoadRunner.Result result = LoadRunner.run(combined ? "write-combined" : "guarded UPDATE",
+                        writers, WARMUP_CALLS, CALLS_PER_THREAD, (thread, call) -> move(call));
+
+                assertEquals(0, result.errors(), "movements failed");
+                // Every thread adds and removes the same number of units
+                assertEquals(START_LEVEL, inventoryRepository.findByProductId(productId).orElseThrow()
+                        .getQuantityAvailable());
+            }
+        }
+    }
+
+    private void move(int call) {
+        if (call % 2 == 0) {
+            inventoryService.addStock(productId, 1, StockMovementReason.PURCHASE, "benchmark", employee.getId());
+        } else {
+            inventoryService.removeStock(productId, 1, StockMovementReason.SALES, "benchmark", employee);
+        }
+    }
+
+    private void reset(boolean combined) {
+        stockWriteCombiner.setEnabled(productId, false);
+        inventoryService.adjustStock(productId, START_LEVEL, StockMovementReason.ADJUSTMENT, "benchmark", employee);
+        stockWriteCombiner.setEnabled(productId, combined);
+    }
+}
@@ -0,0 +1,67 @@
+package com.inventoryEmployee.demo.benchmark;
+
+import com.inventoryEmployee.demo.util.RadixTrie;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Typeahead lookup latency on a RadixTrie of bench.suggest.entries (300k) product-like
+// entries, keyed like SuggestService (each word start plus the SKU), with random 1-4
+// character prefixes. In memory only:
+//   mvn test -Dtest=SuggestLatencyBenchmark -Dbench=true
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+class SuggestLatencyBenchmark {
+
+    private static final int ENTRIES = Integer.getInteger("bench.suggest.entries", 300_000);
+    private static final int TOP_K = 10;
+    private static final String[] WORDS = {"steel", "bolt", "washer", "nut", "screw", "hinge", "bracket", "cable",
+            "tie", "drill", "bit", "saw", "blade", "glove", "mask", "tape", "paint", "brush", "roller", "ladder",
+            "hammer", "wrench", "socket", "clamp", "pipe", "valve", "hose", "filter", "lamp", "switch"};
+
+    @Test
+    void prefixLookups() throws InterruptedException {
+        Random random = new Random(42);
+        RadixTrie trie = new RadixTrie(TOP_K);
+        long start = System.nanoTime();
+        for (int id = 1; id <= ENTRIES; id++) {
+            String label = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + random.nextInt(1000);
+            String sku = String.format(Locale.ROOT, "sku-%07d", id);
+            List<String> keys = new ArrayList<>(wordStarts(label));
+            keys.add(sku);
+            trie.put(new RadixTrie.Entry(id, label, sku, random.nextInt(10_000)), keys);
+        }
+        System.out.printf("built %d entries in %d ms%n", trie.size(), (System.nanoTime() - start) / 1_000_000);
+
+        String[] prefixes = new String[10_000];
+        for (int i = 0; i < prefixes.length; i++) {
+            String word = i % 5 == 0 ? String.format(Locale.ROOT, "sku-%07d", 1 + random.nextInt(ENTRIES))
+                    : WORDS[random.nextInt(WORDS.length)];
+            prefixes[i] = word.substring(0, Math.min(word.length(), 1 + random.nextInt(4)));
+        }
+
+        // Reads don't modify the trie; SuggestService runs them concurrently under its read lock
+        for (int threads : new int[]{1, 8}) {
+            LoadRunner.Result result = LoadRunner.run("suggest, limit " + TOP_K, threads, 20_000, 200_000,
+                    (thread, call) -> trie.suggest(prefixes[(call * 31 + thread) % prefixes.length], TOP_K));
+            assertTrue(result.p99Nanos() < 2_000_000, "p99 above 2 ms: " + result);
+        }
+    }
+
+    private static List<String> wordStarts(String label) {
+        List<String> keys = new ArrayList<>();
+        int at = 0;
+        while (at >= 0) {
+            keys.add(label.substring(at));
+            int space = label.indexOf(' ', at);
+            at = space < 0 ? -1 : space + 1;
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,215 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.entity.AuditLog;
+import com.inventoryEmployee.demo.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditJournalTests {
+
+    private static final int SEGMENT_BYTES = 1024 * 1024;
+    // Recent enough to stay within the 90-day retention
+    private static final LocalDateTime START = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusDays(1);
+
+    @TempDir
+    Path dir;
+
+    private AuditJournal journal;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (journal != null) {
+            journal.stop();
+        }
+    }
+
+    @Test
+    void rollsOverIntoTruncatedSegmentsAndQueriesAcrossThem() throws Exception {
+        journal = open();
+        // About ten 100 KB records fit a 1 MB segment
+        for (int i = 1; i <= 25; i++) {
+            journal.append(List.of(record(i, "x".repeat(100_000))));
+        }
+        awaitIndexed(25);
+
+        List<Path> files = segmentFiles();
+        assertEquals(3, files.size());
+        assertTrue(Files.size(files.get(0)) < SEGMENT_BYTES, "sealed segments give back their unused tail");
+        assertTrue(Files.size(files.get(1)) < SEGMENT_BYTES);
+        assertEquals(SEGMENT_BYTES, Files.size(files.get(2)), "the active segment stays pre-sized");
+        assertEquals(3, journal.getStats().segments());
+
+        assertEquals(LongStream.rangeClosed(18, 25).boxed().toList().reversed(),
+                ids(journal.findRecent(PageRequest.of(0, 8)).getContent()));
+        assertEquals(List.of(9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L),
+                ids(journal.findRecent(PageRequest.of(2, 8)).getContent()));
+        assertEquals(25, journal.findRecent(PageRequest.of(0, 8)).getTotalElements());
+
+        assertEquals(List.of(24L, 17L, 10L, 3L), ids(journal.findByEntity("Product", 3L, Pageable.unpaged()).getContent()));
+        assertEquals(List.of(3L, 10L), ids(journal.findHistory("Product", 3L, 2)));
+        assertTrue(journal.findByEntity("Product", 99L, Pageable.unpaged()).isEmpty());
+        assertEquals(List.of(25L, 20L, 15L, 10L, 5L), ids(journal.findByUser(5L, Pageable.unpaged()).getContent()));
+        assertEquals(List.of(12L, 11L, 10L), ids(journal.findByFilters("Product", "UPDATE", null,
+                START.plusMinutes(10), START.plusMinutes(12), Pageable.unpaged()).getContent()));
+
+        // Keyset pages of four, across segment boundaries
+        List<Long> paged = new ArrayList<>();
+        Long before = null;
+        List<AuditJournal.JournalRecord> page;
+        while (!(page = journal.findRecentBefore(before, 4)).isEmpty()) {
+            page.forEach(record -> paged.add(record.auditLog().getId()));
+            before = page.getLast().position();
+        }
+        assertEquals(LongStream.rangeClosed(1, 25).boxed().toList().reversed(), paged);
+    }
+
+    @Test
+    void reopensSegmentsAndContinuesTheSequence() throws Exception {
+        journal = open();
+        for (int i = 1; i <= 15; i++) {
+            journal.append(List.of(record(i, "x".repeat(100_000))));
+        }
+        journal.stop();
+
+        journal = open();
+        journal.append(List.of(record(16, "{\"name\":\"Hammer\"}")));
+        awaitIndexed(16);
+
+        AuditLog newest = journal.findRecent(PageRequest.of(0, 1)).getContent().getFirst();
+        assertEquals(16L, newest.getId());
+        assertEquals("{\"name\":\"Hammer\"}", newest.getNewValue());
+        assertEquals(START.plusMinutes(16), newest.getTimestamp());
+        assertEquals(1L, newest.getUser().getId());
+        assertEquals("admin", newest.getUsername());
+        assertNull(newest.getOldValue());
+        assertEquals(2, segmentFiles().size(), "appends continue in the segment that still had room");
+        assertEquals(LongStream.rangeClosed(1, 16).boxed().toList().reversed(),
+                ids(journal.findRecent(Pageable.unpaged()).getContent()));
+    }
+
+    // A crash mid-write leaves a record whose checksum doesn't match: recovery ends the
+    // segment before it and the next append takes over its sequence number and space
+    @Test
+    void recoveryDropsATornTailRecord() throws Exception {
+        journal = open();
+        for (int i = 1; i <= 5; i++) {
+            journal.append(List.of(record(i, "value-" + i)));
+        }
+        journal.stop();
+        journal = null;
+
+        Path file = segmentFiles().getFirst();
+        int lastOffset = offsetOfRecord(file, 5);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f}), lastOffset + 8 + 40);
+        }
+
+        journal = open();
+        awaitIndexed(4);
+        assertEquals(List.of(4L, 3L, 2L, 1L), ids(journal.findRecent(Pageable.unpaged()).getContent()));
+
+        journal.append(List.of(record(6, "after crash")));
+        awaitIndexed(5);
+        List<AuditLog> recent = journal.findRecent(Pageable.unpaged()).getContent();
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L), ids(recent));
+        assertEquals("after crash", recent.getFirst().getNewValue());
+    }
+
+    // The indexer describes a segment before retention looks at it, so the first pass after
+    // a restart drops sealed segments whose newest record is past the cutoff
+    @Test
+    void retentionDropsSealedSegmentsPastTheCutoff() throws Exception {
+        journal = open();
+        for (int i = 1; i <= 15; i++) {
+            AuditLog auditLog = record(i, "x".repeat(100_000));
+            auditLog.setTimestamp(i <= 10 ? START.minusDays(100) : START);
+            journal.append(List.of(auditLog));
+        }
+        journal.stop();
+
+        journal = open();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (journal.getStats().segments() > 1) {
+            assertTrue(System.currentTimeMillis() < deadline, "retention did not run");
+            Thread.sleep(5);
+        }
+        awaitIndexed(5);
+        assertEquals(1, segmentFiles().size());
+        assertEquals(List.of(15L, 14L, 13L, 12L, 11L), ids(journal.findRecent(Pageable.unpaged()).getContent()));
+    }
+
+    @Test
+    void refusesAppendsWhenNotOpen() {
+        AuditJournal disabled = new AuditJournal("database", dir.toString(), 1, 90, 10, false);
+        assertFalse(disabled.isEnabled());
+        assertThrows(IllegalStateException.class, () -> disabled.append(List.of(record(1, "x"))));
+    }
+
+    private AuditJournal open() throws IOException {
+        AuditJournal opened = new AuditJournal("journal", dir.toString(), 1, 90, 5, false);
+        opened.start();
+        return opened;
+    }
+
+    // Entity ids cycle through 1..7, users through 1..5, one record per minute
+    private static AuditLog record(int i, String newValue) {
+        return AuditLog.builder()
+                .entityName("Product")
+                .entityId((long) ((i - 1) % 7 + 1))
+                .action("UPDATE")
+                .newValue(newValue)
+                .user(User.builder().id((long) ((i - 1) % 5 + 1)).build())
+                .username("admin")
+                .timestamp(START.plusMinutes(i))
+                .build();
+    }
+
+    private void awaitIndexed(long records) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (journal.getStats().records() < records) {
+            assertTrue(System.currentTimeMillis() < deadline, "indexer did not catch up");
+            Thread.sleep(5);
+        }
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().toList();
+        }
+    }
+
+    // Walks the [length][crc][body] records from the start of the file
+    private static int offsetOfRecord(Path file, int ordinal) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer length = ByteBuffer.allocate(4);
+            int offset = 0;
+            for (int i = 1; i < ordinal; i++) {
+                channel.read(length.clear(), offset);
+                offset += 8 + length.getInt(0);
+            }
+            return offset;
+        }
+    }
+
+    private static List<Long> ids(List<AuditLog> logs) {
+        return logs.stream().map(AuditLog::getId).toList();
+    }
+}
@@ -0,0 +1,61 @@
+package com.inventoryEmployee.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditPayloadCodecTests {
+
+    private static final String LARGE_JSON = "{\"items\":[" + "{\"name\":\"Hammer\",\"price\":\"10.5\"},".repeat(50) + "{}]}";
+
+    @Test
+    void compressesLargePayloadsAndReadsThemBack() {
+        AuditPayloadCodec codec = new AuditPayloadCodec(true, 512);
+        String encoded = codec.encode(LARGE_JSON);
+        assertTrue(encoded.startsWith("z:"), encoded);
+        assertTrue(encoded.length() < LARGE_JSON.length());
+        assertEquals(LARGE_JSON, codec.decode(encoded));
+    }
+
+    @Test
+    void roundTripsNonAsciiText() {
+        AuditPayloadCodec codec = new AuditPayloadCodec(true, 16);
+        String json = "{\"name\":\"" + "Schraubenschlüssel ∅ 10 mm ".repeat(20) + "\"}";
+        assertEquals(json, codec.decode(codec.encode(json)));
+    }
+
+    @Test
+    void leavesSmallPayloadsAndDisabledCompressionAlone() {
+        assertEquals("{\"a\":1}", new AuditPayloadCodec(true, 512).encode("{\"a\":1}"));
+        assertEquals(LARGE_JSON, new AuditPayloadCodec(false, 512).encode(LARGE_JSON));
+        assertNull(new AuditPayloadCodec(true, 0).encode(null));
+    }
+
+    @Test
+    void keepsPlainJsonWhenCompressionDoesNotHelp() {
+        StringBuilder json = new StringBuilder("\"");
+        Random random = new Random(1);
+        for (int i = 0; i < 600; i++) {
+            json.append((char) ('!' + random.nextInt(90)));
+        }
+        String incompressible = json.append('"').toString().replace("\\", "/").replace("\"", "'");
+        assertEquals(incompressible, new AuditPayloadCodec(true, 16).encode(incompressible));
+    }
+
+    @Test
+    void decodesPlainJsonUnchanged() {
+        AuditPayloadCodec codec = new AuditPayloadCodec(false, 512);
+        assertEquals("{\"a\":1}", codec.decode("{\"a\":1}"));
+        assertNull(codec.decode(null));
+        assertEquals(LARGE_JSON, codec.decode(new AuditPayloadCodec(true, 0).encode(LARGE_JSON)),
+                "compressed rows stay readable after compression is switched off");
+    }
+
+    @Test
+    void rejectsCorruptPayloads() {
+        AuditPayloadCodec codec = new AuditPayloadCodec(true, 0);
+        assertThrows(IllegalStateException.class, () -> codec.decode("z:AAAAAAAA"));
+    }
+}
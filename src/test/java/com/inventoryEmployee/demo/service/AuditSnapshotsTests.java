@@ -0,0 +1,118 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.entity.Category;
+import com.inventoryEmployee.demo.entity.Inventory;
+import com.inventoryEmployee.demo.entity.Product;
+import com.inventoryEmployee.demo.enums.ProductStatus;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AuditSnapshotsTests {
+
+    @Test
+    void snapshotFlattensColumnsAndToOneAssociations() {
+        Product product = Product.builder()
+                .id(5L)
+                .name("Hammer")
+                .sku("SKU-5")
+                .price(new BigDecimal("10.500"))
+                .status(ProductStatus.DISCONTINUED)
+                .manufacturingDate(LocalDate.of(2024, 1, 2))
+                .category(Category.builder().id(3L).name("Tools").build())
+                .inventory(new Inventory())
+                .build();
+
+        Map<String, Object> snapshot = AuditSnapshots.snapshot(product);
+
+        assertEquals(5L, snapshot.get("id"));
+        assertEquals("Hammer", snapshot.get("name"));
+        assertEquals("10.5", snapshot.get("price"));
+        assertEquals("DISCONTINUED", snapshot.get("status"));
+        assertEquals("2024-01-02", snapshot.get("manufacturingDate"));
+        assertEquals(3L, snapshot.get("categoryId"));
+        assertTrue(snapshot.containsKey("supplierId"));
+        assertNull(snapshot.get("supplierId"));
+        assertEquals(false, snapshot.get("deleted"), "inherited columns are included");
+        assertFalse(snapshot.containsKey("category"));
+        assertFalse(snapshot.containsKey("inventory"), "inverse one-to-one is skipped");
+        assertFalse(snapshot.containsKey("inventoryId"));
+    }
+
+    @Test
+    void snapshotReadsTheEntityBehindAProxy() {
+        Product product = Product.builder().id(5L).name("Hammer").build();
+        LazyInitializer initializer = mock(LazyInitializer.class);
+        when(initializer.getImplementation()).thenReturn(product);
+        Product proxy = mock(Product.class, withSettings().extraInterfaces(HibernateProxy.class));
+        HibernateProxy hibernateProxy = (HibernateProxy) proxy;
+        when(hibernateProxy.asHibernateProxy()).thenReturn(hibernateProxy);
+        when(hibernateProxy.getHibernateLazyInitializer()).thenReturn(initializer);
+
+        Map<String, Object> snapshot = AuditSnapshots.snapshot(proxy);
+
+        assertEquals(5L, snapshot.get("id"));
+        assertEquals("Hammer", snapshot.get("name"));
+    }
+
+    @Test
+    void toAuditValueOnlySnapshotsEntities() {
+        Map<String, Object> map = Map.of("a", 1);
+        assertSame(map, AuditSnapshots.toAuditValue(map));
+        assertNull(AuditSnapshots.toAuditValue(null));
+        assertEquals("ACTIVE", AuditSnapshots.toAuditValue(ProductStatus.ACTIVE));
+        assertEquals("7", AuditSnapshots.toAuditValue(new BigDecimal("7.00")));
+        assertEquals("text", AuditSnapshots.toAuditValue("text"));
+        assertInstanceOf(Map.class, AuditSnapshots.toAuditValue(Category.builder().id(1L).build()));
+    }
+
+    @Test
+    void diffKeepsOnlyChangedFieldsInOrder() {
+        Map<String, Object> before = new LinkedHashMap<>();
+        before.put("name", "Hammer");
+        before.put("price", "10.5");
+        before.put("categoryId", 3L);
+        before.put("barcode", null);
+        before.put("removed", "x");
+        Map<String, Object> after = new LinkedHashMap<>();
+        after.put("name", "Hammer");
+        after.put("price", "11");
+        after.put("categoryId", null);
+        after.put("barcode", null);
+        after.put("added", 1);
+
+        Map<String, Object>[] diff = AuditSnapshots.diff(before, after);
+
+        Map<String, Object> oldValues = new HashMap<>();
+        oldValues.put("price", "10.5");
+        oldValues.put("categoryId", 3L);
+        oldValues.put("removed", "x");
+        oldValues.put("added", null);
+        Map<String, Object> newValues = new HashMap<>();
+        newValues.put("price", "11");
+        newValues.put("categoryId", null);
+        newValues.put("removed", null);
+        newValues.put("added", 1);
+        assertEquals(oldValues, diff[0]);
+        assertEquals(newValues, diff[1]);
+        assertEquals(List.of("price", "categoryId", "removed", "added"), List.copyOf(diff[0].keySet()));
+    }
+
+    @Test
+    void diffOfEqualSnapshotsIsEmpty() {
+        Map<String, Object> state = Map.of("name", "Hammer", "price", "10.5");
+        Map<String, Object>[] diff = AuditSnapshots.diff(state, new HashMap<>(state));
+        assertTrue(diff[0].isEmpty());
+        assertTrue(diff[1].isEmpty());
+    }
+}
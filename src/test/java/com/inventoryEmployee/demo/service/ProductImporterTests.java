@@ -0,0 +1,197 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.dto.response.ImportReportResponse;
+import com.inventoryEmployee.demo.entity.Category;
+import com.inventoryEmployee.demo.entity.Product;
+import com.inventoryEmployee.demo.entity.Supplier;
+import com.inventoryEmployee.demo.repository.CategoryRepository;
+import com.inventoryEmployee.demo.repository.ProductBatchRepository;
+import com.inventoryEmployee.demo.repository.ProductRepository;
+import com.inventoryEmployee.demo.repository.SupplierRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class ProductImporterTests {
+
+    private static final String HEADER = "Name,SKU,Price,Cost Price,Barcode,Category,Supplier\n";
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ProductBatchRepository productBatchRepository = mock(ProductBatchRepository.class);
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final SupplierRepository supplierRepository = mock(SupplierRepository.class);
+    private final AuditService auditService = mock(AuditService.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final List<Product> inserted = new ArrayList<>();
+    private ProductImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        importer = new ProductImporter(productRepository, productBatchRepository, categoryRepository,
+                supplierRepository, auditService, eventPublisher, transactionManager, 2);
+        ReflectionTestUtils.setField(importer, "chunkSize", 3);
+        ReflectionTestUtils.setField(importer, "expectedNewRows", 1_000L);
+        ReflectionTestUtils.setField(importer, "bloomFalsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(importer, "maxReportedErrors", 100);
+
+        when(categoryRepository.findAll()).thenReturn(List.of(category(1L, "Tools", false),
+                category(2L, "Retired", true)));
+        when(supplierRepository.findAll()).thenReturn(List.of(supplier(7L, "Acme")));
+        when(productRepository.count()).thenReturn(0L);
+        when(productRepository.streamSkusAndBarcodes()).thenReturn(Stream.empty());
+
+        AtomicLong ids = new AtomicLong(100);
+        doAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            products.forEach(product -> product.setId(ids.incrementAndGet()));
+            inserted.addAll(products);
+            return null;
+        }).when(productBatchRepository).insertAll(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        importer.shutdown();
+    }
+
+    @Test
+    void reportsEachInvalidRowWithItsLine() {
+        ImportReportResponse report = importCsv(
+                "Hammer,SKU-1,10.50,4,,tools ,ACME\n"
+                        + ",SKU-2,1,,,,\n"
+                        + "Saw,,1,,,,\n"
+                        + "Saw,SKU-4,,,,,\n"
+                        + "Saw,SKU-5,0,,,,\n"
+                        + "Saw,SKU-6,abc,,,,\n"
+                        + "Saw,SKU-7,1,-1,,,\n"
+                        + "Saw,SKU-8,1,,12345678901234,,\n"
+                        + "Saw,SKU-9,1,,,Garden,\n"
+                        + "Saw,SKU-10,1,,,Retired,\n"
+                        + "Saw,SKU-11,1,,,,Globex\n"
+                        + "\n"
+                        + "Drill,SKU-13,99,,4006381333931,,\n");
+
+        assertEquals(12, report.getTotalRows());
+        assertEquals(2, report.getImportedRows());
+        assertEquals(10, report.getFailedRows());
+        assertFalse(report.getErrorsTruncated());
+
+        Map<Long, String> errors = errorsByLine(report);
+        assertEquals("Name is required", errors.get(3L));
+        assertEquals("SKU is required", errors.get(4L));
+        assertEquals("Price is required", errors.get(5L));
+        assertEquals("Price must be greater than 0", errors.get(6L));
+        assertEquals("Price is not a number: abc", errors.get(7L));
+        assertEquals("Cost Price must not be negative", errors.get(8L));
+        assertEquals("Barcode is longer than 13 characters", errors.get(9L));
+        assertEquals("Unknown category: Garden", errors.get(10L));
+        assertEquals("Unknown category: Retired", errors.get(11L), "deleted categories don't match");
+        assertEquals("Unknown supplier: Globex", errors.get(12L));
+        assertEquals(List.of(3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L), List.copyOf(errors.keySet()));
+
+        assertEquals(List.of("SKU-1", "SKU-13"), inserted.stream().map(Product::getSku).toList());
+        verify(categoryRepository).getReferenceById(1L);
+        verify(supplierRepository).getReferenceById(7L);
+        verify(auditService, times(2)).logAction(any(), eq("Product"), any(), eq("CREATE"), isNull(), any(), any());
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(List.of(101L)));
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(List.of(102L)));
+    }
+
+    // Chunks hold three rows, so the clashes below span chunks as well as sit inside one
+    @Test
+    void rejectsDuplicatesInTheFileAndInTheCatalog() {
+        when(productRepository.streamSkusAndBarcodes()).thenReturn(Stream.<Object[]>of(
+                new Object[]{"SKU-OLD", "1111111111111"}));
+        when(productRepository.findExistingSkus(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<String>>getArgument(0).stream()
+                        .filter(sku -> sku.equalsIgnoreCase("sku-old")
+                                || inserted.stream().anyMatch(product -> product.getSku().equalsIgnoreCase(sku)))
+                        .toList());
+        when(productRepository.findExistingBarcodes(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<String>>getArgument(0).stream()
+                        .filter(barcode -> barcode.equals("1111111111111"))
+                        .toList());
+
+        ImportReportResponse report = importCsv(
+                "A,SKU-1,1,,2222222222222,,\n"
+                        + "B,sku-1 ,1,,,,\n"
+                        + "C,SKU-3,1,,2222222222222,,\n"
+                        + "D,sku-old,1,,,,\n"
+                        + "E,SKU-5,1,,1111111111111,,\n"
+                        + "F,SKU-1,1,,,,\n"
+                        + "G,SKU-7,1,,,,\n");
+
+        Map<Long, String> errors = errorsByLine(report);
+        assertEquals("Duplicate SKU in file", errors.get(3L));
+        assertEquals("Duplicate barcode 2222222222222 in file", errors.get(4L));
+        assertEquals("SKU already exists", errors.get(5L));
+        assertEquals("Barcode 1111111111111 already exists", errors.get(6L));
+        assertEquals("SKU already exists", errors.get(7L), "imported by an earlier chunk");
+        assertEquals(5, report.getFailedRows());
+        assertEquals(List.of("SKU-1", "SKU-7"), inserted.stream().map(Product::getSku).toList());
+    }
+
+    @Test
+    void truncatesTheErrorListButCountsEveryFailure() {
+        ReflectionTestUtils.setField(importer, "maxReportedErrors", 2);
+
+        ImportReportResponse report = importCsv(",SKU-1,1,,,,\n,SKU-2,1,,,,\n,SKU-3,1,,,,\n,SKU-4,1,,,,\n");
+
+        assertEquals(4, report.getFailedRows());
+        assertEquals(2, report.getErrors().size());
+        assertTrue(report.getErrorsTruncated());
+        verifyNoInteractions(productBatchRepository);
+    }
+
+    @Test
+    void rejectsAHeaderWithoutARequiredColumn() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> importer.importCsv(
+                new ByteArrayInputStream("\uFEFFName,SKU,Barcode\nHammer,SKU-1,\n".getBytes(StandardCharsets.UTF_8)),
+                null, ProductImporter.Progress.NONE));
+        assertEquals("CSV header is missing the required column: price", e.getMessage());
+    }
+
+    private ImportReportResponse importCsv(String rows) {
+        return importer.importCsv(new ByteArrayInputStream((HEADER + rows).getBytes(StandardCharsets.UTF_8)),
+                null, ProductImporter.Progress.NONE);
+    }
+
+    private static Map<Long, String> errorsByLine(ImportReportResponse report) {
+        Map<Long, String> errors = new LinkedHashMap<>();
+        report.getErrors().forEach(error -> errors.put(error.getLineNumber(), error.getError()));
+        return errors;
+    }
+
+    private static Category category(Long id, String name, boolean deleted) {
+        Category category = Category.builder().id(id).name(name).build();
+        category.setDeleted(deleted);
+        return category;
+    }
+
+    private static Supplier supplier(Long id, String name) {
+        Supplier supplier = Supplier.builder().id(id).name(name).build();
+        supplier.setDeleted(false);
+        return supplier;
+    }
+}
@@ -0,0 +1,108 @@
+package com.inventoryEmployee.demo.service;
+
+import com.inventoryEmployee.demo.enums.ProductStatus;
+import com.inventoryEmployee.demo.repository.ProductRepository;
+import com.inventoryEmployee.demo.util.OffHeapProductIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductScanIndexTests {
+
+    @TempDir
+    Path dir;
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private ProductScanIndex index;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        index = new ProductScanIndex(productRepository, transactionManager, 500);
+        ReflectionTestUtils.setField(index, "dir", dir);
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.close();
+    }
+
+    // The count is a hint: the build starts at 1024 records and grows while it scans
+    @Test
+    void growsDuringTheBuildAndAfterIt() throws IOException {
+        when(productRepository.countByDeletedFalse()).thenReturn(0L);
+        when(productRepository.streamForScanIndex()).thenReturn(rows(1, 1_500));
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        assertEquals(1_500, index.findProductId(OffHeapProductIndex.KeyType.SKU, "SKU-1500"));
+
+        when(productRepository.findForScanIndex(any())).thenReturn(rows(1_501, 3_000).toList());
+        index.onProductChanged(new ProductChangedEvent(LongStream.rangeClosed(1_501, 3_000).boxed().toList()));
+        index.refresh();
+
+        for (long productId = 1; productId <= 3_000; productId++) {
+            assertEquals(productId, index.findProductId(OffHeapProductIndex.KeyType.BARCODE, "B" + productId));
+        }
+        assertEquals(new BigDecimal("3000.00"), index.find(OffHeapProductIndex.KeyType.SKU, "SKU-3000").price());
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1, files.count(), "replaced index files are deleted");
+        }
+    }
+
+    @Test
+    void refreshRemovesDeletedAndMissingProducts() {
+        when(productRepository.countByDeletedFalse()).thenReturn(3L);
+        when(productRepository.streamForScanIndex()).thenReturn(rows(1, 3));
+        index.rebuild();
+
+        when(productRepository.findForScanIndex(any())).thenReturn(List.of(
+                new ProductScanRow(1L, "SKU-1", "B1", BigDecimal.ONE, ProductStatus.ACTIVE, 0, true)));
+        index.onStockLevelChanged(new StockLevelChangedEvent(List.of(1L, 2L)));
+        index.refresh();
+
+        assertEquals(OffHeapProductIndex.NOT_FOUND, index.findProductId(OffHeapProductIndex.KeyType.SKU, "SKU-1"));
+        assertEquals(OffHeapProductIndex.NOT_FOUND, index.findProductId(OffHeapProductIndex.KeyType.SKU, "SKU-2"));
+        assertEquals(3, index.findProductId(OffHeapProductIndex.KeyType.SKU, "SKU-3"));
+    }
+
+    @Test
+    void failedRefreshIsRetried() {
+        when(productRepository.countByDeletedFalse()).thenReturn(0L);
+        when(productRepository.streamForScanIndex()).thenReturn(Stream.empty());
+        index.rebuild();
+
+        when(productRepository.findForScanIndex(any())).thenThrow(new IllegalStateException("connection lost"));
+        index.onProductChanged(new ProductChangedEvent(List.of(1L)));
+        index.refresh();
+        assertEquals(OffHeapProductIndex.NOT_FOUND, index.findProductId(OffHeapProductIndex.KeyType.SKU, "SKU-1"));
+
+        doReturn(rows(1, 1).toList()).when(productRepository).findForScanIndex(any());
+        index.refresh();
+        assertEquals(1, index.findProductId(OffHeapProductIndex.KeyType.SKU, "SKU-1"));
+    }
+
+    private static Stream<ProductScanRow> rows(long from, long to) {
+        return LongStream.rangeClosed(from, to).mapToObj(id -> new ProductScanRow(id, "SKU-" + id, "B" + id,
+                BigDecimal.valueOf(id), ProductStatus.ACTIVE, (int) id, false));
+    }
+}
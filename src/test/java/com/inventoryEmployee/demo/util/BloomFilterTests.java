@@ -0,0 +1,55 @@
+package com.inventoryEmployee.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTests {
+
+    @Test
+    void neverForgetsAnAddedKey() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("sku-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("sku-" + i), "sku-" + i);
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("sku-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, falsePositives + " false positives in 100000");
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(0, 0.01);
+        assertFalse(filter.mightContain("sku-1"));
+        assertEquals(8, filter.sizeInBytes());
+    }
+
+    @Test
+    void sizeGrowsWithExpectedInsertionsAndLowerRates() {
+        long base = new BloomFilter(100_000, 0.01).sizeInBytes();
+        assertTrue(new BloomFilter(1_000_000, 0.01).sizeInBytes() > base);
+        assertTrue(new BloomFilter(100_000, 0.001).sizeInBytes() > base);
+    }
+
+    @Test
+    void rejectsRatesOutsideZeroAndOne() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, -0.5));
+    }
+}
@@ -0,0 +1,150 @@
+package com.inventoryEmployee.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedBitmapTests {
+
+    @Test
+    void addRemoveContains() {
+        CompressedBitmap bitmap = CompressedBitmap.of(5, 70_000, 5, 3);
+
+        assertEquals(3, bitmap.cardinality());
+        assertTrue(bitmap.contains(3));
+        assertTrue(bitmap.contains(70_000));
+        assertFalse(bitmap.contains(4));
+        assertFalse(bitmap.contains(-1));
+
+        bitmap.remove(70_000);
+        bitmap.remove(70_000);
+        bitmap.remove(-1);
+        assertEquals(List.of(3, 5), values(bitmap));
+
+        bitmap.remove(3);
+        bitmap.remove(5);
+        assertTrue(bitmap.isEmpty());
+    }
+
+    @Test
+    void rejectsNegativeValues() {
+        assertThrows(IllegalArgumentException.class, () -> new CompressedBitmap().add(-1));
+    }
+
+    // Crosses the 4096-value array / bitmap boundary in both directions
+    @Test
+    void denseChunkConvertsAndConvertsBack() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int value = 0; value < 10_000; value++) {
+            bitmap.add(value * 2);
+        }
+        assertEquals(10_000, bitmap.cardinality());
+        assertTrue(bitmap.contains(19_998));
+        assertFalse(bitmap.contains(19_999));
+
+        for (int value = 0; value < 9_000; value++) {
+            bitmap.remove(value * 2);
+        }
+        assertEquals(1_000, bitmap.cardinality());
+        assertEquals(18_000, values(bitmap).getFirst());
+        assertEquals(19_998, values(bitmap).getLast());
+    }
+
+    @Test
+    void pageSkipsWholeChunksAndStopsAtTheEnd() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int value = 0; value < 5_000; value++) {
+            bitmap.add(value);               // bitmap container
+            bitmap.add(200_000 + value * 3); // array containers in later chunks
+        }
+
+        assertArrayEquals(new int[]{4_998, 4_999, 200_000, 200_003}, bitmap.page(4_998, 4));
+        assertArrayEquals(new int[]{200_000 + 4_999 * 3}, bitmap.page(9_999, 10));
+        assertEquals(0, bitmap.page(10_000, 10).length);
+        assertEquals(0, bitmap.page(20_000, 10).length);
+    }
+
+    @Test
+    void copyIsIndependent() {
+        CompressedBitmap bitmap = CompressedBitmap.of(1, 2, 3);
+        CompressedBitmap copy = bitmap.copy();
+        copy.add(4);
+        bitmap.remove(1);
+
+        assertEquals(List.of(2, 3), values(bitmap));
+        assertEquals(List.of(1, 2, 3, 4), values(copy));
+    }
+
+    // and / or / andCardinality / page against TreeSet, over sparse and dense chunks
+    @Test
+    void setOperationsMatchReference() {
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            TreeSet<Integer> expectedA = new TreeSet<>();
+            TreeSet<Integer> expectedB = new TreeSet<>();
+            CompressedBitmap a = randomBitmap(random, expectedA);
+            CompressedBitmap b = randomBitmap(random, expectedB);
+
+            TreeSet<Integer> and = new TreeSet<>(expectedA);
+            and.retainAll(expectedB);
+            TreeSet<Integer> or = new TreeSet<>(expectedA);
+            or.addAll(expectedB);
+
+            assertEquals(new ArrayList<>(expectedA), values(a));
+            assertEquals(new ArrayList<>(and), values(CompressedBitmap.and(a, b)));
+            assertEquals(new ArrayList<>(or), values(CompressedBitmap.or(a, b)));
+            assertEquals(and.size(), CompressedBitmap.andCardinality(a, b));
+            assertEquals(expectedA.size(), a.cardinality(), "inputs left alone");
+
+            int offset = random.nextInt(expectedA.size() + 1);
+            List<Integer> page = new ArrayList<>(expectedA).subList(offset, Math.min(offset + 50, expectedA.size()));
+            assertEquals(page, box(a.page(offset, 50)));
+        }
+    }
+
+    private static CompressedBitmap randomBitmap(Random random, TreeSet<Integer> expected) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        // Chunk 0 dense or sparse, chunk 1 sparse, chunk 3 dense
+        int dense = random.nextBoolean() ? 60_000 : 1_000;
+        for (int i = 0; i < dense; i++) {
+            int value = random.nextInt(65_536);
+            bitmap.add(value);
+            expected.add(value);
+        }
+        for (int i = 0; i < 500; i++) {
+            int value = 65_536 + random.nextInt(65_536);
+            bitmap.add(value);
+            expected.add(value);
+        }
+        for (int i = 0; i < 8_000; i++) {
+            int value = 3 * 65_536 + random.nextInt(10_000);
+            bitmap.add(value);
+            expected.add(value);
+        }
+        for (int i = 0; i < 2_000; i++) {
+            int value = random.nextInt(4 * 65_536);
+            bitmap.remove(value);
+            expected.remove(value);
+        }
+        return bitmap;
+    }
+
+    private static List<Integer> values(CompressedBitmap bitmap) {
+        List<Integer> values = new ArrayList<>();
+        bitmap.forEach(values::add);
+        return values;
+    }
+
+    private static List<Integer> box(int[] values) {
+        List<Integer> boxed = new ArrayList<>(values.length);
+        for (int value : values) {
+            boxed.add(value);
+        }
+        return boxed;
+    }
+}
@@ -0,0 +1,142 @@
+package com.inventoryEmployee.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTests {
+
+    @Test
+    void tokenizeSplitsOnNonWordCharsAndLowerCases() {
+        assertEquals(List.of("steel", "bolt", "m8", "x", "20mm"), InvertedIndex.tokenize("Steel BOLT-m8 x 20mm!"));
+        assertEquals(List.of("café"), InvertedIndex.tokenize("  Café "));
+        assertEquals(List.of(), InvertedIndex.tokenize("--"));
+        assertEquals(List.of(), InvertedIndex.tokenize(null));
+        assertEquals(64, InvertedIndex.tokenize("a".repeat(100)).getFirst().length());
+    }
+
+    @Test
+    void reportsExactPrefixAndInfixMatches() {
+        InvertedIndex index = new InvertedIndex();
+        index.add("bolt", 1, 1);
+        index.add("bolts", 2, 1);
+        index.add("thunderbolt", 3, 2);
+        index.add("nut", 4, 1);
+
+        Map<Long, InvertedIndex.Match> matches = matches(index, "bolt");
+
+        assertEquals(Map.of(1L, InvertedIndex.Match.EXACT, 2L, InvertedIndex.Match.PREFIX,
+                3L, InvertedIndex.Match.INFIX), matches);
+    }
+
+    // Infix needs a whole trigram, so shorter tokens only match exactly or as a prefix
+    @Test
+    void shortTokensMatchNoInfix() {
+        InvertedIndex index = new InvertedIndex();
+        index.add("ab", 1, 1);
+        index.add("abc", 2, 1);
+        index.add("cab", 3, 1);
+
+        assertEquals(Map.of(1L, InvertedIndex.Match.EXACT, 2L, InvertedIndex.Match.PREFIX), matches(index, "ab"));
+    }
+
+    @Test
+    void fieldMasksOfOneKeyAreMerged() {
+        InvertedIndex index = new InvertedIndex();
+        index.add("bolt", 1, 1);
+        index.add("bolt", 1, 4);
+
+        List<Map<Long, Integer>> postings = new ArrayList<>();
+        index.match("bolt", (match, keys) -> postings.add(Map.copyOf(keys)));
+
+        assertEquals(List.of(Map.of(1L, 5)), postings);
+    }
+
+    @Test
+    void removingTheLastKeyDropsTheTermAndItsTrigrams() {
+        InvertedIndex index = new InvertedIndex();
+        index.add("washer", 1, 1);
+        index.add("washer", 2, 1);
+
+        index.remove("washer", 1);
+        assertEquals(1, index.termCount());
+        assertEquals(Set.of(2L), matches(index, "ash").keySet());
+
+        index.remove("washer", 2);
+        index.remove("washer", 2);
+        index.remove("missing", 2);
+        assertEquals(0, index.termCount());
+        assertEquals(Map.of(), matches(index, "ash"));
+        assertEquals(Map.of(), matches(index, "wa"));
+    }
+
+    @Test
+    void matchesBruteForceUnderRandomWrites() {
+        Random random = new Random(3);
+        InvertedIndex index = new InvertedIndex();
+        Map<String, Set<Long>> expected = new HashMap<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            String term = randomTerm(random, 1 + random.nextInt(7));
+            long key = random.nextInt(50);
+            if (random.nextInt(3) == 0) {
+                index.remove(term, key);
+                Set<Long> keys = expected.get(term);
+                if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                    expected.remove(term);
+                }
+            } else {
+                index.add(term, key, 1);
+                expected.computeIfAbsent(term, t -> new HashSet<>()).add(key);
+            }
+        }
+        assertEquals(expected.size(), index.termCount());
+
+        for (int i = 0; i < 500; i++) {
+            String token = randomTerm(random, 1 + random.nextInt(4));
+            Map<String, InvertedIndex.Match> reference = new HashMap<>();
+            expected.keySet().forEach(term -> {
+                if (term.equals(token)) {
+                    reference.put(term, InvertedIndex.Match.EXACT);
+                } else if (term.startsWith(token)) {
+                    reference.put(term, InvertedIndex.Match.PREFIX);
+                } else if (token.length() >= 3 && term.contains(token)) {
+                    reference.put(term, InvertedIndex.Match.INFIX);
+                }
+            });
+
+            // Each matching term is visited once, with its own posting list
+            List<InvertedIndex.Match> visited = new ArrayList<>();
+            Set<Set<Long>> postings = new HashSet<>();
+            index.match(token, (match, keys) -> {
+                visited.add(match);
+                postings.add(Set.copyOf(keys.keySet()));
+            });
+            List<InvertedIndex.Match> sorted = new ArrayList<>(reference.values());
+            Collections.sort(sorted);
+            Collections.sort(visited);
+            assertEquals(sorted, visited, "token '" + token + "'");
+            Set<Set<Long>> expectedPostings = new HashSet<>();
+            reference.keySet().forEach(term -> expectedPostings.add(expected.get(term)));
+            assertEquals(expectedPostings, postings, "token '" + token + "'");
+        }
+    }
+
+    // Best match per key
+    private static Map<Long, InvertedIndex.Match> matches(InvertedIndex index, String token) {
+        Map<Long, InvertedIndex.Match> result = new HashMap<>();
+        index.match(token, (match, keys) -> keys.keySet().forEach(key ->
+                result.merge(key, match, (a, b) -> a.quality() >= b.quality() ? a : b)));
+        return result;
+    }
+
+    private static String randomTerm(Random random, int length) {
+        StringBuilder term = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            term.append((char) ('a' + random.nextInt(3)));
+        }
+        return term.toString();
+    }
+}
@@ -0,0 +1,181 @@
+package com.inventoryEmployee.demo.util;
+
+import com.inventoryEmployee.demo.enums.ProductStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static com.inventoryEmployee.demo.util.OffHeapProductIndex.KeyType.BARCODE;
+import static com.inventoryEmployee.demo.util.OffHeapProductIndex.KeyType.SKU;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapProductIndexTests {
+
+    @TempDir
+    Path dir;
+
+    private final List<OffHeapProductIndex> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeAll() throws IOException {
+        for (OffHeapProductIndex index : opened) {
+            index.close();
+        }
+    }
+
+    @Test
+    void putAndFindBySkuAndBarcode() throws IOException {
+        OffHeapProductIndex index = create(16);
+
+        assertTrue(index.put(7, "SKU-7", "4006381333931", new BigDecimal("12.5"), 3, ProductStatus.ACTIVE));
+        assertTrue(index.put(8, "SKU-8", null, null, null, null));
+
+        assertEquals(7, index.findProductId(SKU, "SKU-7"));
+        assertEquals(7, index.findProductId(BARCODE, "4006381333931"));
+        assertEquals(new OffHeapProductIndex.Entry(7, "SKU-7", "4006381333931", new BigDecimal("12.50"), 3,
+                ProductStatus.ACTIVE), index.find(SKU, "SKU-7"));
+        assertEquals(new OffHeapProductIndex.Entry(8, "SKU-8", null, null, null, null), index.find(SKU, "SKU-8"));
+        assertEquals(OffHeapProductIndex.NOT_FOUND, index.findProductId(SKU, "sku-7"));
+        assertEquals(OffHeapProductIndex.NOT_FOUND, index.findProductId(BARCODE, "SKU-7"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void keysThatAreNotShortAsciiAreNotIndexed() throws IOException {
+        OffHeapProductIndex index = create(16);
+
+        assertTrue(index.put(1, "CAFÉ-1", "123", null, 0, null));
+        assertTrue(index.put(2, "SKU-2", "12345678901234", null, 0, null));
+
+        assertEquals(OffHeapProductIndex.NOT_INDEXABLE, index.findProductId(SKU, "CAFÉ-1"));
+        assertEquals(OffHeapProductIndex.NOT_INDEXABLE, index.findProductId(SKU, "x".repeat(51)));
+        assertEquals(OffHeapProductIndex.NOT_INDEXABLE, index.findProductId(BARCODE, "12345678901234"));
+        assertNull(index.find(SKU, ""));
+        assertEquals(1, index.size());
+        assertNull(index.find(SKU, "SKU-2").barcode());
+    }
+
+    @Test
+    void updateMovesTheBarcodeAndKeepsTheRecord() throws IOException {
+        OffHeapProductIndex index = create(16);
+        index.put(1, "SKU-1", "111", BigDecimal.ONE, 1, ProductStatus.ACTIVE);
+        index.put(2, "SKU-2", "222", BigDecimal.ONE, 1, ProductStatus.ACTIVE);
+
+        index.put(1, "SKU-1", "333", BigDecimal.TEN, 5, ProductStatus.INACTIVE);
+        assertEquals(OffHeapProductIndex.NOT_FOUND, index.findProductId(BARCODE, "111"));
+        assertEquals(1, index.findProductId(BARCODE, "333"));
+        assertEquals(5, index.find(SKU, "SKU-1").quantityAvailable());
+
+        // A barcode claimed by another product moves to it
+        index.put(2, "SKU-2", "333", BigDecimal.ONE, 1, ProductStatus.ACTIVE);
+        assertEquals(2, index.findProductId(BARCODE, "333"));
+        assertNull(index.find(SKU, "SKU-1").barcode());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void removeFreesTheRecordForReuse() throws IOException {
+        OffHeapProductIndex index = create(2);
+        index.put(1, "A", "1", null, 0, null);
+        index.put(2, "B", "2", null, 0, null);
+        assertTrue(index.isFull());
+        assertFalse(index.put(3, "C", null, null, 0, null));
+
+        index.remove(2, "B");
+        index.remove(1, "B"); // SKU of another product: ignored
+        assertEquals(OffHeapProductIndex.NOT_FOUND, index.findProductId(BARCODE, "2"));
+        assertFalse(index.isFull());
+        assertTrue(index.put(3, "C", null, null, 0, null));
+        assertEquals(3, index.findProductId(SKU, "C"));
+
+        index.removeProduct(1);
+        assertEquals(OffHeapProductIndex.NOT_FOUND, index.findProductId(SKU, "A"));
+        assertEquals(OffHeapProductIndex.NOT_FOUND, index.findProductId(BARCODE, "1"));
+        assertEquals(1, index.size());
+    }
+
+    // Many keys share probe runs; every removal backward-shifts the rest of its run, and a
+    // shift that left a hole (or moved an entry before its home slot) would lose lookups
+    @Test
+    void backwardShiftDeletionKeepsEveryOtherKeyReachable() throws IOException {
+        OffHeapProductIndex index = create(1_000);
+        Random random = new Random(5);
+        Map<Long, String[]> live = new HashMap<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            long productId = random.nextInt(1_500);
+            String[] keys = {"SKU-" + productId, String.valueOf(1_000_000 + productId)};
+            if (live.containsKey(productId) && random.nextBoolean()) {
+                index.remove(productId, keys[0]);
+                live.remove(productId);
+            } else if (live.size() < 1_000 || live.containsKey(productId)) {
+                assertTrue(index.put(productId, keys[0], keys[1], null, step, null));
+                live.put(productId, keys);
+            }
+
+            if (step % 1_000 == 0) {
+                assertAllReachable(index, live);
+            }
+        }
+        assertAllReachable(index, live);
+        for (long productId = 0; productId < 1_500; productId++) {
+            if (!live.containsKey(productId)) {
+                assertEquals(OffHeapProductIndex.NOT_FOUND, index.findProductId(SKU, "SKU-" + productId));
+            }
+        }
+    }
+
+    // What ProductScanIndex does when put() reports a full index: copy into twice the capacity
+    @Test
+    void fullIndexCopiesIntoABiggerOne() throws IOException {
+        OffHeapProductIndex small = create(100);
+        for (long productId = 1; productId <= 100; productId++) {
+            assertTrue(small.put(productId, "SKU-" + productId, "B" + productId, BigDecimal.valueOf(productId),
+                    (int) productId, ProductStatus.ACTIVE));
+        }
+        assertFalse(small.put(101, "SKU-101", null, null, 0, null));
+        assertTrue(small.put(50, "SKU-50", "B50", BigDecimal.ONE, 0, ProductStatus.ACTIVE), "updates still fit");
+
+        OffHeapProductIndex big = create(small.capacity() * 2);
+        small.forEach(entry -> big.put(entry.productId(), entry.sku(), entry.barcode(), entry.price(),
+                entry.quantityAvailable(), entry.status()));
+        assertTrue(big.put(101, "SKU-101", null, null, 0, null));
+
+        assertEquals(101, big.size());
+        assertEquals(200, big.capacity());
+        for (long productId = 1; productId <= 100; productId++) {
+            assertEquals(small.find(SKU, "SKU-" + productId), big.find(SKU, "SKU-" + productId));
+            assertEquals(productId, big.findProductId(BARCODE, "B" + productId));
+        }
+    }
+
+    @Test
+    void closeDeletesTheFile() throws IOException {
+        Path file = dir.resolve("close.idx");
+        OffHeapProductIndex index = OffHeapProductIndex.create(file, 10);
+        assertTrue(Files.exists(file));
+
+        index.close();
+        assertFalse(Files.exists(file));
+    }
+
+    private OffHeapProductIndex create(int capacity) throws IOException {
+        OffHeapProductIndex index = OffHeapProductIndex.create(dir.resolve("index-" + opened.size() + ".idx"), capacity);
+        opened.add(index);
+        return index;
+    }
+
+    private static void assertAllReachable(OffHeapProductIndex index, Map<Long, String[]> live) {
+        assertEquals(live.size(), index.size());
+        live.forEach((productId, keys) -> {
+            assertEquals(productId, index.findProductId(SKU, keys[0]), keys[0]);
+            assertEquals(productId, index.findProductId(BARCODE, keys[1]), keys[1]);
+        });
+    }
+}
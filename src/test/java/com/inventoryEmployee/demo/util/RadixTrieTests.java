@@ -0,0 +1,125 @@
+package com.inventoryEmployee.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RadixTrieTests {
+
+    private static final int TOP_K = 5;
+
+    @Test
+    void findsEntriesUnderEveryKeyPrefix() {
+        RadixTrie trie = new RadixTrie(TOP_K);
+        trie.put(entry(1, "cafe latte", 3), List.of("cafe latte", "latte"));
+        trie.put(entry(2, "cafe mocha", 5), List.of("cafe mocha", "mocha"));
+        trie.put(entry(3, "cake", 1), List.of("cake"));
+
+        assertEquals(List.of(2L, 1L, 3L), ids(trie.suggest("ca", 10)));
+        assertEquals(List.of(2L, 1L), ids(trie.suggest("caf", 10)));
+        assertEquals(List.of(1L), ids(trie.suggest("lat", 10)));
+        assertEquals(List.of(1L), ids(trie.suggest("cafe latte", 10)));
+        assertEquals(List.of(), trie.suggest("cafe latter", 10));
+        assertEquals(List.of(), trie.suggest("x", 10));
+        assertEquals(List.of(2L), ids(trie.suggest("c", 1)));
+    }
+
+    @Test
+    void ordersByScoreThenLabelThenId() {
+        RadixTrie trie = new RadixTrie(TOP_K);
+        trie.put(entry(3, "b", 1), List.of("b"));
+        trie.put(entry(2, "B", 1), List.of("b2"));
+        trie.put(entry(1, "a", 1), List.of("a"));
+        trie.put(entry(4, "z", 9), List.of("z"));
+
+        assertEquals(List.of(4L, 1L, 2L, 3L), ids(trie.suggest("", 10)));
+    }
+
+    @Test
+    void putReplacesAndRemoveForgets() {
+        RadixTrie trie = new RadixTrie(TOP_K);
+        trie.put(entry(1, "bolt", 1), List.of("bolt"));
+        trie.put(entry(2, "bolt cutter", 2), List.of("bolt cutter", "cutter"));
+
+        trie.put(entry(1, "bolt m8", 10), List.of("bolt m8", "m8"));
+        assertEquals(List.of(1L, 2L), ids(trie.suggest("bo", 10)));
+        assertEquals(10, trie.get(1).score());
+        assertEquals(2, trie.size());
+
+        trie.remove(2);
+        trie.remove(2);
+        assertEquals(List.of(1L), ids(trie.suggest("b", 10)));
+        assertEquals(List.of(), trie.suggest("cut", 10));
+        assertNull(trie.get(2));
+        assertEquals(1, trie.size());
+    }
+
+    // Only the best TOP_K are cached per node; removing one must surface the next best
+    @Test
+    void removalRefillsTheCachedTop() {
+        RadixTrie trie = new RadixTrie(TOP_K);
+        for (int id = 1; id <= 20; id++) {
+            trie.put(entry(id, "item " + id, id), List.of("item " + id));
+        }
+        assertEquals(List.of(20L, 19L, 18L, 17L, 16L), ids(trie.suggest("item", 10)));
+
+        trie.remove(20);
+        trie.remove(18);
+        assertEquals(List.of(19L, 17L, 16L, 15L, 14L), ids(trie.suggest("item", 10)));
+    }
+
+    @Test
+    void matchesBruteForceUnderRandomWrites() {
+        Random random = new Random(11);
+        String alphabet = "abc ";
+        RadixTrie trie = new RadixTrie(TOP_K);
+        Map<Long, RadixTrie.Entry> entries = new HashMap<>();
+        Map<Long, List<String>> keys = new HashMap<>();
+
+        for (int step = 0; step < 3_000; step++) {
+            long id = random.nextInt(200);
+            if (random.nextInt(4) == 0) {
+                trie.remove(id);
+                entries.remove(id);
+                keys.remove(id);
+            } else {
+                List<String> entryKeys = new ArrayList<>();
+                for (int k = 1 + random.nextInt(3); k > 0; k--) {
+                    entryKeys.add(randomString(random, alphabet, 1 + random.nextInt(6)));
+                }
+                RadixTrie.Entry entry = entry(id, entryKeys.getFirst(), random.nextInt(20));
+                trie.put(entry, entryKeys);
+                entries.put(id, entry);
+                keys.put(id, entryKeys);
+            }
+
+            String prefix = randomString(random, alphabet, random.nextInt(4));
+            List<RadixTrie.Entry> expected = entries.values().stream()
+                    .filter(e -> keys.get(e.id()).stream().anyMatch(key -> key.startsWith(prefix)))
+                    .sorted(RadixTrie.ORDER)
+                    .limit(TOP_K)
+                    .toList();
+            assertEquals(expected, trie.suggest(prefix, 10), "prefix '" + prefix + "' at step " + step);
+        }
+        assertEquals(entries.size(), trie.size());
+        assertEquals(new HashSet<>(entries.values()), new HashSet<>(trie.entries()));
+    }
+
+    private static RadixTrie.Entry entry(long id, String label, long score) {
+        return new RadixTrie.Entry(id, label, null, score);
+    }
+
+    private static List<Long> ids(List<RadixTrie.Entry> entries) {
+        return entries.stream().map(RadixTrie.Entry::id).toList();
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package com.inventoryEmployee.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeekCursorTests {
+
+    @Test
+    void roundTripsTimestampAndId() {
+        SeekCursor cursor = new SeekCursor(LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000), 42);
+        assertEquals(cursor, SeekCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void roundTripsIdOnlyCursors() {
+        SeekCursor cursor = new SeekCursor(null, Long.MAX_VALUE);
+        assertEquals(cursor, SeekCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new SeekCursor(LocalDateTime.of(2024, 12, 31, 23, 59, 59), 1L << 40).encode();
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void nullOrBlankMeansFirstPage() {
+        assertNull(SeekCursor.decode(null));
+        assertNull(SeekCursor.decode(" "));
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        for (String raw : new String[]{"no separator", "2024-13-01T00:00|1", "2024-01-01T00:00|x", "|"}) {
+            String token = Base64.getUrlEncoder().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> SeekCursor.decode(token));
+            assertEquals("Invalid cursor", e.getMessage());
+        }
+        assertThrows(IllegalArgumentException.class, () -> SeekCursor.decode("not base64!"));
+    }
+}